@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package benchmarks.kv
+
+import java.time.Duration
+import java.util.concurrent.{CompletableFuture, Executors}
+import java.util.{Collections, Optional}
+
+import benchmarks.json.SimpleLoggingReporter
+import com.couchbase.client.core.Core
+import com.couchbase.client.core.deps.io.netty.bootstrap.{Bootstrap, ServerBootstrap}
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf
+import com.couchbase.client.core.deps.io.netty.channel.local.{LocalAddress, LocalChannel, LocalServerChannel}
+import com.couchbase.client.core.deps.io.netty.channel.{Channel, ChannelHandlerContext, ChannelInboundHandlerAdapter, ChannelInitializer, DefaultEventLoopGroup}
+import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil
+import com.couchbase.client.core.deps.io.netty.util.concurrent.DefaultThreadFactory
+import com.couchbase.client.core.endpoint.EndpointContext
+import com.couchbase.client.core.env.{CoreEnvironment, IoConfig}
+import com.couchbase.client.core.io.CollectionIdentifier
+import com.couchbase.client.core.io.netty.kv.{KeyValueMessageHandler, MemcacheProtocol, MemcacheProtocolDecodeHandler}
+import com.couchbase.client.core.msg.kv.GetRequest
+import com.couchbase.client.core.msg.{Request, Response}
+import com.couchbase.client.core.retry.BestEffortRetryStrategy
+import com.couchbase.client.core.service.ServiceType
+import org.scalameter.api._
+import org.scalameter.picklers.Implicits._
+
+/**
+  * Measures the throughput of KV gets from several threads when every request is registered with the
+  * global timer (as sent through the core by default), compared to the connection sweeping the
+  * deadlines of its in-flight requests.
+  *
+  * A local fake server answers every get right away with "not found", so the cost of tracking the
+  * timeouts makes up a noticeable share of every operation.
+  */
+object DeadlineSweepBench extends Bench.ForkedTime {
+  val Bucket = "bench"
+  val RequestsPerThread = 10000
+
+  val timerEnv = CoreEnvironment.create("Administrator", "password")
+  val sweepEnv = CoreEnvironment
+    .builder("Administrator", "password")
+    .ioConfig(IoConfig.kvDeadlineSweepEnabled(true))
+    .build()
+  val timerCore = Core.create(timerEnv)
+  val sweepCore = Core.create(sweepEnv)
+  // Daemon threads, so the forked JVM exits once measured.
+  val group = new DefaultEventLoopGroup(4, new DefaultThreadFactory("bench", true))
+
+  val threads = Gen.enumeration("threads")(1, 4)
+
+  override def reporter: Reporter[Double] = new SimpleLoggingReporter[Double]
+
+  /**
+    * A server which answers all gets with "not found" immediately.
+    */
+  private class FakeServer extends ChannelInboundHandlerAdapter {
+    override def channelRead(ctx: ChannelHandlerContext, msg: Any): Unit = {
+      val request = msg.asInstanceOf[ByteBuf]
+      try {
+        ctx.writeAndFlush(ctx.alloc().buffer(24)
+          .writeByte(MemcacheProtocol.Magic.RESPONSE.magic())
+          .writeByte(request.getByte(1))
+          .writeShort(0)
+          .writeByte(0)
+          .writeByte(0)
+          .writeShort(MemcacheProtocol.Status.NOT_FOUND.status())
+          .writeInt(0)
+          .writeInt(request.getInt(12))
+          .writeLong(0))
+      } finally {
+        ReferenceCountUtil.release(request)
+      }
+    }
+  }
+
+  private def connect(core: Core, name: String): Channel = {
+    val address = new LocalAddress("kv-" + name)
+    new ServerBootstrap()
+      .group(group)
+      .channel(classOf[LocalServerChannel])
+      .childHandler(new ChannelInitializer[LocalChannel] {
+        override def initChannel(ch: LocalChannel): Unit =
+          ch.pipeline().addLast(new MemcacheProtocolDecodeHandler(), new FakeServer())
+      })
+      .bind(address)
+      .sync()
+
+    val ctx = new EndpointContext(core.context(), "127.0.0.1", 11210, null, ServiceType.KV,
+      Optional.empty(), Optional.of(Bucket), Optional.empty())
+    new Bootstrap()
+      .group(group)
+      .channel(classOf[LocalChannel])
+      .handler(new ChannelInitializer[LocalChannel] {
+        override def initChannel(ch: LocalChannel): Unit = ch.pipeline().addLast(
+          new MemcacheProtocolDecodeHandler(),
+          new KeyValueMessageHandler(null, ctx, Optional.of(Bucket))
+        )
+      })
+      .connect(address)
+      .sync()
+      .channel()
+  }
+
+  // Lazy so the event loops do not block on the initialization of this object while connecting.
+  lazy val timerChannel = connect(timerCore, "timer")
+  lazy val sweepChannel = connect(sweepCore, "sweep")
+
+  /**
+    * Sends gets from the given number of threads and waits until all of them completed.
+    *
+    * If the request should be registered, it is registered with the global timer right before it is
+    * written, just like the core does when sending it.
+    */
+  private def getsFromThreads(core: Core, channel: Channel, threads: Int, register: Boolean): Unit = {
+    val pool = Executors.newFixedThreadPool(threads)
+    try {
+      val done = (0 until threads).map { t =>
+        CompletableFuture.supplyAsync(new java.util.function.Supplier[CompletableFuture[Void]] {
+          override def get(): CompletableFuture[Void] = {
+            val responses = (0 until RequestsPerThread).map { i =>
+              val request = new GetRequest("doc-" + t + "-" + i, Duration.ofSeconds(10), core.context(),
+                CollectionIdentifier.fromDefault(Bucket), BestEffortRetryStrategy.INSTANCE)
+              if (register) {
+                core.context().environment().timer().register(request.asInstanceOf[Request[Response]])
+              }
+              channel.writeAndFlush(request)
+              request.response()
+            }
+            CompletableFuture.allOf(responses: _*)
+          }
+        }, pool)
+      }
+      done.foreach(_.get().get())
+    } finally {
+      pool.shutdown()
+    }
+  }
+
+  performance of "KV gets with timeouts" in {
+    performance of "registered with the global timer" in {
+      using(threads) in {
+        n => getsFromThreads(timerCore, timerChannel, n, register = true)
+      }
+    }
+
+    performance of "swept by the channel" in {
+      using(threads) in {
+        n => getsFromThreads(sweepCore, sweepChannel, n, register = false)
+      }
+    }
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package benchmarks.kv
+
+import java.nio.charset.StandardCharsets.UTF_8
+
+import benchmarks.json.SimpleLoggingReporter
+import com.couchbase.client.core.deps.io.netty.buffer.{ByteBuf, PooledByteBufAllocator, Unpooled}
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol.Opcode
+import org.scalameter.api._
+import org.scalameter.picklers.Implicits._
+
+/**
+  * Compares the flat (copying) frame encoding against the composite one for upserts of
+  * different value sizes.
+  */
+object FrameEncodingBench extends Bench.ForkedTime {
+  val sizes = Gen.enumeration("valueSize")(128, 4 * 1024, 64 * 1024, 1024 * 1024)
+  val values = for (size <- sizes) yield new Array[Byte](size)
+
+  val alloc = PooledByteBufAllocator.DEFAULT
+  val key = "airline_10123".getBytes(UTF_8)
+
+  override def reporter: Reporter[Double] = new SimpleLoggingReporter[Double]
+
+  private def extras(): ByteBuf = alloc.buffer(8).writeInt(0).writeInt(0)
+
+  performance of "Upsert frame" in {
+    performance of "flat" in {
+      using(values) in {
+        value =>
+          val ex = extras()
+          val frame = MemcacheProtocol.flatRequest(alloc, Opcode.SET, 0.toByte, 0.toShort, 1, 0,
+            ex, Unpooled.wrappedBuffer(key), Unpooled.wrappedBuffer(value))
+          ex.release()
+          frame.release()
+      }
+    }
+
+    performance of "composite" in {
+      using(values) in {
+        value =>
+          val ex = extras()
+          val frame = MemcacheProtocol.compositeRequest(alloc, Opcode.SET, 0.toByte, 0.toShort, 1, 0,
+            ex, Unpooled.wrappedBuffer(key), Unpooled.wrappedBuffer(value))
+          ex.release()
+          frame.release()
+      }
+    }
+
+    performance of "size based" in {
+      using(values) in {
+        value =>
+          val ex = extras()
+          val frame = MemcacheProtocol.request(alloc, Opcode.SET, 0.toByte, 0.toShort, 1, 0,
+            ex, Unpooled.wrappedBuffer(key), Unpooled.wrappedBuffer(value))
+          ex.release()
+          frame.release()
+      }
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package benchmarks.kv
+
+import java.time.Duration
+import java.util.Optional
+
+import benchmarks.json.SimpleLoggingReporter
+import com.couchbase.client.core.Core
+import com.couchbase.client.core.config.{BucketConfigParser, ClusterConfig}
+import com.couchbase.client.core.env.CoreEnvironment
+import com.couchbase.client.core.io.CollectionIdentifier
+import com.couchbase.client.core.msg.kv.GetRequest
+import com.couchbase.client.core.msg.{Request, Response}
+import com.couchbase.client.core.node.{KeyValueLocator, Node, NodeIdentifier}
+import com.couchbase.client.core.retry.BestEffortRetryStrategy
+import org.scalameter.api._
+import org.scalameter.picklers.Implicits._
+
+import scala.collection.JavaConverters._
+
+/**
+  * Measures the cost of locating the node for a batch of KV requests, depending on the number of
+  * nodes in the cluster, with and without the precomputed routing table.
+  */
+object KeyValueDispatchBench extends Bench.ForkedTime {
+  val Bucket = "bench"
+  val Partitions = 1024
+  val RequestsPerRun = 10000
+
+  val env = CoreEnvironment.create("Administrator", "password")
+  val core = Core.create(env)
+
+  val nodeCounts = Gen.enumeration("nodes")(1, 4, 16, 64)
+
+  val requests = (0 until RequestsPerRun).map(i => new GetRequest("key-" + i, Duration.ofSeconds(2),
+    core.context(), CollectionIdentifier.fromDefault(Bucket), BestEffortRetryStrategy.INSTANCE))
+
+  override def reporter: Reporter[Double] = new SimpleLoggingReporter[Double]
+
+  /**
+    * A node which swallows all requests, so only the locator is measured.
+    */
+  private class SinkNode(id: NodeIdentifier) extends Node(core.context(), id, Optional.empty[String]()) {
+    override def send[R <: Request[_ <: Response]](request: R): Unit = ()
+  }
+
+  private def host(i: Int): String = s"10.0.${i / 256}.${i % 256}"
+
+  private def bucketConfig(numNodes: Int): String = {
+    val nodes = (0 until numNodes)
+      .map(i => s"""{"hostname":"${host(i)}:8091","ports":{"direct":11210}}""")
+      .mkString(",")
+    val servers = (0 until numNodes).map(i => s""""${host(i)}:11210"""").mkString(",")
+    val vbuckets = (0 until Partitions)
+      .map(p => s"[${p % numNodes},${if (numNodes > 1) (p + 1) % numNodes else -1}]")
+      .mkString(",")
+    s"""{"rev":1,"name":"$Bucket","nodeLocator":"vbucket","uuid":"abc","nodes":[$nodes],
+       |"vBucketServerMap":{"hashAlgorithm":"CRC","numReplicas":1,"serverList":[$servers],
+       |"vBucketMap":[$vbuckets]}}""".stripMargin
+  }
+
+  private val setups = scala.collection.mutable.Map[Int, (ClusterConfig, java.util.List[Node])]()
+
+  private def setup(numNodes: Int): (ClusterConfig, java.util.List[Node]) = setups.getOrElseUpdate(numNodes, {
+    val config = new ClusterConfig()
+    config.setBucketConfig(BucketConfigParser.parse(bucketConfig(numNodes), env, null))
+    val nodes: java.util.List[Node] = (0 until numNodes)
+      .map(i => new SinkNode(new NodeIdentifier(host(i), 8091)): Node)
+      .asJava
+    (config, nodes)
+  })
+
+  val scanLocator = new KeyValueLocator()
+  val tableLocator = new KeyValueLocator()
+
+  performance of "KV dispatch" in {
+    performance of "node scan" in {
+      using(nodeCounts) in {
+        numNodes =>
+          val (config, nodes) = setup(numNodes)
+          requests.foreach(r => scanLocator.dispatch(r, nodes, config, core.context()))
+      }
+    }
+
+    performance of "routing table" in {
+      using(nodeCounts) setUp {
+        numNodes =>
+          val (config, nodes) = setup(numNodes)
+          tableLocator.rebuildRoutingTables(config, nodes)
+      } in {
+        numNodes =>
+          val (config, nodes) = setup(numNodes)
+          requests.foreach(r => tableLocator.dispatch(r, nodes, config, core.context()))
+      }
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package benchmarks.kv
+
+import java.lang.management.ManagementFactory
+import java.time.Duration
+
+import com.couchbase.client.core.retry.{BestEffortRetryStrategy, RetryStrategy}
+import com.couchbase.client.java.kv.{GetOptions, IncrementOptions, UpsertOptions}
+import org.scalameter.api._
+import org.scalameter.picklers.Implicits._
+import org.scalameter.{Context, Quantity}
+
+/**
+  * Measures the bytes allocated per operation for handling the options of KV operations, when the
+  * same options are reused for every operation.
+  *
+  * Every operation builds its options as often as the collection does when it is executed (once when
+  * called and once when creating the request) and resolves the timeout and retry strategy from them.
+  * The built options are handed on just like the collection does, so they are not optimized away.
+  */
+object OptionsAllocationBench extends Bench[Double] {
+  final val OpsPerMeasurement = 100000
+
+  val DefaultTimeout = Duration.ofMillis(2500)
+  val DefaultRetryStrategy: RetryStrategy = BestEffortRetryStrategy.INSTANCE
+
+  val getOptions = GetOptions.getOptions().timeout(Duration.ofSeconds(1))
+  val upsertOptions = UpsertOptions.upsertOptions().expiry(Duration.ofHours(1))
+  val incrementOptions = IncrementOptions.incrementOptions().delta(2)
+
+  val ops = Gen.unit("ops")
+
+  lazy val measurer = new AllocatedBytesPerOp(OpsPerMeasurement)
+  lazy val executor = LocalExecutor(new Executor.Warmer.Default, Aggregator.median[Double], measurer)
+  lazy val reporter = new LoggingReporter[Double]
+  lazy val persistor = Persistor.None
+
+  /**
+    * Measures the bytes the current thread allocates while running the snippet, divided by the
+    * number of operations the snippet runs.
+    */
+  class AllocatedBytesPerOp(opsPerRun: Int) extends Measurer[Double] {
+    private val threads = ManagementFactory.getThreadMXBean.asInstanceOf[com.sun.management.ThreadMXBean]
+
+    def name = "Measurer.AllocatedBytesPerOp"
+
+    def measure[T](context: Context, measurements: Int, setup: T => Any, tear: T => Any, regen: () => T,
+                   snippet: T => Any): Seq[Quantity[Double]] = {
+      val id = Thread.currentThread().getId
+      (0 until measurements).map { _ =>
+        val value = regen()
+        setup(value)
+        val before = threads.getThreadAllocatedBytes(id)
+        snippet(value)
+        val after = threads.getThreadAllocatedBytes(id)
+        tear(value)
+        Quantity((after - before).toDouble / opsPerRun, "bytes/op")
+      }
+    }
+  }
+
+  private def repeat(body: => Unit): Unit = {
+    var i = 0
+    while (i < OpsPerMeasurement) {
+      body
+      i += 1
+    }
+  }
+
+  @volatile var sink: Any = _
+
+  performance of "KV options with reused instances" in {
+    performance of "get" in {
+      using(ops) in { _ =>
+        repeat {
+          sink = getOptions.build()
+          val opts = getOptions.build()
+          sink = opts
+          sink = opts.timeout().orElse(DefaultTimeout)
+          sink = opts.retryStrategy().orElse(DefaultRetryStrategy)
+        }
+      }
+    }
+
+    performance of "upsert" in {
+      using(ops) in { _ =>
+        repeat {
+          sink = upsertOptions.build()
+          val opts = upsertOptions.build()
+          sink = opts
+          sink = opts.timeout().orElse(DefaultTimeout)
+          sink = opts.retryStrategy().orElse(DefaultRetryStrategy)
+        }
+      }
+    }
+
+    performance of "increment" in {
+      using(ops) in { _ =>
+        repeat {
+          sink = incrementOptions.build()
+          val opts = incrementOptions.build()
+          sink = opts
+          sink = opts.timeout().orElse(DefaultTimeout)
+          sink = opts.retryStrategy().orElse(DefaultRetryStrategy)
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package benchmarks.kv
+
+import java.time.Duration
+import java.util.concurrent.{CompletableFuture, TimeUnit}
+import java.util.{Collections, Optional}
+
+import benchmarks.json.SimpleLoggingReporter
+import com.couchbase.client.core.Core
+import com.couchbase.client.core.deps.io.netty.bootstrap.{Bootstrap, ServerBootstrap}
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf
+import com.couchbase.client.core.deps.io.netty.channel.local.{LocalAddress, LocalChannel, LocalServerChannel}
+import com.couchbase.client.core.deps.io.netty.channel.{Channel, ChannelHandlerContext, ChannelInboundHandlerAdapter, ChannelInitializer, DefaultEventLoopGroup}
+import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil
+import com.couchbase.client.core.endpoint.EndpointContext
+import com.couchbase.client.core.env.CoreEnvironment
+import com.couchbase.client.core.io.CollectionIdentifier
+import com.couchbase.client.core.io.netty.kv.{FeatureNegotiatingHandler, KeyValueMessageHandler, MemcacheProtocol, MemcacheProtocolDecodeHandler, ServerFeature}
+import com.couchbase.client.core.msg.kv.GetRequest
+import com.couchbase.client.core.retry.BestEffortRetryStrategy
+import com.couchbase.client.core.service.ServiceType
+import org.scalameter.api._
+import org.scalameter.picklers.Implicits._
+
+/**
+  * Measures how long the fast KV operations of a mixed workload take to complete when some documents
+  * are slow to serve, with and without unordered execution negotiated.
+  *
+  * A local fake server answers every get with "not found", but takes a while to serve every n-th
+  * document. If the server executes in order, the fast operations queued behind a slow one are held back
+  * as well, which shows up as the tail latency of the fast operations.
+  */
+object UnorderedExecutionBench extends Bench.ForkedTime {
+  val Bucket = "bench"
+  val RequestsPerRun = 1000
+  val SlowMillis = 10
+
+  val env = CoreEnvironment.create("Administrator", "password")
+  val core = Core.create(env)
+  val group = new DefaultEventLoopGroup(2)
+
+  val slowEvery = Gen.enumeration("slowEvery")(50, 200)
+
+  override def reporter: Reporter[Double] = new SimpleLoggingReporter[Double]
+
+  /**
+    * A server which negotiates unordered execution if asked to and answers all gets with "not found".
+    *
+    * Serving a slow document takes [[SlowMillis]]. In order, every operation waits for the previous one
+    * to be served, while unordered the slow ones are served in the background.
+    */
+  private class FakeServer(unordered: Boolean) extends ChannelInboundHandlerAdapter {
+    private var lastResponseAt = 0L
+
+    override def channelRead(ctx: ChannelHandlerContext, msg: Any): Unit = {
+      val request = msg.asInstanceOf[ByteBuf]
+      try {
+        val opcode = request.getByte(1)
+        val opaque = request.getInt(12)
+        if (opcode == MemcacheProtocol.Opcode.HELLO.opcode()) {
+          val response = header(ctx, opcode, opaque, 0, if (unordered) 2 else 0)
+          if (unordered) {
+            response.writeShort(ServerFeature.UNORDERED_EXECUTION.value())
+          }
+          ctx.writeAndFlush(response)
+        } else {
+          val key = MemcacheProtocol.key(request).get().toString(java.nio.charset.StandardCharsets.UTF_8)
+          val now = System.nanoTime()
+          val cost = if (key.startsWith("slow")) TimeUnit.MILLISECONDS.toNanos(SlowMillis) else 0
+          val respondAt = if (unordered) {
+            now + cost
+          } else {
+            lastResponseAt = math.max(now, lastResponseAt) + cost
+            lastResponseAt
+          }
+          val response = header(ctx, opcode, opaque, MemcacheProtocol.Status.NOT_FOUND.status(), 0)
+          ctx.executor().schedule(new Runnable {
+            override def run(): Unit = ctx.writeAndFlush(response)
+          }, respondAt - now, TimeUnit.NANOSECONDS)
+        }
+      } finally {
+        ReferenceCountUtil.release(request)
+      }
+    }
+
+    private def header(ctx: ChannelHandlerContext, opcode: Byte, opaque: Int, status: Short, bodyLength: Int) = {
+      ctx.alloc().buffer(24 + bodyLength)
+        .writeByte(MemcacheProtocol.Magic.RESPONSE.magic())
+        .writeByte(opcode)
+        .writeShort(0)
+        .writeByte(0)
+        .writeByte(0)
+        .writeShort(status)
+        .writeInt(bodyLength)
+        .writeInt(opaque)
+        .writeLong(0)
+    }
+  }
+
+  private def connect(unordered: Boolean): Channel = {
+    val address = new LocalAddress("kv-" + unordered)
+    new ServerBootstrap()
+      .group(group)
+      .channel(classOf[LocalServerChannel])
+      .childHandler(new ChannelInitializer[LocalChannel] {
+        override def initChannel(ch: LocalChannel): Unit =
+          ch.pipeline().addLast(new MemcacheProtocolDecodeHandler(), new FakeServer(unordered))
+      })
+      .bind(address)
+      .sync()
+
+    val ctx = new EndpointContext(core.context(), "127.0.0.1", 11210, null, ServiceType.KV,
+      Optional.empty(), Optional.of(Bucket), Optional.empty())
+    new Bootstrap()
+      .group(group)
+      .channel(classOf[LocalChannel])
+      .handler(new ChannelInitializer[LocalChannel] {
+        override def initChannel(ch: LocalChannel): Unit = ch.pipeline().addLast(
+          new MemcacheProtocolDecodeHandler(),
+          new FeatureNegotiatingHandler(ctx, Collections.singleton(ServerFeature.UNORDERED_EXECUTION)),
+          new KeyValueMessageHandler(null, ctx, Optional.of(Bucket))
+        )
+      })
+      .connect(address)
+      .sync()
+      .channel()
+  }
+
+  // Lazy so the event loops do not block on the initialization of this object while connecting.
+  lazy val orderedChannel = connect(unordered = false)
+  lazy val unorderedChannel = connect(unordered = true)
+
+  /**
+    * Sends a batch of gets where every n-th document is slow, and waits until all fast ones completed.
+    */
+  private def fastOpsOfMixedBatch(channel: Channel, slowEvery: Int): Unit = {
+    val fast = (0 until RequestsPerRun).flatMap { i =>
+      val slow = i % slowEvery == 0
+      val request = new GetRequest((if (slow) "slow-" else "fast-") + i, Duration.ofSeconds(10),
+        core.context(), CollectionIdentifier.fromDefault(Bucket), BestEffortRetryStrategy.INSTANCE)
+      channel.writeAndFlush(request)
+      if (slow) None else Some(request.response())
+    }
+    CompletableFuture.allOf(fast: _*).get()
+  }
+
+  performance of "KV mixed slow and fast gets" in {
+    performance of "ordered execution" in {
+      using(slowEvery) in {
+        n => fastOpsOfMixedBatch(orderedChannel, n)
+      }
+    }
+
+    performance of "unordered execution" in {
+      using(slowEvery) in {
+        n => fastOpsOfMixedBatch(unorderedChannel, n)
+      }
+    }
+  }
+
+}
@@ -70,6 +70,11 @@ public class ProposedBucketConfigInspectingProvider implements ConfigurationProv
     delegate.proposeGlobalConfig(ctx);
   }
 
+  @Override
+  public void signalConfigNotificationsEnabled(String bucket) {
+    delegate.signalConfigNotificationsEnabled(bucket);
+  }
+
   @Override
   public Mono<Void> loadAndRefreshGlobalConfig() {
     return delegate.loadAndRefreshGlobalConfig();
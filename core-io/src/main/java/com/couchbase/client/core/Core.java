@@ -34,16 +34,23 @@ import com.couchbase.client.core.config.ClusterConfig;
 import com.couchbase.client.core.config.ConfigurationProvider;
 import com.couchbase.client.core.config.DefaultConfigurationProvider;
 import com.couchbase.client.core.config.GlobalConfig;
+import com.couchbase.client.core.endpoint.WriteBatch;
+import com.couchbase.client.core.env.CompressionConfig;
 import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.ServiceConfig;
 import com.couchbase.client.core.error.UnsupportedConfigMechanismException;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.CompressibleRequest;
 import com.couchbase.client.core.node.KeyValueLocator;
+import com.couchbase.client.core.node.LatencyAwareLocator;
 import com.couchbase.client.core.node.Locator;
 import com.couchbase.client.core.node.Node;
 import com.couchbase.client.core.node.NodeIdentifier;
 import com.couchbase.client.core.node.RoundRobinLocator;
+import com.couchbase.client.core.retry.RetryParking;
+import com.couchbase.client.core.service.SelectionStrategyType;
 import com.couchbase.client.core.service.ServiceScope;
 import com.couchbase.client.core.service.ServiceType;
 import reactor.core.publisher.Flux;
@@ -52,6 +59,7 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -77,11 +85,6 @@ public class Core {
    */
   private static final AtomicLong CORE_IDS = new AtomicLong();
 
-  /**
-   * Locates the right node for the KV service.
-   */
-  private static final KeyValueLocator KEY_VALUE_LOCATOR = new KeyValueLocator();
-
   /**
    * Locates the right node for the manager service.
    */
@@ -91,26 +94,29 @@ public class Core {
   /**
    * Locates the right node for the query service.
    */
-  private static final RoundRobinLocator QUERY_LOCATOR =
-    new RoundRobinLocator(ServiceType.QUERY);
+  private final Locator queryLocator;
 
   /**
    * Locates the right node for the analytics service.
    */
-  private static final RoundRobinLocator ANALYTICS_LOCATOR =
-    new RoundRobinLocator(ServiceType.ANALYTICS);
+  private final Locator analyticsLocator;
 
   /**
    * Locates the right node for the search service.
    */
-  private static final RoundRobinLocator SEARCH_LOCATOR =
-    new RoundRobinLocator(ServiceType.SEARCH);
+  private final Locator searchLocator;
 
   /**
    * Locates the right node for the view service.
    */
-  private static final RoundRobinLocator VIEWS_LOCATOR =
-    new RoundRobinLocator(ServiceType.VIEWS);
+  private final Locator viewsLocator;
+
+  /**
+   * Locates the right node for the KV service.
+   *
+   * <p>This one is per core since it keeps the routing tables for the buckets of this core.</p>
+   */
+  private final KeyValueLocator keyValueLocator = new KeyValueLocator();
 
   /**
    * Holds the current core context.
@@ -158,6 +164,22 @@ public class Core {
    */
   private final Timer timer;
 
+  /**
+   * Holds the requests which wait for the topology to change before they are retried.
+   */
+  private final RetryParking retryParking;
+
+  /**
+   * If true, KV requests are not registered with the timer when sent, since the connections they are
+   * written to check their deadlines.
+   */
+  private final boolean kvDeadlineSweepEnabled;
+
+  /**
+   * The compression config of the environment, used to compress large values ahead of dispatch.
+   */
+  private final CompressionConfig compressionConfig;
+
   /**
    * Creates a new {@link Core} with the given environment.
    *
@@ -175,10 +197,21 @@ public class Core {
    */
   protected Core(final CoreEnvironment environment) {
     this.coreContext = new CoreContext(this, CORE_IDS.incrementAndGet(), environment);
+    ServiceConfig serviceConfig = environment.serviceConfig();
+    this.queryLocator = createLocator(ServiceType.QUERY, serviceConfig.queryServiceConfig().selectionStrategy());
+    this.analyticsLocator = createLocator(
+      ServiceType.ANALYTICS,
+      serviceConfig.analyticsServiceConfig().selectionStrategy()
+    );
+    this.searchLocator = createLocator(ServiceType.SEARCH, serviceConfig.searchServiceConfig().selectionStrategy());
+    this.viewsLocator = createLocator(ServiceType.VIEWS, serviceConfig.viewServiceConfig().selectionStrategy());
     this.configurationProvider = createConfigurationProvider();
     this.nodes = new CopyOnWriteArrayList<>();
     this.eventBus = environment.eventBus();
     this.timer = environment.timer();
+    this.retryParking = new RetryParking(r -> send(r, false), timer);
+    this.kvDeadlineSweepEnabled = environment.ioConfig().kvDeadlineSweepEnabled();
+    this.compressionConfig = environment.compressionConfig();
     this.currentConfig = configurationProvider.config();
     this.configurationProvider.configs().subscribe(c -> {
       currentConfig = c;
@@ -207,6 +240,16 @@ public class Core {
     return configurationProvider;
   }
 
+  /**
+   * Returns the requests which wait for the topology to change before they are retried.
+   *
+   * <p>Internal API, use with care!</p>
+   */
+  @Stability.Internal
+  public RetryParking retryParking() {
+    return retryParking;
+  }
+
   /**
    * Sends a command into the core layer and registers the request with the timeout timer.
    *
@@ -222,6 +265,12 @@ public class Core {
    * <p>Usually you want to use {@link #send(Request)} instead, this method should only be used during
    * retry situations where the request has already been registered with a timeout timer before.</p>
    *
+   * <p>If KV deadline sweeping is enabled, KV requests are not registered even if asked to, since the
+   * connection they are written to checks their deadline. They are registered once they are retried.</p>
+   *
+   * <p>If {@link CompressionConfig#offloadMinSize()} is set, large values are compressed on the calling
+   * thread before the request is dispatched, so the event loop does not have to.</p>
+   *
    * @param request the request to dispatch.
    * @param registerForTimeout if the request should be registered with a timeout.
    */
@@ -233,13 +282,34 @@ public class Core {
       return;
     }
 
-    if (registerForTimeout) {
+    if (registerForTimeout && !(kvDeadlineSweepEnabled && request.serviceType() == ServiceType.KV)) {
       timer.register((Request<Response>) request);
     }
 
+    if (compressionConfig.offloadMinSize() > 0 && request instanceof CompressibleRequest) {
+      ((CompressibleRequest) request).compressAhead(compressionConfig);
+    }
+
     locator(request.serviceType()).dispatch(request, nodes, currentConfig, context());
   }
 
+  /**
+   * Sends a batch of commands into the core layer, writing them with as few flushes as possible.
+   *
+   * <p>Every request is located and dispatched like with {@link #send(Request)}, but all requests which
+   * end up on the same endpoint are written to its channel with a single flush.</p>
+   *
+   * @param requests the requests to dispatch.
+   */
+  @Stability.Internal
+  public void sendBatch(final Collection<? extends Request<? extends Response>> requests) {
+    try (WriteBatch batch = WriteBatch.open()) {
+      for (Request<? extends Response> request : requests) {
+        send(request);
+      }
+    }
+  }
+
   /**
    * Returns the {@link CoreContext} of this core instance.
    */
@@ -476,10 +546,12 @@ public class Core {
         .subscribe(
         v -> {},
         e -> {
+          keyValueLocator.rebuildRoutingTables(configForThisAttempt, nodes);
           clearReconfigureInProgress();
           eventBus.publish(new ReconfigurationErrorDetectedEvent(context(), e));
         },
         () -> {
+          keyValueLocator.rebuildRoutingTables(configForThisAttempt, nodes);
           clearReconfigureInProgress();
           eventBus.publish(new ReconfigurationCompletedEvent(
             Duration.ofNanos(System.nanoTime() - start),
@@ -501,6 +573,7 @@ public class Core {
    */
   private void reconfigureDisconnectAll() {
     long start = System.nanoTime();
+    keyValueLocator.clearRoutingTables();
     Flux
       .fromIterable(new ArrayList<>(nodes))
       .flatMap(Node::disconnect)
@@ -523,9 +596,12 @@ public class Core {
 
   /**
    * Clean reconfiguration in progress and check if there is a new one we need to try.
+   *
+   * <p>Since the topology has been applied at this point, all requests parked for it are released.</p>
    */
   private void clearReconfigureInProgress() {
     reconfigureInProgress.set(false);
+    retryParking.reconfigured();
     if (moreConfigsPending.compareAndSet(true, false)) {
       reconfigure();
     }
@@ -687,26 +763,41 @@ public class Core {
     ).then();
   }
 
+  /**
+   * Creates the locator for a service based on its configured selection strategy.
+   *
+   * @param serviceType the service type for which a locator should be created.
+   * @param selectionStrategy the configured selection strategy of the service.
+   * @return the created locator.
+   */
+  private static Locator createLocator(final ServiceType serviceType,
+                                       final SelectionStrategyType selectionStrategy) {
+    if (selectionStrategy == SelectionStrategyType.LATENCY_AWARE) {
+      return new LatencyAwareLocator(serviceType);
+    }
+    return new RoundRobinLocator(serviceType);
+  }
+
   /**
    * Helper method to match the right locator to the given service type.
    *
    * @param serviceType the service type for which a locator should be returned.
    * @return the locator for the service type, or an exception if unknown.
    */
-  private static Locator locator(final ServiceType serviceType) {
+  private Locator locator(final ServiceType serviceType) {
     switch (serviceType) {
       case KV:
-        return KEY_VALUE_LOCATOR;
+        return keyValueLocator;
       case MANAGER:
         return MANAGER_LOCATOR;
       case QUERY:
-        return QUERY_LOCATOR;
+        return queryLocator;
       case ANALYTICS:
-        return ANALYTICS_LOCATOR;
+        return analyticsLocator;
       case SEARCH:
-        return SEARCH_LOCATOR;
+        return searchLocator;
       case VIEWS:
-        return VIEWS_LOCATOR;
+        return viewsLocator;
       default:
         throw new IllegalStateException("Unsupported ServiceType: " + serviceType);
     }
@@ -105,6 +105,30 @@ public class Timer {
     request.response().whenComplete((r, throwable) -> registration.cancel());
   }
 
+  /**
+   * Registers the given request to be tracked with the time left until its deadline, which is measured
+   * from its {@link Request#createdAt() creation} instead of from now.
+   *
+   * <p>This is used for requests which have not been registered when they have been sent, since their
+   * timeout is usually checked somewhere else, but which are now waiting outside of that scope.</p>
+   *
+   * @param request the request to track.
+   */
+  public void registerDeadline(final Request<Response> request) {
+    if (stopped) {
+      request.cancel(CancellationReason.SHUTDOWN);
+      return;
+    }
+
+    long remaining = request.timeout().toNanos() - (System.nanoTime() - request.createdAt());
+    final Timeout registration = wheelTimer.newTimeout(
+      timeout -> request.cancel(CancellationReason.TIMEOUT),
+      Math.max(remaining, 0),
+      TimeUnit.NANOSECONDS
+    );
+    request.response().whenComplete((r, throwable) -> registration.cancel());
+  }
+
   /**
    * Starts this timer.
    */
@@ -16,17 +16,22 @@
 
 package com.couchbase.client.core.cnc;
 
-import com.couchbase.client.core.deps.org.jctools.queues.QueueFactory;
-import com.couchbase.client.core.deps.org.jctools.queues.spec.ConcurrentQueueSpec;
+import com.couchbase.client.core.cnc.events.core.EventsDroppedEvent;
+import com.couchbase.client.core.deps.org.jctools.queues.MessagePassingQueue;
+import com.couchbase.client.core.deps.org.jctools.queues.MpscArrayQueue;
+import com.couchbase.client.core.deps.org.jctools.queues.SpscArrayQueue;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.PrintStream;
 import java.time.Duration;
 import java.util.Optional;
-import java.util.Queue;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 /**
@@ -36,6 +41,20 @@ import java.util.function.Consumer;
  * <p>It is built on top of a very fast, bounded MPSC (multi-producer single-consumer)
  * queue which allows to quickly send events into the bus without blocking the sender.</p>
  *
+ * <p>The event bus thread drains this queue in batches and hands the events on to a bounded queue per
+ * subscriber, which is drained by a thread of its own. So a slow subscriber (i.e. one which logs every
+ * event) only falls behind itself and does not delay the others. If the queue of the bus or the one of a
+ * subscriber is full, the event is dropped and counted. The counts are reported periodically through an
+ * {@link EventsDroppedEvent}.</p>
+ *
+ * <p>Subscribers implementing {@link SelectiveEventConsumer} tell the bus which events they handle, so
+ * {@link #isInterested(Event.Category, Event.Severity)} lets publishers skip building events nobody
+ * handles.</p>
+ *
+ * <p>How the threads wait for new events is determined by the {@link WaitStrategy}. By default, they park
+ * and are woken up by the publisher, so events are delivered right away without the threads burning
+ * CPU while idle.</p>
+ *
  * <p>Subscribers of this API are considered to be non-blocking and if they have to blocking
  * tasks need to fan them out into their own thread pool.</p>
  *
@@ -51,20 +70,43 @@ public class DefaultEventBus implements EventBus {
   private static final int DEFAULT_QUEUE_CAPACITY = 16384;
 
   /**
-   * If there are no events to process, the event bus will sleep for 100ms before checking the queue
+   * By default, every subscriber can lag behind by up to 16k elements before events are dropped for it.
+   */
+  private static final int DEFAULT_SUBSCRIBER_QUEUE_CAPACITY = 16384;
+
+  /**
+   * By default, up to 256 events are drained from a queue before checking the others.
+   */
+  private static final int DEFAULT_BATCH_SIZE = 256;
+
+  /**
+   * If there are no events to process, the event bus will wait for at most 100ms before checking the queue
    * again.
    */
   private static final Duration DEFAULT_IDLE_SLEEP_DURATION = Duration.ofMillis(100);
 
+  /**
+   * By default, dropped events are reported every 10 seconds (if any have been dropped).
+   */
+  private static final Duration DEFAULT_DROP_REPORT_INTERVAL = Duration.ofSeconds(10);
+
+  /**
+   * By default, the interest of the subscribers is checked again every second.
+   */
+  private static final Duration DEFAULT_INTEREST_REFRESH_INTERVAL = Duration.ofSeconds(1);
+
+  private static final Event.Category[] CATEGORIES = Event.Category.values();
+  private static final Event.Severity[] SEVERITIES = Event.Severity.values();
+
   /**
    * Holds all current event subscribers.
    */
-  private final CopyOnWriteArraySet<Consumer<Event>> subscribers;
+  private final ConcurrentMap<Consumer<Event>, Subscriber> subscribers;
 
   /**
    * Holds the bounded event mpsc queue dealing with all the events.
    */
-  private final Queue<Event> eventQueue;
+  private final MessagePassingQueue<Event> eventQueue;
 
   /**
    * Contains the state if this event bus is currently running or not.
@@ -83,15 +125,71 @@ public class DefaultEventBus implements EventBus {
   private final String threadName;
 
   /**
-   * The duration to sleep when no events are consumable.
+   * How the event bus and subscriber threads wait for new events.
+   */
+  private final WaitStrategy waitStrategy;
+
+  /**
+   * The capacity of the queue of every subscriber.
+   */
+  private final int subscriberQueueCapacity;
+
+  /**
+   * The maximum number of events drained from a queue at once.
+   */
+  private final int batchSize;
+
+  /**
+   * How often dropped events are reported.
+   */
+  private final Duration dropReportInterval;
+
+  /**
+   * How often the interest of the subscribers is checked again.
+   */
+  private final Duration interestRefreshInterval;
+
+  /**
+   * The number of events which could not be published since the queue was full.
+   */
+  private final LongAdder droppedOnPublish = new LongAdder();
+
+  /**
+   * The number of events which could not be handed to a subscriber since its queue was full.
    */
-  private final Duration idleSleepDuration;
+  private final LongAdder droppedOnDelivery = new LongAdder();
+
+  /**
+   * Hands on every drained event to the subscribers.
+   */
+  private final MessagePassingQueue.Consumer<Event> handOn = this::handOn;
+
+  /**
+   * Holds if any subscriber is interested in a category and severity, indexed by {@link #interestIndex}.
+   */
+  private volatile boolean[] interest = new boolean[CATEGORIES.length * SEVERITIES.length];
+
+  /**
+   * Used to give every subscriber thread a unique name.
+   */
+  private final AtomicInteger subscriberThreads = new AtomicInteger();
 
   /**
    * If the event bus is running, this variable holds the thread.
    */
   private volatile Thread runningThread;
 
+  /**
+   * True while the event bus thread is (about to be) waiting for events, so publishers signal it.
+   */
+  private volatile boolean waiting;
+
+  /**
+   * Set once the event bus thread has handed on all events after being stopped, so the subscriber
+   * threads stop once they delivered theirs.
+   */
+  private volatile boolean drained;
+
   public static DefaultEventBus.Builder builder() {
     return new Builder();
   }
@@ -101,26 +199,43 @@ public class DefaultEventBus implements EventBus {
   }
 
   private DefaultEventBus(final Builder builder) {
-    subscribers = new CopyOnWriteArraySet<>();
+    subscribers = new ConcurrentHashMap<>();
     running = new AtomicBoolean(false);
 
-    eventQueue = QueueFactory.newQueue(
-      ConcurrentQueueSpec.createBoundedMpsc(builder.queueCapacity)
-    );
+    eventQueue = new MpscArrayQueue<>(builder.queueCapacity);
     errorLogging = builder.errorLogging.orElse(null);
     threadName = builder.threadName;
-    idleSleepDuration = builder.idleSleepDuration;
+    waitStrategy = builder.waitStrategy == null
+      ? WaitStrategy.parking(builder.idleSleepDuration)
+      : builder.waitStrategy;
+    subscriberQueueCapacity = builder.subscriberQueueCapacity;
+    batchSize = builder.batchSize;
+    dropReportInterval = builder.dropReportInterval;
+    interestRefreshInterval = builder.interestRefreshInterval;
   }
 
   @Override
   public EventSubscription subscribe(final Consumer<Event> consumer) {
-    subscribers.add(consumer);
+    Subscriber subscriber = new Subscriber(consumer);
+    if (subscribers.putIfAbsent(consumer, subscriber) == null && isRunning()) {
+      subscriber.start();
+    }
+    refreshInterest();
     return new EventSubscription(this, consumer);
   }
 
   @Override
   public void unsubscribe(final EventSubscription subscription) {
-    subscribers.remove(subscription.consumer());
+    Subscriber subscriber = subscribers.remove(subscription.consumer());
+    if (subscriber != null) {
+      subscriber.stop();
+    }
+    refreshInterest();
+  }
+
+  @Override
+  public boolean isInterested(final Event.Category category, final Event.Severity severity) {
+    return interest[interestIndex(category, severity)] && isRunning();
   }
 
   @Override
@@ -128,11 +243,12 @@ public class DefaultEventBus implements EventBus {
     if (!isRunning()) {
       return PublishResult.SHUTDOWN;
     } else if (eventQueue.offer(event)) {
+      if (waiting) {
+        waitStrategy.signal(runningThread);
+      }
       return PublishResult.SUCCESS;
     } else {
-      if (errorLogging != null) {
-        errorLogging.println("Could not publish Event because the queue is full. " + event);
-      }
+      droppedOnPublish.increment();
       return PublishResult.OVERLOADED;
     }
   }
@@ -144,47 +260,132 @@ public class DefaultEventBus implements EventBus {
   public Mono<Void> start() {
     return Mono.defer(() -> {
       if (running.compareAndSet(false, true)) {
-        runningThread = new Thread(() -> {
-          long idleSleepTime = idleSleepDuration.toMillis();
-          while (isRunning() || !eventQueue.isEmpty()) {
-            Event event = eventQueue.poll();
-            while (event != null) {
-              for (Consumer<Event> subscriber : subscribers) {
-                try {
-                  subscriber.accept(event);
-                } catch (Throwable t) {
-                  // any exception thrown in the event consumer is
-                  // ignored, since it would otherwise kill the
-                  // event bus thread!
-                  if (errorLogging != null) {
-                    errorLogging.println("Exception caught in EventBus Consumer: " + t);
-                    t.printStackTrace();
-                  }
-                }
-              }
-              event = eventQueue.poll();
-            }
-
-            try {
-              if (isRunning()) {
-                Thread.sleep(idleSleepTime);
-              }
-            } catch (InterruptedException e) {
-              // If this thread is interrupted, we continue
-              // into the loop early. so if interrupted for
-              // shutdown it completes quickly while sleeping
-            }
-          }
-        });
-
+        drained = false;
+        runningThread = new Thread(this::dispatch);
         runningThread.setDaemon(true);
         runningThread.setName(threadName);
         runningThread.start();
+
+        for (Subscriber subscriber : subscribers.values()) {
+          subscriber.start();
+        }
       }
       return Mono.empty();
     });
   }
 
+  /**
+   * Hands on the published events to the subscribers until stopped and all events are handed on, then
+   * waits until the subscribers delivered theirs.
+   */
+  private void dispatch() {
+    final long dropReportNanos = dropReportInterval.toNanos();
+    final long interestRefreshNanos = interestRefreshInterval.toNanos();
+    long lastDropReport = System.nanoTime();
+    long lastInterestRefresh = lastDropReport;
+    long reportedOnPublish = 0;
+    long reportedOnDelivery = 0;
+    int idleRounds = 0;
+
+    while (isRunning() || !eventQueue.isEmpty()) {
+      if (eventQueue.drain(handOn, batchSize) > 0) {
+        idleRounds = 0;
+        signalSubscribers();
+      } else {
+        waiting = true;
+        if (isRunning() && eventQueue.isEmpty()) {
+          waitStrategy.idle(idleRounds);
+        }
+        waiting = false;
+        if (idleRounds < Integer.MAX_VALUE) {
+          idleRounds++;
+        }
+      }
+
+      long now = System.nanoTime();
+      if (now - lastDropReport >= dropReportNanos) {
+        long onPublish = droppedOnPublish.sum();
+        long onDelivery = droppedOnDelivery.sum();
+        if (onPublish != reportedOnPublish || onDelivery != reportedOnDelivery) {
+          handOn(new EventsDroppedEvent(
+            Duration.ofNanos(now - lastDropReport),
+            onPublish - reportedOnPublish,
+            onDelivery - reportedOnDelivery
+          ));
+          signalSubscribers();
+          reportedOnPublish = onPublish;
+          reportedOnDelivery = onDelivery;
+        }
+        lastDropReport = now;
+      }
+      if (now - lastInterestRefresh >= interestRefreshNanos) {
+        refreshInterest();
+        lastInterestRefresh = now;
+      }
+    }
+
+    drained = true;
+    for (Subscriber subscriber : subscribers.values()) {
+      subscriber.awaitStopped();
+    }
+  }
+
+  /**
+   * Asks all subscribers which events they are interested in and stores the result for
+   * {@link #isInterested(Event.Category, Event.Severity)}.
+   */
+  private synchronized void refreshInterest() {
+    boolean[] interest = new boolean[CATEGORIES.length * SEVERITIES.length];
+    for (Consumer<Event> consumer : subscribers.keySet()) {
+      for (Event.Category category : CATEGORIES) {
+        for (Event.Severity severity : SEVERITIES) {
+          int index = interestIndex(category, severity);
+          if (!interest[index]) {
+            interest[index] = !(consumer instanceof SelectiveEventConsumer)
+              || isInterested((SelectiveEventConsumer) consumer, category, severity);
+          }
+        }
+      }
+    }
+    this.interest = interest;
+  }
+
+  private boolean isInterested(final SelectiveEventConsumer consumer, final Event.Category category,
+                               final Event.Severity severity) {
+    try {
+      return consumer.isInterested(category, severity);
+    } catch (Throwable t) {
+      // better publish events which are not needed than to miss them.
+      return true;
+    }
+  }
+
+  private static int interestIndex(final Event.Category category, final Event.Severity severity) {
+    return category.ordinal() * SEVERITIES.length + severity.ordinal();
+  }
+
+  /**
+   * Hands on the event to the queue of every subscriber.
+   */
+  private void handOn(final Event event) {
+    for (Subscriber subscriber : subscribers.values()) {
+      if (!subscriber.queue.offer(event)) {
+        droppedOnDelivery.increment();
+      }
+    }
+  }
+
+  /**
+   * Wakes up the subscribers which are waiting, once per batch of events handed on.
+   */
+  private void signalSubscribers() {
+    for (Subscriber subscriber : subscribers.values()) {
+      if (subscriber.waiting) {
+        waitStrategy.signal(subscriber.thread);
+      }
+    }
+  }
+
   /**
    * Stops the {@link DefaultEventBus} from running.
    */
@@ -215,21 +416,252 @@ public class DefaultEventBus implements EventBus {
     return !subscribers.isEmpty();
   }
 
+  /**
+   * Returns the number of events which could not be published since the queue was full.
+   */
+  public long droppedOnPublish() {
+    return droppedOnPublish.sum();
+  }
+
+  /**
+   * Returns the number of events which could not be handed to a subscriber since its queue was full,
+   * counted once per subscriber which missed it.
+   */
+  public long droppedOnDelivery() {
+    return droppedOnDelivery.sum();
+  }
+
+  /**
+   * Holds the queue of a subscriber and the thread delivering them.
+   */
+  private class Subscriber implements Runnable {
+
+    private final Consumer<Event> consumer;
+    private final MessagePassingQueue<Event> queue;
+    private final MessagePassingQueue.Consumer<Event> deliver = this::deliver;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private volatile boolean subscribed = true;
+    private volatile boolean waiting;
+    private volatile Thread thread;
+
+    Subscriber(final Consumer<Event> consumer) {
+      this.consumer = consumer;
+      this.queue = new SpscArrayQueue<>(subscriberQueueCapacity);
+    }
+
+    void start() {
+      if (started.compareAndSet(false, true)) {
+        Thread thread = new Thread(this);
+        thread.setDaemon(true);
+        thread.setName(threadName + "-" + subscriberThreads.incrementAndGet());
+        this.thread = thread;
+        thread.start();
+      }
+    }
+
+    void stop() {
+      subscribed = false;
+      Thread thread = this.thread;
+      if (thread != null) {
+        waitStrategy.signal(thread);
+      }
+    }
+
+    /**
+     * Waits until the thread of this subscriber stopped, if it has been started.
+     */
+    void awaitStopped() {
+      Thread thread = this.thread;
+      if (thread == null) {
+        return;
+      }
+      waitStrategy.signal(thread);
+      while (thread.isAlive()) {
+        try {
+          thread.join();
+        } catch (InterruptedException e) {
+          // the event bus thread is interrupted when stopped, keep waiting.
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      int idleRounds = 0;
+      while (subscribed) {
+        if (queue.drain(deliver, batchSize) > 0) {
+          idleRounds = 0;
+        } else if (drained) {
+          if (queue.isEmpty()) {
+            break;
+          }
+        } else {
+          waiting = true;
+          if (subscribed && !drained && queue.isEmpty()) {
+            waitStrategy.idle(idleRounds);
+          }
+          waiting = false;
+          if (idleRounds < Integer.MAX_VALUE) {
+            idleRounds++;
+          }
+        }
+      }
+      thread = null;
+      started.set(false);
+    }
+
+    private void deliver(final Event event) {
+      try {
+        consumer.accept(event);
+      } catch (Throwable t) {
+        // any exception thrown in the event consumer is
+        // ignored, since it would otherwise kill the
+        // subscriber thread!
+        if (errorLogging != null) {
+          errorLogging.println("Exception caught in EventBus Consumer: " + t);
+          t.printStackTrace();
+        }
+      }
+    }
+
+  }
+
+  /**
+   * Determines how the event bus and subscriber threads wait if they have no events to process, and how
+   * they are woken up once there are.
+   */
+  public interface WaitStrategy {
+
+    /**
+     * Waits for new events, called on the waiting thread whenever it found no events to process.
+     *
+     * @param idleRounds how often in a row the thread found no events before, starting at 0.
+     */
+    void idle(int idleRounds);
+
+    /**
+     * Wakes up a thread which is waiting (or about to wait) in {@link #idle(int)}, called after new
+     * events have been queued for it.
+     *
+     * @param waiting the thread to wake up.
+     */
+    void signal(Thread waiting);
+
+    /**
+     * Sleeps for the given duration, without being woken up when events arrive.
+     *
+     * <p>This uses the least CPU under load, but every event is delayed by up to the duration.</p>
+     *
+     * @param duration the duration to sleep.
+     * @return the wait strategy.
+     */
+    static WaitStrategy sleeping(final Duration duration) {
+      return new SleepingWaitStrategy(duration);
+    }
+
+    /**
+     * Parks until woken up by the next event, but at most for the given duration.
+     *
+     * @param maxPark the maximum duration to park.
+     * @return the wait strategy.
+     */
+    static WaitStrategy parking(final Duration maxPark) {
+      return spinThenPark(0, maxPark);
+    }
+
+    /**
+     * Checks for events again right away for the given number of rounds before parking like
+     * {@link #parking(Duration)}.
+     *
+     * <p>This delivers bursts of events with the lowest latency, at the cost of burning CPU while
+     * spinning.</p>
+     *
+     * @param spins the number of rounds to spin before parking.
+     * @param maxPark the maximum duration to park.
+     * @return the wait strategy.
+     */
+    static WaitStrategy spinThenPark(final int spins, final Duration maxPark) {
+      return new ParkingWaitStrategy(spins, maxPark);
+    }
+
+  }
+
+  private static class SleepingWaitStrategy implements WaitStrategy {
+
+    private final long sleepMillis;
+
+    SleepingWaitStrategy(final Duration duration) {
+      this.sleepMillis = duration.toMillis();
+    }
+
+    @Override
+    public void idle(final int idleRounds) {
+      try {
+        Thread.sleep(sleepMillis);
+      } catch (InterruptedException e) {
+        // If this thread is interrupted, we continue
+        // into the loop early. so if interrupted for
+        // shutdown it completes quickly while sleeping
+      }
+    }
+
+    @Override
+    public void signal(final Thread waiting) {
+      // sleeps for the whole duration anyway.
+    }
+
+  }
+
+  private static class ParkingWaitStrategy implements WaitStrategy {
+
+    private final int spins;
+    private final long maxParkNanos;
+
+    ParkingWaitStrategy(final int spins, final Duration maxPark) {
+      this.spins = spins;
+      this.maxParkNanos = maxPark.toNanos();
+    }
+
+    @Override
+    public void idle(final int idleRounds) {
+      if (idleRounds >= spins) {
+        LockSupport.parkNanos(this, maxParkNanos);
+      }
+    }
+
+    @Override
+    public void signal(final Thread waiting) {
+      if (waiting != null) {
+        LockSupport.unpark(waiting);
+      }
+    }
+
+  }
+
   /**
    * Allows to modify the default configuration of the {@link DefaultEventBus}.
    */
   public static class Builder {
 
     int queueCapacity;
+    int subscriberQueueCapacity;
+    int batchSize;
     Optional<PrintStream> errorLogging;
     String threadName;
     Duration idleSleepDuration;
+    WaitStrategy waitStrategy;
+    Duration dropReportInterval;
+    Duration interestRefreshInterval;
 
     Builder() {
       queueCapacity = DEFAULT_QUEUE_CAPACITY;
+      subscriberQueueCapacity = DEFAULT_SUBSCRIBER_QUEUE_CAPACITY;
+      batchSize = DEFAULT_BATCH_SIZE;
       errorLogging = Optional.of(System.err);
       threadName = "cb-events";
       idleSleepDuration = DEFAULT_IDLE_SLEEP_DURATION;
+      dropReportInterval = DEFAULT_DROP_REPORT_INTERVAL;
+      interestRefreshInterval = DEFAULT_INTEREST_REFRESH_INTERVAL;
     }
 
     public Builder queueCapacity(final int queueCapacity) {
@@ -237,6 +669,22 @@ public class DefaultEventBus implements EventBus {
       return this;
     }
 
+    /**
+     * Sets how many events every subscriber can lag behind before events are dropped for it.
+     */
+    public Builder subscriberQueueCapacity(final int subscriberQueueCapacity) {
+      this.subscriberQueueCapacity = subscriberQueueCapacity;
+      return this;
+    }
+
+    /**
+     * Sets how many events are drained from a queue at once.
+     */
+    public Builder batchSize(final int batchSize) {
+      this.batchSize = batchSize;
+      return this;
+    }
+
     public Builder errorLogging(final Optional<PrintStream> errorLogging) {
       this.errorLogging = errorLogging;
       return this;
@@ -247,11 +695,41 @@ public class DefaultEventBus implements EventBus {
       return this;
     }
 
+    /**
+     * Sets the maximum duration to wait for new events, unless a custom {@link #waitStrategy(WaitStrategy)}
+     * is set.
+     */
     public Builder idleSleepDuration(final Duration idleSleepDuration) {
       this.idleSleepDuration = idleSleepDuration;
       return this;
     }
 
+    /**
+     * Sets how the threads wait for new events, by default they park for at most the
+     * {@link #idleSleepDuration(Duration)}.
+     */
+    public Builder waitStrategy(final WaitStrategy waitStrategy) {
+      this.waitStrategy = waitStrategy;
+      return this;
+    }
+
+    /**
+     * Sets how often dropped events are reported through an {@link EventsDroppedEvent}.
+     */
+    public Builder dropReportInterval(final Duration dropReportInterval) {
+      this.dropReportInterval = dropReportInterval;
+      return this;
+    }
+
+    /**
+     * Sets how often the subscribers are asked again which events they are interested in, so a changed log
+     * level is picked up.
+     */
+    public Builder interestRefreshInterval(final Duration interestRefreshInterval) {
+      this.interestRefreshInterval = interestRefreshInterval;
+      return this;
+    }
+
     public DefaultEventBus build() {
       return new DefaultEventBus(this);
     }
@@ -38,6 +38,20 @@ public interface EventBus {
    */
   PublishResult publish(Event event);
 
+  /**
+   * Checks if any subscriber would handle an event of the given category and severity.
+   *
+   * <p>This is meant to be called on hot paths before building an event, so it must be cheap. If it
+   * returns false, the event does not need to be built and published at all.</p>
+   *
+   * @param category the category of the event.
+   * @param severity the severity of the event.
+   * @return true if the event should be published, false if it would be discarded.
+   */
+  default boolean isInterested(Event.Category category, Event.Severity severity) {
+    return true;
+  }
+
   /**
    * Subscribes a {@link Consumer} to receive {@link Event Events}.
    *
@@ -17,15 +17,18 @@
 package com.couchbase.client.core.cnc;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.org.HdrHistogram.Histogram;
 import com.couchbase.client.core.env.LoggerConfig;
 import com.couchbase.client.core.msg.RequestContext;
 import org.slf4j.MDC;
 
 import java.io.PrintStream;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
@@ -42,21 +45,65 @@ import static com.couchbase.client.core.util.CbCollections.isNullOrEmpty;
  *
  * <p>If SLF4J is detected on the classpath it will be used, otherwise it will fall back to
  * java.com.couchbase.client.test.util.logging or the console depending on the configuration.</p>
+ *
+ * <p>It is only interested in events whose severity is enabled on the logger of their category, so
+ * the event bus can skip building all others.</p>
+ *
+ * <p>If an aggregation window is configured through {@link LoggerConfig#aggregationWindow()}, repeated
+ * events are counted instead of logged one by one, and summarized once per window.</p>
  */
-public class LoggingEventConsumer implements Consumer<Event> {
+public class LoggingEventConsumer implements SelectiveEventConsumer {
 
   /**
    * Contains true if SLF4J is on the classpath, false otherwise.
    */
   private static final boolean SLF4J_AVAILABLE = slf4JOnClasspath();
 
+  /**
+   * The number of kinds of events which are aggregated at most per window, further kinds are logged
+   * on their own so a flood of unique events does not pile up.
+   */
+  private static final int MAX_AGGREGATES = 1024;
+
+  private static final int INITIAL_LINE_CAPACITY = 256;
+
+  /**
+   * Line builders which grew beyond this capacity (i.e. for a traffic dump) are not kept around.
+   */
+  private static final int MAX_RETAINED_LINE_CAPACITY = 64 * 1024;
+
   /**
    * Contains the selected loggers that should be used for logging.
    */
-  private final Map<String, Logger> loggers = new HashMap<>(Event.Category.values().length);
+  private final Map<String, Logger> loggers = new ConcurrentHashMap<>(Event.Category.values().length);
 
   private final LoggerConfig loggerConfig;
 
+  /**
+   * The aggregation window in nanoseconds, 0 if events are not aggregated.
+   */
+  private final long aggregationWindowNanos;
+
+  /**
+   * Holds the kinds of events seen in the current aggregation window, by type and description.
+   */
+  private final Map<Class<? extends Event>, Map<String, Aggregate>> aggregates = new HashMap<>();
+
+  /**
+   * The number of kinds of events in {@link #aggregates}.
+   */
+  private int aggregateCount;
+
+  /**
+   * When the current aggregation window started.
+   */
+  private long windowStart = System.nanoTime();
+
+  /**
+   * Reused to build every log line.
+   */
+  private StringBuilder logLineBuilder = new StringBuilder(INITIAL_LINE_CAPACITY);
+
   /**
    * Creates a new {@link LoggingEventConsumer} with all defaults.
    *
@@ -72,6 +119,7 @@ public class LoggingEventConsumer implements Consumer<Event> {
 
   private LoggingEventConsumer(final LoggerConfig loggerConfig) {
     this.loggerConfig = loggerConfig;
+    this.aggregationWindowNanos = loggerConfig.aggregationWindow().toNanos();
   }
 
   private Logger createLogger(final String name) {
@@ -90,13 +138,53 @@ public class LoggingEventConsumer implements Consumer<Event> {
     return logger;
   }
 
+  /**
+   * Returns the logger for the given category, creating it if needed.
+   */
+  private Logger logger(final String category) {
+    Logger logger = loggers.get(category);
+    if (logger == null) {
+      logger = createLogger(category);
+      Logger existing = loggers.putIfAbsent(category, logger);
+      if (existing != null) {
+        logger = existing;
+      }
+    }
+    return logger;
+  }
+
   @Override
-  public void accept(final Event event) {
+  public boolean isInterested(final Event.Category category, final Event.Severity severity) {
+    Logger logger = logger(category.path());
+    switch (severity) {
+      case TRACING:
+        return false;
+      case VERBOSE:
+        return logger.isTraceEnabled();
+      case DEBUG:
+        return logger.isDebugEnabled();
+      case INFO:
+        return logger.isInfoEnabled();
+      case WARN:
+        return logger.isWarnEnabled();
+      case ERROR:
+      default:
+        return logger.isErrorEnabled();
+    }
+  }
+
+  @Override
+  public synchronized void accept(final Event event) {
     if (event.severity() == Event.Severity.TRACING) {
       return;
     }
 
-    StringBuilder logLineBuilder = new StringBuilder();
+    String description = event.description();
+    if (aggregationWindowNanos > 0 && aggregate(event, description)) {
+      return;
+    }
+
+    StringBuilder logLineBuilder = logLineBuilder();
 
     logLineBuilder.append("[").append(event.category()).append("]");
     logLineBuilder.append("[").append(event.getClass().getSimpleName()).append("]");
@@ -108,7 +196,6 @@ public class LoggingEventConsumer implements Consumer<Event> {
         .append("µs]");
     }
 
-    String description = event.description();
     if (description != null && !description.isEmpty()) {
       logLineBuilder.append(" ").append(description);
     }
@@ -119,11 +206,7 @@ public class LoggingEventConsumer implements Consumer<Event> {
 
     String logLine = logLineBuilder.toString();
 
-    Logger logger = loggers.get(event.category());
-    if (logger == null) {
-      logger = createLogger(event.category());
-      loggers.put(event.category(), logger);
-    }
+    Logger logger = logger(event.category());
 
     boolean diagnosticContext = loggerConfig.diagnosticContextEnabled() && event.context() instanceof RequestContext;
 
@@ -131,7 +214,40 @@ public class LoggingEventConsumer implements Consumer<Event> {
       logger.attachContext(((RequestContext) event.context()).clientContext());
     }
 
-    switch (event.severity()) {
+    log(logger, event.severity(), logLine);
+
+    if (diagnosticContext) {
+      logger.clearContext();
+    }
+  }
+
+  /**
+   * Logs a summary line for every kind of event which repeated in the current aggregation window, if
+   * aggregation is enabled.
+   *
+   * <p>This is done whenever an event arrives after the window is over, but should also be called
+   * periodically so the summaries are not held back if no more events arrive.</p>
+   */
+  public synchronized void flush() {
+    if (aggregationWindowNanos > 0) {
+      flushAggregates(System.nanoTime());
+    }
+  }
+
+  /**
+   * Returns the cleared line builder, which is reused for every line.
+   */
+  private StringBuilder logLineBuilder() {
+    if (logLineBuilder.capacity() > MAX_RETAINED_LINE_CAPACITY) {
+      logLineBuilder = new StringBuilder(INITIAL_LINE_CAPACITY);
+    } else {
+      logLineBuilder.setLength(0);
+    }
+    return logLineBuilder;
+  }
+
+  private static void log(final Logger logger, final Event.Severity severity, final String logLine) {
+    switch (severity) {
       case VERBOSE:
         logger.trace(logLine);
         break;
@@ -148,10 +264,136 @@ public class LoggingEventConsumer implements Consumer<Event> {
       default:
         logger.error(logLine);
     }
+  }
 
-    if (diagnosticContext) {
-      logger.clearContext();
+  /**
+   * Counts the event in the aggregation window.
+   *
+   * @return true if it has been counted only, false if it should be logged on its own (since it is the
+   *         first of its kind in the window, or too many different kinds have been seen).
+   */
+  private boolean aggregate(final Event event, final String description) {
+    long now = System.nanoTime();
+    if (now - windowStart >= aggregationWindowNanos) {
+      flushAggregates(now);
     }
+
+    Map<String, Aggregate> byDescription = aggregates.get(event.getClass());
+    if (byDescription == null) {
+      byDescription = new HashMap<>();
+      aggregates.put(event.getClass(), byDescription);
+    }
+
+    String key = description == null ? "" : description;
+    Aggregate aggregate = byDescription.get(key);
+    if (aggregate == null) {
+      if (aggregateCount >= MAX_AGGREGATES) {
+        return false;
+      }
+      aggregate = new Aggregate(event.category(), event.severity(), event.getClass().getSimpleName(), key);
+      byDescription.put(key, aggregate);
+      aggregateCount++;
+    }
+    return aggregate.record(event.duration());
+  }
+
+  /**
+   * Logs the summaries of the current window and starts a new one.
+   *
+   * <p>Kinds which have not been seen in the window are forgotten, the others are kept (and reset) so
+   * they do not need to be allocated again in the next window.</p>
+   */
+  private void flushAggregates(final long now) {
+    long windowMillis = TimeUnit.NANOSECONDS.toMillis(now - windowStart);
+    for (Iterator<Map<String, Aggregate>> types = aggregates.values().iterator(); types.hasNext(); ) {
+      Map<String, Aggregate> byDescription = types.next();
+      for (Iterator<Aggregate> it = byDescription.values().iterator(); it.hasNext(); ) {
+        Aggregate aggregate = it.next();
+        if (aggregate.occurrences == 0) {
+          it.remove();
+          aggregateCount--;
+          continue;
+        }
+        if (aggregate.occurrences > 1) {
+          logSummary(aggregate, windowMillis);
+        }
+        aggregate.reset();
+      }
+      if (byDescription.isEmpty()) {
+        types.remove();
+      }
+    }
+    windowStart = now;
+  }
+
+  private void logSummary(final Aggregate aggregate, final long windowMillis) {
+    StringBuilder logLineBuilder = logLineBuilder();
+
+    logLineBuilder.append("[").append(aggregate.category).append("]");
+    logLineBuilder.append("[").append(aggregate.type).append("]");
+    if (!aggregate.description.isEmpty()) {
+      logLineBuilder.append(" ").append(aggregate.description);
+    }
+    logLineBuilder
+      .append(" (repeated ")
+      .append(aggregate.occurrences - 1)
+      .append(" more times in the last ")
+      .append(windowMillis)
+      .append("ms");
+
+    Histogram durations = aggregate.durations;
+    if (durations.getMaxValue() > 0) {
+      logLineBuilder
+        .append(", durations min ").append(durations.getMinValue())
+        .append("µs, p50 ").append(durations.getValueAtPercentile(50.0))
+        .append("µs, p99 ").append(durations.getValueAtPercentile(99.0))
+        .append("µs, max ").append(durations.getMaxValue())
+        .append("µs");
+    }
+    logLineBuilder.append(")");
+
+    log(logger(aggregate.category), aggregate.severity, logLineBuilder.toString());
+  }
+
+  /**
+   * Counts the events of one kind in the current aggregation window.
+   */
+  private static class Aggregate {
+
+    private final String category;
+    private final Event.Severity severity;
+    private final String type;
+    private final String description;
+
+    /**
+     * The durations of all events of this kind in the window, in microseconds.
+     */
+    private final Histogram durations = new Histogram(2);
+
+    private long occurrences;
+
+    Aggregate(final String category, final Event.Severity severity, final String type, final String description) {
+      this.category = category;
+      this.severity = severity;
+      this.type = type;
+      this.description = description;
+    }
+
+    /**
+     * Records an event of this kind.
+     *
+     * @return true if it is a repetition, false if it is the first one in the window.
+     */
+    boolean record(final Duration duration) {
+      durations.recordValue(TimeUnit.NANOSECONDS.toMicros(duration.toNanos()));
+      return ++occurrences > 1;
+    }
+
+    void reset() {
+      occurrences = 0;
+      durations.reset();
+    }
+
   }
 
   /**
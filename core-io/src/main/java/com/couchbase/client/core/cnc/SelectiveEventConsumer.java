@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc;
+
+import java.util.function.Consumer;
+
+/**
+ * An event consumer which only handles some categories and severities of events.
+ *
+ * <p>If it is subscribed to an {@link EventBus}, the bus uses it to answer
+ * {@link EventBus#isInterested(Event.Category, Event.Severity)}, so events no subscriber handles are
+ * not even built. Consumers which do not implement this interface are interested in all events.</p>
+ *
+ * @since 2.0.0
+ */
+public interface SelectiveEventConsumer extends Consumer<Event> {
+
+  /**
+   * Returns true if this consumer handles events of the given category and severity.
+   *
+   * <p>This is called whenever the subscribers change and periodically after that, so the answer may
+   * change over time (i.e. when the log level is changed).</p>
+   *
+   * @param category the category of the event.
+   * @param severity the severity of the event.
+   * @return true if it handles these events, false if they can be skipped.
+   */
+  boolean isInterested(Event.Category category, Event.Severity severity);
+
+}
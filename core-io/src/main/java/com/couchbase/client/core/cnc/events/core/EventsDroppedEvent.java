@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.events.core;
+
+import com.couchbase.client.core.cnc.AbstractEvent;
+
+import java.time.Duration;
+
+/**
+ * Raised periodically by the event bus if it had to drop events since the previous report, because it or
+ * one of its subscribers could not keep up.
+ *
+ * @since 2.0.0
+ */
+public class EventsDroppedEvent extends AbstractEvent {
+
+  private final long droppedOnPublish;
+  private final long droppedOnDelivery;
+
+  public EventsDroppedEvent(final Duration interval, final long droppedOnPublish, final long droppedOnDelivery) {
+    super(Severity.WARN, Category.CORE, interval, null);
+    this.droppedOnPublish = droppedOnPublish;
+    this.droppedOnDelivery = droppedOnDelivery;
+  }
+
+  /**
+   * The number of events which could not be published since the queue of the event bus was full.
+   */
+  public long droppedOnPublish() {
+    return droppedOnPublish;
+  }
+
+  /**
+   * The number of events which have not been delivered to a subscriber since its queue was full.
+   *
+   * <p>If more than one subscriber missed an event, it is counted once per subscriber.</p>
+   */
+  public long droppedOnDelivery() {
+    return droppedOnDelivery;
+  }
+
+  @Override
+  public String description() {
+    return "Dropped " + droppedOnPublish + " events on publish and " + droppedOnDelivery
+      + " events on delivery since the event bus was overloaded";
+  }
+
+}
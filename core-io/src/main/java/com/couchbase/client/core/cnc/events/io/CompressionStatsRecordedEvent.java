@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.cnc.events.io;
+
+import com.couchbase.client.core.cnc.AbstractEvent;
+import com.couchbase.client.core.io.IoContext;
+import com.couchbase.client.core.io.netty.kv.CompressionStats;
+
+import java.time.Duration;
+
+/**
+ * Periodically reports how well and how fast values have been compressed and decompressed on a
+ * KV connection since the previous report.
+ *
+ * @since 2.0.0
+ */
+public class CompressionStatsRecordedEvent extends AbstractEvent {
+
+  private final CompressionStats.Snapshot stats;
+
+  public CompressionStatsRecordedEvent(final Duration interval, final IoContext context,
+                                       final CompressionStats.Snapshot stats) {
+    super(Severity.DEBUG, Category.IO, interval, context);
+    this.stats = stats;
+  }
+
+  /**
+   * Returns the recorded stats.
+   */
+  public CompressionStats.Snapshot stats() {
+    return stats;
+  }
+
+  @Override
+  public String description() {
+    return "Compression stats: " + stats;
+  }
+
+}
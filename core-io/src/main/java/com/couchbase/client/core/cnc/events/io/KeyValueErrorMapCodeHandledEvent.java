@@ -27,10 +27,13 @@ import java.time.Duration;
  */
 public class KeyValueErrorMapCodeHandledEvent extends AbstractEvent {
 
+  public static final Severity SEVERITY = Severity.DEBUG;
+  public static final Category CATEGORY = Category.IO;
+
   private final ErrorMap.ErrorCode errorCode;
 
   public KeyValueErrorMapCodeHandledEvent(final IoContext context, final ErrorMap.ErrorCode errorCode) {
-    super(Severity.DEBUG, Category.IO, Duration.ZERO, context);
+    super(SEVERITY, CATEGORY, Duration.ZERO, context);
     this.errorCode = errorCode;
   }
 
@@ -24,10 +24,13 @@ import java.time.Duration;
 
 public class ReadTrafficCapturedEvent extends AbstractEvent  {
 
+  public static final Event.Severity SEVERITY = Event.Severity.VERBOSE;
+  public static final Event.Category CATEGORY = Event.Category.IO;
+
   private final String converted;
 
   public ReadTrafficCapturedEvent(final IoContext context, final String converted) {
-    super(Event.Severity.VERBOSE, Event.Category.IO, Duration.ZERO, context);
+    super(SEVERITY, CATEGORY, Duration.ZERO, context);
     this.converted = converted;
   }
 
@@ -25,10 +25,13 @@ import java.time.Duration;
 
 public class UnknownResponseStatusReceivedEvent extends AbstractEvent {
 
+  public static final Severity SEVERITY = Severity.INFO;
+  public static final Category CATEGORY = Category.IO;
+
   private final short status;
 
   public UnknownResponseStatusReceivedEvent(IoContext context, short status) {
-    super(Severity.INFO, Category.IO, Duration.ZERO, context);
+    super(SEVERITY, CATEGORY, Duration.ZERO, context);
     this.status = status;
   }
 
@@ -23,10 +23,13 @@ import java.time.Duration;
 
 public class WriteTrafficCapturedEvent extends AbstractEvent {
 
+  public static final Severity SEVERITY = Severity.VERBOSE;
+  public static final Category CATEGORY = Category.IO;
+
   private final String converted;
 
   public WriteTrafficCapturedEvent(final IoContext context, final String converted) {
-    super(Severity.VERBOSE, Category.IO, Duration.ZERO, context);
+    super(SEVERITY, CATEGORY, Duration.ZERO, context);
     this.converted = converted;
   }
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.core.cnc.events.request;
+
+import com.couchbase.client.core.cnc.AbstractEvent;
+import com.couchbase.client.core.cnc.Context;
+
+import java.time.Duration;
+
+/**
+ * Periodically reports the statistics of a client side near cache for documents.
+ *
+ * <p>The hits, misses and evictions are counted since the previous report, while the entries and
+ * weight describe the cache at the time of the report.</p>
+ *
+ * @since 2.0.0
+ */
+public class NearCacheStatsEvent extends AbstractEvent {
+
+  private final String collection;
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+  private final long entries;
+  private final long weight;
+
+  public NearCacheStatsEvent(final Duration interval, final Context context, final String collection,
+                             final long hits, final long misses, final long evictions, final long entries,
+                             final long weight) {
+    super(Severity.DEBUG, Category.REQUEST, interval, context);
+    this.collection = collection;
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.entries = entries;
+    this.weight = weight;
+  }
+
+  public String collection() {
+    return collection;
+  }
+
+  public long hits() {
+    return hits;
+  }
+
+  public long misses() {
+    return misses;
+  }
+
+  public long evictions() {
+    return evictions;
+  }
+
+  public long entries() {
+    return entries;
+  }
+
+  public long weight() {
+    return weight;
+  }
+
+  @Override
+  public String description() {
+    return "Near cache of " + collection + ": " + hits + " hits, " + misses + " misses, "
+      + evictions + " evictions, " + entries + " entries, " + weight + " bytes";
+  }
+
+}
@@ -24,11 +24,14 @@ import java.time.Duration;
 
 public class RequestRetriedEvent extends AbstractEvent {
 
+  public static final Severity SEVERITY = Severity.DEBUG;
+  public static final Category CATEGORY = Category.REQUEST;
+
   private final Class<?> request;
   private final RetryReason retryReason;
 
   public RequestRetriedEvent(Duration duration, RequestContext context, Class<?> request, final RetryReason reason) {
-    super(Severity.DEBUG, Category.REQUEST, duration, context);
+    super(SEVERITY, CATEGORY, duration, context);
     this.request = request;
     this.retryReason = reason;
   }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.config;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+
+/**
+ * Extracts the revision of a raw JSON config without parsing it.
+ *
+ * <p>Configs are proposed much more often than they change (every "not my vbucket" response carries one),
+ * so the revision is scanned from the raw bytes or characters first. This allows to discard configs which
+ * are not newer than the current one before paying for the string conversion and the full parse.</p>
+ *
+ * <p>Only the top level {@code "rev"} field is considered. If it cannot be found or is not a plain
+ * non-negative integer, {@link #UNKNOWN} is returned and the caller needs to fall back to the full parse.</p>
+ *
+ * @since 2.0.0
+ */
+@Stability.Internal
+public class ConfigRevision {
+
+  /**
+   * Returned if the revision could not be determined.
+   */
+  public static final long UNKNOWN = -1;
+
+  /**
+   * Limits the digits so the revision cannot overflow.
+   */
+  private static final int MAX_DIGITS = 18;
+
+  private ConfigRevision() {}
+
+  /**
+   * Scans the readable bytes of the buffer for the top level revision, without modifying its indexes.
+   *
+   * @param json the raw config.
+   * @return the revision or {@link #UNKNOWN} if not found.
+   */
+  public static long scan(final ByteBuf json) {
+    final int end = json.writerIndex();
+    int depth = 0;
+    for (int i = json.readerIndex(); i < end; i++) {
+      byte c = json.getByte(i);
+      if (c == '"') {
+        int close = i + 1;
+        while (close < end && json.getByte(close) != '"') {
+          close += json.getByte(close) == '\\' ? 2 : 1;
+        }
+        if (close >= end) {
+          return UNKNOWN;
+        }
+        if (depth == 1 && close - i == 4 && json.getByte(i + 1) == 'r' && json.getByte(i + 2) == 'e'
+          && json.getByte(i + 3) == 'v') {
+          int value = skipWhitespace(json, close + 1, end);
+          if (value < end && json.getByte(value) == ':') {
+            return number(json, skipWhitespace(json, value + 1, end), end);
+          }
+        }
+        i = close;
+      } else if (c == '{' || c == '[') {
+        depth++;
+      } else if (c == '}' || c == ']') {
+        depth--;
+      }
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * Scans the characters for the top level revision.
+   *
+   * @param json the raw config.
+   * @return the revision or {@link #UNKNOWN} if not found.
+   */
+  public static long scan(final CharSequence json) {
+    final int end = json.length();
+    int depth = 0;
+    for (int i = 0; i < end; i++) {
+      char c = json.charAt(i);
+      if (c == '"') {
+        int close = i + 1;
+        while (close < end && json.charAt(close) != '"') {
+          close += json.charAt(close) == '\\' ? 2 : 1;
+        }
+        if (close >= end) {
+          return UNKNOWN;
+        }
+        if (depth == 1 && close - i == 4 && json.charAt(i + 1) == 'r' && json.charAt(i + 2) == 'e'
+          && json.charAt(i + 3) == 'v') {
+          int value = skipWhitespace(json, close + 1, end);
+          if (value < end && json.charAt(value) == ':') {
+            return number(json, skipWhitespace(json, value + 1, end), end);
+          }
+        }
+        i = close;
+      } else if (c == '{' || c == '[') {
+        depth++;
+      } else if (c == '}' || c == ']') {
+        depth--;
+      }
+    }
+    return UNKNOWN;
+  }
+
+  private static int skipWhitespace(final ByteBuf json, int i, final int end) {
+    while (i < end && isWhitespace(json.getByte(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static int skipWhitespace(final CharSequence json, int i, final int end) {
+    while (i < end && isWhitespace(json.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static long number(final ByteBuf json, final int start, final int end) {
+    long result = 0;
+    int i = start;
+    while (i < end && i - start <= MAX_DIGITS) {
+      byte c = json.getByte(i);
+      if (c < '0' || c > '9') {
+        break;
+      }
+      result = result * 10 + (c - '0');
+      i++;
+    }
+    return terminatesNumber(i, start, end, i < end ? json.getByte(i) : -1) ? result : UNKNOWN;
+  }
+
+  private static long number(final CharSequence json, final int start, final int end) {
+    long result = 0;
+    int i = start;
+    while (i < end && i - start <= MAX_DIGITS) {
+      char c = json.charAt(i);
+      if (c < '0' || c > '9') {
+        break;
+      }
+      result = result * 10 + (c - '0');
+      i++;
+    }
+    return terminatesNumber(i, start, end, i < end ? json.charAt(i) : -1) ? result : UNKNOWN;
+  }
+
+  /**
+   * Checks that at least one digit has been read and that the number is not continued as a fraction,
+   * exponent or with more digits than allowed.
+   */
+  private static boolean terminatesNumber(final int i, final int start, final int end, final int next) {
+    if (i == start || i - start > MAX_DIGITS) {
+      return false;
+    }
+    return i == end || next == ',' || next == '}' || isWhitespace(next);
+  }
+
+  private static boolean isWhitespace(final int c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+  }
+
+}
@@ -94,6 +94,16 @@ public interface ConfigurationProvider  {
    */
   void proposeGlobalConfig(ProposedGlobalConfigContext ctx);
 
+  /**
+   * Signals that the server pushes config changes for this bucket on its own.
+   *
+   * <p>This is called once a KV connection to the bucket negotiated cluster map change notifications,
+   * so that the provider can relax polling for new configs to a slow fallback.</p>
+   *
+   * @param bucket the name of the bucket.
+   */
+  void signalConfigNotificationsEnabled(String bucket);
+
   /**
    * Instructs the provider to try and load the global config, and then manage it.
    */
@@ -107,6 +117,8 @@ public interface ConfigurationProvider  {
   /**
    * Helper method to refresh the collection map for the given bucket.
    *
+   * <p>Concurrent refreshes of the same bucket share a single lookup.</p>
+   *
    * @param bucket the name of the bucket.
    * @param force if set, the provider must fetch a new one. otherwise it will only fetch one for the bucket if not
    *              already present.
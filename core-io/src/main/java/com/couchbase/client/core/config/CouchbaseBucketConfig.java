@@ -75,7 +75,7 @@ public class CouchbaseBucketConfig extends AbstractBucketConfig {
         this.tainted = partitionInfo.tainted();
         List<NodeInfo> extendedNodeInfos = this.nodes(); // includes ports for SSL services
         this.partitionHosts = buildPartitionHosts(extendedNodeInfos, partitionInfo);
-        this.nodesWithPrimaryPartitions = buildNodesWithPrimaryPartitions(nodeInfos, partitionInfo.partitions());
+        this.nodesWithPrimaryPartitions = buildNodesWithPrimaryPartitions(nodeInfos, partitionInfo);
         this.rev = rev;
 
         // Use bucket capabilities to identify if couchapi is missing (then its ephemeral). If its null then
@@ -91,10 +91,10 @@ public class CouchbaseBucketConfig extends AbstractBucketConfig {
      * @return a set containing the addresses of nodes with primary partitions.
      */
     private static Set<String> buildNodesWithPrimaryPartitions(final List<NodeInfo> nodeInfos,
-                                                                       final List<Partition> partitions) {
+                                                               final PartitionInfo partitionInfo) {
         Set<String> nodes = new HashSet<>(nodeInfos.size());
-        for (Partition partition : partitions) {
-            int index = partition.master();
+        for (int partition = 0; partition < partitionInfo.numberOfPartitions(); partition++) {
+            int index = partitionInfo.nodeIndexForMaster(partition, false);
             if (index >= 0) {
                 nodes.add(nodeInfos.get(index).hostname());
             }
@@ -181,33 +181,18 @@ public class CouchbaseBucketConfig extends AbstractBucketConfig {
         if (useFastForward && !hasFastForwardMap()) {
             throw new IllegalStateException("Could not get index from FF-Map, none found in this config.");
         }
-
-        List<Partition> partitions = useFastForward ? partitionInfo.forwardPartitions() : partitionInfo.partitions();
-        try {
-            return partitions.get(partition).master();
-        } catch (IndexOutOfBoundsException ex) {
-            // TODO: LOGGER.debug("Out of bounds on index for master " + partition + ".", ex);
-            return PARTITION_NOT_EXISTENT;
-        }
+        return partitionInfo.nodeIndexForMaster(partition, useFastForward);
     }
 
     public short nodeIndexForReplica(int partition, int replica, boolean useFastForward) {
         if (useFastForward && !hasFastForwardMap()) {
             throw new IllegalStateException("Could not get index from FF-Map, none found in this config.");
         }
-
-        List<Partition> partitions = useFastForward ? partitionInfo.forwardPartitions() : partitionInfo.partitions();
-
-        try {
-            return partitions.get(partition).replica(replica);
-        } catch (IndexOutOfBoundsException ex) {
-            // TODO: LOGGER.debug("Out of bounds on index for replica " + partition + ".", ex);
-            return PARTITION_NOT_EXISTENT;
-        }
+        return partitionInfo.nodeIndexForReplica(partition, replica, useFastForward);
     }
 
     public int numberOfPartitions() {
-        return partitionInfo.partitions().size();
+        return partitionInfo.numberOfPartitions();
     }
 
     public NodeInfo nodeAtIndex(int nodeIndex) {
@@ -20,6 +20,7 @@ import com.couchbase.client.core.Core;
 import com.couchbase.client.core.Reactor;
 import com.couchbase.client.core.cnc.EventBus;
 import com.couchbase.client.core.cnc.events.config.CollectionMapDecodingFailedEvent;
+import com.couchbase.client.core.cnc.events.config.CollectionMapRefreshFailedEvent;
 import com.couchbase.client.core.cnc.events.config.ConfigIgnoredEvent;
 import com.couchbase.client.core.cnc.events.config.BucketConfigUpdatedEvent;
 import com.couchbase.client.core.cnc.events.config.GlobalConfigUpdatedEvent;
@@ -43,6 +44,7 @@ import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.msg.kv.GetCollectionManifestRequest;
 import com.couchbase.client.core.node.NodeIdentifier;
 import com.couchbase.client.core.retry.BestEffortRetryStrategy;
+import com.couchbase.client.core.retry.RetryParking;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.util.UnsignedLEB128;
 import reactor.core.publisher.DirectProcessor;
@@ -50,11 +52,13 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -114,6 +118,21 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
 
   private final AtomicBoolean alternateAddrChecked = new AtomicBoolean(false);
 
+  /**
+   * Holds the newest proposed bucket config per bucket which has not been parsed yet.
+   */
+  private final Map<String, ProposedBucketConfigContext> pendingBucketConfigs = new ConcurrentHashMap<>();
+
+  /**
+   * Holds the buckets for which a thread currently parses and applies pending configs.
+   */
+  private final Set<String> bucketConfigsInProgress = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Holds the collection map refresh currently in flight per bucket, shared by everyone who needs it.
+   */
+  private final Map<String, Mono<Void>> collectionMapRefreshes = new ConcurrentHashMap<>();
+
   /**
    * Stores the current seed nodes used to bootstrap buckets and global configs.
    */
@@ -210,6 +229,7 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
             return ctx;
           })
           .then(registerRefresher(name))
+          .then(prefetchCollectionMap(name))
           .onErrorResume(t -> closeBucketIgnoreShutdown(name).then(Mono.error(t)));
       } else {
         return Mono.error(new AlreadyShutdownException());
@@ -247,37 +267,94 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
     });
   }
 
+  /**
+   * Proposes a new bucket config.
+   *
+   * <p>Proposals which do not carry a newer revision than the current config are discarded based on a scan
+   * of the raw config, before it is parsed. Proposals for the same bucket are coalesced: while one thread
+   * parses and applies a config, concurrent proposals only replace the pending config if they are newer,
+   * and the parsing thread picks up the newest one once it is done.</p>
+   *
+   * @param ctx the context which contains all the information needed to parse and apply the config.
+   */
   @Override
   public void proposeBucketConfig(final ProposedBucketConfigContext ctx) {
-    if (!shutdown.get()) {
-      try {
-        BucketConfig config = BucketConfigParser.parse(
-          ctx.config(),
-          core.context().environment(),
-          ctx.origin()
-        );
-        checkAndApplyConfig(config);
-      } catch (Exception ex) {
-        eventBus.publish(new ConfigIgnoredEvent(
-          core.context(),
-          ConfigIgnoredEvent.Reason.PARSE_FAILURE,
-          Optional.of(ex),
-          Optional.of(ctx.config())
-        ));
-      }
-    } else {
+    if (shutdown.get()) {
       eventBus.publish(new ConfigIgnoredEvent(
         core.context(),
         ConfigIgnoredEvent.Reason.ALREADY_SHUTDOWN,
         Optional.empty(),
         Optional.of(ctx.config())
       ));
+      return;
+    }
+
+    final String name = ctx.bucketName();
+    if (isOldOrSameRevision(currentConfig.bucketConfig(name), ctx.revision())) {
+      publishOldOrSameRevision();
+      return;
+    }
+
+    pendingBucketConfigs.merge(name, ctx, (pending, proposed) -> {
+      if (proposed.revision() == ConfigRevision.UNKNOWN || proposed.revision() > pending.revision()) {
+        return proposed;
+      }
+      publishOldOrSameRevision();
+      return pending;
+    });
+
+    while (bucketConfigsInProgress.add(name)) {
+      try {
+        ProposedBucketConfigContext next;
+        while ((next = pendingBucketConfigs.remove(name)) != null) {
+          parseAndApplyBucketConfig(next);
+        }
+      } finally {
+        bucketConfigsInProgress.remove(name);
+      }
+
+      if (!pendingBucketConfigs.containsKey(name)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Parses the proposed bucket config and applies it if it is still newer than the current one.
+   *
+   * @param ctx the proposed config.
+   */
+  private void parseAndApplyBucketConfig(final ProposedBucketConfigContext ctx) {
+    if (isOldOrSameRevision(currentConfig.bucketConfig(ctx.bucketName()), ctx.revision())) {
+      publishOldOrSameRevision();
+      return;
+    }
+
+    try {
+      BucketConfig config = BucketConfigParser.parse(
+        ctx.config(),
+        core.context().environment(),
+        ctx.origin()
+      );
+      checkAndApplyConfig(config);
+    } catch (Exception ex) {
+      eventBus.publish(new ConfigIgnoredEvent(
+        core.context(),
+        ConfigIgnoredEvent.Reason.PARSE_FAILURE,
+        Optional.of(ex),
+        Optional.of(ctx.config())
+      ));
     }
   }
 
   @Override
   public void proposeGlobalConfig(final ProposedGlobalConfigContext ctx) {
     if (!shutdown.get()) {
+      if (isOldOrSameRevision(currentConfig.globalConfig(), ConfigRevision.scan(ctx.config()))) {
+        publishOldOrSameRevision();
+        return;
+      }
+
       try {
         GlobalConfig config = GlobalConfigParser.parse(ctx.config(), ctx.origin());
         checkAndApplyConfig(config);
@@ -299,6 +376,11 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
     }
   }
 
+  @Override
+  public void signalConfigNotificationsEnabled(final String bucket) {
+    keyValueRefresher.markConfigNotificationsEnabled(bucket);
+  }
+
   @Override
   public Mono<Void> closeBucket(final String name) {
     return Mono.defer(() -> shutdown.get()
@@ -321,6 +403,7 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
   private Mono<Void> closeBucketIgnoreShutdown(final String name) {
     return Mono
       .defer(() -> {
+        pendingBucketConfigs.remove(name);
         currentConfig.deleteBucketConfig(name);
         pushConfig();
         return Mono.empty();
@@ -362,34 +445,78 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
   @Override
   public Mono<Void> refreshCollectionMap(final String bucket, final boolean force) {
     if (!collectionMap.hasBucketMap(bucket) || force) {
-      return Mono.defer(() -> {
-        GetCollectionManifestRequest request = new GetCollectionManifestRequest(
-          core.context().environment().timeoutConfig().kvTimeout(),
-          core.context(),
-          BestEffortRetryStrategy.INSTANCE,
-          new CollectionIdentifier(bucket, Optional.empty(), Optional.empty())
-        );
-        core.send(request);
-        return Reactor
-          .wrap(request, request.response(), true)
-          .flatMap(response -> {
-            if (response.status().success() && response.manifest().isPresent()) {
-              parseAndStoreCollectionsManifest(bucket, response.manifest().get());
-              return Mono.empty();
-            } else {
-              if (response.status() == ResponseStatus.UNKNOWN) {
-                return Mono.error(new CollectionsNotAvailableException());
-              } else {
-                return Mono.error(new CouchbaseException(response.toString()));
-              }
-            }
-          });
-      });
+      return Mono.defer(() -> collectionMapRefreshes.computeIfAbsent(bucket, this::fetchCollectionMap));
     } else {
       return Mono.empty();
     }
   }
 
+  /**
+   * Creates the shared refresh of the collection map for the given bucket.
+   *
+   * <p>The manifest is fetched once and the outcome is replayed to all subscribers. When done, the
+   * refresh is removed so the next one fetches a new manifest, and the requests parked until the
+   * collections have been refreshed are released.</p>
+   *
+   * @param bucket the name of the bucket.
+   * @return the refresh which is shared until it completes.
+   */
+  private Mono<Void> fetchCollectionMap(final String bucket) {
+    return Mono.defer(() -> {
+      GetCollectionManifestRequest request = new GetCollectionManifestRequest(
+        core.context().environment().timeoutConfig().kvTimeout(),
+        core.context(),
+        BestEffortRetryStrategy.INSTANCE,
+        new CollectionIdentifier(bucket, Optional.empty(), Optional.empty())
+      );
+      core.send(request);
+      return Reactor
+        .wrap(request, request.response(), true)
+        .flatMap(response -> {
+          if (response.status().success() && response.manifest().isPresent()) {
+            parseAndStoreCollectionsManifest(bucket, response.manifest().get());
+            return Mono.<Void>empty();
+          } else {
+            if (response.status() == ResponseStatus.UNKNOWN) {
+              return Mono.<Void>error(new CollectionsNotAvailableException());
+            } else {
+              return Mono.<Void>error(new CouchbaseException(response.toString()));
+            }
+          }
+        });
+    })
+    .doFinally(signal -> {
+      collectionMapRefreshes.remove(bucket);
+      RetryParking parking = core.retryParking();
+      if (parking != null) {
+        parking.collectionsRefreshed(bucket);
+      }
+    })
+    .cache();
+  }
+
+  /**
+   * Loads the collection map of a freshly opened bucket if enabled on the environment.
+   *
+   * <p>Failures (i.e. because the cluster does not support collections) do not fail opening the bucket,
+   * the collection IDs are then looked up on demand.</p>
+   *
+   * @param bucket the name of the bucket.
+   */
+  private Mono<Void> prefetchCollectionMap(final String bucket) {
+    return Mono.defer(() -> {
+      if (!core.context().environment().ioConfig().collectionManifestPrefetchEnabled()) {
+        return Mono.empty();
+      }
+      final long start = System.nanoTime();
+      return refreshCollectionMap(bucket, false).onErrorResume(err -> {
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        eventBus.publish(new CollectionMapRefreshFailedEvent(duration, core.context(), err));
+        return Mono.empty();
+      });
+    });
+  }
+
   /**
    * Parses a raw collections manifest and stores it in the collections map.
    *
@@ -412,6 +539,37 @@ public class DefaultConfigurationProvider implements ConfigurationProvider {
     }
   }
 
+  /**
+   * Checks if the scanned revision of a proposed bucket config is not newer than the current one.
+   *
+   * @param current the current config, might be null.
+   * @param revision the scanned revision of the proposed config.
+   * @return true if the proposed config can be discarded without parsing it.
+   */
+  private static boolean isOldOrSameRevision(final BucketConfig current, final long revision) {
+    return revision > 0 && current != null && revision <= current.rev();
+  }
+
+  /**
+   * Checks if the scanned revision of a proposed global config is not newer than the current one.
+   *
+   * @param current the current config, might be null.
+   * @param revision the scanned revision of the proposed config.
+   * @return true if the proposed config can be discarded without parsing it.
+   */
+  private static boolean isOldOrSameRevision(final GlobalConfig current, final long revision) {
+    return revision > 0 && current != null && revision <= current.rev();
+  }
+
+  private void publishOldOrSameRevision() {
+    eventBus.publish(new ConfigIgnoredEvent(
+      core.context(),
+      ConfigIgnoredEvent.Reason.OLD_OR_SAME_REVISION,
+      Optional.empty(),
+      Optional.empty()
+    ));
+  }
+
   /**
    * Analyzes the given config and decides if to apply it (and does so if needed).
    *
@@ -18,36 +18,43 @@ package com.couchbase.client.core.config;
 
 import com.couchbase.client.core.deps.com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.annotation.JsonProperty;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Base64;
 import java.util.List;
 
 /**
  * Represents the partition information for a bucket.
  *
+ * <p>The vbucket maps are stored as one flat array per replica level, where the first array holds the
+ * node index of the active copy for every partition and the following ones the node indexes of the
+ * replicas. They are streamed straight into this representation through the
+ * {@link PartitionMapDeserializer}.</p>
+ *
  * @since 1.1.0
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class PartitionInfo {
 
+    private static final short[][] EMPTY = new short[0][];
+
     private final int numberOfReplicas;
     private final String[] partitionHosts;
-    private final List<Partition> partitions;
-    private final List<Partition> forwardPartitions;
+    private final short[][] partitions;
+    private final short[][] forwardPartitions;
     private final boolean tainted;
 
     PartitionInfo(
         @JsonProperty("numReplicas") int numberOfReplicas,
         @JsonProperty("serverList") List<String> partitionHosts,
-        @JsonProperty("vBucketMap") List<List<Short>> partitions,
-        @JsonProperty("vBucketMapForward") List<List<Short>> forwardPartitions) {
+        @JsonProperty("vBucketMap") @JsonDeserialize(using = PartitionMapDeserializer.class) short[][] partitions,
+        @JsonProperty("vBucketMapForward") @JsonDeserialize(using = PartitionMapDeserializer.class)
+            short[][] forwardPartitions) {
         this.numberOfReplicas = numberOfReplicas;
         this.partitionHosts = partitionHosts.toArray(new String[partitionHosts.size()]);
-        this.partitions = fromPartitionList(partitions);
-        if (forwardPartitions != null && !forwardPartitions.isEmpty()) {
-            this.forwardPartitions = fromPartitionList(forwardPartitions);
+        this.partitions = partitions == null ? EMPTY : partitions;
+        if (forwardPartitions != null && forwardPartitions.length > 0 && forwardPartitions[0].length > 0) {
+            this.forwardPartitions = forwardPartitions;
             this.tainted = true;
         } else {
             this.forwardPartitions = null;
@@ -67,42 +74,69 @@ public class PartitionInfo {
         return partitionHosts;
     }
 
-    public List<Partition> partitions() {
-        return partitions;
+    /**
+     * Returns the number of partitions in the (current) vbucket map.
+     */
+    public int numberOfPartitions() {
+        return partitions.length == 0 ? 0 : partitions[0].length;
     }
 
-    public List<Partition> forwardPartitions() {
-        return forwardPartitions;
+    /**
+     * Returns the node index of the active copy of the partition.
+     *
+     * @param partition the partition id.
+     * @param useFastForward if the fast forward map should be used, which must be present.
+     * @return the node index, -1 if not assigned or {@link CouchbaseBucketConfig#PARTITION_NOT_EXISTENT}.
+     */
+    public short nodeIndexForMaster(final int partition, final boolean useFastForward) {
+        return nodeIndex(useFastForward ? forwardPartitions : partitions, 0, partition);
     }
 
-    public boolean tainted() {
-        return tainted;
+    /**
+     * Returns the node index of a replica copy of the partition.
+     *
+     * @param partition the partition id.
+     * @param replica the replica, starting at 0 for the first replica.
+     * @param useFastForward if the fast forward map should be used, which must be present.
+     * @return the node index, -1 if not assigned or {@link CouchbaseBucketConfig#PARTITION_NOT_EXISTENT}.
+     */
+    public short nodeIndexForReplica(final int partition, final int replica, final boolean useFastForward) {
+        if (replica < 0) {
+            return (short) CouchbaseBucketConfig.PARTITION_NOT_EXISTENT;
+        }
+        return nodeIndex(useFastForward ? forwardPartitions : partitions, replica + 1, partition);
     }
 
-    private static List<Partition> fromPartitionList(List<List<Short>> input) {
-        List<Partition> partitions = new ArrayList<Partition>();
-        if (input == null) {
-            return partitions;
+    private static short nodeIndex(final short[][] map, final int level, final int partition) {
+        if (map == null || level >= map.length || partition < 0 || partition >= map[level].length) {
+            return (short) CouchbaseBucketConfig.PARTITION_NOT_EXISTENT;
         }
+        return map[level][partition];
+    }
 
-        for (List<Short> partition : input) {
-            short master = partition.remove(0);
-            short[] replicas = new short[partition.size()];
-            int i = 0;
-            for (short replica : partition) {
-                replicas[i++] = replica;
-            }
-            partitions.add(new Partition(master, replicas));
-        }
-        return partitions;
+    public boolean tainted() {
+        return tainted;
     }
 
     @Override
     public String toString() {
+        StringBuilder map = new StringBuilder("[");
+        for (int partition = 0; partition < numberOfPartitions(); partition++) {
+            if (partition > 0) {
+                map.append(", ");
+            }
+            map.append('[').append(partitions[0][partition]);
+            for (int level = 1; level < partitions.length; level++) {
+                map.append(',').append(partitions[level][partition]);
+            }
+            map.append(']');
+        }
+        map.append(']');
+
         return "PartitionInfo{"
             + "numberOfReplicas=" + numberOfReplicas
             + ", partitionHosts=" + Arrays.toString(partitionHosts)
-            + ", partitions=" + partitions
+            + ", partitions=" + map
             + ", tainted=" + tainted
             + '}';
     }
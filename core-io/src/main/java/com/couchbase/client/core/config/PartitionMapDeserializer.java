@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.config;
+
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonParser;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.core.JsonToken;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.DeserializationContext;
+import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streams a vbucket map like {@code [[0,1],[1,0],...]} straight into one flat short array per
+ * replica level, without materializing the nested lists.
+ *
+ * <p>The first array holds the index of the active node for each partition, the following ones the
+ * indexes of the replicas in order. If a row is shorter than the others, the missing slots are filled
+ * with {@link CouchbaseBucketConfig#PARTITION_NOT_EXISTENT}.</p>
+ *
+ * @since 2.0.0
+ */
+class PartitionMapDeserializer extends JsonDeserializer<short[][]> {
+
+  /**
+   * The initial number of partitions to allocate for, which is the default on all platforms but macOS.
+   */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private static final short[][] EMPTY = new short[0][];
+
+  private static final short NOT_EXISTENT = (short) CouchbaseBucketConfig.PARTITION_NOT_EXISTENT;
+
+  @Override
+  public short[][] deserialize(final JsonParser parser, final DeserializationContext ctx) throws IOException {
+    if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+      return (short[][]) ctx.handleUnexpectedToken(short[][].class, parser);
+    }
+
+    short[][] levels = EMPTY;
+    int capacity = INITIAL_CAPACITY;
+    int partitions = 0;
+
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+        return (short[][]) ctx.handleUnexpectedToken(short[][].class, parser);
+      }
+
+      if (partitions == capacity) {
+        capacity <<= 1;
+        for (int i = 0; i < levels.length; i++) {
+          levels[i] = Arrays.copyOf(levels[i], capacity);
+        }
+      }
+
+      int level = 0;
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        if (level == levels.length) {
+          levels = Arrays.copyOf(levels, level + 1);
+          levels[level] = new short[capacity];
+          Arrays.fill(levels[level], NOT_EXISTENT);
+        }
+        levels[level++][partitions] = parser.getShortValue();
+      }
+      for (; level < levels.length; level++) {
+        levels[level][partitions] = NOT_EXISTENT;
+      }
+      partitions++;
+    }
+
+    for (int i = 0; i < levels.length; i++) {
+      if (levels[i].length != partitions) {
+        levels[i] = Arrays.copyOf(levels[i], partitions);
+      }
+    }
+    return levels;
+  }
+
+}
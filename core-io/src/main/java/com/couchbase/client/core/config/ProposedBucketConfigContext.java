@@ -28,9 +28,19 @@ import com.couchbase.client.core.deps.io.netty.util.internal.ObjectUtil;
 public class ProposedBucketConfigContext {
 
     private final String bucketName;
-    private final String config;
+    private final String rawConfig;
     private final String origin;
 
+    /**
+     * The config with the host placeholder replaced, computed on first access.
+     */
+    private volatile String config;
+
+    /**
+     * The revision scanned from the raw config, computed on first access.
+     */
+    private volatile long revision = Long.MIN_VALUE;
+
     /**
      * Creates a new proposed bucket config context.
      *
@@ -42,7 +52,7 @@ public class ProposedBucketConfigContext {
         ObjectUtil.checkNotNull(bucketName, "bucket name cannot be null!");
         ObjectUtil.checkNotNull(config, "the raw config cannot be null!");
         this.bucketName = bucketName;
-        this.config = config.replace("$HOST", origin);
+        this.rawConfig = config;
         this.origin = origin;
     }
 
@@ -50,8 +60,35 @@ public class ProposedBucketConfigContext {
         return bucketName;
     }
 
+    /**
+     * Returns the config with the {@code $HOST} placeholder replaced by the origin.
+     *
+     * <p>The replacement is only performed once the config is actually needed, so that proposals which are
+     * discarded based on their {@link #revision()} do not pay for it.</p>
+     *
+     * @return the config ready to be parsed.
+     */
     public String config() {
-        return config;
+        String replaced = config;
+        if (replaced == null) {
+            replaced = rawConfig.replace("$HOST", origin);
+            config = replaced;
+        }
+        return replaced;
+    }
+
+    /**
+     * Returns the revision of the config without parsing it.
+     *
+     * @return the revision or {@link ConfigRevision#UNKNOWN} if it could not be determined.
+     */
+    public long revision() {
+        long rev = revision;
+        if (rev == Long.MIN_VALUE) {
+            rev = ConfigRevision.scan(rawConfig);
+            revision = rev;
+        }
+        return rev;
     }
 
     /**
@@ -77,7 +114,7 @@ public class ProposedBucketConfigContext {
         if (bucketName != null ? !bucketName.equals(that.bucketName) : that.bucketName != null) {
             return false;
         }
-        if (config != null ? !config.equals(that.config) : that.config != null) {
+        if (rawConfig != null ? !rawConfig.equals(that.rawConfig) : that.rawConfig != null) {
             return false;
         }
         return origin != null ? origin.equals(that.origin) : that.origin == null;
@@ -86,7 +123,7 @@ public class ProposedBucketConfigContext {
     @Override
     public int hashCode() {
         int result = bucketName != null ? bucketName.hashCode() : 0;
-        result = 31 * result + (config != null ? config.hashCode() : 0);
+        result = 31 * result + (rawConfig != null ? rawConfig.hashCode() : 0);
         result = 31 * result + (origin != null ? origin.hashCode() : 0);
         return result;
     }
@@ -58,6 +58,10 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * <p>Once a config is retrieved it is sent to the config manager which then decides if it is going to apply
  * or discard the config.</p>
  *
+ * <p>If the server pushes config changes on its own (see {@link #markConfigNotificationsEnabled(String)}), polling
+ * for the bucket only serves as a slow fallback and is performed at the {@link #NOTIFIED_POLL_INTERVAL}, even if
+ * the config is tainted.</p>
+ *
  * @since 1.0.0
  */
 @Stability.Internal
@@ -72,6 +76,13 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   static final Duration POLLER_INTERVAL = Duration.ofSeconds(1);
 
+  /**
+   * The interval at which buckets are polled if the server pushes config changes on its own.
+   *
+   * <p>If the configured poll interval is longer, the configured one is used instead.</p>
+   */
+  static final Duration NOTIFIED_POLL_INTERVAL = Duration.ofSeconds(30);
+
   /**
    * The number of config fetches in parallel at maximum per interval.
    */
@@ -110,11 +121,21 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   private final Set<String> tainted = Collections.synchronizedSet(new HashSet<>());
 
+  /**
+   * Holds all buckets for which the server pushes config changes.
+   */
+  private final Set<String> notified = ConcurrentHashMap.newKeySet();
+
   /**
    * Holds the allowable config poll interval in nanoseconds.
    */
   private final long configPollIntervalNanos;
 
+  /**
+   * Holds the poll interval in nanoseconds for buckets where the server pushes config changes.
+   */
+  private final long notifiedPollIntervalNanos;
+
   /**
    * Stores the timeout used for config refresh requests, keeping it in reasonable bounds (between 1 and 5s).
    */
@@ -132,6 +153,7 @@ public class KeyValueBucketRefresher implements BucketRefresher {
     this.provider = provider;
     this.configPollIntervalNanos = core.context().environment().ioConfig().configPollInterval().toNanos();
     this.configRequestTimeout = clampConfigRequestTimeout(configPollIntervalNanos);
+    this.notifiedPollIntervalNanos = Math.max(configPollIntervalNanos, NOTIFIED_POLL_INTERVAL.toNanos());
 
     pollRegistration = Flux
       .interval(pollerInterval())
@@ -182,8 +204,10 @@ public class KeyValueBucketRefresher implements BucketRefresher {
    */
   private Mono<ProposedBucketConfigContext> maybeUpdateBucket(final String name) {
     Long last = registrations.get(name);
-    boolean overInterval = last != null && (System.nanoTime() - last) >= configPollIntervalNanos;
-    boolean allowed = tainted.contains(name) || overInterval;
+    boolean pushed = notified.contains(name);
+    long interval = pushed ? notifiedPollIntervalNanos : configPollIntervalNanos;
+    boolean overInterval = last != null && (System.nanoTime() - last) >= interval;
+    boolean allowed = (!pushed && tainted.contains(name)) || overInterval;
 
     return allowed
       ? fetchConfigPerNode(name, filterEligibleNodes(name))
@@ -303,6 +327,7 @@ public class KeyValueBucketRefresher implements BucketRefresher {
   public Mono<Void> deregister(final String name) {
     return Mono.defer(() -> {
       registrations.remove(name);
+      notified.remove(name);
       return Mono.empty();
     });
   }
@@ -317,6 +342,18 @@ public class KeyValueBucketRefresher implements BucketRefresher {
     tainted.remove(name);
   }
 
+  /**
+   * Marks the bucket as receiving config changes pushed by the server, which turns polling for it
+   * into a slow fallback.
+   *
+   * @param name the name of the bucket.
+   */
+  public void markConfigNotificationsEnabled(final String name) {
+    if (registrations.containsKey(name)) {
+      notified.add(name);
+    }
+  }
+
   @Override
   public Mono<Void> shutdown() {
     return Mono.defer(() -> {
@@ -16,6 +16,7 @@
 
 package com.couchbase.client.core.endpoint;
 
+import com.couchbase.client.core.Core;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectionAbortedEvent;
 import com.couchbase.client.core.cnc.events.endpoint.EndpointConnectionFailedEvent;
@@ -62,6 +63,7 @@ import reactor.core.publisher.Mono;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
@@ -132,6 +134,11 @@ public abstract class BaseEndpoint implements Endpoint {
    */
   private final boolean pipelined;
 
+  /**
+   * If set, the pool to notify once a request completed.
+   */
+  private volatile EndpointPool pool;
+
   /**
    * Once connected, contains the channel to work with.
    */
@@ -345,6 +352,7 @@ public abstract class BaseEndpoint implements Endpoint {
             this.endpointContext.set(newContext);
             this.circuitBreaker.reset();
             state.transition(EndpointState.CONNECTED);
+            notifyChannelWritable();
           }
         },
         error -> endpointContext.environment().eventBus().publish(
@@ -431,12 +439,56 @@ public abstract class BaseEndpoint implements Endpoint {
           circuitBreaker.track();
           request.response().whenComplete(requestCompletionConsumer);
         }
-        channel.writeAndFlush(request);
+        WriteBatch batch = WriteBatch.current();
+        if (batch != null) {
+          batch.add(this, request);
+        } else {
+          channel.writeAndFlush(request);
+        }
     } else {
       RetryOrchestrator.maybeRetry(endpointContext.get(), request, RetryReason.ENDPOINT_NOT_WRITABLE);
     }
   }
 
+  /**
+   * Writes the requests collected by a {@link WriteBatch} from a single event loop task and flushes
+   * them once.
+   *
+   * @param requests the requests which have already been accepted by {@link #send(Request)}.
+   */
+  void write(final List<Request<? extends Response>> requests) {
+    final Channel channel = this.channel;
+    if (channel == null) {
+      for (Request<? extends Response> request : requests) {
+        if (!pipelined) {
+          outstandingRequests.decrementAndGet();
+        }
+        RetryOrchestrator.maybeRetry(endpointContext.get(), request, RetryReason.ENDPOINT_NOT_WRITABLE);
+      }
+      return;
+    }
+
+    channel.eventLoop().execute(() -> {
+      for (Request<? extends Response> request : requests) {
+        channel.write(request);
+      }
+      channel.flush();
+    });
+  }
+
+  /**
+   * Called when the channel of this endpoint became writable, either because it has just been connected
+   * or because its outbound buffer drained, so the requests parked for its node can be dispatched again.
+   */
+  @Stability.Internal
+  public void notifyChannelWritable() {
+    EndpointContext ctx = endpointContext.get();
+    Core core = ctx.core();
+    if (core != null && core.retryParking() != null) {
+      core.retryParking().writable(ctx.remoteHostname());
+    }
+  }
+
   @Override
   public boolean free() {
     return pipelined || outstandingRequests.get() == 0;
@@ -447,6 +499,11 @@ public abstract class BaseEndpoint implements Endpoint {
     return lastResponseTimestamp;
   }
 
+  @Override
+  public void pool(final EndpointPool pool) {
+    this.pool = pool;
+  }
+
   /**
    * Called from the event loop handlers to mark a request as being completed.
    *
@@ -459,6 +516,32 @@ public abstract class BaseEndpoint implements Endpoint {
       outstandingRequests.decrementAndGet();
     }
     lastResponseTimestamp = System.nanoTime();
+
+    EndpointPool pool = this.pool;
+    if (pool != null) {
+      pool.requestCompleted(this);
+    }
+  }
+
+  /**
+   * Called from the event loop handlers if a request could not be written because another one is still
+   * in flight on a non-pipelined endpoint.
+   *
+   * <p>The request is handed back to the pool, so it is dispatched as soon as an endpoint is free. If there
+   * is no pool or it cannot take the request, it is retried instead.</p>
+   *
+   * @param request the request which could not be written.
+   */
+  @Stability.Internal
+  public void requeue(final Request<? extends Response> request) {
+    if (!pipelined) {
+      outstandingRequests.decrementAndGet();
+    }
+
+    EndpointPool pool = this.pool;
+    if (pool == null || !pool.requeue(request)) {
+      RetryOrchestrator.retryImmediately(endpointContext.get(), request, RetryReason.NOT_PIPELINED_REQUEST_IN_FLIGHT);
+    }
   }
 
   /**
@@ -16,6 +16,7 @@
 
 package com.couchbase.client.core.endpoint;
 
+import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.util.Stateful;
@@ -74,5 +75,12 @@ public interface Endpoint extends Stateful<EndpointState> {
    */
   long lastResponseReceived();
 
+  /**
+   * Sets the pool this endpoint belongs to, which is notified once the endpoint completed a request.
+   *
+   * @param pool the pool of this endpoint.
+   */
+  @Stability.Internal
+  void pool(EndpointPool pool);
 
 }
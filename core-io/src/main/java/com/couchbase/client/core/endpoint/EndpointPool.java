@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.endpoint;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+
+/**
+ * The pool an {@link Endpoint} belongs to, which holds requests waiting for a free endpoint.
+ *
+ * <p>Endpoints which can only handle one request at a time signal the pool once they are free again, so
+ * it can hand them the next waiting request right away instead of the request being retried.</p>
+ *
+ * @since 2.0.0
+ */
+@Stability.Internal
+public interface EndpointPool {
+
+  /**
+   * Called from the event loop once the endpoint completed a request and might be free again.
+   *
+   * @param endpoint the endpoint which completed a request.
+   */
+  void requestCompleted(Endpoint endpoint);
+
+  /**
+   * Hands a request back which the endpoint could not write because another request is still in flight.
+   *
+   * @param request the request to dispatch again.
+   * @return true if the pool took the request, false if it needs to be retried.
+   */
+  boolean requeue(Request<? extends Response> request);
+
+}
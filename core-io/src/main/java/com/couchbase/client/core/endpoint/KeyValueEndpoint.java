@@ -117,6 +117,15 @@ public class KeyValueEndpoint extends BaseEndpoint {
         features.add(ServerFeature.SNAPPY);
       }
 
+      if (ctx.environment().ioConfig().configNotificationsEnabled()) {
+        features.add(ServerFeature.DUPLEX);
+        features.add(ServerFeature.CLUSTERMAP_CHANGE_NOTIFICATION);
+      }
+
+      if (ctx.environment().ioConfig().unorderedExecutionEnabled()) {
+        features.add(ServerFeature.UNORDERED_EXECUTION);
+      }
+
       return features;
     }
   }
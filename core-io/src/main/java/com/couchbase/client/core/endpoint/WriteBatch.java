@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.endpoint;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the writes of all requests sent from the current thread while the batch is open, and
+ * writes them per endpoint with a single flush once it is closed.
+ *
+ * <p>Requests are still located and routed one by one, so grouping them by node (or partition) follows
+ * from the regular dispatch. What the batch saves is one event loop task and one flush (and with it
+ * usually one syscall) per request, which adds up when fanning out many operations at once.</p>
+ *
+ * <p>Requests which are retried while the batch is open are not part of it, since they are dispatched
+ * again later from a different context.</p>
+ *
+ * @since 2.0.0
+ */
+@Stability.Internal
+public class WriteBatch implements AutoCloseable {
+
+  private static final ThreadLocal<WriteBatch> CURRENT = new ThreadLocal<>();
+
+  /**
+   * The batch which has been open on this thread before this one, if any.
+   */
+  private final WriteBatch outer;
+
+  /**
+   * The requests to write, per endpoint.
+   */
+  private final Map<BaseEndpoint, List<Request<? extends Response>>> writes = new IdentityHashMap<>();
+
+  private WriteBatch(final WriteBatch outer) {
+    this.outer = outer;
+  }
+
+  /**
+   * Opens a new batch on the current thread, which must be closed from the same thread.
+   *
+   * @return the opened batch.
+   */
+  public static WriteBatch open() {
+    WriteBatch batch = new WriteBatch(CURRENT.get());
+    CURRENT.set(batch);
+    return batch;
+  }
+
+  /**
+   * Returns the batch currently open on this thread, or null if there is none.
+   */
+  static WriteBatch current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Adds a request to be written into the endpoint once the batch is closed.
+   *
+   * @param endpoint the endpoint the request has been sent to.
+   * @param request the request to write.
+   */
+  void add(final BaseEndpoint endpoint, final Request<? extends Response> request) {
+    writes.computeIfAbsent(endpoint, e -> new ArrayList<>()).add(request);
+  }
+
+  /**
+   * Closes the batch and writes all collected requests.
+   */
+  @Override
+  public void close() {
+    if (outer == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(outer);
+    }
+
+    for (Map.Entry<BaseEndpoint, List<Request<? extends Response>>> entry : writes.entrySet()) {
+      entry.getKey().write(entry.getValue());
+    }
+    writes.clear();
+  }
+
+}
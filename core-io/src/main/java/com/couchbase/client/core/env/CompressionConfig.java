@@ -31,6 +31,7 @@ public class CompressionConfig {
   public static final boolean DEFAULT_ENABLED = true;
   public static final int DEFAULT_MIN_SIZE = 32;
   public static final double DEFAULT_MIN_RATIO = 0.83;
+  public static final int DEFAULT_OFFLOAD_MIN_SIZE = 0;
 
   /**
    * If compression is enabled or not.
@@ -47,6 +48,11 @@ public class CompressionConfig {
    */
   private final double minRatio;
 
+  /**
+   * The minimum size of values which are compressed before dispatch instead of on the event loop.
+   */
+  private final int offloadMinSize;
+
   /**
    * Creates a {@link CompressionConfig} with default arguments.
    *
@@ -100,6 +106,22 @@ public class CompressionConfig {
     return builder().minRatio(minRatio);
   }
 
+  /**
+   * The minimum size from which on values are compressed on the calling thread before they are dispatched,
+   * instead of on the event loop of the connection they are written to.
+   *
+   * <p>The default is 0, which compresses all values on the event loop.</p>
+   *
+   * <p>Values are compressed ahead even if the connection they are written to did not negotiate snappy,
+   * see {@link Builder#offloadMinSize(int)}.</p>
+   *
+   * @param offloadMinSize minimum size in bytes, or 0 to disable.
+   * @return this {@link Builder} for chaining purposes.
+   */
+  public static Builder offloadMinSize(int offloadMinSize) {
+    return builder().offloadMinSize(offloadMinSize);
+  }
+
   /**
    * Returns this config as a map so it can be exported into i.e. JSON for display.
    */
@@ -109,6 +131,7 @@ public class CompressionConfig {
     export.put("enabled", enabled);
     export.put("minRatio", minRatio);
     export.put("minSize", minSize);
+    export.put("offloadMinSize", offloadMinSize);
     return export;
   }
 
@@ -121,6 +144,7 @@ public class CompressionConfig {
     this.enabled = builder.enabled;
     this.minRatio = builder.minRatio;
     this.minSize = builder.minSize;
+    this.offloadMinSize = builder.offloadMinSize;
   }
 
   /**
@@ -141,6 +165,15 @@ public class CompressionConfig {
     return minRatio;
   }
 
+  /**
+   * Returns the minimum size of values which are compressed before dispatch, 0 if disabled.
+   *
+   * @return the minimum offload size.
+   */
+  public int offloadMinSize() {
+    return offloadMinSize;
+  }
+
   /**
    * True if compression should be enabled, false otherwise.
    *
@@ -158,6 +191,7 @@ public class CompressionConfig {
     private boolean enabled = DEFAULT_ENABLED;
     private int minSize = DEFAULT_MIN_SIZE;
     private double minRatio = DEFAULT_MIN_RATIO;
+    private int offloadMinSize = DEFAULT_OFFLOAD_MIN_SIZE;
 
     public CompressionConfig build() {
       return new CompressionConfig(this);
@@ -197,6 +231,26 @@ public class CompressionConfig {
       return this;
     }
 
+    /**
+     * The minimum size from which on values are compressed on the calling thread before they are
+     * dispatched, instead of on the event loop of the connection they are written to.
+     *
+     * <p>Compressing large values on the event loop delays all other operations on the same connection,
+     * so offloading them keeps the latency of small operations low.</p>
+     *
+     * <p>Note that the value is compressed before it is known which connection it is written to, so it is
+     * also compressed if that connection did not negotiate snappy with the server. In that case it is
+     * sent uncompressed and the time spent compressing it is wasted, so only enable this if all nodes
+     * support compression.</p>
+     *
+     * @param offloadMinSize minimum size in bytes, or 0 to disable.
+     * @return this {@link Builder} for chaining purposes.
+     */
+    public Builder offloadMinSize(int offloadMinSize) {
+      this.offloadMinSize = offloadMinSize;
+      return this;
+    }
+
   }
 
 }
@@ -112,6 +112,7 @@ public class CoreEnvironment {
   private final ServiceConfig serviceConfig;
 
   private final LoggerConfig loggerConfig;
+  private final LoggingEventConsumer loggingEventConsumer;
   private final DiagnosticsMonitor diagnosticsMonitor;
 
   private final Set<SeedNode> seedNodes;
@@ -181,11 +182,25 @@ public class CoreEnvironment {
     if (eventBus instanceof OwnedSupplier) {
       eventBus.get().start().block();
     }
-    eventBus.get().subscribe(LoggingEventConsumer.create(loggerConfig()));
+    loggingEventConsumer = LoggingEventConsumer.create(loggerConfig());
+    eventBus.get().subscribe(loggingEventConsumer);
+    if (loggerConfig.aggregationWindow().toNanos() > 0) {
+      scheduleLogFlush();
+    }
     diagnosticsMonitor = DiagnosticsMonitor.create(eventBus.get());
     diagnosticsMonitor.start().block();
   }
 
+  /**
+   * Periodically flushes the events aggregated by the logging consumer, until the timer is stopped.
+   */
+  private void scheduleLogFlush() {
+    timer.schedule(() -> {
+      loggingEventConsumer.flush();
+      scheduleLogFlush();
+    }, loggerConfig.aggregationWindow());
+  }
+
   /**
    * Helper method which grabs the title and version for the user agent from the manifest.
    *
@@ -368,6 +383,7 @@ public class CoreEnvironment {
       .then(Mono.defer(() -> eventBus instanceof OwnedSupplier ? eventBus.get().stop(timeout) : Mono.empty()))
       .then(Mono.defer(() -> {
         timer.stop();
+        loggingEventConsumer.flush();
         return Mono.<Void>empty();
       }))
       .then(ioEnvironment.shutdown(timeout))
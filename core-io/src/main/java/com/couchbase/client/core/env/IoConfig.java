@@ -36,11 +36,19 @@ public class IoConfig {
   public static final boolean DEFAULT_MUTATION_TOKENS_ENABLED = true;
   public static final boolean DEFAULT_DNS_SRV_ENABLED = true;
   public static final Duration DEFAULT_CONFIG_POLL_INTERVAL = Duration.ofMillis(2500);
+  public static final boolean DEFAULT_CONFIG_NOTIFICATIONS_ENABLED = true;
+  public static final boolean DEFAULT_UNORDERED_EXECUTION_ENABLED = false;
+  public static final boolean DEFAULT_KV_DEADLINE_SWEEP_ENABLED = false;
+  public static final boolean DEFAULT_COLLECTION_MANIFEST_PREFETCH_ENABLED = false;
   public static final NetworkResolution DEFAULT_NETWORK_RESOLUTION = NetworkResolution.AUTO;
 
   private final Set<SaslMechanism> allowedSaslMechanisms;
   private final boolean mutationTokensEnabled;
   private final Duration configPollInterval;
+  private final boolean configNotificationsEnabled;
+  private final boolean unorderedExecutionEnabled;
+  private final boolean kvDeadlineSweepEnabled;
+  private final boolean collectionManifestPrefetchEnabled;
   private final CircuitBreakerConfig kvCircuitBreakerConfig;
   private final CircuitBreakerConfig queryCircuitBreakerConfig;
   private final CircuitBreakerConfig viewCircuitBreakerConfig;
@@ -57,6 +65,10 @@ public class IoConfig {
     configPollInterval = Optional
       .ofNullable(builder.configPollInterval)
       .orElse(DEFAULT_CONFIG_POLL_INTERVAL);
+    configNotificationsEnabled = builder.configNotificationsEnabled;
+    unorderedExecutionEnabled = builder.unorderedExecutionEnabled;
+    kvDeadlineSweepEnabled = builder.kvDeadlineSweepEnabled;
+    collectionManifestPrefetchEnabled = builder.collectionManifestPrefetchEnabled;
     allowedSaslMechanisms = Optional
       .ofNullable(builder.allowedSaslMechanisms)
       .orElse(EnumSet.allOf(SaslMechanism.class));
@@ -96,6 +108,22 @@ public class IoConfig {
     return builder().configPollInterval(configPollInterval);
   }
 
+  public static Builder configNotificationsEnabled(boolean configNotificationsEnabled) {
+    return builder().configNotificationsEnabled(configNotificationsEnabled);
+  }
+
+  public static Builder unorderedExecutionEnabled(boolean unorderedExecutionEnabled) {
+    return builder().unorderedExecutionEnabled(unorderedExecutionEnabled);
+  }
+
+  public static Builder kvDeadlineSweepEnabled(boolean kvDeadlineSweepEnabled) {
+    return builder().kvDeadlineSweepEnabled(kvDeadlineSweepEnabled);
+  }
+
+  public static Builder collectionManifestPrefetchEnabled(boolean collectionManifestPrefetchEnabled) {
+    return builder().collectionManifestPrefetchEnabled(collectionManifestPrefetchEnabled);
+  }
+
   public static Builder kvCircuitBreakerConfig(CircuitBreakerConfig.Builder kvCircuitBreakerConfig) {
     return builder().kvCircuitBreakerConfig(kvCircuitBreakerConfig);
   }
@@ -168,6 +196,22 @@ public class IoConfig {
     return configPollInterval;
   }
 
+  public boolean configNotificationsEnabled() {
+    return configNotificationsEnabled;
+  }
+
+  public boolean unorderedExecutionEnabled() {
+    return unorderedExecutionEnabled;
+  }
+
+  public boolean kvDeadlineSweepEnabled() {
+    return kvDeadlineSweepEnabled;
+  }
+
+  public boolean collectionManifestPrefetchEnabled() {
+    return collectionManifestPrefetchEnabled;
+  }
+
   public Set<ServiceType> captureTraffic() {
     return captureTraffic;
   }
@@ -188,6 +232,10 @@ public class IoConfig {
     export.put("networkResolution", networkResolution.name());
     export.put("dnsSrvEnabled", dnsSrvEnabled);
     export.put("configPollIntervalMillis", configPollInterval.toMillis());
+    export.put("configNotificationsEnabled", configNotificationsEnabled);
+    export.put("unorderedExecutionEnabled", unorderedExecutionEnabled);
+    export.put("kvDeadlineSweepEnabled", kvDeadlineSweepEnabled);
+    export.put("collectionManifestPrefetchEnabled", collectionManifestPrefetchEnabled);
     export.put("kvCircuitBreakerConfig", kvCircuitBreakerConfig.enabled() ? kvCircuitBreakerConfig.exportAsMap() : "disabled");
     export.put("queryCircuitBreakerConfig", queryCircuitBreakerConfig.enabled() ? queryCircuitBreakerConfig.exportAsMap() : "disabled");
     export.put("viewCircuitBreakerConfig", viewCircuitBreakerConfig.enabled() ? viewCircuitBreakerConfig.exportAsMap() : "disabled");
@@ -202,6 +250,10 @@ public class IoConfig {
     private Set<SaslMechanism> allowedSaslMechanisms;
     private boolean mutationTokensEnabled = DEFAULT_MUTATION_TOKENS_ENABLED;
     private Duration configPollInterval;
+    private boolean configNotificationsEnabled = DEFAULT_CONFIG_NOTIFICATIONS_ENABLED;
+    private boolean unorderedExecutionEnabled = DEFAULT_UNORDERED_EXECUTION_ENABLED;
+    private boolean kvDeadlineSweepEnabled = DEFAULT_KV_DEADLINE_SWEEP_ENABLED;
+    private boolean collectionManifestPrefetchEnabled = DEFAULT_COLLECTION_MANIFEST_PREFETCH_ENABLED;
     private CircuitBreakerConfig.Builder kvCircuitBreakerConfig = CircuitBreakerConfig.builder().enabled(false);
     private CircuitBreakerConfig.Builder queryCircuitBreakerConfig = CircuitBreakerConfig.builder().enabled(false);
     private CircuitBreakerConfig.Builder viewCircuitBreakerConfig = CircuitBreakerConfig.builder().enabled(false);
@@ -226,6 +278,65 @@ public class IoConfig {
       return this;
     }
 
+    /**
+     * Configures whether the server should push new configurations to the client as soon as they change.
+     *
+     * <p>If the server supports it, configs are pushed on every KV connection and polling only serves as a
+     * slow fallback. If disabled (or not supported by the server), configs are polled at the
+     * {@link #configPollInterval(Duration)}.</p>
+     *
+     * @return this, for chaining
+     */
+    public Builder configNotificationsEnabled(boolean configNotificationsEnabled) {
+      this.configNotificationsEnabled = configNotificationsEnabled;
+      return this;
+    }
+
+    /**
+     * Configures whether the server is allowed to execute KV operations out of order.
+     *
+     * <p>If enabled (and supported by the server), a slow operation no longer holds back the responses of
+     * all operations sent after it on the same connection. Operations on the same document are still
+     * executed in the order they have been sent, since the client holds them back until the previous
+     * one on that document completed.</p>
+     *
+     * @return this, for chaining
+     */
+    public Builder unorderedExecutionEnabled(boolean unorderedExecutionEnabled) {
+      this.unorderedExecutionEnabled = unorderedExecutionEnabled;
+      return this;
+    }
+
+    /**
+     * Configures whether the timeouts of KV operations are checked by the connections they have been
+     * written to, instead of registering every operation with the global timer.
+     *
+     * <p>If enabled, every KV connection periodically checks the deadlines of its in-flight operations on
+     * its own event loop, which takes the per-operation timer registration off the hot path. Operations
+     * which are not written to a connection (i.e. because they are retried) are still registered with the
+     * global timer.</p>
+     *
+     * @return this, for chaining
+     */
+    public Builder kvDeadlineSweepEnabled(boolean kvDeadlineSweepEnabled) {
+      this.kvDeadlineSweepEnabled = kvDeadlineSweepEnabled;
+      return this;
+    }
+
+    /**
+     * Configures whether the collections manifest of a bucket is loaded right when the bucket is opened.
+     *
+     * <p>If enabled, the IDs of all collections are known once the bucket is open, so the first operation
+     * on each collection does not need to look up its ID first. If the cluster does not support collections
+     * the manifest is skipped and the bucket opens as usual.</p>
+     *
+     * @return this, for chaining
+     */
+    public Builder collectionManifestPrefetchEnabled(boolean collectionManifestPrefetchEnabled) {
+      this.collectionManifestPrefetchEnabled = collectionManifestPrefetchEnabled;
+      return this;
+    }
+
     /**
      * Configures whether mutation tokens will be returned from the server for all mutation operations.
      *
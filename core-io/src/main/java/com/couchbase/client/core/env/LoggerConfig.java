@@ -19,9 +19,12 @@ package com.couchbase.client.core.env;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.LoggingEventConsumer;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import static com.couchbase.client.core.util.Validators.notNull;
+
 public class LoggerConfig {
 
   private final LoggingEventConsumer.Logger customLogger;
@@ -29,6 +32,7 @@ public class LoggerConfig {
   private final boolean disableSlf4J;
   private final String loggerName;
   private final boolean diagnosticContextEnabled;
+  private final Duration aggregationWindow;
 
   private LoggerConfig(final Builder builder) {
     customLogger = builder.customLogger;
@@ -36,6 +40,7 @@ public class LoggerConfig {
     loggerName = builder.loggerName;
     fallbackToConsole = builder.fallbackToConsole;
     diagnosticContextEnabled = builder.diagnosticContextEnabled;
+    aggregationWindow = builder.aggregationWindow;
   }
 
   public static Builder builder() {
@@ -66,6 +71,10 @@ public class LoggerConfig {
     return builder().customLogger(customLogger);
   }
 
+  public static Builder aggregationWindow(Duration aggregationWindow) {
+    return builder().aggregationWindow(aggregationWindow);
+  }
+
   public LoggingEventConsumer.Logger customLogger() {
     return customLogger;
   }
@@ -86,6 +95,10 @@ public class LoggerConfig {
     return diagnosticContextEnabled;
   }
 
+  public Duration aggregationWindow() {
+    return aggregationWindow;
+  }
+
   /**
    * Returns this config as a map so it can be exported into i.e. JSON for display.
    */
@@ -97,6 +110,7 @@ public class LoggerConfig {
     export.put("disableSlf4j", disableSlf4J);
     export.put("loggerName", loggerName);
     export.put("diagnosticContextEnabled", diagnosticContextEnabled);
+    export.put("aggregationWindowMs", aggregationWindow.toMillis());
     return export;
   }
 
@@ -107,6 +121,7 @@ public class LoggerConfig {
     private boolean disableSlf4J = false;
     private String loggerName = "CouchbaseLogger";
     private boolean diagnosticContextEnabled = false;
+    private Duration aggregationWindow = Duration.ZERO;
 
     /**
      * Allows to specify a custom logger. This is used for testing only.
@@ -140,6 +155,27 @@ public class LoggerConfig {
       return this;
     }
 
+    /**
+     * Aggregates repeated events instead of logging every one of them, if set to a non-zero duration.
+     *
+     * <p>The first event of a kind (same type and description) within the window is logged as usual,
+     * further ones are only counted. Once the window is over, a single line with their count and
+     * durations is logged for every kind which repeated. This keeps the logging overhead bounded
+     * when the same event is raised over and over again (i.e. retries during an outage).</p>
+     *
+     * @param aggregationWindow the window to aggregate over, {@link Duration#ZERO} (the default) to disable.
+     * @return this {@link Builder} for chaining purposes.
+     * @throws IllegalArgumentException if the window is null or negative.
+     */
+    public Builder aggregationWindow(Duration aggregationWindow) {
+      notNull(aggregationWindow, "AggregationWindow");
+      if (aggregationWindow.isNegative()) {
+        throw new IllegalArgumentException("AggregationWindow cannot be negative");
+      }
+      this.aggregationWindow = aggregationWindow;
+      return this;
+    }
+
     public LoggerConfig build() {
       return new LoggerConfig(this);
     }
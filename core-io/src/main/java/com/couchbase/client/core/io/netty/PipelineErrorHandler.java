@@ -59,6 +59,14 @@ public class PipelineErrorHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
+  @Override
+  public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+    if (ctx.channel().isWritable()) {
+      endpoint.notifyChannelWritable();
+    }
+    ctx.fireChannelWritabilityChanged();
+  }
+
   @Override
   public void channelInactive(ChannelHandlerContext ctx) {
     endpoint.notifyChannelInactive();
@@ -58,7 +58,8 @@ public class TrafficCaptureHandler extends ChannelDuplexHandler {
 
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
-    if (msg instanceof ByteBuf) {
+    if (msg instanceof ByteBuf
+      && eventBus.isInterested(ReadTrafficCapturedEvent.CATEGORY, ReadTrafficCapturedEvent.SEVERITY)) {
       eventBus.publish(new ReadTrafficCapturedEvent(ioContext, ByteBufUtil.prettyHexDump((ByteBuf) msg)));
     }
     ctx.fireChannelRead(msg);
@@ -66,7 +67,8 @@ public class TrafficCaptureHandler extends ChannelDuplexHandler {
 
   @Override
   public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
-    if (msg instanceof ByteBuf) {
+    if (msg instanceof ByteBuf
+      && eventBus.isInterested(WriteTrafficCapturedEvent.CATEGORY, WriteTrafficCapturedEvent.SEVERITY)) {
       eventBus.publish(new WriteTrafficCapturedEvent(ioContext, ByteBufUtil.prettyHexDump((ByteBuf) msg)));
     }
     ctx.write(msg, promise);
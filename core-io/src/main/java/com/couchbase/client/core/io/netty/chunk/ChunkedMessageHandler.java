@@ -37,8 +37,6 @@ import com.couchbase.client.core.msg.chunk.ChunkHeader;
 import com.couchbase.client.core.msg.chunk.ChunkRow;
 import com.couchbase.client.core.msg.chunk.ChunkTrailer;
 import com.couchbase.client.core.msg.chunk.ChunkedResponse;
-import com.couchbase.client.core.retry.RetryOrchestrator;
-import com.couchbase.client.core.retry.RetryReason;
 
 import static com.couchbase.client.core.io.netty.HttpProtocol.remoteHttpHost;
 
@@ -126,10 +124,10 @@ public abstract class ChunkedMessageHandler
   @Override
   @SuppressWarnings("unchecked")
   public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
-    // We still have a request in-flight so we need to reschedule it in order to not let it trip on each others
+    // We still have a request in-flight so we need to hand it back in order to not let it trip on each others
     // toes.
     if (!pipelined && currentRequest != null) {
-      RetryOrchestrator.retryImmediately(endpointContext, (REQ) msg, RetryReason.NOT_PIPELINED_REQUEST_IN_FLIGHT);
+      endpoint.requeue((REQ) msg);
       return;
     }
 
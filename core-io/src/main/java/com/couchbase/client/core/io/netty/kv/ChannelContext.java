@@ -35,11 +35,20 @@ public class ChannelContext {
   private final boolean syncReplication;
   private final boolean altRequest;
   private final CollectionMap collectionMap;
+  private final CompressionStats compressionStats;
 
   public ChannelContext(final CompressionConfig compression, final boolean collections,
                         final boolean mutationTokens, final Optional<String> bucket,
                         final boolean syncReplication, final boolean altRequest,
                         final CollectionMap collectionMap) {
+    this(compression, collections, mutationTokens, bucket, syncReplication, altRequest, collectionMap, null);
+  }
+
+  public ChannelContext(final CompressionConfig compression, final boolean collections,
+                        final boolean mutationTokens, final Optional<String> bucket,
+                        final boolean syncReplication, final boolean altRequest,
+                        final CollectionMap collectionMap, final CompressionStats compressionStats) {
+    this.compressionStats = compressionStats;
     this.compression = compression;
     this.collections = collections;
     this.mutationTokensEnabled = mutationTokens;
@@ -77,6 +86,13 @@ public class ChannelContext {
     return collectionMap;
   }
 
+  /**
+   * The stats compression and decompression on this channel are recorded with, may be null.
+   */
+  public CompressionStats compressionStats() {
+    return compressionStats;
+  }
+
   /**
    * The name of the bucket.
    */
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects how well and how fast documents are compressed and decompressed on a KV endpoint.
+ *
+ * <p>Values which have been compressed but did not reach the minimum ratio (or were given up on after
+ * sampling their prefix) are counted as skipped, the time spent on them is still counted.</p>
+ *
+ * @since 2.0.0
+ */
+@Stability.Internal
+public class CompressionStats {
+
+  private final LongAdder compressed = new LongAdder();
+  private final LongAdder skipped = new LongAdder();
+  private final LongAdder compressedBytesIn = new LongAdder();
+  private final LongAdder compressedBytesOut = new LongAdder();
+  private final LongAdder compressionNanos = new LongAdder();
+  private final LongAdder decompressed = new LongAdder();
+  private final LongAdder decompressedBytesIn = new LongAdder();
+  private final LongAdder decompressedBytesOut = new LongAdder();
+  private final LongAdder decompressionNanos = new LongAdder();
+
+  /**
+   * Records a value which has been compressed and sent compressed.
+   *
+   * @param in the uncompressed size.
+   * @param out the compressed size.
+   * @param nanos the time spent compressing.
+   */
+  public void recordCompressed(final int in, final int out, final long nanos) {
+    compressed.increment();
+    compressedBytesIn.add(in);
+    compressedBytesOut.add(out);
+    compressionNanos.add(nanos);
+  }
+
+  /**
+   * Records a value which is sent uncompressed since it did not compress well enough.
+   *
+   * @param nanos the time spent finding out.
+   */
+  public void recordSkipped(final long nanos) {
+    skipped.increment();
+    compressionNanos.add(nanos);
+  }
+
+  /**
+   * Records a value which has been received compressed and got decompressed.
+   *
+   * @param in the compressed size.
+   * @param out the decompressed size.
+   * @param nanos the time spent decompressing.
+   */
+  public void recordDecompressed(final int in, final int out, final long nanos) {
+    decompressed.increment();
+    decompressedBytesIn.add(in);
+    decompressedBytesOut.add(out);
+    decompressionNanos.add(nanos);
+  }
+
+  /**
+   * Returns the current values and resets them, so the next snapshot only covers what happened since.
+   */
+  public Snapshot snapshotAndReset() {
+    return new Snapshot(
+      compressed.sumThenReset(),
+      skipped.sumThenReset(),
+      compressedBytesIn.sumThenReset(),
+      compressedBytesOut.sumThenReset(),
+      compressionNanos.sumThenReset(),
+      decompressed.sumThenReset(),
+      decompressedBytesIn.sumThenReset(),
+      decompressedBytesOut.sumThenReset(),
+      decompressionNanos.sumThenReset()
+    );
+  }
+
+  /**
+   * The values of the {@link CompressionStats} at a point in time.
+   */
+  public static class Snapshot {
+
+    private final long compressed;
+    private final long skipped;
+    private final long compressedBytesIn;
+    private final long compressedBytesOut;
+    private final long compressionNanos;
+    private final long decompressed;
+    private final long decompressedBytesIn;
+    private final long decompressedBytesOut;
+    private final long decompressionNanos;
+
+    Snapshot(final long compressed, final long skipped, final long compressedBytesIn,
+             final long compressedBytesOut, final long compressionNanos, final long decompressed,
+             final long decompressedBytesIn, final long decompressedBytesOut, final long decompressionNanos) {
+      this.compressed = compressed;
+      this.skipped = skipped;
+      this.compressedBytesIn = compressedBytesIn;
+      this.compressedBytesOut = compressedBytesOut;
+      this.compressionNanos = compressionNanos;
+      this.decompressed = decompressed;
+      this.decompressedBytesIn = decompressedBytesIn;
+      this.decompressedBytesOut = decompressedBytesOut;
+      this.decompressionNanos = decompressionNanos;
+    }
+
+    /**
+     * Returns true if nothing has been compressed, skipped or decompressed.
+     */
+    public boolean isEmpty() {
+      return compressed == 0 && skipped == 0 && decompressed == 0;
+    }
+
+    /**
+     * The number of values sent compressed.
+     */
+    public long compressed() {
+      return compressed;
+    }
+
+    /**
+     * The number of values sent uncompressed since they did not compress well enough.
+     */
+    public long skipped() {
+      return skipped;
+    }
+
+    /**
+     * The ratio of compressed to uncompressed size of the values sent compressed (lower is better).
+     */
+    public double compressionRatio() {
+      return compressedBytesIn == 0 ? 1.0 : (double) compressedBytesOut / compressedBytesIn;
+    }
+
+    /**
+     * The time spent compressing, including values which have been skipped.
+     */
+    public long compressionNanos() {
+      return compressionNanos;
+    }
+
+    /**
+     * The number of values received compressed.
+     */
+    public long decompressed() {
+      return decompressed;
+    }
+
+    /**
+     * The ratio of compressed to decompressed size of the values received compressed.
+     */
+    public double decompressionRatio() {
+      return decompressedBytesOut == 0 ? 1.0 : (double) decompressedBytesIn / decompressedBytesOut;
+    }
+
+    /**
+     * The time spent decompressing.
+     */
+    public long decompressionNanos() {
+      return decompressionNanos;
+    }
+
+    @Override
+    public String toString() {
+      return "compressed " + compressed + " (ratio " + String.format("%.2f", compressionRatio())
+        + ", skipped " + skipped + ", " + compressionNanos / 1000 + "us), decompressed " + decompressed
+        + " (ratio " + String.format("%.2f", decompressionRatio()) + ", " + decompressionNanos / 1000 + "us)";
+    }
+
+  }
+
+}
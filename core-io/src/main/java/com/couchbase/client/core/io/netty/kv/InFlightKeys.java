@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps operations on the same document in order on a connection which negotiated unordered execution.
+ *
+ * <p>With {@link ServerFeature#UNORDERED_EXECUTION} the server is free to execute and answer requests in
+ * any order, which means that i.e. a get sent right after an upsert of the same document could observe
+ * the old value. To keep the order the application sent them in, only one request per document is in
+ * flight at any time and later ones are held back until it completed. Requests without a key are never
+ * held back.</p>
+ *
+ * <p>This class is not thread safe and must only be used from the event loop of the channel it belongs to.</p>
+ *
+ * @since 2.0.0
+ */
+final class InFlightKeys {
+
+  /**
+   * Holds all documents with a request in flight, mapped to the requests held back for it (null if none).
+   */
+  private final Map<DocumentKey, ArrayDeque<Held>> keys = new HashMap<>();
+
+  /**
+   * Marks the document of the request as in flight if possible.
+   *
+   * @param request the request to write.
+   * @param promise the promise of the write.
+   * @return true if the request can be written now, false if it has been held back.
+   */
+  boolean acquire(final KeyValueRequest<Response> request, final ChannelPromise promise) {
+    DocumentKey key = DocumentKey.of(request);
+    if (key == null) {
+      return true;
+    }
+
+    if (!keys.containsKey(key)) {
+      keys.put(key, null);
+      return true;
+    }
+
+    ArrayDeque<Held> held = keys.get(key);
+    if (held == null) {
+      held = new ArrayDeque<>(2);
+      keys.put(key, held);
+    }
+    held.add(new Held(request, promise));
+    return false;
+  }
+
+  /**
+   * Releases the document of a completed request.
+   *
+   * <p>If another request has been held back for the same document, it is returned and the document stays
+   * in flight on its behalf, so the caller must write it.</p>
+   *
+   * @param request the request which completed.
+   * @return the next request to write for the document, or null if there is none.
+   */
+  Held release(final KeyValueRequest<Response> request) {
+    DocumentKey key = DocumentKey.of(request);
+    if (key == null) {
+      return null;
+    }
+
+    ArrayDeque<Held> held = keys.get(key);
+    Held next = held == null ? null : held.poll();
+    if (next == null) {
+      keys.remove(key);
+    }
+    return next;
+  }
+
+  /**
+   * Forgets all documents in flight and returns all requests which have been held back.
+   *
+   * @return the requests held back which never have been written.
+   */
+  List<Held> clear() {
+    List<Held> all = new ArrayList<>();
+    for (ArrayDeque<Held> held : keys.values()) {
+      if (held != null) {
+        all.addAll(held);
+      }
+    }
+    keys.clear();
+    return all;
+  }
+
+  /**
+   * A request which has been held back together with the promise of its write.
+   */
+  static final class Held {
+
+    private final KeyValueRequest<Response> request;
+    private final ChannelPromise promise;
+
+    Held(final KeyValueRequest<Response> request, final ChannelPromise promise) {
+      this.request = request;
+      this.promise = promise;
+    }
+
+    KeyValueRequest<Response> request() {
+      return request;
+    }
+
+    ChannelPromise promise() {
+      return promise;
+    }
+  }
+
+  /**
+   * Identifies a document through its collection and key.
+   */
+  private static final class DocumentKey {
+
+    private final CollectionIdentifier collection;
+    private final byte[] key;
+    private final int hash;
+
+    private DocumentKey(final CollectionIdentifier collection, final byte[] key) {
+      this.collection = collection;
+      this.key = key;
+      this.hash = 31 * Objects.hashCode(collection) + Arrays.hashCode(key);
+    }
+
+    static DocumentKey of(final KeyValueRequest<Response> request) {
+      byte[] key = request.key();
+      return key == null || key.length == 0 ? null : new DocumentKey(request.collectionIdentifier(), key);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      DocumentKey that = (DocumentKey) o;
+      return hash == that.hash && Arrays.equals(key, that.key) && Objects.equals(collection, that.collection);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+}
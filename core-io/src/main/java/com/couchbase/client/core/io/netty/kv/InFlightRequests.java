@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+
+/**
+ * Tracks the requests which have been written to a KV channel but not yet been answered, keyed by
+ * their opaque.
+ *
+ * <p>The table is open addressed with linear probing and indexes slots by the lower bits of the opaque.
+ * Since opaques are handed out in monotonically increasing order, consecutive requests land in
+ * consecutive slots and the table behaves mostly like a ring buffer. The request and its primitive
+ * dispatch timestamp are stored side by side, so tracking a request neither boxes nor allocates.</p>
+ *
+ * <p>Lookups return the slot of an entry, which can then be used to access the request and its timestamp
+ * and to remove it. This class is not thread safe and must only be used from the event loop of the
+ * channel it belongs to.</p>
+ *
+ * @since 2.0.0
+ */
+final class InFlightRequests {
+
+  /**
+   * The initial capacity of the table, must be a power of two.
+   */
+  static final int DEFAULT_CAPACITY = 64;
+
+  /**
+   * Once used and deleted slots exceed this fraction of the capacity, the table is rebuilt.
+   */
+  private static final float LOAD_FACTOR = 0.5f;
+
+  private static final byte FREE = 0;
+  private static final byte USED = 1;
+  private static final byte DELETED = 2;
+
+  private byte[] states;
+  private int[] opaques;
+  private KeyValueRequest<Response>[] requests;
+  private long[] dispatchTimes;
+  private int mask;
+  private int size;
+  private int deleted;
+  private int threshold;
+
+  InFlightRequests() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  InFlightRequests(final int initialCapacity) {
+    allocate(Math.max(2, Integer.highestOneBit(Math.max(initialCapacity, 2) - 1) << 1));
+  }
+
+  @SuppressWarnings({"unchecked"})
+  private void allocate(final int capacity) {
+    states = new byte[capacity];
+    opaques = new int[capacity];
+    requests = (KeyValueRequest<Response>[]) new KeyValueRequest[capacity];
+    dispatchTimes = new long[capacity];
+    mask = capacity - 1;
+    threshold = (int) (capacity * LOAD_FACTOR);
+    size = 0;
+    deleted = 0;
+  }
+
+  /**
+   * Returns the number of requests currently in flight.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if no request is in flight.
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns true if a request with the given opaque is in flight.
+   */
+  boolean contains(final int opaque) {
+    return indexOf(opaque) >= 0;
+  }
+
+  /**
+   * Returns the slot of the request with the given opaque, or -1 if not in flight.
+   *
+   * @param opaque the opaque of the request.
+   * @return the slot or -1 if not found.
+   */
+  int indexOf(final int opaque) {
+    int idx = opaque & mask;
+    while (true) {
+      byte state = states[idx];
+      if (state == FREE) {
+        return -1;
+      } else if (state == USED && opaques[idx] == opaque) {
+        return idx;
+      }
+      idx = (idx + 1) & mask;
+    }
+  }
+
+  /**
+   * Returns the request stored in the given slot.
+   */
+  KeyValueRequest<Response> request(final int slot) {
+    return requests[slot];
+  }
+
+  /**
+   * Returns the opaque of the request stored in the given slot.
+   */
+  int opaque(final int slot) {
+    return opaques[slot];
+  }
+
+  /**
+   * Returns the nano time when the request in the given slot has been dispatched.
+   */
+  long dispatchedAt(final int slot) {
+    return dispatchTimes[slot];
+  }
+
+  /**
+   * Adds a request which must not be in flight already.
+   *
+   * @param opaque the opaque of the request.
+   * @param request the request itself.
+   * @param dispatchedAt the nano time of the dispatch.
+   */
+  void put(final int opaque, final KeyValueRequest<Response> request, final long dispatchedAt) {
+    if (size + deleted + 1 > threshold) {
+      rebuild();
+    }
+
+    int idx = opaque & mask;
+    while (states[idx] == USED) {
+      idx = (idx + 1) & mask;
+    }
+
+    if (states[idx] == DELETED) {
+      deleted--;
+    }
+    states[idx] = USED;
+    opaques[idx] = opaque;
+    requests[idx] = request;
+    dispatchTimes[idx] = dispatchedAt;
+    size++;
+  }
+
+  /**
+   * Removes the request in the given slot.
+   *
+   * <p>It is safe to call this method while iterating through {@link #forEach(Visitor)}.</p>
+   *
+   * @param slot the slot as returned from {@link #indexOf(int)}.
+   */
+  void removeAt(final int slot) {
+    requests[slot] = null;
+    size--;
+
+    if (states[(slot + 1) & mask] == FREE) {
+      // Nothing probes past this slot, so it and all deleted slots right before it can be freed.
+      states[slot] = FREE;
+      int idx = (slot - 1) & mask;
+      while (states[idx] == DELETED) {
+        states[idx] = FREE;
+        deleted--;
+        idx = (idx - 1) & mask;
+      }
+    } else {
+      states[slot] = DELETED;
+      deleted++;
+    }
+  }
+
+  /**
+   * Removes the request with the given opaque and returns it.
+   *
+   * @param opaque the opaque of the request.
+   * @return the removed request or null if not in flight.
+   */
+  KeyValueRequest<Response> remove(final int opaque) {
+    int slot = indexOf(opaque);
+    if (slot < 0) {
+      return null;
+    }
+    KeyValueRequest<Response> request = requests[slot];
+    removeAt(slot);
+    return request;
+  }
+
+  /**
+   * Calls the visitor for every request in flight.
+   *
+   * @param visitor the visitor to call.
+   */
+  void forEach(final Visitor visitor) {
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] == USED) {
+        visitor.visit(i, opaques[i], requests[i], dispatchTimes[i]);
+      }
+    }
+  }
+
+  /**
+   * Removes all requests from the table.
+   */
+  void clear() {
+    allocate(states.length);
+  }
+
+  /**
+   * Rebuilds the table, doubling its capacity if it is filled with live entries and otherwise
+   * only dropping the deleted slots.
+   */
+  private void rebuild() {
+    byte[] oldStates = states;
+    int[] oldOpaques = opaques;
+    KeyValueRequest<Response>[] oldRequests = requests;
+    long[] oldDispatchTimes = dispatchTimes;
+
+    int capacity = (size + 1) > (threshold / 2) ? oldStates.length << 1 : oldStates.length;
+    allocate(capacity);
+
+    for (int i = 0; i < oldStates.length; i++) {
+      if (oldStates[i] == USED) {
+        put(oldOpaques[i], oldRequests[i], oldDispatchTimes[i]);
+      }
+    }
+  }
+
+  /**
+   * Visits the requests of the table.
+   */
+  @FunctionalInterface
+  interface Visitor {
+
+    /**
+     * Called for every request in flight.
+     *
+     * @param slot the slot which can be passed to {@link #removeAt(int)}.
+     * @param opaque the opaque of the request.
+     * @param request the request itself.
+     * @param dispatchedAt the nano time when the request has been dispatched.
+     */
+    void visit(int slot, int opaque, KeyValueRequest<Response> request, long dispatchedAt);
+  }
+
+}
@@ -20,24 +20,28 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.cnc.EventBus;
 import com.couchbase.client.core.cnc.events.config.CollectionMapRefreshFailedEvent;
 import com.couchbase.client.core.cnc.events.io.ChannelClosedProactivelyEvent;
+import com.couchbase.client.core.cnc.events.io.CompressionStatsRecordedEvent;
 import com.couchbase.client.core.cnc.events.io.InvalidRequestDetectedEvent;
 import com.couchbase.client.core.cnc.events.io.KeyValueErrorMapCodeHandledEvent;
 import com.couchbase.client.core.cnc.events.io.UnknownResponseReceivedEvent;
 import com.couchbase.client.core.cnc.events.io.UnknownResponseStatusReceivedEvent;
 import com.couchbase.client.core.cnc.events.io.UnsupportedResponseTypeReceivedEvent;
+import com.couchbase.client.core.config.BucketConfig;
+import com.couchbase.client.core.config.ConfigRevision;
 import com.couchbase.client.core.config.ProposedBucketConfigContext;
+import com.couchbase.client.core.config.ProposedGlobalConfigContext;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelDuplexHandler;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelHandlerContext;
 import com.couchbase.client.core.deps.io.netty.channel.ChannelPromise;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
-import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectHashMap;
-import com.couchbase.client.core.deps.io.netty.util.collection.IntObjectMap;
+import com.couchbase.client.core.deps.io.netty.util.concurrent.ScheduledFuture;
 import com.couchbase.client.core.endpoint.BaseEndpoint;
 import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.env.CompressionConfig;
 import com.couchbase.client.core.error.DecodingFailedException;
 import com.couchbase.client.core.io.IoContext;
+import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.msg.kv.KeyValueRequest;
@@ -48,6 +52,7 @@ import com.couchbase.client.core.service.ServiceType;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static com.couchbase.client.core.io.netty.kv.ErrorMap.ErrorAttribute.AUTH;
 import static com.couchbase.client.core.io.netty.kv.ErrorMap.ErrorAttribute.CONN_STATE_INVALIDATED;
@@ -65,19 +70,24 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class KeyValueMessageHandler extends ChannelDuplexHandler {
 
   /**
-   * Stores the {@link CoreContext} for use.
+   * How often the deadlines of the in-flight requests are checked, if deadline sweeping is enabled.
    */
-  private final EndpointContext endpointContext;
+  static final long DEADLINE_SWEEP_INTERVAL_MILLIS = 10;
 
   /**
-   * Holds all outstanding requests based on their opaque.
+   * How often the compression stats of this channel are reported, if compression is negotiated.
    */
-  private final IntObjectMap<KeyValueRequest<Response>> writtenRequests;
+  static final Duration COMPRESSION_STATS_INTERVAL = Duration.ofMinutes(1);
 
   /**
-   * Holds the start timestamps for the outstanding dispatched requests.
+   * Stores the {@link CoreContext} for use.
    */
-  private final IntObjectMap<Long> writtenRequestDispatchTimings;
+  private final EndpointContext endpointContext;
+
+  /**
+   * Holds all outstanding requests and their dispatch timestamps based on their opaque.
+   */
+  private final InFlightRequests writtenRequests;
 
   /**
    * The compression config used for this handler.
@@ -114,11 +124,65 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
    */
   private ChannelContext channelContext;
 
+  /**
+   * Holds the documents with a request in flight, only used if unordered execution is negotiated.
+   */
+  private final InFlightKeys inFlightKeys = new InFlightKeys();
+
+  /**
+   * True if the server may execute requests on this connection out of order.
+   */
+  private boolean unorderedExecution;
+
   /**
    * If present, holds the error map negotiated on this connection.
    */
   private ErrorMap errorMap;
 
+  /**
+   * True if this handler checks the deadlines of its in-flight requests instead of the global timer.
+   */
+  private final boolean deadlineSweepEnabled;
+
+  /**
+   * If deadline sweeping is enabled and the channel is active, holds the periodic sweep task.
+   */
+  private ScheduledFuture<?> deadlineSweep;
+
+  /**
+   * Set once the channel stopped sweeping, after which requests are handed over to the global timer.
+   */
+  private boolean deadlineSweepStopped;
+
+  /**
+   * The nano time at which the currently running sweep started.
+   */
+  private long sweepStartedAt;
+
+  /**
+   * If compression is negotiated, holds the stats compression on this channel is recorded with.
+   */
+  private CompressionStats compressionStats;
+
+  /**
+   * If compression is negotiated and the channel is active, holds the periodic stats report task.
+   */
+  private ScheduledFuture<?> compressionStatsReport;
+
+  /**
+   * The nano time at which the compression stats have been reported last.
+   */
+  private long compressionStatsReportedAt;
+
+  /**
+   * Cancels every in-flight request whose deadline passed at the start of the current sweep.
+   */
+  private final InFlightRequests.Visitor deadlineVisitor = (slot, opaque, request, dispatchedAt) -> {
+    if (!request.completed() && sweepStartedAt - request.createdAt() >= request.timeout().toNanos()) {
+      request.cancel(CancellationReason.TIMEOUT);
+    }
+  };
+
   /**
    * Creates a new {@link KeyValueMessageHandler}.
    *
@@ -128,11 +192,11 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
                                 final EndpointContext endpointContext, final Optional<String> bucketName) {
     this.endpoint = endpoint;
     this.endpointContext = endpointContext;
-    this.writtenRequests = new IntObjectHashMap<>();
-    this.writtenRequestDispatchTimings = new IntObjectHashMap<>();
+    this.writtenRequests = new InFlightRequests();
     this.compressionConfig = endpointContext.environment().compressionConfig();
     this.eventBus = endpointContext.environment().eventBus();
     this.bucketName = bucketName;
+    this.deadlineSweepEnabled = endpointContext.environment().ioConfig().kvDeadlineSweepEnabled();
   }
 
   /**
@@ -163,12 +227,24 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     boolean mutationTokens = features != null && features.contains(ServerFeature.MUTATION_SEQNO);
     boolean syncReplication = features != null && features.contains(ServerFeature.SYNC_REPLICATION);
     boolean altRequest = features != null && features.contains(ServerFeature.ALT_REQUEST);
+    unorderedExecution = features != null && features.contains(ServerFeature.UNORDERED_EXECUTION);
 
     if (syncReplication && !altRequest) {
       throw new IllegalStateException("If Synchronous Replication is enabled, the server also " +
         "must negotiate Alternate Requests. This is a bug! - please report.");
     }
 
+    if (compression && compressionConfig != null && compressionConfig.enabled()) {
+      compressionStats = new CompressionStats();
+      compressionStatsReportedAt = System.nanoTime();
+      compressionStatsReport = ctx.executor().scheduleAtFixedRate(
+        this::reportCompressionStats,
+        COMPRESSION_STATS_INTERVAL.toMillis(),
+        COMPRESSION_STATS_INTERVAL.toMillis(),
+        TimeUnit.MILLISECONDS
+      );
+    }
+
     channelContext = new ChannelContext(
       compression ? compressionConfig : null,
       collections,
@@ -176,30 +252,128 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
       bucketName,
       syncReplication,
       altRequest,
-      ioContext.core().configurationProvider().collectionMap()
+      ioContext.core().configurationProvider().collectionMap(),
+      compressionStats
     );
 
+    boolean configNotifications = features != null
+      && features.contains(ServerFeature.CLUSTERMAP_CHANGE_NOTIFICATION);
+    if (configNotifications && bucketName.isPresent()) {
+      ioContext.core().configurationProvider().signalConfigNotificationsEnabled(bucketName.get());
+    }
+
+    if (deadlineSweepEnabled) {
+      deadlineSweep = ctx.executor().scheduleAtFixedRate(
+        this::sweepDeadlines,
+        DEADLINE_SWEEP_INTERVAL_MILLIS,
+        DEADLINE_SWEEP_INTERVAL_MILLIS,
+        TimeUnit.MILLISECONDS
+      );
+    }
+
     ctx.fireChannelActive();
   }
 
+  /**
+   * Fails over all requests which have been held back for ordering and never have been written.
+   *
+   * <p>If deadline sweeping is enabled, the requests still in flight are handed over to the global timer,
+   * since this channel no longer checks their deadlines.</p>
+   *
+   * @param ctx the channel context.
+   */
+  @Override
+  public void channelInactive(final ChannelHandlerContext ctx) {
+    if (unorderedExecution) {
+      for (InFlightKeys.Held held : inFlightKeys.clear()) {
+        RetryOrchestrator.maybeRetry(ioContext, held.request(), RetryReason.CHANNEL_CLOSED_BEFORE_WRITE);
+      }
+    }
+    if (deadlineSweepEnabled) {
+      stopDeadlineSweep();
+    }
+    stopCompressionStatsReport();
+    ctx.fireChannelInactive();
+  }
+
+  @Override
+  public void handlerRemoved(final ChannelHandlerContext ctx) {
+    if (deadlineSweepEnabled) {
+      stopDeadlineSweep();
+    }
+    stopCompressionStatsReport();
+  }
+
+  /**
+   * Publishes the compression stats recorded since the last report, unless nothing has been recorded.
+   */
+  void reportCompressionStats() {
+    long now = System.nanoTime();
+    CompressionStats.Snapshot snapshot = compressionStats.snapshotAndReset();
+    Duration interval = Duration.ofNanos(now - compressionStatsReportedAt);
+    compressionStatsReportedAt = now;
+    if (!snapshot.isEmpty()) {
+      eventBus.publish(new CompressionStatsRecordedEvent(interval, ioContext, snapshot));
+    }
+  }
+
+  /**
+   * Stops the periodic compression stats report and reports what has been recorded since the last one.
+   */
+  private void stopCompressionStatsReport() {
+    if (compressionStatsReport == null) {
+      return;
+    }
+    compressionStatsReport.cancel(false);
+    compressionStatsReport = null;
+    reportCompressionStats();
+  }
+
+  /**
+   * Cancels every in-flight request whose deadline has passed.
+   *
+   * <p>The requests stay in flight, so a late response is still matched to its request and then ignored
+   * since the request is completed already.</p>
+   */
+  void sweepDeadlines() {
+    sweepStartedAt = System.nanoTime();
+    writtenRequests.forEach(deadlineVisitor);
+  }
+
+  /**
+   * Stops the periodic sweep and registers the requests still in flight with the global timer.
+   */
+  private void stopDeadlineSweep() {
+    if (deadlineSweepStopped) {
+      return;
+    }
+    deadlineSweepStopped = true;
+    if (deadlineSweep != null) {
+      deadlineSweep.cancel(false);
+      deadlineSweep = null;
+    }
+    writtenRequests.forEach((slot, opaque, request, dispatchedAt) -> registerDeadline(request));
+  }
+
+  /**
+   * Registers the request with the global timer, unless it completed already.
+   */
+  private void registerDeadline(final KeyValueRequest<Response> request) {
+    if (!request.completed()) {
+      endpointContext.environment().timer().registerDeadline(request);
+    }
+  }
+
   @Override
   @SuppressWarnings({"unchecked"})
   public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
     if (msg instanceof KeyValueRequest) {
       KeyValueRequest<Response> request = (KeyValueRequest<Response>) msg;
-
-      int nextOpaque;
-      do {
-        nextOpaque = ++opaque;
-      } while (writtenRequests.containsKey(nextOpaque));
-
-      writtenRequests.put(nextOpaque, request);
-      try {
-        ctx.write(request.encode(ctx.alloc(), nextOpaque, channelContext), promise);
-        writtenRequestDispatchTimings.put(nextOpaque, (Long) System.nanoTime());
-      }
-      catch(RuntimeException err) {
-        request.response().completeExceptionally(err);
+      if (!unorderedExecution || inFlightKeys.acquire(request, promise)) {
+        writeRequest(ctx, request, promise);
+      } else if (deadlineSweepEnabled) {
+        // held back requests are not in flight, so the sweep does not see them.
+        registerDeadline(request);
       }
     } else {
       eventBus.publish(new InvalidRequestDetectedEvent(ioContext, ServiceType.KV, msg));
@@ -210,10 +384,61 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     }
   }
 
+  /**
+   * Encodes the request with the next free opaque and writes it.
+   *
+   * @param ctx the channel context.
+   * @param request the request to write.
+   * @param promise the promise of the write.
+   */
+  private void writeRequest(final ChannelHandlerContext ctx, final KeyValueRequest<Response> request,
+                            final ChannelPromise promise) {
+    int nextOpaque;
+    do {
+      nextOpaque = ++opaque;
+    } while (writtenRequests.contains(nextOpaque));
+
+    try {
+      ByteBuf encoded = request.encode(ctx.alloc(), nextOpaque, channelContext);
+      writtenRequests.put(nextOpaque, request, System.nanoTime());
+      if (deadlineSweepEnabled && deadlineSweepStopped) {
+        // the channel is already inactive and not sweeping anymore, so this write is going to fail.
+        registerDeadline(request);
+      }
+      ctx.write(encoded, promise);
+    }
+    catch(RuntimeException err) {
+      request.response().completeExceptionally(err);
+      if (unorderedExecution) {
+        writeNextForKey(ctx, request);
+      }
+    }
+  }
+
+  /**
+   * Once a request completed on a connection with unordered execution, writes the next request which
+   * has been held back for the same document, if any.
+   *
+   * @param ctx the channel context.
+   * @param completed the request which completed.
+   */
+  private void writeNextForKey(final ChannelHandlerContext ctx, final KeyValueRequest<Response> completed) {
+    InFlightKeys.Held next = inFlightKeys.release(completed);
+    if (next != null) {
+      writeRequest(ctx, next.request(), next.promise());
+      ctx.flush();
+    }
+  }
+
   @Override
   public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
     if (msg instanceof ByteBuf) {
-      decode(ctx, (ByteBuf) msg);
+      ByteBuf message = (ByteBuf) msg;
+      if (message.getByte(0) == MemcacheProtocol.Magic.SERVER_REQUEST.magic()) {
+        handleServerRequest(message);
+      } else {
+        decode(ctx, message);
+      }
     } else {
       ioContext.environment().eventBus().publish(
         new UnsupportedResponseTypeReceivedEvent(ioContext, msg)
@@ -229,8 +454,14 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
    */
   private void decode(final ChannelHandlerContext ctx, final ByteBuf response) {
     int opaque = MemcacheProtocol.opaque(response);
-    KeyValueRequest<Response> request = writtenRequests.remove(opaque);
-    long start = writtenRequestDispatchTimings.remove(opaque);
+    int slot = writtenRequests.indexOf(opaque);
+    KeyValueRequest<Response> request = null;
+    long start = 0;
+    if (slot >= 0) {
+      request = writtenRequests.request(slot);
+      start = writtenRequests.dispatchedAt(slot);
+      writtenRequests.removeAt(slot);
+    }
 
     if (request == null) {
       byte[] packet = new byte[response.readableBytes()];
@@ -240,18 +471,25 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
       );
     } else {
       request.context().dispatchLatency(System.nanoTime() - start);
+      if (unorderedExecution) {
+        writeNextForKey(ctx, request);
+      }
 
       short statusCode = MemcacheProtocol.status(response);
       ResponseStatus status = MemcacheProtocol.decodeStatus(statusCode);
       ErrorMap.ErrorCode errorCode = status == ResponseStatus.UNKNOWN ? decodeErrorCode(statusCode) : null;
 
       if (errorCode != null) {
-        ioContext.environment().eventBus().publish(new KeyValueErrorMapCodeHandledEvent(ioContext, errorCode));
+        if (eventBus.isInterested(
+          KeyValueErrorMapCodeHandledEvent.CATEGORY, KeyValueErrorMapCodeHandledEvent.SEVERITY)) {
+          eventBus.publish(new KeyValueErrorMapCodeHandledEvent(ioContext, errorCode));
+        }
         status = handleErrorCode(ctx, errorCode);
       }
 
-      if (status == ResponseStatus.UNKNOWN) {
-        ioContext.environment().eventBus().publish(new UnknownResponseStatusReceivedEvent(ioContext, statusCode));
+      if (status == ResponseStatus.UNKNOWN && eventBus.isInterested(
+        UnknownResponseStatusReceivedEvent.CATEGORY, UnknownResponseStatusReceivedEvent.SEVERITY)) {
+        eventBus.publish(new UnknownResponseStatusReceivedEvent(ioContext, statusCode));
       }
 
       if (status == ResponseStatus.NOT_MY_VBUCKET) {
@@ -274,6 +512,61 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     ReferenceCountUtil.release(response);
   }
 
+  /**
+   * Handles a request which has been initiated by the server on this duplex connection.
+   *
+   * <p>Server requests are not tied to one of our in-flight requests, so they neither complete a request
+   * nor count towards the outstanding requests of the endpoint. Cluster map change notifications do not
+   * expect a response, so none is written back.</p>
+   *
+   * @param request the request sent by the server.
+   */
+  private void handleServerRequest(final ByteBuf request) {
+    try {
+      MemcacheProtocol.ServerOpcode opcode = MemcacheProtocol.ServerOpcode.of(MemcacheProtocol.opcode(request));
+      if (opcode == MemcacheProtocol.ServerOpcode.CLUSTERMAP_CHANGE_NOTIFICATION) {
+        handleClustermapChangeNotification(request);
+      } else {
+        byte[] packet = new byte[request.readableBytes()];
+        request.readBytes(packet);
+        ioContext.environment().eventBus().publish(
+          new UnknownResponseReceivedEvent(ioContext, packet)
+        );
+      }
+    } finally {
+      ReferenceCountUtil.release(request);
+    }
+  }
+
+  /**
+   * Feeds the config pushed by the server into the configuration provider.
+   *
+   * <p>The key of the notification holds the name of the bucket the config belongs to, if it is empty the
+   * config is a global (cluster level) config.</p>
+   *
+   * @param request the notification to extract the config from.
+   */
+  private void handleClustermapChangeNotification(final ByteBuf request) {
+    final String origin = endpointContext.remoteHostname();
+    final Optional<String> bucket = MemcacheProtocol.key(request).map(k -> k.toString(UTF_8));
+
+    body(request)
+      .filter(b -> !bucket.isPresent() || isNewerBucketConfig(bucket.get(), b))
+      .map(b -> b.toString(UTF_8).trim())
+      .filter(c -> c.startsWith("{"))
+      .ifPresent(c -> {
+        if (bucket.isPresent()) {
+          ioContext.core().configurationProvider().proposeBucketConfig(
+            new ProposedBucketConfigContext(bucket.get(), c, origin)
+          );
+        } else {
+          ioContext.core().configurationProvider().proposeGlobalConfig(
+            new ProposedGlobalConfigContext(c, origin)
+          );
+        }
+      });
+  }
+
   /**
    * If an error code has been found, this method tries to analyze it and perform the right
    * side effects.
@@ -324,6 +617,7 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
     RetryOrchestrator.retryImmediately(ioContext, request, RetryReason.KV_NOT_MY_VBUCKET);
 
     body(response)
+      .filter(b -> isNewerBucketConfig(request.bucket(), b))
       .map(b -> b.toString(UTF_8).trim())
       .filter(c -> c.startsWith("{"))
       .ifPresent(c -> ioContext.core().configurationProvider().proposeBucketConfig(
@@ -331,18 +625,41 @@ public class KeyValueMessageHandler extends ChannelDuplexHandler {
       ));
   }
 
+  /**
+   * Scans the revision from the raw config and checks it against the current config of the bucket.
+   *
+   * <p>During a rebalance many responses carry the same config, so this avoids converting and proposing
+   * configs we already have. If the revision cannot be determined, the config is proposed anyways.</p>
+   *
+   * @param bucket the name of the bucket.
+   * @param config the raw config.
+   * @return true if the config should be proposed.
+   */
+  private boolean isNewerBucketConfig(final String bucket, final ByteBuf config) {
+    long revision = ConfigRevision.scan(config);
+    if (revision <= 0) {
+      return true;
+    }
+    BucketConfig current = ioContext.core().configurationProvider().config().bucketConfig(bucket);
+    return current == null || revision > current.rev();
+  }
+
   /**
    * Helper method to redispatch a request and signal that we need to refresh the collection map.
    *
+   * <p>The request is retried first, so it gets parked until the refresh completes. Since the provider
+   * shares one refresh per bucket, concurrent requests with an outdated collection do not cause a
+   * lookup each.</p>
+   *
    * @param request the request to retry.
    */
   private void handleOutdatedCollection(final KeyValueRequest<Response> request) {
+    RetryOrchestrator.retryImmediately(ioContext, request, RetryReason.KV_COLLECTION_OUTDATED);
     final long start = System.nanoTime();
     ioContext.core().configurationProvider().refreshCollectionMap(request.bucket(), true).subscribe(v -> {}, err -> {
       Duration duration = Duration.ofNanos(System.nanoTime() - start);
       eventBus.publish(new CollectionMapRefreshFailedEvent(duration, ioContext, err));
     });
-    RetryOrchestrator.retryImmediately(ioContext, request, RetryReason.KV_COLLECTION_OUTDATED);
   }
 
 }
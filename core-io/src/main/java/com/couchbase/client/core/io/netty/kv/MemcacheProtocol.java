@@ -24,7 +24,9 @@ import com.couchbase.client.core.msg.kv.DurabilityLevel;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.CompositeByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.util.concurrent.FastThreadLocal;
 import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
 
 import java.time.Duration;
@@ -95,14 +97,58 @@ public enum MemcacheProtocol {
    */
   public static final short SYNC_REPLICATION_TIMEOUT_FLOOR_MS = 1500;
 
+  /**
+   * The body size from which on {@link #request} and {@link #flexibleRequest} do not copy the body into
+   * the frame anymore but append it as a component of a {@link CompositeByteBuf}.
+   *
+   * <p>Below this size the copy is cheaper than the bookkeeping of the composite buffer.</p>
+   */
+  public static final int COMPOSITE_BODY_THRESHOLD = 4096;
+
+  /**
+   * The size of the prefix which is compressed first to find out if a value compresses at all.
+   */
+  static final int COMPRESSION_SAMPLE_SIZE = 4096;
+
+  /**
+   * The largest scratch array kept per thread, larger ones are allocated for a single use.
+   */
+  static final int MAX_SCRATCH_SIZE = 1024 * 1024;
+
+  /**
+   * Holds the scratch arrays of the current thread (usually an event loop) used for compression.
+   */
+  private static final FastThreadLocal<Scratch> SCRATCH = new FastThreadLocal<Scratch>() {
+    @Override
+    protected Scratch initialValue() {
+      return new Scratch();
+    }
+  };
+
   /**
    * Create a flexible memcached protocol request with all fields necessary.
+   *
+   * <p>Depending on the size of the body, either a flat or a composite frame is returned (see
+   * {@link #COMPOSITE_BODY_THRESHOLD}). In both cases the caller keeps ownership of the passed in buffers.</p>
    */
   public static ByteBuf flexibleRequest(final ByteBufAllocator alloc, final Opcode opcode,
                                         final byte datatype, final short partition,
                                         final int opaque, final long cas,
                                         final ByteBuf framingExtras, final ByteBuf extras,
                                         final ByteBuf key, final ByteBuf body) {
+    return body.readableBytes() >= COMPOSITE_BODY_THRESHOLD
+      ? compositeFlexibleRequest(alloc, opcode, datatype, partition, opaque, cas, framingExtras, extras, key, body)
+      : flatFlexibleRequest(alloc, opcode, datatype, partition, opaque, cas, framingExtras, extras, key, body);
+  }
+
+  /**
+   * Create a flexible memcached protocol request where all fields are copied into one contiguous buffer.
+   */
+  public static ByteBuf flatFlexibleRequest(final ByteBufAllocator alloc, final Opcode opcode,
+                                            final byte datatype, final short partition,
+                                            final int opaque, final long cas,
+                                            final ByteBuf framingExtras, final ByteBuf extras,
+                                            final ByteBuf key, final ByteBuf body) {
     int keySize = key.readableBytes();
     int extrasSize = extras.readableBytes();
     int framingExtrasSize = framingExtras.readableBytes();
@@ -125,13 +171,60 @@ public enum MemcacheProtocol {
       .writeBytes(body);
   }
 
+  /**
+   * Create a flexible memcached protocol request where only the header, framing extras, extras and key
+   * are written into a new buffer and the (retained) body is appended as a composite component.
+   */
+  public static ByteBuf compositeFlexibleRequest(final ByteBufAllocator alloc, final Opcode opcode,
+                                                 final byte datatype, final short partition,
+                                                 final int opaque, final long cas,
+                                                 final ByteBuf framingExtras, final ByteBuf extras,
+                                                 final ByteBuf key, final ByteBuf body) {
+    int keySize = key.readableBytes();
+    int extrasSize = extras.readableBytes();
+    int framingExtrasSize = framingExtras.readableBytes();
+    int totalBodySize = framingExtrasSize + extrasSize + keySize + body.readableBytes();
+    ByteBuf header = alloc
+      .buffer(HEADER_SIZE + framingExtrasSize + extrasSize + keySize)
+      .writeByte(Magic.FLEXIBLE_REQUEST.magic())
+      .writeByte(opcode.opcode())
+      .writeByte(framingExtrasSize)
+      .writeByte(keySize)
+      .writeByte(extrasSize)
+      .writeByte(datatype)
+      .writeShort(partition)
+      .writeInt(totalBodySize)
+      .writeInt(opaque)
+      .writeLong(cas)
+      .writeBytes(framingExtras)
+      .writeBytes(extras)
+      .writeBytes(key);
+    return composite(alloc, header, body);
+  }
+
   /**
    * Create a regular, non-flexible memcached protocol request with all fields necessary.
+   *
+   * <p>Depending on the size of the body, either a flat or a composite frame is returned (see
+   * {@link #COMPOSITE_BODY_THRESHOLD}). In both cases the caller keeps ownership of the passed in buffers.</p>
    */
   public static ByteBuf request(final ByteBufAllocator alloc,
                                 final Opcode opcode, final byte datatype, final short partition,
                                 final int opaque, final long cas, final ByteBuf extras,
                                 final ByteBuf key, final ByteBuf body) {
+    return body.readableBytes() >= COMPOSITE_BODY_THRESHOLD
+      ? compositeRequest(alloc, opcode, datatype, partition, opaque, cas, extras, key, body)
+      : flatRequest(alloc, opcode, datatype, partition, opaque, cas, extras, key, body);
+  }
+
+  /**
+   * Create a regular, non-flexible memcached protocol request where all fields are copied into one
+   * contiguous buffer.
+   */
+  public static ByteBuf flatRequest(final ByteBufAllocator alloc,
+                                    final Opcode opcode, final byte datatype, final short partition,
+                                    final int opaque, final long cas, final ByteBuf extras,
+                                    final ByteBuf key, final ByteBuf body) {
     int keySize = key.readableBytes();
     int extrasSize = extras.readableBytes();
     int totalBodySize = extrasSize + keySize + body.readableBytes();
@@ -151,6 +244,52 @@ public enum MemcacheProtocol {
       .writeBytes(body);
   }
 
+  /**
+   * Create a regular, non-flexible memcached protocol request where only the header, extras and key
+   * are written into a new buffer and the (retained) body is appended as a composite component.
+   */
+  public static ByteBuf compositeRequest(final ByteBufAllocator alloc,
+                                         final Opcode opcode, final byte datatype, final short partition,
+                                         final int opaque, final long cas, final ByteBuf extras,
+                                         final ByteBuf key, final ByteBuf body) {
+    int keySize = key.readableBytes();
+    int extrasSize = extras.readableBytes();
+    int totalBodySize = extrasSize + keySize + body.readableBytes();
+    ByteBuf header = alloc
+      .buffer(HEADER_SIZE + extrasSize + keySize)
+      .writeByte(Magic.REQUEST.magic())
+      .writeByte(opcode.opcode())
+      .writeShort(keySize)
+      .writeByte(extrasSize)
+      .writeByte(datatype)
+      .writeShort(partition)
+      .writeInt(totalBodySize)
+      .writeInt(opaque)
+      .writeLong(cas)
+      .writeBytes(extras)
+      .writeBytes(key);
+    return composite(alloc, header, body);
+  }
+
+  /**
+   * Helper method to combine the header part of a frame with its body without copying the body.
+   *
+   * @param alloc the allocator to use.
+   * @param header the header part, ownership is transferred into the result.
+   * @param body the body part, which is retained so the caller keeps its ownership.
+   * @return the composite frame.
+   */
+  private static ByteBuf composite(final ByteBufAllocator alloc, final ByteBuf header, final ByteBuf body) {
+    CompositeByteBuf frame = alloc.compositeBuffer(2);
+    try {
+      return frame.addComponents(true, header, body.retainedSlice());
+    } catch (RuntimeException ex) {
+      frame.release();
+      header.release();
+      throw ex;
+    }
+  }
+
   /**
    * Returns the status of that response.
    *
@@ -239,6 +378,28 @@ public enum MemcacheProtocol {
     }
   }
 
+  /**
+   * Returns the key of the message if available.
+   *
+   * @param message the message to extract the key from.
+   * @return an optional either containing the key of the message or none.
+   */
+  public static Optional<ByteBuf> key(final ByteBuf message) {
+    boolean flexible = message.getByte(0) == Magic.FLEXIBLE_RESPONSE.magic();
+    int keyLength = flexible ? message.getByte(3) : message.getShort(2);
+    int flexibleExtrasLength = flexible ? message.getByte(2) : 0;
+    byte extrasLength = message.getByte(4);
+
+    if (keyLength > 0) {
+      return Optional.of(message.slice(
+        MemcacheProtocol.HEADER_SIZE + flexibleExtrasLength + extrasLength,
+        keyLength
+      ));
+    } else {
+      return Optional.empty();
+    }
+  }
+
   public static Optional<ByteBuf> extras(final ByteBuf message) {
     boolean flexible = message.getByte(0) == Magic.FLEXIBLE_RESPONSE.magic();
     byte extrasLength = message.getByte(4);
@@ -278,7 +439,8 @@ public enum MemcacheProtocol {
    * Performs simple sanity checking of a key/value response.
    *
    * It checks the magic byte and if the total readable bytes match
-   * up with the total length of the packet.
+   * up with the total length of the packet. Since requests initiated by the server
+   * travel in the same direction as responses, those are accepted as well.
    *
    * @param response the response to check.
    * @return true if verified, false otherwise.
@@ -292,7 +454,9 @@ public enum MemcacheProtocol {
     int bodyPlusHeader = response.getInt(TOTAL_LENGTH_OFFSET) + MemcacheProtocol.HEADER_SIZE;
 
     return
-      (magic == Magic.RESPONSE.magic() || magic == Magic.FLEXIBLE_RESPONSE.magic())
+      (magic == Magic.RESPONSE.magic()
+        || magic == Magic.FLEXIBLE_RESPONSE.magic()
+        || magic == Magic.SERVER_REQUEST.magic())
       && readableBytes == bodyPlusHeader;
   }
 
@@ -543,11 +707,17 @@ public enum MemcacheProtocol {
   /**
    * Try to compress the input, but if it is below the min ratio then it will return null.
    *
+   * <p>Like the buffer based variants, inputs larger than two samples are given up on early if their prefix
+   * does not reach the min ratio.</p>
+   *
    * @param input the input array.
    * @param minRatio the minimum ratio to accept and return the buffer.
    * @return a {@link ByteBuf} if compressed, or null if below the min ratio.
    */
   public static ByteBuf tryCompression(byte[] input, double minRatio) {
+    if (prefixIncompressible(input, 0, input.length, minRatio)) {
+      return null;
+    }
     byte[] compressed = Snappy.compress(input);
     if (((double) compressed.length / input.length) > minRatio) {
       return null;
@@ -555,6 +725,93 @@ public enum MemcacheProtocol {
     return Unpooled.wrappedBuffer(compressed);
   }
 
+  /**
+   * Try to compress the input into a buffer of the given allocator, but if it is below the min ratio
+   * then it will return null.
+   *
+   * <p>Inputs which are larger than two samples are given up on early if their prefix does not reach the
+   * min ratio already. Inputs without an accessible array are copied into a scratch array of the current
+   * thread first, so both heap and direct buffers are accepted. The caller owns the returned buffer.</p>
+   *
+   * @param alloc the allocator for the compressed buffer.
+   * @param input the input buffer, its reader index is not changed.
+   * @param minRatio the minimum ratio to accept and return the buffer.
+   * @param stats the stats to record with, may be null.
+   * @return a {@link ByteBuf} if compressed, or null if below the min ratio.
+   */
+  public static ByteBuf tryCompression(final ByteBufAllocator alloc, final ByteBuf input, final double minRatio,
+                                       final CompressionStats stats) {
+    int length = input.readableBytes();
+    if (input.hasArray()) {
+      return tryCompression(alloc, input.array(), input.arrayOffset() + input.readerIndex(), length,
+        minRatio, stats);
+    }
+    byte[] copy = SCRATCH.get().input(length);
+    input.getBytes(input.readerIndex(), copy, 0, length);
+    return tryCompression(alloc, copy, 0, length, minRatio, stats);
+  }
+
+  /**
+   * Try to compress the input array into a buffer of the given allocator, but if it is below the min ratio
+   * then it will return null.
+   *
+   * @param alloc the allocator for the compressed buffer.
+   * @param input the input array.
+   * @param minRatio the minimum ratio to accept and return the buffer.
+   * @param stats the stats to record with, may be null.
+   * @return a {@link ByteBuf} if compressed, or null if below the min ratio.
+   * @see #tryCompression(ByteBufAllocator, ByteBuf, double, CompressionStats)
+   */
+  public static ByteBuf tryCompression(final ByteBufAllocator alloc, final byte[] input, final double minRatio,
+                                       final CompressionStats stats) {
+    return tryCompression(alloc, input, 0, input.length, minRatio, stats);
+  }
+
+  private static ByteBuf tryCompression(final ByteBufAllocator alloc, final byte[] input, final int offset,
+                                        final int length, final double minRatio, final CompressionStats stats) {
+    long start = System.nanoTime();
+    if (prefixIncompressible(input, offset, length, minRatio)) {
+      if (stats != null) {
+        stats.recordSkipped(System.nanoTime() - start);
+      }
+      return null;
+    }
+
+    ByteBuf output = alloc.heapBuffer(Snappy.maxCompressedLength(length));
+    int compressed;
+    try {
+      compressed = Snappy.compress(input, offset, length, output.array(), output.arrayOffset());
+    } catch (RuntimeException ex) {
+      output.release();
+      throw ex;
+    }
+    if (((double) compressed / length) > minRatio) {
+      output.release();
+      if (stats != null) {
+        stats.recordSkipped(System.nanoTime() - start);
+      }
+      return null;
+    }
+    if (stats != null) {
+      stats.recordCompressed(length, compressed, System.nanoTime() - start);
+    }
+    return output.writerIndex(compressed);
+  }
+
+  /**
+   * Compresses a sample of the input prefix (if the input is at least two samples large) and checks if
+   * it misses the min ratio, in which case the whole input is unlikely to reach it.
+   */
+  private static boolean prefixIncompressible(final byte[] input, final int offset, final int length,
+                                              final double minRatio) {
+    if (length < COMPRESSION_SAMPLE_SIZE * 2) {
+      return false;
+    }
+    byte[] sample = SCRATCH.get().output(Snappy.maxCompressedLength(COMPRESSION_SAMPLE_SIZE));
+    int sampled = Snappy.compress(input, offset, COMPRESSION_SAMPLE_SIZE, sample, 0);
+    return ((double) sampled / COMPRESSION_SAMPLE_SIZE) > minRatio;
+  }
+
   /**
    * Try to decompress the input if the datatype has the snappy flag enabled.
    *
@@ -572,6 +829,103 @@ public enum MemcacheProtocol {
     return input;
   }
 
+  /**
+   * Try to decompress the input buffer if the datatype has the snappy flag enabled.
+   *
+   * <p>Unlike {@link #tryDecompression(byte[], byte)} this method does not copy uncompressed input, it
+   * returns a retained slice of it instead. Compressed input is inflated into a buffer allocated from
+   * the allocator of the input. In both cases the caller owns the returned buffer and must release it.</p>
+   *
+   * @param input the input buffer.
+   * @param datatype the datatype for the response.
+   * @return a buffer which needs to be released by the caller.
+   */
+  public static ByteBuf tryDecompression(final ByteBuf input, final byte datatype) {
+    return tryDecompression(input, datatype, null);
+  }
+
+  /**
+   * Try to decompress the input buffer if the datatype has the snappy flag enabled, recording the work.
+   *
+   * <p>Compressed input without an accessible array is copied into a scratch array of the current thread
+   * instead of a new one.</p>
+   *
+   * @param input the input buffer.
+   * @param datatype the datatype for the response.
+   * @param stats the stats to record with, may be null.
+   * @return a buffer which needs to be released by the caller.
+   * @see #tryDecompression(ByteBuf, byte)
+   */
+  public static ByteBuf tryDecompression(final ByteBuf input, final byte datatype, final CompressionStats stats) {
+    if ((datatype & Datatype.SNAPPY.datatype()) != Datatype.SNAPPY.datatype()) {
+      return input.retainedSlice();
+    }
+
+    long start = System.nanoTime();
+    int length = input.readableBytes();
+    byte[] compressed;
+    int offset;
+    if (input.hasArray()) {
+      compressed = input.array();
+      offset = input.arrayOffset() + input.readerIndex();
+    } else {
+      compressed = SCRATCH.get().input(length);
+      input.getBytes(input.readerIndex(), compressed, 0, length);
+      offset = 0;
+    }
+
+    ByteBuf output = input.alloc().heapBuffer(Snappy.getUncompressedLength(compressed, offset));
+    try {
+      int written = Snappy.uncompress(compressed, offset, length, output.array(), output.arrayOffset());
+      if (stats != null) {
+        stats.recordDecompressed(length, written, System.nanoTime() - start);
+      }
+      return output.writerIndex(written);
+    } catch (RuntimeException ex) {
+      output.release();
+      throw ex;
+    }
+  }
+
+  /**
+   * Returns the content of the input buffer as an array, decompressed straight out of the buffer if the
+   * datatype has the snappy flag enabled.
+   *
+   * <p>Unlike copying the input into an array and passing it to {@link #tryDecompression(byte[], byte)},
+   * compressed input is not copied into an intermediate array first (unless it has no accessible array,
+   * in which case a scratch array of the current thread is used).</p>
+   *
+   * @param input the input buffer, its reader index is not changed.
+   * @param datatype the datatype for the response.
+   * @param stats the stats to record with, may be null.
+   * @return the content, decompressed if needed.
+   */
+  public static byte[] decompressedBytes(final ByteBuf input, final byte datatype, final CompressionStats stats) {
+    if ((datatype & Datatype.SNAPPY.datatype()) != Datatype.SNAPPY.datatype()) {
+      return ByteBufUtil.getBytes(input);
+    }
+
+    long start = System.nanoTime();
+    int length = input.readableBytes();
+    byte[] compressed;
+    int offset;
+    if (input.hasArray()) {
+      compressed = input.array();
+      offset = input.arrayOffset() + input.readerIndex();
+    } else {
+      compressed = SCRATCH.get().input(length);
+      input.getBytes(input.readerIndex(), compressed, 0, length);
+      offset = 0;
+    }
+
+    byte[] output = new byte[Snappy.getUncompressedLength(compressed, offset)];
+    int written = Snappy.uncompress(compressed, offset, length, output, 0);
+    if (stats != null) {
+      stats.recordDecompressed(length, written, System.nanoTime() - start);
+    }
+    return output;
+  }
+
   /**
    * Helper method during development and debugging to dump the raw message as a
    * verbose string.
@@ -632,7 +986,9 @@ public enum MemcacheProtocol {
     REQUEST((byte) 0x80),
     RESPONSE((byte) 0x81),
     FLEXIBLE_REQUEST((byte) 0x08),
-    FLEXIBLE_RESPONSE((byte) 0x18);
+    FLEXIBLE_RESPONSE((byte) 0x18),
+    SERVER_REQUEST((byte) 0x82),
+    SERVER_RESPONSE((byte) 0x83);
 
     private final byte magic;
 
@@ -659,6 +1015,10 @@ public enum MemcacheProtocol {
           return Magic.FLEXIBLE_REQUEST;
         case 0x18:
           return Magic.FLEXIBLE_RESPONSE;
+        case (byte) 0x82:
+          return Magic.SERVER_REQUEST;
+        case (byte) 0x83:
+          return Magic.SERVER_RESPONSE;
       }
       return null;
     }
@@ -673,6 +1033,42 @@ public enum MemcacheProtocol {
 
   }
 
+  /**
+   * Contains the opcodes of requests initiated by the server.
+   *
+   * <p>These only have a meaning together with the {@link Magic#SERVER_REQUEST} magic and are only sent
+   * if the client negotiated {@link ServerFeature#DUPLEX}.</p>
+   */
+  public enum ServerOpcode {
+    /**
+     * Notifies the client of a new cluster map (the bucket config or global config).
+     */
+    CLUSTERMAP_CHANGE_NOTIFICATION((byte) 0x01);
+
+    private final byte opcode;
+
+    ServerOpcode(byte opcode) {
+      this.opcode = opcode;
+    }
+
+    /**
+     * Returns the opcode for the given server request.
+     *
+     * @return the opcode for the server request.
+     */
+    public byte opcode() {
+      return opcode;
+    }
+
+    public static ServerOpcode of(byte input) {
+      switch (input) {
+        case 0x01:
+          return ServerOpcode.CLUSTERMAP_CHANGE_NOTIFICATION;
+      }
+      return null;
+    }
+  }
+
   /**
    * Contains all known/used kv protocol opcodes.
    */
@@ -1012,4 +1408,35 @@ public enum MemcacheProtocol {
       return datatype;
     }
   }
+  /**
+   * Scratch arrays which are reused by all compression work on a thread.
+   *
+   * <p>Arrays up to {@link #MAX_SCRATCH_SIZE} are kept, larger requests get a fresh array which is not
+   * kept, so a single huge document does not pin its size on every event loop.</p>
+   */
+  private static class Scratch {
+    private byte[] input = new byte[0];
+    private byte[] output = new byte[0];
+
+    byte[] input(final int size) {
+      if (size > MAX_SCRATCH_SIZE) {
+        return new byte[size];
+      }
+      if (input.length < size) {
+        input = new byte[size];
+      }
+      return input;
+    }
+
+    byte[] output(final int size) {
+      if (size > MAX_SCRATCH_SIZE) {
+        return new byte[size];
+      }
+      if (output.length < size) {
+        output = new byte[size];
+      }
+      return output;
+    }
+  }
+
 }
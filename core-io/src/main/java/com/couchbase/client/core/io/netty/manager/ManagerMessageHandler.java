@@ -93,7 +93,12 @@ public class ManagerMessageHandler extends ChannelDuplexHandler {
   public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
     if (msg instanceof ManagerRequest) {
       if (currentRequest != null) {
-        RetryOrchestrator.retryImmediately(coreContext, (ManagerRequest<Response>) msg, RetryReason.NOT_PIPELINED_REQUEST_IN_FLIGHT);
+        // hand it back so it does not trip on the toes of the request in flight.
+        if (endpoint != null) {
+          endpoint.requeue((ManagerRequest<Response>) msg);
+        } else {
+          RetryOrchestrator.retryImmediately(coreContext, (ManagerRequest<Response>) msg, RetryReason.NOT_PIPELINED_REQUEST_IN_FLIGHT);
+        }
         return;
       }
 
@@ -55,6 +55,11 @@ public abstract class BaseRequest<R extends Response> implements Request<R> {
    */
   private final Duration timeout;
 
+  /**
+   * Holds the nano time when this request has been created.
+   */
+  private final long createdAt;
+
   /**
    * Holds the request context, if set.
    */
@@ -98,6 +103,7 @@ public abstract class BaseRequest<R extends Response> implements Request<R> {
       throw new IllegalArgumentException("A CoreContext must be provided");
     }
     this.timeout = timeout;
+    this.createdAt = System.nanoTime();
     this.response = new CompletableFuture<>();
     this.id = REQUEST_ID.incrementAndGet();
     this.ctx = new RequestContext(ctx, this);
@@ -169,6 +175,11 @@ public abstract class BaseRequest<R extends Response> implements Request<R> {
     return timeout;
   }
 
+  @Override
+  public long createdAt() {
+    return createdAt;
+  }
+
   @Override
   public long id() {
     return id;
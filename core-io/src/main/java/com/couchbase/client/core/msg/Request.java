@@ -77,6 +77,13 @@ public interface Request<R extends Response> {
    */
   Duration timeout();
 
+  /**
+   * Returns the nano time when this request has been created, which is where its timeout starts.
+   *
+   * @return the creation time in nanoseconds.
+   */
+  long createdAt();
+
   /**
    * Allows to check if this request is completed already.
    *
@@ -18,9 +18,13 @@ package com.couchbase.client.core.msg;
 
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.retry.RetryReason;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -52,6 +56,12 @@ public class RequestContext extends CoreContext {
    */
   private final AtomicInteger retryAttempts;
 
+  /**
+   * The reasons the attached request has been retried for, replaced on every new reason since retries
+   * are rare.
+   */
+  private volatile Set<RetryReason> retryReasons = Collections.emptySet();
+
   /**
    * Creates a new {@link RequestContext}.
    *
@@ -95,6 +105,30 @@ public class RequestContext extends CoreContext {
     return this;
   }
 
+  /**
+   * Increments the retry attempts and records the reason of the retry.
+   *
+   * @param reason the reason why the request is retried.
+   */
+  @Stability.Internal
+  public RequestContext incrementRetryAttempt(final RetryReason reason) {
+    if (!retryReasons.contains(reason)) {
+      synchronized (this) {
+        Set<RetryReason> reasons = retryReasons.isEmpty() ? EnumSet.noneOf(RetryReason.class) : EnumSet.copyOf(retryReasons);
+        reasons.add(reason);
+        retryReasons = Collections.unmodifiableSet(reasons);
+      }
+    }
+    return incrementRetryAttempt();
+  }
+
+  /**
+   * Returns the reasons the request has been retried for so far (empty if it has not been retried).
+   */
+  public Set<RetryReason> retryReasons() {
+    return retryReasons;
+  }
+
   public String dispatchedTo() {
     return dispatchedTo;
   }
@@ -24,6 +24,7 @@ import com.couchbase.client.core.error.CollectionDoesNotExistException;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.CollectionMap;
 import com.couchbase.client.core.io.netty.kv.ChannelContext;
+import com.couchbase.client.core.io.netty.kv.CompressionStats;
 import com.couchbase.client.core.msg.BaseRequest;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.retry.RetryStrategy;
@@ -54,10 +55,25 @@ public abstract class BaseKeyValueRequest<R extends Response>
    */
   private volatile short partition;
 
+  /**
+   * Once encoded, stores the key with the collection prefix so retries do not need to encode it again.
+   */
+  private volatile KeyWithCollection keyWithCollection;
+
   BaseKeyValueRequest(final Duration timeout, final CoreContext ctx, final RetryStrategy retryStrategy,
                       final String key, final CollectionIdentifier collectionIdentifier) {
+    this(timeout, ctx, retryStrategy, encodeKey(key), collectionIdentifier);
+  }
+
+  /**
+   * Creates a request with a key which is already encoded in UTF-8.
+   *
+   * <p>The array is used as-is and must not be modified afterwards.</p>
+   */
+  BaseKeyValueRequest(final Duration timeout, final CoreContext ctx, final RetryStrategy retryStrategy,
+                      final byte[] key, final CollectionIdentifier collectionIdentifier) {
     super(timeout, ctx, retryStrategy);
-    this.key = encodeKey(key);
+    this.key = key == null ? Bytes.EMPTY_BYTE_ARRAY : key;
     this.collectionIdentifier = collectionIdentifier;
   }
 
@@ -81,10 +97,23 @@ public abstract class BaseKeyValueRequest<R extends Response>
     return key == null || key.isEmpty() ? Bytes.EMPTY_BYTE_ARRAY : key.getBytes(UTF_8);
   }
 
+  /**
+   * Returns the stats compression work on the channel is recorded with, if any.
+   *
+   * @param ctx the channel context, may be null.
+   * @return the stats or null.
+   */
+  protected static CompressionStats compressionStats(final ChannelContext ctx) {
+    return ctx == null ? null : ctx.compressionStats();
+  }
+
   /**
    * This method with return an encoded key with or without the collection prefix, depending on the
    * context provided.
    *
+   * <p>The key with the collection prefix is encoded once and reused as long as the collection ID does
+   * not change, so the returned buffer wraps arrays owned by this request and must not be modified.</p>
+   *
    * @param alloc the buffer allocator to use.
    * @param ctx the channel context.
    * @return the encoded ID, maybe with the collection prefix in place.
@@ -98,14 +127,14 @@ public abstract class BaseKeyValueRequest<R extends Response>
           + collectionIdentifier.scope() + "\" does not exist.");
       }
 
-      return alloc
-        .buffer(key.length + collection.length)
-        .writeBytes(collection)
-        .writeBytes(key);
+      KeyWithCollection encoded = keyWithCollection;
+      if (encoded == null || encoded.collection != collection) {
+        encoded = new KeyWithCollection(collection, key);
+        keyWithCollection = encoded;
+      }
+      return Unpooled.wrappedBuffer(encoded.key);
     } else {
-      return alloc
-        .buffer(key.length)
-        .writeBytes(key);
+      return Unpooled.wrappedBuffer(key);
     }
   }
 
@@ -147,4 +176,19 @@ public abstract class BaseKeyValueRequest<R extends Response>
     return collectionIdentifier;
   }
 
+  /**
+   * Holds a key with the collection prefix, together with the collection ID it has been encoded with.
+   */
+  private static class KeyWithCollection {
+    private final byte[] collection;
+    private final byte[] key;
+
+    KeyWithCollection(final byte[] collection, final byte[] key) {
+      this.collection = collection;
+      this.key = new byte[collection.length + key.length];
+      System.arraycopy(collection, 0, this.key, 0, collection.length);
+      System.arraycopy(key, 0, this.key, collection.length, key.length);
+    }
+  }
+
 }
@@ -38,7 +38,7 @@ public class CarrierBucketConfigRequest extends BaseKeyValueRequest<CarrierBucke
 
   public CarrierBucketConfigRequest(final Duration timeout, final CoreContext ctx, CollectionIdentifier collectionIdentifier,
                                     final RetryStrategy retryStrategy, final NodeIdentifier target) {
-    super(timeout, ctx, retryStrategy, null, collectionIdentifier);
+    super(timeout, ctx, retryStrategy, Bytes.EMPTY_BYTE_ARRAY, collectionIdentifier);
     this.target = target;
   }
 
@@ -55,7 +55,7 @@ public class CarrierGlobalConfigRequest
 
   public CarrierGlobalConfigRequest(final Duration timeout, final CoreContext ctx, final RetryStrategy retryStrategy,
                                     final NodeIdentifier target) {
-    super(timeout, ctx, retryStrategy, null, null);
+    super(timeout, ctx, retryStrategy, Bytes.EMPTY_BYTE_ARRAY, null);
     this.target = target;
   }
 
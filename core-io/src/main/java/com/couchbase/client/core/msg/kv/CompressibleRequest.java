@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.msg.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.env.CompressionConfig;
+
+/**
+ * Implemented by requests which carry a document value that can be compressed before dispatch.
+ *
+ * <p>Values are usually compressed while the request is encoded on the event loop of its channel. Large
+ * values can be compressed ahead of dispatch instead (see {@link CompressionConfig#offloadMinSize()}), so
+ * they do not stall the other requests on the same channel. The compressed value is kept on the request
+ * and only used if the channel negotiated compression.</p>
+ */
+@Stability.Internal
+public interface CompressibleRequest {
+
+  /**
+   * Compresses the value right away on the calling thread, if it is at least the offload size.
+   *
+   * <p>Calling this more than once has no effect.</p>
+   *
+   * @param config the compression config of the environment.
+   */
+  void compressAhead(CompressionConfig config);
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.msg.kv;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.env.CompressionConfig;
+import com.couchbase.client.core.io.netty.kv.CompressionStats;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
+
+/**
+ * Helpers to compress the values of {@link CompressibleRequest CompressibleRequests}, either while they are
+ * encoded or ahead of their dispatch.
+ */
+final class ContentCompression {
+
+  private ContentCompression() {}
+
+  /**
+   * Compresses the value if compression is enabled and it is at least the offload size.
+   *
+   * @param content the value to compress.
+   * @param config the compression config of the environment.
+   * @return the outcome of the compression, or null if it has not been compressed ahead and should be
+   *         compressed while encoding.
+   */
+  static CompressedAhead compressAhead(final byte[] content, final CompressionConfig config) {
+    if (!config.enabled()
+      || config.offloadMinSize() <= 0
+      || content.length < Math.max(config.offloadMinSize(), config.minSize())) {
+      return null;
+    }
+    long start = System.nanoTime();
+    ByteBuf compressed = MemcacheProtocol.tryCompression(content, config.minRatio());
+    return new CompressedAhead(compressed == null ? null : compressed.array(), System.nanoTime() - start);
+  }
+
+  /**
+   * Returns the compressed value to encode, using the value compressed ahead of dispatch if present.
+   *
+   * <p>Must only be called if compression has been negotiated on the channel, is enabled and the value
+   * is at least the minimum size. A value compressed ahead is recorded with the stats of the channel
+   * here, since it is only known now which channel it is sent on.</p>
+   *
+   * @param alloc the allocator of the channel.
+   * @param content the value to compress.
+   * @param compressedAhead the result of {@link #compressAhead(byte[], CompressionConfig)}.
+   * @param config the compression config of the channel.
+   * @param stats the stats to record with, may be null.
+   * @return a buffer with the compressed value owned by the caller, or null if it should be sent as-is.
+   */
+  static ByteBuf tryCompression(final ByteBufAllocator alloc, final byte[] content,
+                                final CompressedAhead compressedAhead, final CompressionConfig config,
+                                final CompressionStats stats) {
+    if (compressedAhead == null) {
+      return MemcacheProtocol.tryCompression(alloc, content, config.minRatio(), stats);
+    }
+    if (compressedAhead.content == null) {
+      if (stats != null) {
+        stats.recordSkipped(compressedAhead.nanos);
+      }
+      return null;
+    }
+    if (stats != null) {
+      stats.recordCompressed(content.length, compressedAhead.content.length, compressedAhead.nanos);
+    }
+    return Unpooled.wrappedBuffer(compressedAhead.content);
+  }
+
+  /**
+   * The outcome of compressing a value ahead of dispatch, kept on the request until it is encoded.
+   */
+  static final class CompressedAhead {
+
+    /**
+     * The compressed value, or null if it did not reach the minimum ratio.
+     */
+    private final byte[] content;
+
+    /**
+     * The time spent compressing.
+     */
+    private final long nanos;
+
+    CompressedAhead(final byte[] content, final long nanos) {
+      this.content = content;
+      this.nanos = nanos;
+    }
+
+  }
+
+}
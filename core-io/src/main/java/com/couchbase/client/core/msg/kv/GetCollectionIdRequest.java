@@ -23,6 +23,7 @@ import com.couchbase.client.core.io.netty.kv.ChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
 import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.retry.RetryStrategy;
+import com.couchbase.client.core.util.Bytes;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
@@ -44,7 +45,7 @@ public class GetCollectionIdRequest extends BaseKeyValueRequest<GetCollectionIdR
   public GetCollectionIdRequest(final Duration timeout, final CoreContext ctx,
                                 final RetryStrategy retryStrategy,
                                 CollectionIdentifier collectionIdentifier) {
-    super(timeout, ctx, retryStrategy, null, collectionIdentifier);
+    super(timeout, ctx, retryStrategy, Bytes.EMPTY_BYTE_ARRAY, collectionIdentifier);
   }
 
   @Override
@@ -43,7 +43,7 @@ public class GetCollectionManifestRequest extends BaseKeyValueRequest<GetCollect
 
   public GetCollectionManifestRequest(final Duration timeout, final CoreContext ctx, final RetryStrategy retryStrategy,
                                       final CollectionIdentifier collectionIdentifier) {
-    super(timeout, ctx, retryStrategy, null, collectionIdentifier);
+    super(timeout, ctx, retryStrategy, Bytes.EMPTY_BYTE_ARRAY, collectionIdentifier);
   }
 
   @Override
@@ -25,7 +25,6 @@ import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
-import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.util.Bytes;
 
@@ -35,6 +34,7 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.body;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.cas;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.datatype;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.decodeStatus;
+import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.decompressedBytes;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.extras;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noBody;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.noCas;
@@ -45,13 +45,45 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.tryDecompre
 /**
  * Represents a KV Get (full document) operation.
  *
+ * <p>If content retention is enabled, the decoded {@link GetResponse} holds a slice of the network
+ * buffer instead of a copied array and must be released by the consumer.</p>
+ *
  * @since 2.0.0
  */
 public class GetRequest extends BaseKeyValueRequest<GetResponse> {
 
+  /**
+   * If the content should be retained as a buffer instead of being copied.
+   */
+  private final boolean retainContent;
+
   public GetRequest(final String key, final Duration timeout, final CoreContext ctx,
                     final CollectionIdentifier collectionIdentifier, final RetryStrategy retryStrategy) {
+    this(key, timeout, ctx, collectionIdentifier, retryStrategy, false);
+  }
+
+  public GetRequest(final String key, final Duration timeout, final CoreContext ctx,
+                    final CollectionIdentifier collectionIdentifier, final RetryStrategy retryStrategy,
+                    final boolean retainContent) {
+    super(timeout, ctx, retryStrategy, key, collectionIdentifier);
+    this.retainContent = retainContent;
+  }
+
+  /**
+   * Creates a get with a key which is already encoded in UTF-8 (the array must not be modified afterwards).
+   */
+  public GetRequest(final byte[] key, final Duration timeout, final CoreContext ctx,
+                    final CollectionIdentifier collectionIdentifier, final RetryStrategy retryStrategy,
+                    final boolean retainContent) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier);
+    this.retainContent = retainContent;
+  }
+
+  /**
+   * Returns true if the response content is retained as a buffer instead of being copied.
+   */
+  public boolean retainContent() {
+    return retainContent;
   }
 
   @Override
@@ -71,15 +103,32 @@ public class GetRequest extends BaseKeyValueRequest<GetResponse> {
     ResponseStatus status = decodeStatus(response);
     long cas = cas(response);
 
-    if (status.success()) {
+    if (status.success() && retainContent) {
+      ByteBuf content = body(response)
+        .map(b -> tryDecompression(b, datatype(response), compressionStats(ctx)))
+        .orElse(Unpooled.EMPTY_BUFFER);
+      int flags = extras(response).map(x -> x.getInt(0)).orElse(0);
+      return new GetResponse(status, content, cas, flags);
+    } else if (status.success()) {
       byte[] content = body(response)
-        .map(ByteBufUtil::getBytes)
-        .map(bytes -> tryDecompression(bytes, datatype(response)))
+        .map(b -> decompressedBytes(b, datatype(response), compressionStats(ctx)))
         .orElse(Bytes.EMPTY_BYTE_ARRAY);
       int flags = extras(response).map(x -> x.getInt(0)).orElse(0);
       return new GetResponse(status, content, cas, flags);
     } else {
-      return new GetResponse(status, null, cas, 0);
+      return new GetResponse(status, (byte[]) null, cas, 0);
+    }
+  }
+
+  /**
+   * Completes the request and makes sure a retained content buffer is not leaked if the request
+   * has already been completed (i.e. through a timeout) in the meantime.
+   */
+  @Override
+  public void succeed(final GetResponse result) {
+    super.succeed(result);
+    if (!succeeded()) {
+      result.release();
     }
   }
 
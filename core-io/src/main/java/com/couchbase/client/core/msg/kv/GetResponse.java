@@ -16,34 +16,75 @@
 
 package com.couchbase.client.core.msg.kv;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.msg.BaseResponse;
 import com.couchbase.client.core.msg.ResponseStatus;
 
 /**
  * Represents the response of a {@link GetRequest}.
  *
+ * <p>If the request has been created with content retention enabled, the response does not hold a copy
+ * of the document body but a reference counted buffer instead, which must be freed through
+ * {@link #release()} once it is not needed anymore.</p>
+ *
  * @since 2.0.0
  */
 public class GetResponse extends BaseResponse {
 
-  private final byte[] content;
+  private final ByteBuf contentBuffer;
   private final long cas;
   private final int flags;
+  private volatile byte[] content;
 
   GetResponse(final ResponseStatus status, final byte[] content, final long cas, final int flags) {
     super(status);
     this.content = content;
+    this.contentBuffer = null;
+    this.cas = cas;
+    this.flags = flags;
+  }
+
+  GetResponse(final ResponseStatus status, final ByteBuf contentBuffer, final long cas, final int flags) {
+    super(status);
+    this.contentBuffer = contentBuffer;
     this.cas = cas;
     this.flags = flags;
   }
 
   /**
    * Returns the content, but might be empty or null.
+   *
+   * <p>If the content is retained in a buffer, calling this method copies it out on first access.</p>
    */
   public byte[] content() {
+    if (content == null && contentBuffer != null) {
+      content = ByteBufUtil.getBytes(contentBuffer);
+    }
     return content;
   }
 
+  /**
+   * Returns the retained content buffer if content retention is enabled, null otherwise.
+   *
+   * <p>The returned buffer is owned by this response, so it must not be released directly - use
+   * {@link #release()} instead.</p>
+   */
+  public ByteBuf contentBuffer() {
+    return contentBuffer;
+  }
+
+  /**
+   * Releases the retained content buffer if present.
+   *
+   * <p>This method is a no-op if the content has been copied during decoding.</p>
+   *
+   * @return true if a buffer has been released as a result of this call.
+   */
+  public boolean release() {
+    return contentBuffer != null && contentBuffer.refCnt() > 0 && contentBuffer.release();
+  }
+
   /**
    * Returns the CAS value of the document at the time of the fetch.
    */
@@ -21,6 +21,7 @@ import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.netty.kv.ChannelContext;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
 import com.couchbase.client.core.retry.RetryStrategy;
+import com.couchbase.client.core.util.Bytes;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
 
@@ -42,7 +43,7 @@ public class NoopRequest extends BaseKeyValueRequest<NoopResponse> {
 
   public NoopRequest(final Duration timeout, final CoreContext ctx,
                      final RetryStrategy retryStrategy, CollectionIdentifier collectionIdentifier) {
-    super(timeout, ctx, retryStrategy, null, collectionIdentifier);
+    super(timeout, ctx, retryStrategy, Bytes.EMPTY_BYTE_ARRAY, collectionIdentifier);
   }
 
   @Override
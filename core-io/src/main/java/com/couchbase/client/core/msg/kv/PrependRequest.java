@@ -33,9 +33,15 @@ import java.util.Optional;
 
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.*;
 
-public class PrependRequest extends BaseKeyValueRequest<PrependResponse> implements SyncDurabilityRequest {
+public class PrependRequest extends BaseKeyValueRequest<PrependResponse>
+  implements SyncDurabilityRequest, CompressibleRequest {
 
   private final byte[] content;
+
+  /**
+   * If the value has been compressed ahead of dispatch, holds the outcome until it is encoded.
+   */
+  private volatile ContentCompression.CompressedAhead compressedContent;
   private final long cas;
   private final Optional<DurabilityLevel> syncReplicationType;
 
@@ -48,6 +54,13 @@ public class PrependRequest extends BaseKeyValueRequest<PrependResponse> impleme
     this.syncReplicationType = syncReplicationType;
   }
 
+  @Override
+  public void compressAhead(final CompressionConfig config) {
+    if (compressedContent == null) {
+      compressedContent = ContentCompression.compressAhead(content, config);
+    }
+  }
+
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, ChannelContext ctx) {
     ByteBuf key = null;
@@ -60,7 +73,9 @@ public class PrependRequest extends BaseKeyValueRequest<PrependResponse> impleme
       byte datatype = 0;
       CompressionConfig config = ctx.compressionConfig();
       if (config != null && config.enabled() && this.content.length >= config.minSize()) {
-        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
+        ByteBuf maybeCompressed = ContentCompression.tryCompression(
+          alloc, this.content, compressedContent, config, ctx.compressionStats()
+        );
         if (maybeCompressed != null) {
           datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
           content = maybeCompressed;
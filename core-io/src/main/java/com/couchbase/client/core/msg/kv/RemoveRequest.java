@@ -51,6 +51,18 @@ public class RemoveRequest extends BaseKeyValueRequest<RemoveResponse> implement
     this.syncReplicationType = syncReplicationType;
   }
 
+  /**
+   * Creates a remove with a key which is already encoded in UTF-8 (the array must not be modified afterwards).
+   */
+  public RemoveRequest(final byte[] key, final long cas, final Duration timeout,
+                       final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                       final RetryStrategy retryStrategy,
+                       final Optional<DurabilityLevel> syncReplicationType) {
+    super(timeout, ctx, retryStrategy, key, collectionIdentifier);
+    this.cas = cas;
+    this.syncReplicationType = syncReplicationType;
+  }
+
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, ChannelContext ctx) {
     ByteBuf key = null;
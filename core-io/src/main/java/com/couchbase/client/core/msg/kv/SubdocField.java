@@ -16,6 +16,8 @@
 
 package com.couchbase.client.core.msg.kv;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.error.subdoc.SubDocumentException;
 
 import java.util.Optional;
@@ -26,9 +28,10 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public class SubdocField {
   private final SubDocumentOpResponseStatus status;
   private final Optional<SubDocumentException> error;
-  private final byte[] value;
+  private final ByteBuf valueBuffer;
   private final String path;
   private final SubdocCommandType type;
+  private volatile byte[] value;
 
   public SubdocField(SubDocumentOpResponseStatus status,
                      Optional<SubDocumentException> error,
@@ -38,6 +41,24 @@ public class SubdocField {
     this.status = status;
     this.error = error;
     this.value = value;
+    this.valueBuffer = null;
+    this.path = path;
+    this.type = type;
+  }
+
+  /**
+   * Creates a field whose value is backed by a (not separately retained) slice of the response.
+   *
+   * <p>The lifecycle of the buffer is managed by the surrounding {@link SubdocGetResponse}.</p>
+   */
+  public SubdocField(SubDocumentOpResponseStatus status,
+                     Optional<SubDocumentException> error,
+                     ByteBuf valueBuffer,
+                     String path,
+                     SubdocCommandType type) {
+    this.status = status;
+    this.error = error;
+    this.valueBuffer = valueBuffer;
     this.path = path;
     this.type = type;
   }
@@ -50,10 +71,25 @@ public class SubdocField {
     return error;
   }
 
+  /**
+   * Returns the value of the field.
+   *
+   * <p>If the value is backed by a buffer, calling this method copies it out on first access.</p>
+   */
   public byte[] value() {
+    if (value == null && valueBuffer != null) {
+      value = ByteBufUtil.getBytes(valueBuffer);
+    }
     return value;
   }
 
+  /**
+   * Returns the buffer backing the value if content retention is enabled, null otherwise.
+   */
+  public ByteBuf valueBuffer() {
+    return valueBuffer;
+  }
+
   public String path() {
     return path;
   }
@@ -66,7 +102,7 @@ public class SubdocField {
   public String toString() {
     return "SubdocField{" +
       "status=" + status +
-      ", value=" + new String(value, UTF_8) +
+      ", value=" + new String(value(), UTF_8) +
       ", path='" + path + '\'' +
       '}';
   }
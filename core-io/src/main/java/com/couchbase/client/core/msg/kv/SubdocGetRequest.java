@@ -46,14 +46,29 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
   private final byte flags;
   private final List<Command> commands;
   private final String origKey;
+  private final boolean retainContent;
 
   public SubdocGetRequest(final Duration timeout, final CoreContext ctx, CollectionIdentifier collectionIdentifier,
                           final RetryStrategy retryStrategy, final String key,
                           final byte flags, final List<Command> commands) {
+    this(timeout, ctx, collectionIdentifier, retryStrategy, key, flags, commands, false);
+  }
+
+  public SubdocGetRequest(final Duration timeout, final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                          final RetryStrategy retryStrategy, final String key,
+                          final byte flags, final List<Command> commands, final boolean retainContent) {
     super(timeout, ctx, retryStrategy, key, collectionIdentifier);
     this.flags = flags;
     this.commands = commands;
     this.origKey = key;
+    this.retainContent = retainContent;
+  }
+
+  /**
+   * Returns true if the field values are retained as buffers instead of being copied.
+   */
+  public boolean retainContent() {
+    return retainContent;
   }
 
   @Override
@@ -112,6 +127,7 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
     Optional<ByteBuf> maybeBody = body(response);
     List<SubdocField> values;
     List<SubDocumentException> errors = null;
+    ByteBuf retainedBody = null;
     if (maybeBody.isPresent()) {
       ByteBuf body = maybeBody.get();
       values = new ArrayList<>(commands.size());
@@ -126,11 +142,19 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
           error = Optional.of(err);
         }
         int valueLength = body.readInt();
-        byte[] value = new byte[valueLength];
-        body.readBytes(value, 0, valueLength);
-        SubdocField op = new SubdocField(status, error, value, command.path, command.type);
+        SubdocField op;
+        if (retainContent) {
+          op = new SubdocField(status, error, body.readSlice(valueLength), command.path, command.type);
+        } else {
+          byte[] value = new byte[valueLength];
+          body.readBytes(value, 0, valueLength);
+          op = new SubdocField(status, error, value, command.path, command.type);
+        }
         values.add(op);
       }
+      if (retainContent) {
+        retainedBody = body.retain();
+      }
     } else {
       values = new ArrayList<>();
     }
@@ -166,7 +190,19 @@ public class SubdocGetRequest extends BaseKeyValueRequest<SubdocGetResponse> {
     // Do not handle SUBDOC_INVALID_COMBO here, it indicates a client-side bug
 
 
-    return new SubdocGetResponse(status, error, values, cas(response));
+    return new SubdocGetResponse(status, error, values, cas(response), retainedBody);
+  }
+
+  /**
+   * Completes the request and makes sure a retained body is not leaked if the request has already
+   * been completed (i.e. through a timeout) in the meantime.
+   */
+  @Override
+  public void succeed(final SubdocGetResponse result) {
+    super.succeed(result);
+    if (!succeeded()) {
+      result.release();
+    }
   }
 
   public static class Command {
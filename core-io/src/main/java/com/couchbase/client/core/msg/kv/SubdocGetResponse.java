@@ -16,6 +16,7 @@
 
 package com.couchbase.client.core.msg.kv;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.error.subdoc.SubDocumentException;
 import com.couchbase.client.core.msg.BaseResponse;
 import com.couchbase.client.core.msg.ResponseStatus;
@@ -28,12 +29,23 @@ public class SubdocGetResponse extends BaseResponse {
   private final List<SubdocField> values;
   private final long cas;
   private final Optional<SubDocumentException> error;
+  private final ByteBuf retainedBody;
 
   public SubdocGetResponse(ResponseStatus status, Optional<SubDocumentException> error, List<SubdocField> values, long cas) {
+    this(status, error, values, cas, null);
+  }
+
+  /**
+   * Creates a response whose field values are slices of the retained body, which must be freed
+   * through {@link #release()} once the values are not needed anymore.
+   */
+  public SubdocGetResponse(ResponseStatus status, Optional<SubDocumentException> error, List<SubdocField> values,
+                           long cas, ByteBuf retainedBody) {
     super(status);
     this.error = error;
     this.values = values;
     this.cas = cas;
+    this.retainedBody = retainedBody;
   }
 
   public List<SubdocField> values() {
@@ -49,6 +61,15 @@ public class SubdocGetResponse extends BaseResponse {
    */
   public Optional<SubDocumentException> error() { return error; }
 
+  /**
+   * Releases the retained body buffer (and with it all buffer backed field values) if present.
+   *
+   * @return true if a buffer has been released as a result of this call.
+   */
+  public boolean release() {
+    return retainedBody != null && retainedBody.refCnt() > 0 && retainedBody.release();
+  }
+
   @Override
   public String toString() {
     return "SubdocGetResponse{" +
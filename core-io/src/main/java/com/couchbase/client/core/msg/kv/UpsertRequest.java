@@ -40,9 +40,15 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.*;
  *
  * @since 2.0.0
  */
-public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse> implements SyncDurabilityRequest {
+public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse>
+  implements SyncDurabilityRequest, CompressibleRequest {
 
   private final byte[] content;
+
+  /**
+   * If the value has been compressed ahead of dispatch, holds the outcome until it is encoded.
+   */
+  private volatile ContentCompression.CompressedAhead compressedContent;
   private final long expiration;
   private final int flags;
   private final Optional<DurabilityLevel> syncReplicationType;
@@ -59,6 +65,28 @@ public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse> implement
     this.syncReplicationType = syncReplicationType;
   }
 
+  /**
+   * Creates an upsert with a key which is already encoded in UTF-8 (the array must not be modified afterwards).
+   */
+  public UpsertRequest(final byte[] key, final byte[] content,
+                       final long expiration, final int flags, final Duration timeout,
+                       final CoreContext ctx, CollectionIdentifier collectionIdentifier,
+                       final RetryStrategy retryStrategy,
+                       final Optional<DurabilityLevel> syncReplicationType) {
+    super(timeout, ctx, retryStrategy, key, collectionIdentifier);
+    this.content = content;
+    this.expiration = expiration;
+    this.flags = flags;
+    this.syncReplicationType = syncReplicationType;
+  }
+
+  @Override
+  public void compressAhead(final CompressionConfig config) {
+    if (compressedContent == null) {
+      compressedContent = ContentCompression.compressAhead(content, config);
+    }
+  }
+
   @Override
   public ByteBuf encode(ByteBufAllocator alloc, int opaque, ChannelContext ctx) {
     ByteBuf key = null;
@@ -72,7 +100,9 @@ public class UpsertRequest extends BaseKeyValueRequest<UpsertResponse> implement
       byte datatype = 0;
       CompressionConfig config = ctx.compressionConfig();
       if (config != null && config.enabled() && this.content.length >= config.minSize()) {
-        ByteBuf maybeCompressed = MemcacheProtocol.tryCompression(this.content, config.minRatio());
+        ByteBuf maybeCompressed = ContentCompression.tryCompression(
+          alloc, this.content, compressedContent, config, ctx.compressionStats()
+        );
         if (maybeCompressed != null) {
           datatype |= MemcacheProtocol.Datatype.SNAPPY.datatype();
           content = maybeCompressed;
@@ -36,7 +36,10 @@ import com.couchbase.client.core.msg.kv.SyncDurabilityRequest;
 import com.couchbase.client.core.retry.RetryOrchestrator;
 import com.couchbase.client.core.retry.RetryReason;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.zip.CRC32;
 
@@ -47,10 +50,77 @@ import java.util.zip.CRC32;
  * <p>Coming from 1.0, this locator has not really changed - only minor details have been
  * modified in the refactoring process.</p>
  *
+ * <p>For couchbase buckets, a {@link KeyValueRoutingTable} is kept for every bucket which is rebuilt
+ * through {@link #rebuildRoutingTables(ClusterConfig, List)} on every reconfiguration. As long as it
+ * matches the current bucket config, requests are routed with plain array lookups instead of scanning
+ * the node list.</p>
+ *
  * @since 1.0.0
  */
 public class KeyValueLocator implements Locator {
 
+  /**
+   * The routing tables per bucket, replaced as a whole on every rebuild.
+   */
+  private volatile Map<String, KeyValueRoutingTable> routingTables = Collections.emptyMap();
+
+  /**
+   * Rebuilds the routing tables for all couchbase buckets in the given config.
+   *
+   * <p>This needs to be called once the node list reflects the config, usually at the end of a
+   * reconfiguration. Buckets without a table or with a stale one are routed through the regular
+   * node scan.</p>
+   *
+   * @param config the current cluster config.
+   * @param nodes the nodes currently managed by the core.
+   */
+  public void rebuildRoutingTables(final ClusterConfig config, final List<Node> nodes) {
+    Map<String, KeyValueRoutingTable> tables = new HashMap<>();
+    for (Map.Entry<String, BucketConfig> entry : config.bucketConfigs().entrySet()) {
+      if (entry.getValue() instanceof CouchbaseBucketConfig) {
+        tables.put(
+          entry.getKey(),
+          KeyValueRoutingTable.create((CouchbaseBucketConfig) entry.getValue(), nodes)
+        );
+      }
+    }
+    routingTables = tables;
+  }
+
+  /**
+   * Drops all routing tables, routing all requests through the regular node scan.
+   */
+  public void clearRoutingTables() {
+    routingTables = Collections.emptyMap();
+  }
+
+  /**
+   * Returns the node which currently holds the active partition for the given key.
+   *
+   * <p>This performs the same calculation as the regular dispatch and is meant for callers which need
+   * to group or throttle operations per node ahead of sending them.</p>
+   *
+   * @param config the current cluster config.
+   * @param bucket the name of the bucket.
+   * @param key the key of the document.
+   * @return the node, or empty if the bucket is not a couchbase bucket or the partition is not mapped.
+   */
+  public static Optional<NodeIdentifier> activeNodeForKey(final ClusterConfig config, final String bucket,
+                                                          final byte[] key) {
+    BucketConfig bucketConfig = config.bucketConfig(bucket);
+    if (!(bucketConfig instanceof CouchbaseBucketConfig)) {
+      return Optional.empty();
+    }
+
+    CouchbaseBucketConfig couchbaseConfig = (CouchbaseBucketConfig) bucketConfig;
+    int partitionId = partitionForKey(key, couchbaseConfig.numberOfPartitions());
+    int nodeId = couchbaseConfig.nodeIndexForMaster(partitionId, false);
+    if (nodeId < 0 || nodeId >= couchbaseConfig.nodes().size()) {
+      return Optional.empty();
+    }
+    return Optional.of(couchbaseConfig.nodeAtIndex(nodeId).identifier());
+  }
+
   @Override
   public void dispatch(final Request<? extends Response> request, final List<Node> nodes,
                        final ClusterConfig config, final CoreContext ctx) {
@@ -87,8 +157,8 @@ public class KeyValueLocator implements Locator {
     RetryOrchestrator.maybeRetry(ctx, (Request) request, RetryReason.NO_NODE_AVAILABLE);
   }
 
-  private static void couchbaseBucket(final KeyValueRequest<?> request, final List<Node> nodes,
-                                      final CouchbaseBucketConfig config, CoreContext ctx) {
+  private void couchbaseBucket(final KeyValueRequest<?> request, final List<Node> nodes,
+                               final CouchbaseBucketConfig config, CoreContext ctx) {
     if(!precheckCouchbaseBucket(request, config)) {
       return;
     }
@@ -96,6 +166,15 @@ public class KeyValueLocator implements Locator {
     int partitionId = partitionForKey(request.key(), config.numberOfPartitions());
     request.partition((short) partitionId);
 
+    KeyValueRoutingTable table = routingTables.get(request.bucket());
+    if (table != null && table.builtFrom(config)) {
+      Node node = routedNode(table, partitionId, request, config);
+      if (node != null) {
+        node.send(request);
+        return;
+      }
+    }
+
     int nodeId = calculateNodeId(partitionId, request, config);
     if (nodeId < 0) {
       RetryOrchestrator.maybeRetry(ctx, request, RetryReason.NO_NODE_AVAILABLE);
@@ -131,6 +210,27 @@ public class KeyValueLocator implements Locator {
     return true;
   }
 
+  /**
+   * Helper method to look up the node for the given partition and request type from the routing table.
+   *
+   * @param table the routing table for the bucket.
+   * @param partitionId the partition id.
+   * @param request the request used.
+   * @param config the current bucket configuration.
+   * @return the node or null if it needs to be located through the regular path.
+   */
+  private static Node routedNode(final KeyValueRoutingTable table, final int partitionId,
+                                 final KeyValueRequest<?> request, final CouchbaseBucketConfig config) {
+    boolean useFastForward = request.context().retryAttempts() > 0 && config.hasFastForwardMap();
+    if (request instanceof ReplicaGetRequest) {
+      return table.replica(partitionId, ((ReplicaGetRequest) request).replica() - 1, useFastForward);
+    } else if (request instanceof ObserveViaSeqnoRequest && ((ObserveViaSeqnoRequest) request).replica() > 0) {
+      return table.replica(partitionId, ((ObserveViaSeqnoRequest) request).replica() - 1, useFastForward);
+    } else {
+      return table.active(partitionId, useFastForward);
+    }
+  }
+
   /**
    * Helper method to calculate the node if for the given partition and request type.
    *
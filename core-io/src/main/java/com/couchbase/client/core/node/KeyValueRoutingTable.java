@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.node;
+
+import com.couchbase.client.core.config.BucketConfig;
+import com.couchbase.client.core.config.CouchbaseBucketConfig;
+import com.couchbase.client.core.config.NodeInfo;
+
+import java.util.List;
+
+/**
+ * An immutable, partition indexed lookup table from a partition to the {@link Node} which holds the
+ * active or a replica copy of it, for both the current and the fast forward map.
+ *
+ * <p>The table is computed once per bucket config and node list, so that the {@link KeyValueLocator}
+ * only needs to perform array loads instead of scanning the node list for every request. A slot is null
+ * if the partition is not mapped or the node is not (yet) part of the node list, in which case the caller
+ * needs to fall back to the regular lookup.</p>
+ *
+ * @since 2.0.0
+ */
+class KeyValueRoutingTable {
+
+  private static final Node[][] NO_REPLICAS = new Node[0][];
+
+  /**
+   * The config this table has been built from.
+   */
+  private final CouchbaseBucketConfig config;
+
+  private final Node[] active;
+  private final Node[][] replicas;
+  private final Node[] forwardActive;
+  private final Node[][] forwardReplicas;
+
+  private KeyValueRoutingTable(final CouchbaseBucketConfig config, final Node[] active, final Node[][] replicas,
+                               final Node[] forwardActive, final Node[][] forwardReplicas) {
+    this.config = config;
+    this.active = active;
+    this.replicas = replicas;
+    this.forwardActive = forwardActive;
+    this.forwardReplicas = forwardReplicas;
+  }
+
+  /**
+   * Builds the routing table for the given bucket config.
+   *
+   * @param config the bucket config to compute the table from.
+   * @param nodes the nodes currently managed by the core.
+   * @return the created routing table.
+   */
+  static KeyValueRoutingTable create(final CouchbaseBucketConfig config, final List<Node> nodes) {
+    int numHosts = config.nodes().size();
+    Node[] hosts = new Node[numHosts];
+    for (int i = 0; i < numHosts; i++) {
+      NodeInfo nodeInfo;
+      try {
+        nodeInfo = config.nodeAtIndex(i);
+      } catch (IndexOutOfBoundsException ex) {
+        break;
+      }
+      if (nodeInfo == null) {
+        continue;
+      }
+      for (Node node : nodes) {
+        if (node.identifier().equals(nodeInfo.identifier())) {
+          hosts[i] = node;
+          break;
+        }
+      }
+    }
+
+    int numPartitions = config.numberOfPartitions();
+    int numReplicas = config.numberOfReplicas();
+
+    Node[] active = activeNodes(config, hosts, numPartitions, false);
+    Node[][] replicas = replicaNodes(config, hosts, numPartitions, numReplicas, false);
+    Node[] forwardActive = null;
+    Node[][] forwardReplicas = null;
+    if (config.hasFastForwardMap()) {
+      forwardActive = activeNodes(config, hosts, numPartitions, true);
+      forwardReplicas = replicaNodes(config, hosts, numPartitions, numReplicas, true);
+    }
+    return new KeyValueRoutingTable(config, active, replicas, forwardActive, forwardReplicas);
+  }
+
+  private static Node[] activeNodes(final CouchbaseBucketConfig config, final Node[] hosts,
+                                    final int numPartitions, final boolean useFastForward) {
+    Node[] result = new Node[numPartitions];
+    for (int partition = 0; partition < numPartitions; partition++) {
+      result[partition] = host(hosts, config.nodeIndexForMaster(partition, useFastForward));
+    }
+    return result;
+  }
+
+  private static Node[][] replicaNodes(final CouchbaseBucketConfig config, final Node[] hosts,
+                                       final int numPartitions, final int numReplicas,
+                                       final boolean useFastForward) {
+    if (numReplicas <= 0) {
+      return NO_REPLICAS;
+    }
+
+    Node[][] result = new Node[numReplicas][numPartitions];
+    for (int replica = 0; replica < numReplicas; replica++) {
+      for (int partition = 0; partition < numPartitions; partition++) {
+        result[replica][partition] = host(
+          hosts,
+          config.nodeIndexForReplica(partition, replica, useFastForward)
+        );
+      }
+    }
+    return result;
+  }
+
+  private static Node host(final Node[] hosts, final int index) {
+    return index >= 0 && index < hosts.length ? hosts[index] : null;
+  }
+
+  /**
+   * Returns true if this table has been computed from exactly this bucket config instance.
+   *
+   * @param config the config to check.
+   */
+  boolean builtFrom(final BucketConfig config) {
+    return this.config == config;
+  }
+
+  /**
+   * Returns the node which holds the active copy of the partition or null if unknown.
+   *
+   * @param partition the partition id.
+   * @param useFastForward if the fast forward map should be used.
+   */
+  Node active(final int partition, final boolean useFastForward) {
+    Node[] table = useFastForward ? forwardActive : active;
+    return table != null && partition < table.length ? table[partition] : null;
+  }
+
+  /**
+   * Returns the node which holds the given replica copy of the partition or null if unknown.
+   *
+   * @param partition the partition id.
+   * @param replica the replica index, starting at 0 for the first replica.
+   * @param useFastForward if the fast forward map should be used.
+   */
+  Node replica(final int partition, final int replica, final boolean useFastForward) {
+    Node[][] table = useFastForward ? forwardReplicas : replicas;
+    if (table == null || replica < 0 || replica >= table.length || partition >= table[replica].length) {
+      return null;
+    }
+    return table[replica][partition];
+  }
+
+}
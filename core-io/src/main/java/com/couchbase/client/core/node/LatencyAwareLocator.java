@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.node;
+
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.service.ServiceType;
+import com.couchbase.client.core.service.strategy.LatencyStats;
+import com.couchbase.client.core.service.strategy.LatencyTracker;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link Locator} which sends untargeted requests to the node with the lower latency and fewer
+ * outstanding requests out of two random nodes with the service enabled.
+ *
+ * <p>Compared to the {@link RoundRobinLocator}, a node which is slow (i.e. because of garbage collection
+ * or an expensive index scan) only receives a small share of the requests until it recovers. Targeted
+ * requests are still sent to their target.</p>
+ *
+ * @since 2.0.0
+ */
+public class LatencyAwareLocator extends RoundRobinLocator {
+
+  private final LatencyTracker<NodeIdentifier> tracker;
+
+  public LatencyAwareLocator(final ServiceType serviceType) {
+    this(serviceType, new LatencyTracker<>());
+  }
+
+  LatencyAwareLocator(final ServiceType serviceType, final LongSupplier clock) {
+    this(serviceType, new LatencyTracker<>(clock));
+  }
+
+  private LatencyAwareLocator(final ServiceType serviceType, final LatencyTracker<NodeIdentifier> tracker) {
+    super(serviceType);
+    this.tracker = tracker;
+  }
+
+  @Override
+  protected Node selectUntargeted(final Request<? extends Response> request, final List<Node> nodes) {
+    Node selected = tracker.select(nodes, Node::identifier);
+    tracker.prune(nodes, Node::identifier);
+    tracker.track(request, selected.identifier());
+    return selected;
+  }
+
+  /**
+   * Returns the stats of the node, useful for testing.
+   */
+  LatencyStats stats(final NodeIdentifier node) {
+    return tracker.stats(node);
+  }
+
+}
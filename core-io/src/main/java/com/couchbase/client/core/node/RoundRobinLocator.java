@@ -99,9 +99,7 @@ public class RoundRobinLocator implements Locator {
 
   private void dispatchUntargeted(final Request<? extends Response> request, final List<Node> nodes,
                                   final CoreContext ctx) {
-    int nodeSize = nodes.size();
-    int offset = (int) Math.floorMod(counter.getAndIncrement(), (long) nodeSize);
-    Node node = nodes.get(offset);
+    Node node = selectUntargeted(request, nodes);
     if (node != null) {
       node.send(request);
     } else {
@@ -110,6 +108,22 @@ public class RoundRobinLocator implements Locator {
     }
   }
 
+  /**
+   * Selects the node for a request which is not targeted at a specific node.
+   *
+   * <p>Subclasses can override this method to apply a different load balancing scheme, the
+   * returned node receives the request.</p>
+   *
+   * @param request the request to dispatch.
+   * @param nodes the nodes which have the service enabled, never empty.
+   * @return the selected node.
+   */
+  protected Node selectUntargeted(final Request<? extends Response> request, final List<Node> nodes) {
+    int nodeSize = nodes.size();
+    int offset = (int) Math.floorMod(counter.getAndIncrement(), (long) nodeSize);
+    return nodes.get(offset);
+  }
+
   /**
    * Filters the list of nodes by the {@link ServiceType}.
    *
@@ -16,13 +16,18 @@
 
 package com.couchbase.client.core.retry;
 
+import com.couchbase.client.core.Core;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.EventBus;
 import com.couchbase.client.core.cnc.events.request.RequestNotRetriedEvent;
 import com.couchbase.client.core.cnc.events.request.RequestRetriedEvent;
+import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import com.couchbase.client.core.service.ServiceType;
 
 import java.time.Duration;
 import java.util.Optional;
@@ -82,6 +87,10 @@ public class RetryOrchestrator {
   /**
    * Helper method to perform the actual retry with the given duration.
    *
+   * <p>Requests which have been retried because of the topology or an outdated collection ID are parked
+   * with the {@link RetryParking} of the core, so they are dispatched as soon as the topology changes (at
+   * the latest once the duration is over) or the collections have been refreshed.</p>
+   *
    * @param ctx the core context into which timer the request is submitted.
    * @param request the request in question.
    * @param duration the duration when to retry.
@@ -89,14 +98,78 @@ public class RetryOrchestrator {
    */
   private static void retryWithDuration(final CoreContext ctx, final Request<? extends Response> request,
                                         final Duration duration, final RetryReason reason) {
-    ctx.environment().eventBus().publish(
-      new RequestRetriedEvent(duration, request.context(), request.getClass(), reason)
-    );
-    request.context().incrementRetryAttempt();
+    EventBus eventBus = ctx.environment().eventBus();
+    if (eventBus.isInterested(RequestRetriedEvent.CATEGORY, RequestRetriedEvent.SEVERITY)) {
+      eventBus.publish(new RequestRetriedEvent(duration, request.context(), request.getClass(), reason));
+    }
+    registerDeadlineOnFirstRetry(ctx, request);
+    request.context().incrementRetryAttempt(reason);
+
+    if (park(ctx, request, duration, reason)) {
+      return;
+    }
+
     ctx.environment().timer().schedule(
       () -> ctx.core().send(request,false),
       duration
     );
   }
 
+  /**
+   * Registers a KV request with the timer on its first retry if its deadline is usually checked by the
+   * connection it has been written to, since it is waiting outside of any connection from now on.
+   *
+   * @param ctx the core context which holds the environment.
+   * @param request the request in question.
+   */
+  @SuppressWarnings({"unchecked"})
+  private static void registerDeadlineOnFirstRetry(final CoreContext ctx, final Request<? extends Response> request) {
+    if (request.serviceType() == ServiceType.KV
+      && request.context().retryAttempts() == 0
+      && ctx.environment().ioConfig().kvDeadlineSweepEnabled()) {
+      ctx.environment().timer().registerDeadline((Request<Response>) request);
+    }
+  }
+
+  /**
+   * Parks the request with the {@link RetryParking} of the core if it has been retried because of the
+   * topology or an outdated collection ID.
+   *
+   * @param ctx the core context of the core which holds the parking.
+   * @param request the request in question.
+   * @param duration the duration after which it is dispatched anyway.
+   * @param reason the reason why the request is being retried.
+   * @return true if the request has been parked, false if it needs to be scheduled on the timer.
+   */
+  private static boolean park(final CoreContext ctx, final Request<? extends Response> request,
+                              final Duration duration, final RetryReason reason) {
+    if (reason != RetryReason.NO_NODE_AVAILABLE
+      && reason != RetryReason.KV_NOT_MY_VBUCKET
+      && reason != RetryReason.ENDPOINT_NOT_WRITABLE
+      && reason != RetryReason.KV_COLLECTION_OUTDATED) {
+      return false;
+    }
+
+    final Core core = ctx.core();
+    final RetryParking parking = core == null ? null : core.retryParking();
+    if (parking == null) {
+      return false;
+    }
+
+    if (reason == RetryReason.ENDPOINT_NOT_WRITABLE) {
+      if (!(ctx instanceof EndpointContext)) {
+        return false;
+      }
+      parking.parkUntilWritable(((EndpointContext) ctx).remoteHostname(), request, duration);
+    } else if (reason == RetryReason.KV_COLLECTION_OUTDATED) {
+      if (!(request instanceof KeyValueRequest)) {
+        return false;
+      }
+      parking.parkUntilCollectionsRefreshed(((KeyValueRequest<?>) request).bucket(), request);
+    } else {
+      parking.parkUntilReconfigured(request, duration);
+    }
+    return true;
+  }
+
 }
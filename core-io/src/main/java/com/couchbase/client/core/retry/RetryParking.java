@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.retry;
+
+import com.couchbase.client.core.Timer;
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Holds requests which have been retried because of the current topology, until the topology
+ * changes in a way that allows them to make progress.
+ *
+ * <p>Requests which could not be located (or hit the wrong node) are parked until a new configuration
+ * has been applied, and requests which found their endpoint not writable are parked until an endpoint
+ * to the same node becomes writable again. Requests which used an outdated collection ID are parked until
+ * the collections of their bucket have been refreshed. Once released, they are dispatched right away
+ * instead of waiting for their retry delay to pass.</p>
+ *
+ * <p>Every parked request is still dispatched once its retry delay is over, in case the event it waits
+ * for never arrives (only requests waiting for a collection refresh do not need this, since the refresh
+ * always completes or fails). Requests which completed in the meantime (i.e. because they timed out) are
+ * not dispatched again, so their deadlines are not affected by parking.</p>
+ *
+ * @since 2.0.0
+ */
+@Stability.Internal
+public class RetryParking {
+
+  /**
+   * The key under which requests waiting for a new configuration are parked.
+   */
+  private static final String TOPOLOGY = "";
+
+  /**
+   * The prefix of the keys under which requests waiting for a collection refresh are parked.
+   *
+   * <p>Since it cannot be part of a hostname, these keys never clash with the ones of nodes.</p>
+   */
+  private static final String COLLECTIONS_PREFIX = "collections/";
+
+  /**
+   * Dispatches a released request again.
+   */
+  private final Consumer<Request<? extends Response>> dispatcher;
+
+  /**
+   * The timer used to schedule the fallback dispatch.
+   */
+  private final Timer timer;
+
+  /**
+   * Holds the parked requests, either by node hostname, by bucket (prefixed with {@link #COLLECTIONS_PREFIX})
+   * or under {@link #TOPOLOGY}.
+   */
+  private final ConcurrentMap<String, Set<Parked>> parked = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new {@link RetryParking}.
+   *
+   * @param dispatcher dispatches a released request again.
+   * @param timer the timer used to schedule the fallback dispatch.
+   */
+  public RetryParking(final Consumer<Request<? extends Response>> dispatcher, final Timer timer) {
+    this.dispatcher = dispatcher;
+    this.timer = timer;
+  }
+
+  /**
+   * Parks a request until the next configuration has been applied.
+   *
+   * @param request the request to park.
+   * @param fallback the duration after which it is dispatched anyway.
+   */
+  public void parkUntilReconfigured(final Request<? extends Response> request, final Duration fallback) {
+    park(TOPOLOGY, request, fallback);
+  }
+
+  /**
+   * Parks a request until an endpoint to the given node becomes writable.
+   *
+   * @param hostname the hostname of the node the request has been sent to.
+   * @param request the request to park.
+   * @param fallback the duration after which it is dispatched anyway.
+   */
+  public void parkUntilWritable(final String hostname, final Request<? extends Response> request,
+                                final Duration fallback) {
+    park(hostname, request, fallback);
+  }
+
+  /**
+   * Parks a request until the collections of its bucket have been refreshed.
+   *
+   * @param bucket the name of the bucket.
+   * @param request the request to park.
+   */
+  public void parkUntilCollectionsRefreshed(final String bucket, final Request<? extends Response> request) {
+    park(COLLECTIONS_PREFIX + bucket, request, null);
+  }
+
+  /**
+   * Releases all parked requests, since a new configuration has been applied.
+   *
+   * <p>Requests waiting for a collection refresh are not released, since a new configuration does not
+   * change their collection ID.</p>
+   */
+  public void reconfigured() {
+    for (String key : parked.keySet()) {
+      if (!key.startsWith(COLLECTIONS_PREFIX)) {
+        release(key);
+      }
+    }
+  }
+
+  /**
+   * Releases the requests waiting for the collections of the given bucket, since they have been refreshed
+   * (or the refresh failed).
+   *
+   * @param bucket the name of the bucket.
+   */
+  public void collectionsRefreshed(final String bucket) {
+    release(COLLECTIONS_PREFIX + bucket);
+  }
+
+  /**
+   * Releases the requests parked for the given node, since one of its endpoints became writable.
+   *
+   * @param hostname the hostname of the node.
+   */
+  public void writable(final String hostname) {
+    release(hostname);
+  }
+
+  /**
+   * Returns the number of requests currently parked, useful for testing.
+   */
+  int size() {
+    int size = 0;
+    for (Set<Parked> requests : parked.values()) {
+      size += requests.size();
+    }
+    return size;
+  }
+
+  private void park(final String key, final Request<? extends Response> request, final Duration fallback) {
+    final Set<Parked> requests = parked.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+    final Parked entry = new Parked(request);
+    requests.add(entry);
+
+    if (parked.get(key) != requests) {
+      // released while being parked, so the release might have missed it.
+      if (requests.remove(entry)) {
+        dispatch(entry);
+      }
+      return;
+    }
+
+    if (fallback == null) {
+      return;
+    }
+
+    final Timeout timeout = timer.schedule(() -> {
+      requests.remove(entry);
+      dispatch(entry);
+    }, fallback);
+    if (timeout == null) {
+      requests.remove(entry);
+      dispatch(entry);
+    } else {
+      entry.timeout = timeout;
+    }
+  }
+
+  /**
+   * Releases the requests parked under the given key.
+   *
+   * <p>The set is swapped out first, so requests which are parked again while being released (because
+   * the topology still does not allow them to make progress) wait for the next event.</p>
+   */
+  private void release(final String key) {
+    final Set<Parked> requests = parked.remove(key);
+    if (requests == null) {
+      return;
+    }
+
+    for (Parked entry : requests) {
+      if (requests.remove(entry)) {
+        Timeout timeout = entry.timeout;
+        if (timeout != null) {
+          timeout.cancel();
+        }
+        dispatch(entry);
+      }
+    }
+  }
+
+  /**
+   * Dispatches the request if neither the fallback nor a release did it already, and it is still
+   * waiting for a response.
+   */
+  private void dispatch(final Parked entry) {
+    if (entry.released.compareAndSet(false, true) && !entry.request.completed()) {
+      dispatcher.accept(entry.request);
+    }
+  }
+
+  private static class Parked {
+    private final Request<? extends Response> request;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile Timeout timeout;
+
+    Parked(final Request<? extends Response> request) {
+      this.request = request;
+    }
+  }
+
+}
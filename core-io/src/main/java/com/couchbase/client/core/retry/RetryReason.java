@@ -56,4 +56,9 @@ public enum RetryReason {
    * The endpoint is connected, but for some reason cannot be written to at the moment.
    */
   ENDPOINT_NOT_WRITABLE,
+  /**
+   * The request has been held back on a connection and the connection closed before it could be written,
+   * so it has never been sent.
+   */
+  CHANNEL_CLOSED_BEFORE_WRITE,
 }
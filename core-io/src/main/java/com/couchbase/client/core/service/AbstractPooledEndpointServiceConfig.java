@@ -17,6 +17,7 @@
 package com.couchbase.client.core.service;
 
 import java.time.Duration;
+import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
 
@@ -25,15 +26,18 @@ public abstract class AbstractPooledEndpointServiceConfig implements ServiceConf
   public static final int DEFAULT_MAX_ENDPOINTS = 12;
   public static final int DEFAULT_MIN_ENDPOINTS = 0;
   public static final Duration DEFAULT_IDLE_TIME = Duration.ofMinutes(5);
+  public static final SelectionStrategyType DEFAULT_SELECTION_STRATEGY = SelectionStrategyType.ROUND_ROBIN;
 
   private final int minEndpoints;
   private final int maxEndpoints;
   private final Duration idleTime;
+  private final SelectionStrategyType selectionStrategy;
 
   AbstractPooledEndpointServiceConfig(Builder builder) {
     this.minEndpoints = builder.minEndpoints;
     this.maxEndpoints = builder.maxEndpoints;
     this.idleTime = requireNonNull(builder.idleTime);
+    this.selectionStrategy = requireNonNull(builder.selectionStrategy);
   }
 
   @Override
@@ -56,11 +60,24 @@ public abstract class AbstractPooledEndpointServiceConfig implements ServiceConf
     return false;
   }
 
+  @Override
+  public SelectionStrategyType selectionStrategy() {
+    return selectionStrategy;
+  }
+
+  @Override
+  public Map<String, Object> exportAsMap() {
+    Map<String, Object> exported = ServiceConfig.super.exportAsMap();
+    exported.put("selectionStrategy", selectionStrategy.name());
+    return exported;
+  }
+
   // public so methods can be invoked via reflection without requiring Method.setAccessible(true)
   public abstract static class Builder<SELF extends Builder> {
     private int minEndpoints;
     private int maxEndpoints;
     private Duration idleTime;
+    private SelectionStrategyType selectionStrategy = DEFAULT_SELECTION_STRATEGY;
 
     public SELF minEndpoints(int minEndpoints) {
       if (minEndpoints < 0) {
@@ -88,6 +105,20 @@ public abstract class AbstractPooledEndpointServiceConfig implements ServiceConf
       return self();
     }
 
+    /**
+     * Sets how requests are load balanced across the nodes and the endpoints of this service.
+     *
+     * <p>{@link SelectionStrategyType#LATENCY_AWARE} steers requests away from nodes which are slow
+     * or have many requests outstanding.</p>
+     *
+     * @param selectionStrategy the selection strategy to use.
+     * @return this builder for chaining purposes.
+     */
+    public SELF selectionStrategy(SelectionStrategyType selectionStrategy) {
+      this.selectionStrategy = requireNonNull(selectionStrategy);
+      return self();
+    }
+
     @SuppressWarnings("unchecked")
     private SELF self() {
       return (SELF) this;
@@ -100,6 +131,7 @@ public abstract class AbstractPooledEndpointServiceConfig implements ServiceConf
       "minEndpoints=" + minEndpoints +
       ", maxEndpoints=" + maxEndpoints +
       ", idleTime=" + idleTime +
+      ", selectionStrategy=" + selectionStrategy +
       '}';
   }
 }
@@ -39,6 +39,10 @@ public class AnalyticsServiceConfig extends AbstractPooledEndpointServiceConfig
     return builder().idleTime(idleTime);
   }
 
+  public static Builder selectionStrategy(SelectionStrategyType selectionStrategy) {
+    return builder().selectionStrategy(selectionStrategy);
+  }
+
   private AnalyticsServiceConfig(Builder builder) {
     super(builder);
   }
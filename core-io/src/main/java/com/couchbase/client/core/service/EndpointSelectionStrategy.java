@@ -36,4 +36,15 @@ public interface EndpointSelectionStrategy {
    */
   <R extends Request<? extends Response>> Endpoint select(R request, List<Endpoint> endpoints);
 
+  /**
+   * Called by the service whenever endpoints are added to or removed from its pool.
+   *
+   * <p>Note that the endpoints passed to {@link #select(Request, List)} might only be a subset of the pool,
+   * so strategies which keep state per endpoint should only clean it up here.</p>
+   *
+   * @param endpoints all the endpoints currently in the pool.
+   */
+  default void endpointsChanged(List<Endpoint> endpoints) {
+  }
+
 }
@@ -20,6 +20,7 @@ import com.couchbase.client.core.cnc.events.service.ServiceConnectInitiatedEvent
 import com.couchbase.client.core.cnc.events.service.ServiceDisconnectInitiatedEvent;
 import com.couchbase.client.core.cnc.events.service.ServiceStateChangedEvent;
 import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointPool;
 import com.couchbase.client.core.endpoint.EndpointState;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
@@ -31,7 +32,10 @@ import reactor.core.publisher.Flux;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -44,15 +48,25 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * now has more authority on the lifetime of the endpoint since it also has more knowledge of
  * the related ones.</p>
  *
+ * <p>If the endpoints are not pipelined and all of them are busy, requests wait in a bounded FIFO queue
+ * and are handed to the next endpoint which completes its request (or connects), instead of being
+ * retried through the core. Requests which complete while waiting (i.e. because they time out or got
+ * cancelled) are removed from the queue right away.</p>
+ *
  * @since 2.0.0
  */
-abstract class PooledService implements Service {
+abstract class PooledService implements Service, EndpointPool {
 
   /**
    * The interval when to check if idle sockets are to be cleaned up.
    */
   private static final Duration DEFAULT_IDLE_TIME_CHECK_INTERVAL = Duration.ofSeconds(5);
 
+  /**
+   * The maximum number of requests waiting for a free endpoint.
+   */
+  private static final int DEFAULT_MAX_PENDING_REQUESTS = 1024;
+
   /**
    * Holds the config for this service.
    */
@@ -83,6 +97,21 @@ abstract class PooledService implements Service {
    */
   private final AtomicBoolean disconnected;
 
+  /**
+   * If requests wait for a free endpoint in the pending queue (only if not pipelined).
+   */
+  private final boolean queueing;
+
+  /**
+   * Holds the requests waiting for a free endpoint in FIFO order, guarded by itself.
+   */
+  private final Set<Request<? extends Response>> pending = new LinkedHashSet<>();
+
+  /**
+   * The number of pending requests, so the completion path can skip the lock if there are none.
+   */
+  private volatile int pendingCount;
+
   /**
    * Creates a new {@link PooledService}.
    *
@@ -140,6 +169,7 @@ abstract class PooledService implements Service {
     this.disconnected = new AtomicBoolean(false);
     this.serviceContext = serviceContext;
     this.fixedPool = serviceConfig.minEndpoints() == serviceConfig.maxEndpoints();
+    this.queueing = !serviceConfig.pipelined();
 
     scheduleCleanIdleConnections();
   }
@@ -168,6 +198,13 @@ abstract class PooledService implements Service {
     return DEFAULT_IDLE_TIME_CHECK_INTERVAL;
   }
 
+  /**
+   * Can be overridden for unit tests.
+   */
+  protected int maxPendingRequests() {
+    return DEFAULT_MAX_PENDING_REQUESTS;
+  }
+
   /**
    * Go through the connections and clean up all the idle connections.
    */
@@ -189,6 +226,7 @@ abstract class PooledService implements Service {
         this.endpoints.remove(endpoint);
         endpointStates.deregister(endpoint);
         endpoint.disconnect();
+        selectionStrategy().endpointsChanged(this.endpoints);
       }
     }
 
@@ -222,21 +260,147 @@ abstract class PooledService implements Service {
       return;
     }
 
+    boolean grown = false;
     if (!fixedPool && endpoints.size() < serviceConfig.maxEndpoints()) {
       synchronized (this) {
         if (!disconnected.get()) {
-          Endpoint endpoint = createEndpoint();
-          endpointStates.register(endpoint, endpoint);
-          endpoint.connect();
-          endpoints.add(endpoint);
+          addEndpoint();
+          grown = true;
         }
       }
+    }
+
+    // Only wait if an endpoint is going to free up, otherwise the request might be better off on another node.
+    if (queueing && (grown || anyConnected()) && enqueue(request)) {
+      drainPending();
+    } else if (grown) {
       RetryOrchestrator.retryImmediately(serviceContext, request, RetryReason.NO_ENDPOINT_AVAILABLE);
     } else {
       RetryOrchestrator.maybeRetry(serviceContext, request, RetryReason.NO_ENDPOINT_AVAILABLE);
     }
   }
 
+  @Override
+  public void requestCompleted(final Endpoint endpoint) {
+    if (pendingCount > 0) {
+      drainPending();
+    }
+  }
+
+  @Override
+  public boolean requeue(final Request<? extends Response> request) {
+    // No drain here: the endpoint is still busy and drains the queue once its request in flight completes.
+    return enqueue(request);
+  }
+
+  /**
+   * Creates a new endpoint, starts tracking it and connects it.
+   *
+   * <p>Must be called while holding the lock on this service.</p>
+   */
+  private void addEndpoint() {
+    Endpoint endpoint = createEndpoint();
+    endpointStates.register(endpoint, endpoint);
+    if (queueing) {
+      endpoint.pool(this);
+      endpoint.states().filter(s -> s == EndpointState.CONNECTED).subscribe(s -> drainPending());
+    }
+    endpoint.connect();
+    endpoints.add(endpoint);
+    selectionStrategy().endpointsChanged(endpoints);
+  }
+
+  /**
+   * Returns true if at least one endpoint is connected.
+   */
+  private boolean anyConnected() {
+    for (Endpoint endpoint : endpoints) {
+      if (endpoint.state() == EndpointState.CONNECTED) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds the request to the pending queue if there is room left.
+   *
+   * @param request the request to enqueue.
+   * @return true if the request is queued, false otherwise.
+   */
+  private boolean enqueue(final Request<? extends Response> request) {
+    synchronized (pending) {
+      if (disconnected.get() || pending.size() >= maxPendingRequests()) {
+        return false;
+      }
+      pending.add(request);
+      pendingCount = pending.size();
+    }
+    request.response().whenComplete((r, t) -> dequeue(request));
+    return true;
+  }
+
+  /**
+   * Removes the request from the pending queue, if still queued.
+   *
+   * @param request the request to remove.
+   */
+  private void dequeue(final Request<? extends Response> request) {
+    if (pendingCount > 0) {
+      synchronized (pending) {
+        if (pending.remove(request)) {
+          pendingCount = pending.size();
+        }
+      }
+    }
+  }
+
+  /**
+   * Hands pending requests in FIFO order to free endpoints, until there are no more requests or no free
+   * endpoints left.
+   *
+   * <p>The requests are taken from the queue and assigned to endpoints while holding the lock, but only sent
+   * once it has been released, so writing into the channels does not block concurrent enqueues. An endpoint is
+   * assigned at most one request per drain. If a concurrent drain picked the same endpoint, its handler hands
+   * the second request back through {@link #requeue(Request)}.</p>
+   */
+  private void drainPending() {
+    List<Endpoint> assignedEndpoints = null;
+    List<Request<? extends Response>> assignedRequests = null;
+
+    synchronized (pending) {
+      List<Endpoint> candidates = null;
+      Iterator<Request<? extends Response>> iterator = pending.iterator();
+      while (iterator.hasNext()) {
+        Request<? extends Response> next = iterator.next();
+        if (!next.completed()) {
+          if (candidates == null) {
+            candidates = new ArrayList<>(endpoints);
+          }
+          Endpoint endpoint = candidates.isEmpty() ? null : selectionStrategy().select(next, candidates);
+          if (endpoint == null) {
+            break;
+          }
+          candidates.remove(endpoint);
+          if (assignedEndpoints == null) {
+            assignedEndpoints = new ArrayList<>();
+            assignedRequests = new ArrayList<>();
+          }
+          assignedEndpoints.add(endpoint);
+          assignedRequests.add(next);
+        }
+        iterator.remove();
+        pendingCount = pending.size();
+      }
+    }
+
+    if (assignedEndpoints != null) {
+      for (int i = 0; i < assignedEndpoints.size(); i++) {
+        assignedEndpoints.get(i).send(assignedRequests.get(i));
+      }
+    }
+  }
+
   @Override
   public synchronized void connect() {
     if (state() == ServiceState.DISCONNECTED && !disconnected.get()) {
@@ -246,10 +410,7 @@ abstract class PooledService implements Service {
       ));
 
       for (int i = 0; i < serviceConfig.minEndpoints(); i++) {
-        Endpoint endpoint = createEndpoint();
-        endpointStates.register(endpoint, endpoint);
-        endpoint.connect();
-        endpoints.add(endpoint);
+        addEndpoint();
       }
     }
   }
@@ -267,6 +428,17 @@ abstract class PooledService implements Service {
         endpointStates.deregister(endpoint);
       }
       endpoints.clear();
+      selectionStrategy().endpointsChanged(endpoints);
+
+      List<Request<? extends Response>> waiting;
+      synchronized (pending) {
+        waiting = new ArrayList<>(pending);
+        pending.clear();
+        pendingCount = 0;
+      }
+      for (Request<? extends Response> request : waiting) {
+        RetryOrchestrator.maybeRetry(serviceContext, request, RetryReason.NO_ENDPOINT_AVAILABLE);
+      }
     }
   }
 
@@ -39,6 +39,10 @@ public class QueryServiceConfig extends AbstractPooledEndpointServiceConfig {
     return builder().idleTime(idleTime);
   }
 
+  public static Builder selectionStrategy(SelectionStrategyType selectionStrategy) {
+    return builder().selectionStrategy(selectionStrategy);
+  }
+
   private QueryServiceConfig(Builder builder) {
     super(builder);
   }
@@ -39,6 +39,10 @@ public class SearchServiceConfig extends AbstractPooledEndpointServiceConfig {
     return builder().idleTime(idleTime);
   }
 
+  public static Builder selectionStrategy(SelectionStrategyType selectionStrategy) {
+    return builder().selectionStrategy(selectionStrategy);
+  }
+
   private SearchServiceConfig(Builder builder) {
     super(builder);
   }
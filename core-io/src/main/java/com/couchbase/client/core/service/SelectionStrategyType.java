@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service;
+
+import com.couchbase.client.core.service.strategy.LatencyAwareSelectionStrategy;
+import com.couchbase.client.core.service.strategy.RoundRobinSelectionStrategy;
+
+/**
+ * Defines how requests of a service are load balanced across the nodes and the endpoints of a node.
+ *
+ * @since 2.0.0
+ */
+public enum SelectionStrategyType {
+
+  /**
+   * Rotates through the nodes, and picks the next free endpoint.
+   */
+  ROUND_ROBIN {
+    @Override
+    public EndpointSelectionStrategy createEndpointSelectionStrategy() {
+      return new RoundRobinSelectionStrategy();
+    }
+  },
+
+  /**
+   * Tracks the latency and outstanding requests per node and endpoint, and picks the better of two
+   * random choices.
+   */
+  LATENCY_AWARE {
+    @Override
+    public EndpointSelectionStrategy createEndpointSelectionStrategy() {
+      return new LatencyAwareSelectionStrategy();
+    }
+  };
+
+  /**
+   * Creates a new strategy to select among the endpoints of a single service.
+   */
+  public abstract EndpointSelectionStrategy createEndpointSelectionStrategy();
+
+}
@@ -30,6 +30,13 @@ public interface ServiceConfig {
 
   boolean pipelined();
 
+  /**
+   * Returns how requests are load balanced across the nodes and endpoints of this service.
+   */
+  default SelectionStrategyType selectionStrategy() {
+    return SelectionStrategyType.ROUND_ROBIN;
+  }
+
   default public Map<String, Object> exportAsMap() {
     Map<String, Object> exported = new LinkedHashMap<>();
     exported.put("min", minEndpoints());
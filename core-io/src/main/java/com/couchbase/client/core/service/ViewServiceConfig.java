@@ -39,6 +39,10 @@ public class ViewServiceConfig extends AbstractPooledEndpointServiceConfig {
     return builder().idleTime(idleTime);
   }
 
+  public static Builder selectionStrategy(SelectionStrategyType selectionStrategy) {
+    return builder().selectionStrategy(selectionStrategy);
+  }
+
   private ViewServiceConfig(Builder builder) {
     super(builder);
   }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.service.EndpointSelectionStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Selects the endpoint with the lower latency and fewer outstanding requests out of two random
+ * connected and free endpoints.
+ *
+ * <p>Note that every selected request is tracked until its response completes, so the caller must send
+ * the request into the returned endpoint.</p>
+ *
+ * @since 2.0.0
+ */
+public class LatencyAwareSelectionStrategy implements EndpointSelectionStrategy {
+
+  private final LatencyTracker<Endpoint> tracker;
+
+  public LatencyAwareSelectionStrategy() {
+    this(new LatencyTracker<>());
+  }
+
+  LatencyAwareSelectionStrategy(final LongSupplier clock) {
+    this(new LatencyTracker<>(clock));
+  }
+
+  private LatencyAwareSelectionStrategy(final LatencyTracker<Endpoint> tracker) {
+    this.tracker = tracker;
+  }
+
+  @Override
+  public <R extends Request<? extends Response>> Endpoint select(final R request,
+                                                                 final List<Endpoint> endpoints) {
+    List<Endpoint> candidates = new ArrayList<>(endpoints.size());
+    for (Endpoint endpoint : endpoints) {
+      if (endpoint.state() == EndpointState.CONNECTED && endpoint.free()) {
+        candidates.add(endpoint);
+      }
+    }
+
+    Endpoint selected = tracker.select(candidates, Function.identity());
+    if (selected != null) {
+      tracker.track(request, selected);
+    }
+    return selected;
+  }
+
+  @Override
+  public void endpointsChanged(final List<Endpoint> endpoints) {
+    tracker.prune(endpoints, Function.identity());
+  }
+
+  /**
+   * Returns the stats of the endpoint, useful for testing.
+   */
+  LatencyStats stats(final Endpoint endpoint) {
+    return tracker.stats(endpoint);
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the latency and the outstanding requests of a single target (a node or an endpoint) to
+ * derive a cost for load balancing.
+ *
+ * <p>The latency is a "peak" exponentially weighted moving average: a sample higher than the current
+ * average replaces it right away, so a target which becomes slow is avoided immediately, while lower
+ * samples are blended in over time. If a target is not picked for a while its average decays, so it is
+ * eventually tried again and can recover.</p>
+ *
+ * @since 2.0.0
+ */
+@Stability.Internal
+public class LatencyStats {
+
+  /**
+   * The time constant of the moving average and the decay while idle.
+   */
+  private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  /**
+   * The cost of each outstanding request while no latency has been observed yet.
+   */
+  private static final double UNKNOWN_LATENCY_PENALTY = TimeUnit.SECONDS.toNanos(1);
+
+  private final AtomicInteger outstanding = new AtomicInteger();
+
+  private double ewmaNanos;
+
+  private long lastUpdateNanos;
+
+  /**
+   * Marks a request as started against this target.
+   */
+  public void start() {
+    outstanding.incrementAndGet();
+  }
+
+  /**
+   * Marks a request as completed and records its latency.
+   *
+   * @param latencyNanos how long the request took.
+   * @param nowNanos the current time.
+   */
+  public void complete(final long latencyNanos, final long nowNanos) {
+    outstanding.decrementAndGet();
+    synchronized (this) {
+      if (latencyNanos > ewmaNanos) {
+        ewmaNanos = latencyNanos;
+      } else {
+        double weight = Math.exp(-(nowNanos - lastUpdateNanos) / (double) DECAY_NANOS);
+        ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+      }
+      lastUpdateNanos = nowNanos;
+    }
+  }
+
+  /**
+   * Returns the cost of sending another request to this target, lower is better.
+   *
+   * @param nowNanos the current time.
+   * @return the decayed latency times the number of outstanding requests plus this one.
+   */
+  public double cost(final long nowNanos) {
+    int outstanding = this.outstanding.get();
+    double latency;
+    synchronized (this) {
+      if (ewmaNanos == 0) {
+        return outstanding * UNKNOWN_LATENCY_PENALTY;
+      }
+      latency = ewmaNanos * Math.exp(-(nowNanos - lastUpdateNanos) / (double) DECAY_NANOS);
+    }
+    return latency * (outstanding + 1);
+  }
+
+  /**
+   * Returns the number of requests currently outstanding.
+   */
+  public int outstanding() {
+    return outstanding.get();
+  }
+
+  /**
+   * Returns the current moving average of the latency in nanoseconds, 0 if not known yet.
+   */
+  public synchronized long latencyNanos() {
+    return (long) ewmaNanos;
+  }
+
+}
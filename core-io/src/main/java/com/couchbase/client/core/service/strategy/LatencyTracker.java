@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps {@link LatencyStats} per target and picks the cheaper of two random targets
+ * ("power of two choices").
+ *
+ * <p>Comparing two random choices instead of always picking the cheapest target avoids that all
+ * concurrent callers pile onto the same target before its stats catch up, while still steering most of
+ * the load away from slow or overloaded targets.</p>
+ *
+ * @param <K> the type which identifies a target.
+ * @since 2.0.0
+ */
+@Stability.Internal
+public class LatencyTracker<K> {
+
+  private final Map<K, LatencyStats> stats = new ConcurrentHashMap<>();
+
+  private final LongSupplier clock;
+
+  public LatencyTracker() {
+    this(System::nanoTime);
+  }
+
+  /**
+   * Creates a tracker with a custom clock, mainly for simulations in tests.
+   *
+   * @param clock returns the current time in nanoseconds.
+   */
+  public LatencyTracker(final LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Picks the cheaper of two random candidates.
+   *
+   * @param candidates the eligible targets.
+   * @param key extracts the identifier of a target.
+   * @return the selected candidate or null if there are none.
+   */
+  public <T> T select(final List<T> candidates, final Function<T, K> key) {
+    int size = candidates.size();
+    if (size == 0) {
+      return null;
+    } else if (size == 1) {
+      return candidates.get(0);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(size);
+    int second = random.nextInt(size - 1);
+    if (second >= first) {
+      second++;
+    }
+
+    long now = clock.getAsLong();
+    T a = candidates.get(first);
+    T b = candidates.get(second);
+    return stats(key.apply(a)).cost(now) <= stats(key.apply(b)).cost(now) ? a : b;
+  }
+
+  /**
+   * Tracks the request as outstanding against the target until its response completes.
+   *
+   * @param request the request which is sent to the target.
+   * @param target the identifier of the target.
+   */
+  public void track(final Request<? extends Response> request, final K target) {
+    final LatencyStats targetStats = stats(target);
+    final long start = clock.getAsLong();
+    targetStats.start();
+    request.response().whenComplete((r, t) -> {
+      long now = clock.getAsLong();
+      targetStats.complete(now - start, now);
+    });
+  }
+
+  /**
+   * Returns the stats for the given target, creating them if needed.
+   *
+   * @param target the identifier of the target.
+   * @return the stats of the target.
+   */
+  public LatencyStats stats(final K target) {
+    return stats.computeIfAbsent(target, k -> new LatencyStats());
+  }
+
+  /**
+   * Drops the stats of targets which are gone, once there are a lot more tracked than current ones.
+   *
+   * @param current all current targets.
+   * @param key extracts the identifier of a target.
+   */
+  public <T> void prune(final List<T> current, final Function<T, K> key) {
+    if (stats.size() <= current.size() * 2) {
+      return;
+    }
+
+    Set<K> keep = new HashSet<>(current.size());
+    for (T target : current) {
+      keep.add(key.apply(target));
+    }
+    stats.keySet().retainAll(keep);
+  }
+
+}
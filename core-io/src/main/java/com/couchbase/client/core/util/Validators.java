@@ -62,4 +62,10 @@ public class Validators {
     }
   }
 
+  public static void notNullOrEmpty(final byte[] input, final String identifier) {
+    if (input == null || input.length == 0) {
+      throw new IllegalArgumentException(identifier + " cannot be null or empty");
+    }
+  }
+
 }
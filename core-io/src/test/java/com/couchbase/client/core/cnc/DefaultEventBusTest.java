@@ -16,10 +16,16 @@
 
 package com.couchbase.client.core.cnc;
 
+import com.couchbase.client.core.cnc.events.core.EventsDroppedEvent;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.couchbase.client.test.Util.threadRunning;
@@ -105,4 +111,123 @@ class DefaultEventBusTest {
     assertEquals(eventsReceived.get(), eventsSent);
   }
 
+  @Test
+  void wakesUpOnPublishInsteadOfSleeping() {
+    DefaultEventBus eventBus = DefaultEventBus
+      .builder()
+      .idleSleepDuration(Duration.ofMinutes(5))
+      .build();
+
+    AtomicInteger eventsReceived = new AtomicInteger();
+    eventBus.subscribe(event -> eventsReceived.incrementAndGet());
+    eventBus.start().block();
+
+    long start = System.nanoTime();
+    eventBus.publish(mock(Event.class));
+    waitUntilCondition(() -> eventsReceived.get() == 1);
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+
+    eventBus.stop(Duration.ofSeconds(5)).block();
+  }
+
+  @Test
+  void slowSubscriberDoesNotDelayOthers() throws Exception {
+    DefaultEventBus eventBus = DefaultEventBus
+      .builder()
+      .subscriberQueueCapacity(16)
+      .dropReportInterval(Duration.ofMillis(1))
+      .build();
+
+    CountDownLatch blocked = new CountDownLatch(1);
+    eventBus.subscribe(event -> {
+      try {
+        blocked.await();
+      } catch (InterruptedException e) {
+        // ignored
+      }
+    });
+    AtomicInteger eventsReceived = new AtomicInteger();
+    List<EventsDroppedEvent> dropReports = new CopyOnWriteArrayList<>();
+    eventBus.subscribe(event -> {
+      if (event instanceof EventsDroppedEvent) {
+        dropReports.add((EventsDroppedEvent) event);
+      } else {
+        eventsReceived.incrementAndGet();
+      }
+    });
+    eventBus.start().block();
+
+    for (int i = 1; i <= 100; i++) {
+      eventBus.publish(mock(Event.class));
+      int eventsSent = i;
+      waitUntilCondition(() -> eventsReceived.get() == eventsSent);
+    }
+
+    assertTrue(eventBus.droppedOnDelivery() > 0);
+    assertEquals(0, eventBus.droppedOnPublish());
+    // one event blocks the subscriber and 16 are queued for it, the others are dropped.
+    waitUntilCondition(() ->
+      dropReports.stream().mapToLong(EventsDroppedEvent::droppedOnDelivery).sum() >= 100 - 17
+    );
+
+    blocked.countDown();
+    eventBus.stop(Duration.ofSeconds(5)).block();
+  }
+
+  @Test
+  void deliversWithAllWaitStrategies() {
+    List<DefaultEventBus.WaitStrategy> strategies = Arrays.asList(
+      DefaultEventBus.WaitStrategy.sleeping(Duration.ofMillis(1)),
+      DefaultEventBus.WaitStrategy.parking(Duration.ofSeconds(1)),
+      DefaultEventBus.WaitStrategy.spinThenPark(100, Duration.ofSeconds(1))
+    );
+
+    for (DefaultEventBus.WaitStrategy strategy : strategies) {
+      DefaultEventBus eventBus = DefaultEventBus.builder().waitStrategy(strategy).build();
+      AtomicInteger eventsReceived = new AtomicInteger();
+      eventBus.subscribe(event -> eventsReceived.incrementAndGet());
+      eventBus.start().block();
+
+      int eventsSent = 1000;
+      for (int i = 0; i < eventsSent; i++) {
+        eventBus.publish(mock(Event.class));
+      }
+
+      eventBus.stop(Duration.ofSeconds(5)).block();
+      assertEquals(eventsSent, eventsReceived.get());
+    }
+  }
+
+  @Test
+  void interestedOnlyInEventsSubscribersHandle() {
+    DefaultEventBus eventBus = DefaultEventBus.create();
+    eventBus.start().block();
+    assertFalse(eventBus.isInterested(Event.Category.REQUEST, Event.Severity.DEBUG));
+
+    EventSubscription selective = eventBus.subscribe(new SelectiveEventConsumer() {
+      @Override
+      public boolean isInterested(Event.Category category, Event.Severity severity) {
+        return category == Event.Category.IO && severity == Event.Severity.WARN;
+      }
+
+      @Override
+      public void accept(Event event) {
+      }
+    });
+    assertTrue(eventBus.isInterested(Event.Category.IO, Event.Severity.WARN));
+    assertFalse(eventBus.isInterested(Event.Category.IO, Event.Severity.DEBUG));
+    assertFalse(eventBus.isInterested(Event.Category.REQUEST, Event.Severity.WARN));
+
+    EventSubscription all = eventBus.subscribe(event -> {
+    });
+    assertTrue(eventBus.isInterested(Event.Category.REQUEST, Event.Severity.DEBUG));
+
+    all.unsubscribe();
+    assertFalse(eventBus.isInterested(Event.Category.REQUEST, Event.Severity.DEBUG));
+    selective.unsubscribe();
+    assertFalse(eventBus.isInterested(Event.Category.IO, Event.Severity.WARN));
+
+    eventBus.stop(Duration.ofSeconds(5)).block();
+  }
+
 }
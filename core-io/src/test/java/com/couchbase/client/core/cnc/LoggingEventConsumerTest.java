@@ -16,10 +16,14 @@
 
 package com.couchbase.client.core.cnc;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.couchbase.client.core.cnc.events.request.RequestRetriedEvent;
@@ -29,6 +33,7 @@ import com.couchbase.client.core.msg.kv.GetRequest;
 import com.couchbase.client.core.retry.RetryReason;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.time.Duration;
 import java.util.HashMap;
@@ -48,6 +53,16 @@ class LoggingEventConsumerTest {
     loggingEventConsumer = LoggingEventConsumer.create(LoggerConfig.customLogger(logger).build());
   }
 
+  @Test
+  void interestedInEnabledSeveritiesOnly() {
+    when(logger.isDebugEnabled()).thenReturn(false);
+    when(logger.isInfoEnabled()).thenReturn(true);
+
+    assertFalse(loggingEventConsumer.isInterested(Event.Category.REQUEST, Event.Severity.DEBUG));
+    assertTrue(loggingEventConsumer.isInterested(Event.Category.REQUEST, Event.Severity.INFO));
+    assertFalse(loggingEventConsumer.isInterested(Event.Category.REQUEST, Event.Severity.TRACING));
+  }
+
   @Test
   void formatAndLogWithoutContextOrDuration() {
     Event event = new MyEvent(Event.Severity.INFO, Event.Category.IO, Duration.ZERO, null);
@@ -120,6 +135,31 @@ class LoggingEventConsumerTest {
     verify(logger, never()).attachContext(userContext);
   }
 
+  @Test
+  void aggregatesRepeatedEvents() {
+    LoggingEventConsumer consumer = LoggingEventConsumer.create(
+      LoggerConfig.customLogger(logger).aggregationWindow(Duration.ofHours(1)).build()
+    );
+
+    for (int i = 1; i <= 3; i++) {
+      consumer.accept(new MyEvent(Event.Severity.INFO, Event.Category.IO, Duration.ofMillis(i), null));
+    }
+    consumer.accept(new EventWithDescription("other"));
+    verify(logger, times(1)).info("[com.couchbase.io][MyEvent][1000µs]");
+    verify(logger, times(1)).debug("[com.couchbase.io][EventWithDescription][3600000000µs] other");
+    verifyNoMoreInteractions(logger);
+
+    consumer.flush();
+    ArgumentCaptor<String> summary = ArgumentCaptor.forClass(String.class);
+    verify(logger, times(2)).info(summary.capture());
+    assertTrue(summary.getValue().startsWith("[com.couchbase.io][MyEvent] (repeated 2 more times in the last "));
+    assertTrue(summary.getValue().contains("durations min 1000µs"));
+
+    // repeated kinds are logged in full again in the next window.
+    consumer.accept(new MyEvent(Event.Severity.INFO, Event.Category.IO, Duration.ofMillis(1), null));
+    verify(logger, times(2)).info("[com.couchbase.io][MyEvent][1000µs]");
+  }
+
   static class MyEvent extends AbstractEvent {
     MyEvent(Severity severity, Category category, Duration duration, Context context) {
       super(severity, category, duration, context);
@@ -160,4 +200,10 @@ class LoggingEventConsumerTest {
     }
   }
 
+  @Test
+  void rejectsInvalidAggregationWindow() {
+    assertThrows(IllegalArgumentException.class, () -> LoggerConfig.aggregationWindow(null));
+    assertThrows(IllegalArgumentException.class, () -> LoggerConfig.aggregationWindow(Duration.ofMillis(-1)));
+  }
+
 }
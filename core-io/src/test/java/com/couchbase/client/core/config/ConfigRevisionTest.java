@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.config;
+
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import static com.couchbase.client.test.Util.readResource;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies the functionality of the {@link ConfigRevision} scanner.
+ */
+class ConfigRevisionTest {
+
+  private static long scanBoth(final String json) {
+    ByteBuf buf = Unpooled.copiedBuffer("xx" + json, UTF_8);
+    try {
+      buf.skipBytes(2);
+      long fromBytes = ConfigRevision.scan(buf);
+      assertEquals(ConfigRevision.scan(json), fromBytes);
+      assertEquals(2, buf.readerIndex());
+      return fromBytes;
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Test
+  void scansRevisionFromRealConfig() {
+    String config = readResource("config_with_external.json", ConfigRevisionTest.class);
+    assertEquals(1073, scanBoth(config));
+  }
+
+  @Test
+  void onlyConsidersTopLevelRevision() {
+    assertEquals(5, scanBoth("{\"nested\":{\"rev\":10},\"list\":[{\"rev\":11}],\"rev\":5}"));
+    assertEquals(7, scanBoth("{ \"name\" : \"rev\", \"rev\" : 7 }"));
+    assertEquals(3, scanBoth("{\"a\":\"escaped \\\" \\\"rev\\\":9\",\"rev\":3}"));
+  }
+
+  @Test
+  void returnsUnknownIfNotScannable() {
+    assertEquals(ConfigRevision.UNKNOWN, scanBoth(""));
+    assertEquals(ConfigRevision.UNKNOWN, scanBoth("Not my vbucket"));
+    assertEquals(ConfigRevision.UNKNOWN, scanBoth("{\"name\":\"default\"}"));
+    assertEquals(ConfigRevision.UNKNOWN, scanBoth("{\"rev\":\"12\"}"));
+    assertEquals(ConfigRevision.UNKNOWN, scanBoth("{\"rev\":-12}"));
+    assertEquals(ConfigRevision.UNKNOWN, scanBoth("{\"rev\":1.5}"));
+    assertEquals(ConfigRevision.UNKNOWN, scanBoth("{\"rev\":12345678901234567890}"));
+    assertEquals(ConfigRevision.UNKNOWN, scanBoth("{\"rev"));
+  }
+
+}
@@ -68,6 +68,30 @@ class CouchbaseBucketConfigTest {
         assertFalse(config.ephemeral());
     }
 
+    @Test
+    void shouldReadPartitionsAndForwardMap() {
+        CouchbaseBucketConfig config = readConfig("config_with_forward_map.json");
+
+        assertEquals(4, config.numberOfPartitions());
+        assertTrue(config.hasFastForwardMap());
+        assertTrue(config.tainted());
+
+        assertEquals(0, config.nodeIndexForMaster(0, false));
+        assertEquals(1, config.nodeIndexForMaster(1, false));
+        assertEquals(1, config.nodeIndexForReplica(0, 0, false));
+        assertEquals(-1, config.nodeIndexForReplica(2, 0, false));
+        assertEquals(CouchbaseBucketConfig.PARTITION_NOT_EXISTENT, config.nodeIndexForReplica(3, 0, false));
+        assertEquals(CouchbaseBucketConfig.PARTITION_NOT_EXISTENT, config.nodeIndexForReplica(0, 1, false));
+        assertEquals(CouchbaseBucketConfig.PARTITION_NOT_EXISTENT, config.nodeIndexForMaster(4, false));
+
+        assertEquals(1, config.nodeIndexForMaster(0, true));
+        assertEquals(0, config.nodeIndexForReplica(0, 0, true));
+        assertEquals(1, config.nodeIndexForReplica(3, 0, true));
+
+        assertTrue(config.hasPrimaryPartitionsOnNode("1.2.3.4"));
+        assertTrue(config.hasPrimaryPartitionsOnNode("2.3.4.5"));
+    }
+
     @Test
     void shouldLoadEphemeralBucketConfig() {
         CouchbaseBucketConfig config = readConfig("ephemeral_bucket_config.json");
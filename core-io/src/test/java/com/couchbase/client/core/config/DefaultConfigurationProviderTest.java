@@ -18,21 +18,34 @@ package com.couchbase.client.core.config;
 
 import com.couchbase.client.core.Core;
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.cnc.events.config.ConfigIgnoredEvent;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.env.IoConfig;
 import com.couchbase.client.core.env.NetworkResolution;
 import com.couchbase.client.core.env.SeedNode;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetCollectionManifestRequest;
+import com.couchbase.client.core.msg.kv.GetCollectionManifestResponse;
+import com.couchbase.client.util.SimpleEventBus;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.couchbase.client.test.Util.readResource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -116,6 +129,37 @@ class DefaultConfigurationProviderTest {
     assertEquals(1073, provider.config().bucketConfig("default").rev());
   }
 
+  /**
+   * Proposals with a revision we already have must be dropped based on the raw config, without parsing it.
+   */
+  @Test
+  void discardsSameRevisionWithoutParsing() {
+    SimpleEventBus eventBus = new SimpleEventBus(true);
+    CoreEnvironment env = CoreEnvironment.builder("user", "pass").eventBus(eventBus).build();
+    try {
+      Core core = mock(Core.class);
+      when(core.context()).thenReturn(new CoreContext(core, 1, env));
+
+      DefaultConfigurationProvider provider = new DefaultConfigurationProvider(core);
+
+      String bucket = "default";
+      String config = readResource(
+        "config_with_external.json",
+        DefaultConfigurationProviderTest.class
+      );
+      provider.proposeBucketConfig(new ProposedBucketConfigContext(bucket, config, ORIGIN));
+      provider.proposeBucketConfig(new ProposedBucketConfigContext(bucket, "{\"rev\":1073,\"broken", ORIGIN));
+
+      assertEquals(1073, provider.config().bucketConfig("default").rev());
+      assertTrue(eventBus.publishedEvents().stream().anyMatch(e -> e instanceof ConfigIgnoredEvent
+        && ((ConfigIgnoredEvent) e).reason() == ConfigIgnoredEvent.Reason.OLD_OR_SAME_REVISION));
+      assertFalse(eventBus.publishedEvents().stream().anyMatch(e -> e instanceof ConfigIgnoredEvent
+        && ((ConfigIgnoredEvent) e).reason() == ConfigIgnoredEvent.Reason.PARSE_FAILURE));
+    } finally {
+      env.shutdown();
+    }
+  }
+
   @Test
   void canUpdateConfigWithNewRev() {
     Core core = mock(Core.class);
@@ -266,4 +310,38 @@ class DefaultConfigurationProviderTest {
     environment.shutdown();
   }
 
-}
\ No newline at end of file
+  @Test
+  void sharesConcurrentCollectionMapRefreshes() {
+    Core core = mock(Core.class);
+    CoreContext ctx = new CoreContext(core, 1, ENVIRONMENT);
+    when(core.context()).thenReturn(ctx);
+
+    List<GetCollectionManifestRequest> sent = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> {
+      sent.add(invocation.getArgument(0));
+      return null;
+    }).when(core).send(any(Request.class));
+
+    DefaultConfigurationProvider provider = new DefaultConfigurationProvider(core);
+
+    Mono<Void> first = provider.refreshCollectionMap("bucket", true);
+    Mono<Void> second = provider.refreshCollectionMap("bucket", true);
+    AtomicInteger completed = new AtomicInteger();
+    first.subscribe(v -> {}, e -> {}, completed::incrementAndGet);
+    second.subscribe(v -> {}, e -> {}, completed::incrementAndGet);
+    assertEquals(1, sent.size());
+    assertEquals(0, completed.get());
+
+    String manifest = "{\"uid\":\"1\",\"scopes\":[{\"name\":\"_default\",\"uid\":\"0\","
+      + "\"collections\":[{\"name\":\"users\",\"uid\":\"8\"}]}]}";
+    sent.get(0).succeed(new GetCollectionManifestResponse(ResponseStatus.SUCCESS, Optional.of(manifest)));
+    assertEquals(2, completed.get());
+    assertNotNull(provider.collectionMap().get(
+      new CollectionIdentifier("bucket", Optional.of("_default"), Optional.of("users"))
+    ));
+
+    provider.refreshCollectionMap("bucket", true).subscribe();
+    assertEquals(2, sent.size());
+  }
+
+}
@@ -56,6 +56,7 @@ import java.util.function.Supplier;
 import static com.couchbase.client.test.Util.waitUntilCondition;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -364,6 +365,41 @@ class BaseEndpointTest {
     assertTrue(endpoint.free());
   }
 
+  /**
+   * Requests sent while a write batch is open are only written once it is closed, and then flushed
+   * together.
+   */
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void writesBatchWithSingleFlush() {
+    AtomicInteger flushes = new AtomicInteger();
+    EmbeddedChannel channel = new EmbeddedChannel(new ChannelOutboundHandlerAdapter() {
+      @Override
+      public void flush(ChannelHandlerContext ctx) {
+        flushes.incrementAndGet();
+        ctx.flush();
+      }
+    });
+    InstrumentedEndpoint endpoint = connectSuccessfully(channel, true);
+
+    Request<Response> request1 = mock(Request.class);
+    when(request1.response()).thenReturn(new CompletableFuture<>());
+    Request<Response> request2 = mock(Request.class);
+    when(request2.response()).thenReturn(new CompletableFuture<>());
+
+    try (WriteBatch batch = WriteBatch.open()) {
+      endpoint.send(request1);
+      endpoint.send(request2);
+      channel.runPendingTasks();
+      assertNull(channel.readOutbound());
+    }
+    channel.runPendingTasks();
+
+    assertEquals(request1, channel.readOutbound());
+    assertEquals(request2, channel.readOutbound());
+    assertEquals(1, flushes.get());
+  }
+
   /**
    * Helper method to DRY up the case where we just need to connect properly.
    *
@@ -371,12 +407,19 @@ class BaseEndpointTest {
    * @return the connected endpoint.
    */
   private InstrumentedEndpoint connectSuccessfully(final Channel channel) {
+    return connectSuccessfully(channel, false);
+  }
+
+  private InstrumentedEndpoint connectSuccessfully(final Channel channel, final boolean pipelined) {
     final CompletableFuture<Channel> cf = new CompletableFuture<>();
 
-    InstrumentedEndpoint endpoint = InstrumentedEndpoint.create(
+    InstrumentedEndpoint endpoint = new InstrumentedEndpoint(
+      LOCALHOST,
+      PORT,
       eventLoopGroup,
       ctx,
-      () -> Mono.fromFuture(cf)
+      () -> Mono.fromFuture(cf),
+      pipelined
     );
 
     endpoint.connect();
@@ -399,7 +442,12 @@ class BaseEndpointTest {
 
     InstrumentedEndpoint(String hostname, int port, EventLoopGroup eventLoopGroup,
                          ServiceContext ctx, Supplier<Mono<Channel>> channelSupplier) {
-      super(hostname, port, eventLoopGroup, ctx, CircuitBreakerConfig.disabled(), ServiceType.KV, false);
+      this(hostname, port, eventLoopGroup, ctx, channelSupplier, false);
+    }
+
+    InstrumentedEndpoint(String hostname, int port, EventLoopGroup eventLoopGroup,
+                         ServiceContext ctx, Supplier<Mono<Channel>> channelSupplier, boolean pipelined) {
+      super(hostname, port, eventLoopGroup, ctx, CircuitBreakerConfig.disabled(), ServiceType.KV, pipelined);
       this.channelSupplier = channelSupplier;
     }
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.io.netty.kv;
+
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies the functionality of the {@link InFlightRequests} table.
+ */
+class InFlightRequestsTest {
+
+  @SuppressWarnings({"unchecked"})
+  private static KeyValueRequest<Response> request() {
+    return mock(KeyValueRequest.class);
+  }
+
+  @Test
+  void storesAndRemovesRequests() {
+    InFlightRequests table = new InFlightRequests();
+    KeyValueRequest<Response> request = request();
+
+    assertTrue(table.isEmpty());
+    table.put(1, request, 1234);
+    assertTrue(table.contains(1));
+    assertEquals(1, table.size());
+
+    int slot = table.indexOf(1);
+    assertSame(request, table.request(slot));
+    assertEquals(1234, table.dispatchedAt(slot));
+    assertEquals(1, table.opaque(slot));
+
+    table.removeAt(slot);
+    assertFalse(table.contains(1));
+    assertTrue(table.isEmpty());
+    assertNull(table.remove(1));
+  }
+
+  @Test
+  void handlesCollidingOpaques() {
+    InFlightRequests table = new InFlightRequests(4);
+    KeyValueRequest<Response> first = request();
+    KeyValueRequest<Response> second = request();
+
+    table.put(1, first, 1);
+    table.put(1 + 4, second, 2);
+
+    assertSame(second, table.remove(5));
+    assertSame(first, table.remove(1));
+    assertTrue(table.isEmpty());
+  }
+
+  @Test
+  void growsWithOutstandingRequests() {
+    InFlightRequests table = new InFlightRequests(4);
+    Map<Integer, KeyValueRequest<Response>> expected = new HashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      KeyValueRequest<Response> request = request();
+      table.put(i, request, i);
+      expected.put(i, request);
+    }
+
+    assertEquals(1000, table.size());
+    for (Map.Entry<Integer, KeyValueRequest<Response>> entry : expected.entrySet()) {
+      int slot = table.indexOf(entry.getKey());
+      assertSame(entry.getValue(), table.request(slot));
+      assertEquals((long) entry.getKey(), table.dispatchedAt(slot));
+    }
+  }
+
+  @Test
+  void matchesMapUnderRandomWorkload() {
+    InFlightRequests table = new InFlightRequests(8);
+    Map<Integer, KeyValueRequest<Response>> expected = new HashMap<>();
+    List<Integer> outstanding = new ArrayList<>();
+    Random random = new Random(42);
+    List<KeyValueRequest<Response>> pool = new ArrayList<>();
+    for (int i = 0; i < 32; i++) {
+      pool.add(request());
+    }
+
+    int opaque = Integer.MAX_VALUE - 5000;
+    for (int i = 0; i < 100000; i++) {
+      if (outstanding.isEmpty() || random.nextInt(3) != 0) {
+        KeyValueRequest<Response> request = pool.get(random.nextInt(pool.size()));
+        table.put(++opaque, request, opaque);
+        expected.put(opaque, request);
+        outstanding.add(opaque);
+      } else {
+        int removed = outstanding.remove(random.nextInt(outstanding.size()));
+        assertSame(expected.remove(removed), table.remove(removed));
+      }
+      assertEquals(expected.size(), table.size());
+    }
+
+    for (Map.Entry<Integer, KeyValueRequest<Response>> entry : expected.entrySet()) {
+      assertSame(entry.getValue(), table.remove(entry.getKey()));
+    }
+    assertTrue(table.isEmpty());
+  }
+
+  @Test
+  void allowsRemovalWhileIterating() {
+    InFlightRequests table = new InFlightRequests();
+    for (int i = 0; i < 100; i++) {
+      table.put(i, request(), i);
+    }
+
+    List<Integer> visited = new ArrayList<>();
+    table.forEach((slot, opaque, request, dispatchedAt) -> {
+      visited.add(opaque);
+      if (opaque % 2 == 0) {
+        table.removeAt(slot);
+      }
+    });
+
+    assertEquals(100, visited.size());
+    assertEquals(50, table.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i % 2 != 0, table.contains(i));
+    }
+  }
+
+}
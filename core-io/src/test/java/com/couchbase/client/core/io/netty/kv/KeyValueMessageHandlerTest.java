@@ -18,31 +18,46 @@ package com.couchbase.client.core.io.netty.kv;
 
 import com.couchbase.client.core.Core;
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.config.ClusterConfig;
 import com.couchbase.client.core.config.ConfigurationProvider;
+import com.couchbase.client.core.config.ProposedBucketConfigContext;
 import com.couchbase.client.core.deps.io.netty.util.ReferenceCountUtil;
 import com.couchbase.client.core.endpoint.EndpointContext;
 import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.env.IoConfig;
+import com.couchbase.client.core.error.RequestTimeoutException;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.CollectionMap;
 import com.couchbase.client.core.msg.kv.GetRequest;
 import com.couchbase.client.core.service.ServiceType;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class KeyValueMessageHandlerTest {
 
   private static CoreEnvironment ENV;
   private static EndpointContext CTX;
+  private static ConfigurationProvider CONFIG_PROVIDER;
   private static String BUCKET = "bucket";
   private static CollectionIdentifier CID = CollectionIdentifier.fromDefault(BUCKET);
 
@@ -51,9 +66,10 @@ class KeyValueMessageHandlerTest {
     ENV = CoreEnvironment.create("foo", "bar");
     Core core = mock(Core.class);
     CoreContext coreContext = new CoreContext(core, 1, ENV);
-    ConfigurationProvider configurationProvider = mock(ConfigurationProvider.class);
-    when(configurationProvider.collectionMap()).thenReturn(new CollectionMap());
-    when(core.configurationProvider()).thenReturn(configurationProvider);
+    CONFIG_PROVIDER = mock(ConfigurationProvider.class);
+    when(CONFIG_PROVIDER.collectionMap()).thenReturn(new CollectionMap());
+    when(CONFIG_PROVIDER.config()).thenReturn(new ClusterConfig());
+    when(core.configurationProvider()).thenReturn(CONFIG_PROVIDER);
     CTX = new EndpointContext(coreContext, "127.0.0.1", 1234,
       null, ServiceType.KV, Optional.empty(), Optional.empty(), Optional.empty());
   }
@@ -124,4 +140,154 @@ class KeyValueMessageHandlerTest {
     }
   }
 
-}
\ No newline at end of file
+  /**
+   * Cluster map change notifications are pushed by the server on a duplex connection and must be
+   * handed to the configuration provider without being mistaken for a response.
+   */
+  @Test
+  void proposesConfigFromClustermapChangeNotification() {
+    EmbeddedChannel channel = new EmbeddedChannel(new KeyValueMessageHandler(null, CTX, Optional.of(BUCKET)));
+
+    try {
+      byte[] key = BUCKET.getBytes(UTF_8);
+      byte[] config = "{\"rev\":1234}".getBytes(UTF_8);
+      int extrasLength = 4;
+
+      ByteBuf notification = Unpooled.buffer();
+      notification
+        .writeByte(MemcacheProtocol.Magic.SERVER_REQUEST.magic())
+        .writeByte(MemcacheProtocol.ServerOpcode.CLUSTERMAP_CHANGE_NOTIFICATION.opcode())
+        .writeShort(key.length)
+        .writeByte(extrasLength)
+        .writeByte(0)
+        .writeShort(0)
+        .writeInt(extrasLength + key.length + config.length)
+        .writeInt(0)
+        .writeLong(0)
+        .writeInt(1234)
+        .writeBytes(key)
+        .writeBytes(config);
+
+      channel.writeInbound(notification);
+      assertEquals(0, notification.refCnt());
+
+      ArgumentCaptor<ProposedBucketConfigContext> captor = ArgumentCaptor.forClass(ProposedBucketConfigContext.class);
+      verify(CONFIG_PROVIDER).proposeBucketConfig(captor.capture());
+      assertEquals(BUCKET, captor.getValue().bucketName());
+      assertEquals("{\"rev\":1234}", captor.getValue().config());
+      assertEquals("127.0.0.1", captor.getValue().origin());
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  /**
+   * With unordered execution negotiated, a request must only be held back if a request for the same
+   * document is still in flight, and written once that one completed.
+   */
+  @Test
+  void keepsOrderPerDocumentWithUnorderedExecution() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel.attr(ChannelAttributes.SERVER_FEATURE_KEY)
+      .set(Collections.singletonList(ServerFeature.UNORDERED_EXECUTION));
+    channel.pipeline().addLast(new KeyValueMessageHandler(null, CTX, Optional.of(BUCKET)));
+    channel.pipeline().fireChannelActive();
+
+    try {
+      GetRequest first = new GetRequest("key", Duration.ofSeconds(1), CTX, CID, null);
+      channel.writeOutbound(first);
+      channel.writeOutbound(new GetRequest("key", Duration.ofSeconds(1), CTX, CID, null));
+      channel.writeOutbound(new GetRequest("other", Duration.ofSeconds(1), CTX, CID, null));
+
+      ByteBuf request = channel.readOutbound();
+      assertEquals(1, MemcacheProtocol.opaque(request));
+      ReferenceCountUtil.release(request);
+      request = channel.readOutbound();
+      assertEquals(2, MemcacheProtocol.opaque(request));
+      ReferenceCountUtil.release(request);
+      assertNull(channel.readOutbound());
+
+      ByteBuf response = Unpooled.buffer();
+      response
+        .writeByte(MemcacheProtocol.Magic.RESPONSE.magic())
+        .writeByte(MemcacheProtocol.Opcode.GET.opcode())
+        .writeShort(0)
+        .writeByte(0)
+        .writeByte(0)
+        .writeShort(0x01)
+        .writeInt(0)
+        .writeInt(1)
+        .writeLong(0);
+      channel.writeInbound(response);
+      assertTrue(first.response().isDone());
+
+      request = channel.readOutbound();
+      assertEquals(3, MemcacheProtocol.opaque(request));
+      assertEquals("key", MemcacheProtocol.key(request).get().toString(UTF_8));
+      ReferenceCountUtil.release(request);
+    } finally {
+      channel.finishAndReleaseAll();
+    }
+  }
+
+  /**
+   * With deadline sweeping enabled, the channel cancels its in-flight requests once their deadline has
+   * passed, without them being registered with the global timer.
+   */
+  @Test
+  void sweepsDeadlinesOfInFlightRequests() throws Exception {
+    CoreEnvironment env = CoreEnvironment
+      .builder("foo", "bar")
+      .ioConfig(IoConfig.kvDeadlineSweepEnabled(true))
+      .build();
+    EndpointContext ctx = new EndpointContext(new CoreContext(CTX.core(), 1, env), "127.0.0.1", 1234,
+      null, ServiceType.KV, Optional.empty(), Optional.empty(), Optional.empty());
+    EmbeddedChannel channel = new EmbeddedChannel(new KeyValueMessageHandler(null, ctx, Optional.of(BUCKET)));
+
+    try {
+      GetRequest expiring = new GetRequest("key", Duration.ofMillis(1), ctx, CID, null);
+      GetRequest pending = new GetRequest("other", Duration.ofMinutes(1), ctx, CID, null);
+      channel.writeOutbound(expiring, pending);
+      ReferenceCountUtil.release(channel.readOutbound());
+      ReferenceCountUtil.release(channel.readOutbound());
+
+      Thread.sleep(KeyValueMessageHandler.DEADLINE_SWEEP_INTERVAL_MILLIS * 2);
+      channel.runPendingTasks();
+
+      assertTrue(expiring.cancelled());
+      assertThrows(RequestTimeoutException.class, () -> expiring.response().get());
+      assertFalse(pending.completed());
+    } finally {
+      channel.finishAndReleaseAll();
+      env.shutdown();
+    }
+  }
+
+  /**
+   * Once the channel goes inactive it stops sweeping, so its in-flight requests are handed over to the
+   * global timer and still time out.
+   */
+  @Test
+  void handsInFlightRequestsToTimerWhenInactive() throws Exception {
+    CoreEnvironment env = CoreEnvironment
+      .builder("foo", "bar")
+      .ioConfig(IoConfig.kvDeadlineSweepEnabled(true))
+      .build();
+    EndpointContext ctx = new EndpointContext(new CoreContext(CTX.core(), 1, env), "127.0.0.1", 1234,
+      null, ServiceType.KV, Optional.empty(), Optional.empty(), Optional.empty());
+    EmbeddedChannel channel = new EmbeddedChannel(new KeyValueMessageHandler(null, ctx, Optional.of(BUCKET)));
+
+    try {
+      GetRequest request = new GetRequest("key", Duration.ofMillis(50), ctx, CID, null);
+      channel.writeOutbound(request);
+      ReferenceCountUtil.release(channel.readOutbound());
+      channel.close();
+
+      assertThrows(RequestTimeoutException.class, () -> request.response().get(5, TimeUnit.SECONDS));
+    } finally {
+      channel.finishAndReleaseAll();
+      env.shutdown();
+    }
+  }
+
+}
@@ -18,13 +18,23 @@ package com.couchbase.client.core.io.netty.kv;
 
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.CompositeByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
 import com.couchbase.client.core.msg.kv.DurabilityLevel;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.Random;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Verifies the functionality provided by {@link MemcacheProtocol}.
@@ -75,5 +85,111 @@ class MemcacheProtocolTest {
     result.release();
   }
 
+  @Test
+  void compositeRequestMatchesFlatRequest() {
+    ByteBuf key = Unpooled.copiedBuffer("key", UTF_8);
+    ByteBuf extras = Unpooled.buffer().writeInt(1).writeInt(2);
+    ByteBuf body = Unpooled.wrappedBuffer(new byte[MemcacheProtocol.COMPOSITE_BODY_THRESHOLD]);
+
+    ByteBuf flat = MemcacheProtocol.flatRequest(ALLOC, MemcacheProtocol.Opcode.SET, (byte) 0, (short) 12,
+      1234, 0, extras.duplicate(), key.duplicate(), body.duplicate());
+    ByteBuf composite = MemcacheProtocol.request(ALLOC, MemcacheProtocol.Opcode.SET, (byte) 0, (short) 12,
+      1234, 0, extras.duplicate(), key.duplicate(), body.duplicate());
+
+    assertTrue(composite instanceof CompositeByteBuf);
+    assertTrue(MemcacheProtocol.verifyRequest(composite));
+    assertArrayEquals(ByteBufUtil.getBytes(flat), ByteBufUtil.getBytes(composite));
+
+    body.release();
+    assertEquals(1, body.refCnt());
+    composite.release();
+    assertEquals(0, body.refCnt());
+    flat.release();
+  }
+
+  @Test
+  void compositeFlexibleRequestMatchesFlatFlexibleRequest() {
+    ByteBuf key = Unpooled.copiedBuffer("key", UTF_8);
+    ByteBuf framingExtras = MemcacheProtocol.flexibleSyncReplication(ALLOC, DurabilityLevel.MAJORITY,
+      Duration.ofSeconds(3));
+    ByteBuf body = Unpooled.wrappedBuffer(new byte[MemcacheProtocol.COMPOSITE_BODY_THRESHOLD * 2]);
+
+    ByteBuf flat = MemcacheProtocol.flatFlexibleRequest(ALLOC, MemcacheProtocol.Opcode.SET, (byte) 0,
+      (short) 12, 1234, 0, framingExtras.duplicate(), MemcacheProtocol.noExtras(), key.duplicate(),
+      body.duplicate());
+    ByteBuf composite = MemcacheProtocol.flexibleRequest(ALLOC, MemcacheProtocol.Opcode.SET, (byte) 0,
+      (short) 12, 1234, 0, framingExtras.duplicate(), MemcacheProtocol.noExtras(), key.duplicate(), body);
+
+    assertTrue(composite instanceof CompositeByteBuf);
+    assertArrayEquals(ByteBufUtil.getBytes(flat), ByteBufUtil.getBytes(composite));
+
+    composite.release();
+    flat.release();
+    framingExtras.release();
+    body.release();
+  }
+
+  @Test
+  void smallBodiesAreCopiedIntoFlatFrame() {
+    ByteBuf body = Unpooled.wrappedBuffer(new byte[MemcacheProtocol.COMPOSITE_BODY_THRESHOLD - 1]);
+    ByteBuf request = MemcacheProtocol.request(ALLOC, MemcacheProtocol.Opcode.SET, (byte) 0, (short) 0,
+      1, 0, MemcacheProtocol.noExtras(), MemcacheProtocol.noKey(), body);
+
+    assertFalse(request instanceof CompositeByteBuf);
+    request.release();
+    body.release();
+  }
+
+  @Test
+  void compressesBetweenBuffersAndDecompressesStraightFromThem() {
+    byte[] value = new byte[16 * 1024];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) ('a' + (i % 7));
+    }
+    CompressionStats stats = new CompressionStats();
+    byte snappy = MemcacheProtocol.Datatype.SNAPPY.datatype();
+
+    ByteBuf direct = ALLOC.directBuffer(value.length).writeBytes(value);
+    ByteBuf compressed = MemcacheProtocol.tryCompression(ALLOC, direct, 0.83, stats);
+    assertNotNull(compressed);
+    assertTrue(compressed.readableBytes() < value.length);
+    assertEquals(0, direct.readerIndex());
+
+    ByteBuf compressedDirect = ALLOC.directBuffer().writeBytes(compressed, compressed.readerIndex(),
+      compressed.readableBytes());
+    assertArrayEquals(value, MemcacheProtocol.decompressedBytes(compressed, snappy, stats));
+    assertArrayEquals(value, MemcacheProtocol.decompressedBytes(compressedDirect, snappy, stats));
+
+    CompressionStats.Snapshot snapshot = stats.snapshotAndReset();
+    assertEquals(1, snapshot.compressed());
+    assertEquals(2, snapshot.decompressed());
+    assertTrue(snapshot.compressionRatio() < 0.83);
+    assertTrue(stats.snapshotAndReset().isEmpty());
+
+    direct.release();
+    compressed.release();
+    compressedDirect.release();
+  }
+
+  @Test
+  void givesUpOnIncompressiblePrefix() {
+    byte[] value = new byte[MemcacheProtocol.COMPRESSION_SAMPLE_SIZE * 4];
+    new Random(42).nextBytes(value);
+    // only the tail compresses, so the sampled prefix already fails the ratio.
+    for (int i = MemcacheProtocol.COMPRESSION_SAMPLE_SIZE; i < value.length; i++) {
+      value[i] = 0;
+    }
+
+    CompressionStats stats = new CompressionStats();
+    assertNull(MemcacheProtocol.tryCompression(ALLOC, value, 0.83, stats));
+    assertEquals(1, stats.snapshotAndReset().skipped());
+  }
+
+  @Test
+  void leavesUncompressedContentAsIs() {
+    byte[] value = "foobar".getBytes(UTF_8);
+    ByteBuf input = Unpooled.wrappedBuffer(value);
+    assertArrayEquals(value, MemcacheProtocol.decompressedBytes(input, (byte) 0, null));
+  }
 
 }
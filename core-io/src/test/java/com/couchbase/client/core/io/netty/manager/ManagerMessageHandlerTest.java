@@ -55,6 +55,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 class ManagerMessageHandlerTest {
 
@@ -186,4 +187,28 @@ class ManagerMessageHandlerTest {
     waitUntilCondition(terminated::get);
   }
 
-}
\ No newline at end of file
+  /**
+   * A non-pipelined endpoint hands a second request back to its pool instead of retrying it.
+   */
+  @Test
+  void requeuesRequestWhileOneIsInFlight() {
+    CoreContext ctx = new CoreContext(mock(Core.class), 1, ENV);
+    BaseEndpoint endpoint = mock(BaseEndpoint.class);
+
+    EmbeddedChannel channel = new EmbeddedChannel(new ManagerMessageHandler(endpoint, ctx));
+
+    BucketConfigStreamingRequest request1 = new BucketConfigStreamingRequest(Duration.ofSeconds(1), ctx,
+      BestEffortRetryStrategy.INSTANCE, "bucket", ENV.credentials());
+    BucketConfigStreamingRequest request2 = new BucketConfigStreamingRequest(Duration.ofSeconds(1), ctx,
+      BestEffortRetryStrategy.INSTANCE, "bucket", ENV.credentials());
+    channel.write(request1);
+    channel.write(request2);
+
+    verify(endpoint).requeue(request2);
+    assertEquals(0, request2.context().retryAttempts());
+
+    ReferenceCountUtil.release(channel.readOutbound());
+    channel.finishAndReleaseAll();
+  }
+
+}
@@ -19,8 +19,10 @@ package com.couchbase.client.core.msg;
 
 import com.couchbase.client.core.Core;
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.retry.RetryReason;
 import org.junit.jupiter.api.Test;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -60,4 +62,19 @@ class RequestContextTest {
     assertEquals(payload, ctx.clientContext());
   }
 
-}
\ No newline at end of file
+  @Test
+  void tracksRetryReasons() {
+    Request<?> request = mock(Request.class);
+    Core core = mock(Core.class);
+    RequestContext ctx = new RequestContext(new CoreContext(core, 1, null), request);
+    assertTrue(ctx.retryReasons().isEmpty());
+
+    ctx.incrementRetryAttempt(RetryReason.ENDPOINT_NOT_WRITABLE);
+    ctx.incrementRetryAttempt(RetryReason.KV_NOT_MY_VBUCKET);
+    ctx.incrementRetryAttempt(RetryReason.ENDPOINT_NOT_WRITABLE);
+
+    assertEquals(3, ctx.retryAttempts());
+    assertEquals(EnumSet.of(RetryReason.ENDPOINT_NOT_WRITABLE, RetryReason.KV_NOT_MY_VBUCKET), ctx.retryReasons());
+  }
+
+}
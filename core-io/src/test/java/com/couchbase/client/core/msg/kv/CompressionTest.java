@@ -22,13 +22,16 @@ import com.couchbase.client.core.env.CompressionConfig;
 import com.couchbase.client.core.io.CollectionIdentifier;
 import com.couchbase.client.core.io.CollectionMap;
 import com.couchbase.client.core.io.netty.kv.ChannelContext;
+import com.couchbase.client.core.io.netty.kv.CompressionStats;
 import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
 import com.couchbase.client.core.retry.BestEffortRetryStrategy;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBufAllocator;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.deps.org.iq80.snappy.Snappy;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
@@ -38,6 +41,7 @@ import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.body;
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.datatype;
 import static com.couchbase.client.test.Util.readResource;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -239,6 +243,76 @@ class CompressionTest {
     ReferenceCountUtil.release(encoded);
   }
 
+  @Test
+  void usesValueCompressedAheadUpsert() {
+    UpsertRequest request = new UpsertRequest(key, longContent, expiry, flags, timeout,
+      coreContext, cid, retryStrategy, Optional.empty());
+    request.compressAhead(CompressionConfig.offloadMinSize(1).build());
+
+    ByteBuf encoded = request.encode(allocator, 0, ctx(true));
+    assertEquals(MemcacheProtocol.Datatype.SNAPPY.datatype(), datatype(encoded));
+    byte[] compressed = ByteBufUtil.getBytes(body(encoded).get());
+    byte[] uncompressed = new byte[Snappy.getUncompressedLength(compressed, 0)];
+    Snappy.uncompress(compressed, 0, compressed.length, uncompressed, 0);
+    assertArrayEquals(longContent, uncompressed);
+
+    ReferenceCountUtil.release(encoded);
+  }
+
+  @Test
+  void recordsValueCompressedAheadWithChannelStatsUpsert() {
+    UpsertRequest request = new UpsertRequest(key, longContent, expiry, flags, timeout,
+      coreContext, cid, retryStrategy, Optional.empty());
+    request.compressAhead(CompressionConfig.offloadMinSize(1).build());
+
+    CompressionStats stats = new CompressionStats();
+    ChannelContext ctx = new ChannelContext(
+      CompressionConfig.builder().enabled(true).build(),
+      false,
+      false,
+      Optional.of(cid.bucket()),
+      false,
+      false,
+      new CollectionMap(),
+      stats
+    );
+    ByteBuf encoded = request.encode(allocator, 0, ctx);
+    int compressedLength = body(encoded).get().readableBytes();
+
+    CompressionStats.Snapshot snapshot = stats.snapshotAndReset();
+    assertEquals(1, snapshot.compressed());
+    assertEquals((double) compressedLength / longContent.length, snapshot.compressionRatio(), 0.0001);
+    assertTrue(snapshot.compressionNanos() > 0);
+
+    ReferenceCountUtil.release(encoded);
+  }
+
+  @Test
+  void doesNotUseValueCompressedAheadIfDisabledUpsert() {
+    UpsertRequest request = new UpsertRequest(key, longContent, expiry, flags, timeout,
+      coreContext, cid, retryStrategy, Optional.empty());
+    request.compressAhead(CompressionConfig.offloadMinSize(1).build());
+
+    ByteBuf encoded = request.encode(allocator, 0, ctx(false));
+    assertEquals(0, datatype(encoded));
+    assertEquals(Unpooled.wrappedBuffer(longContent), body(encoded).get());
+
+    ReferenceCountUtil.release(encoded);
+  }
+
+  @Test
+  void doesNotCompressAheadIfBelowOffloadSizeUpsert() {
+    UpsertRequest request = new UpsertRequest(key, longContent, expiry, flags, timeout,
+      coreContext, cid, retryStrategy, Optional.empty());
+    request.compressAhead(CompressionConfig.offloadMinSize(longContent.length + 1).build());
+
+    ByteBuf encoded = request.encode(allocator, 0, ctx(true));
+    assertEquals(MemcacheProtocol.Datatype.SNAPPY.datatype(), datatype(encoded));
+    assertTrue(body(encoded).get().readableBytes() < longContent.length);
+
+    ReferenceCountUtil.release(encoded);
+  }
+
   private ChannelContext ctx(boolean enabled) {
     return new ChannelContext(
       CompressionConfig.builder().enabled(enabled).build(),
@@ -53,6 +53,25 @@ class DecompressionTest {
     );
   }
 
+  @Test
+  void decompressesRetainedGet() {
+    ByteBuf response = decodeHexDump(readResource(
+      "compressed_get_response.txt",
+      DecompressionTest.class
+    ));
+
+    GetRequest request = new GetRequest("mydoc", Duration.ofSeconds(1),
+      mock(CoreContext.class), CollectionIdentifier.fromDefault("bucket"), BestEffortRetryStrategy.INSTANCE, true);
+    GetResponse decoded = request.decode(response, null);
+    response.release();
+
+    assertEquals(
+      readResource("dummy.json", DecompressionTest.class),
+      decoded.contentBuffer().toString(UTF_8)
+    );
+    decoded.release();
+  }
+
   @Test
   void decompressesReplicaGet() {
     ByteBuf response = decodeHexDump(readResource(
@@ -17,19 +17,28 @@
 package com.couchbase.client.core.msg.kv;
 
 import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
+import com.couchbase.client.core.deps.io.netty.buffer.UnpooledByteBufAllocator;
+import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.io.CollectionMap;
+import com.couchbase.client.core.io.netty.kv.ChannelContext;
+import com.couchbase.client.core.io.netty.kv.MemcacheProtocol;
 import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.retry.RetryStrategy;
 import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.Optional;
 
 import static com.couchbase.client.core.io.netty.kv.ProtocolVerifier.decodeHexDump;
 import static com.couchbase.client.test.Util.readResource;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -78,4 +87,49 @@ class GetRequestTest {
     assertEquals(0, decoded.flags());
   }
 
+  @Test
+  void retainsContentWithoutCopying() {
+    ByteBuf response = decodeHexDump(readResource(
+      "get_response_success.txt",
+      GetRequestTest.class
+    ));
+
+    GetRequest request = new GetRequest((String) null, TIMEOUT, CTX, null, RETRY, true);
+    GetResponse decoded = request.decode(response, null);
+    response.release();
+
+    assertEquals(ResponseStatus.SUCCESS, decoded.status());
+    assertNotNull(decoded.contentBuffer());
+    assertEquals(1, decoded.contentBuffer().refCnt());
+    assertTrue(new String(decoded.content(), UTF_8).startsWith("{\"callsign\":\"AIRCALIN\""));
+    assertEquals("2000000", Integer.toHexString(decoded.flags()));
+
+    assertTrue(decoded.release());
+    assertEquals(0, response.refCnt());
+  }
+
+  @Test
+  void encodesKeyWithCurrentCollectionPrefix() {
+    CollectionIdentifier identifier = new CollectionIdentifier("bucket", Optional.of("scope"), Optional.of("coll"));
+    CollectionMap collectionMap = new CollectionMap();
+    collectionMap.put(identifier, new byte[] { 0x08 });
+    ChannelContext ctx = new ChannelContext(null, true, false, Optional.of("bucket"), false, false, collectionMap);
+
+    GetRequest request = new GetRequest("key".getBytes(UTF_8), TIMEOUT, CTX, identifier, RETRY, false);
+    assertArrayEquals(new byte[] { 0x08, 'k', 'e', 'y' }, encodedKey(request, ctx));
+    assertArrayEquals(new byte[] { 0x08, 'k', 'e', 'y' }, encodedKey(request, ctx));
+
+    collectionMap.put(identifier, new byte[] { 0x09 });
+    assertArrayEquals(new byte[] { 0x09, 'k', 'e', 'y' }, encodedKey(request, ctx));
+  }
+
+  private static byte[] encodedKey(final GetRequest request, final ChannelContext ctx) {
+    ByteBuf encoded = request.encode(UnpooledByteBufAllocator.DEFAULT, 1, ctx);
+    try {
+      return ByteBufUtil.getBytes(MemcacheProtocol.key(encoded).get());
+    } finally {
+      encoded.release();
+    }
+  }
+
 }
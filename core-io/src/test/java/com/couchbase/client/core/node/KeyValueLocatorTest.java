@@ -24,6 +24,7 @@ import com.couchbase.client.core.config.NodeInfo;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.msg.RequestContext;
 import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.ReplicaGetRequest;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -32,6 +33,9 @@ import java.util.Collections;
 import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -189,4 +193,73 @@ class KeyValueLocatorTest {
     verify(node2Mock, never()).send(getRequest);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void routesThroughPrecomputedTable() {
+    KeyValueLocator locator = new KeyValueLocator();
+
+    NodeInfo nodeInfo1 = new NodeInfo("http://foo:1234", "192.168.56.101:8091",
+      Collections.EMPTY_MAP, null);
+    NodeInfo nodeInfo2 = new NodeInfo("http://foo:1234", "192.168.56.102:8091",
+      Collections.EMPTY_MAP, null);
+    Node node1Mock = mock(Node.class);
+    when(node1Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.101", 8091));
+    Node node2Mock = mock(Node.class);
+    when(node2Mock.identifier()).thenReturn(new NodeIdentifier("192.168.56.102", 8091));
+    List<Node> nodes = new ArrayList<>(Arrays.asList(node1Mock, node2Mock));
+
+    // Active on node 0, replica and fast forward active on node 1
+    ClusterConfig configMock = mock(ClusterConfig.class);
+    CouchbaseBucketConfig bucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(bucketMock);
+    when(configMock.bucketConfigs()).thenReturn(Collections.singletonMap("bucket", bucketMock));
+    when(bucketMock.nodes()).thenReturn(Arrays.asList(nodeInfo1, nodeInfo2));
+    when(bucketMock.numberOfPartitions()).thenReturn(1024);
+    when(bucketMock.numberOfReplicas()).thenReturn(1);
+    when(bucketMock.nodeAtIndex(0)).thenReturn(nodeInfo1);
+    when(bucketMock.nodeAtIndex(1)).thenReturn(nodeInfo2);
+    when(bucketMock.hasFastForwardMap()).thenReturn(true);
+    when(bucketMock.nodeIndexForMaster(anyInt(), eq(false))).thenReturn((short) 0);
+    when(bucketMock.nodeIndexForMaster(anyInt(), eq(true))).thenReturn((short) 1);
+    when(bucketMock.nodeIndexForReplica(anyInt(), eq(0), anyBoolean())).thenReturn((short) 1);
+
+    locator.rebuildRoutingTables(configMock, nodes);
+
+    GetRequest getRequest = mock(GetRequest.class);
+    when(getRequest.bucket()).thenReturn("bucket");
+    when(getRequest.key()).thenReturn("key".getBytes(UTF_8));
+    RequestContext requestCtx = mock(RequestContext.class);
+    when(getRequest.context()).thenReturn(requestCtx);
+
+    // The node list is not consulted once the table is built
+    locator.dispatch(getRequest, Collections.emptyList(), configMock, null);
+    verify(node1Mock, times(1)).send(getRequest);
+    verify(node2Mock, never()).send(getRequest);
+
+    when(requestCtx.retryAttempts()).thenReturn(1);
+    locator.dispatch(getRequest, Collections.emptyList(), configMock, null);
+    verify(node1Mock, times(1)).send(getRequest);
+    verify(node2Mock, times(1)).send(getRequest);
+
+    ReplicaGetRequest replicaRequest = mock(ReplicaGetRequest.class);
+    when(replicaRequest.bucket()).thenReturn("bucket");
+    when(replicaRequest.key()).thenReturn("key".getBytes(UTF_8));
+    when(replicaRequest.replica()).thenReturn((short) 1);
+    when(replicaRequest.context()).thenReturn(mock(RequestContext.class));
+    locator.dispatch(replicaRequest, Collections.emptyList(), configMock, null);
+    verify(node2Mock, times(1)).send(replicaRequest);
+
+    // A newer bucket config which has no table yet is routed through the node list
+    CouchbaseBucketConfig newBucketMock = mock(CouchbaseBucketConfig.class);
+    when(configMock.bucketConfig("bucket")).thenReturn(newBucketMock);
+    when(newBucketMock.nodes()).thenReturn(Arrays.asList(nodeInfo1, nodeInfo2));
+    when(newBucketMock.numberOfPartitions()).thenReturn(1024);
+    when(newBucketMock.nodeAtIndex(1)).thenReturn(nodeInfo2);
+    when(newBucketMock.nodeIndexForMaster(656, false)).thenReturn((short) 1);
+    when(requestCtx.retryAttempts()).thenReturn(0);
+    locator.dispatch(getRequest, nodes, configMock, null);
+    verify(node1Mock, times(1)).send(getRequest);
+    verify(node2Mock, times(2)).send(getRequest);
+  }
+
 }
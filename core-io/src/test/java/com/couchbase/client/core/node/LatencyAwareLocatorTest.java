@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.node;
+
+import com.couchbase.client.core.config.ClusterConfig;
+import com.couchbase.client.core.msg.Response;
+import com.couchbase.client.core.msg.query.QueryRequest;
+import com.couchbase.client.core.msg.query.QueryResponse;
+import com.couchbase.client.core.service.ServiceType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link LatencyAwareLocator}.
+ */
+class LatencyAwareLocatorTest {
+
+  private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+  private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test
+  void prefersNodeWithLowerLatency() {
+    AtomicLong clock = new AtomicLong();
+    LatencyAwareLocator locator = new LatencyAwareLocator(ServiceType.QUERY, clock::get);
+    ClusterConfig config = mock(ClusterConfig.class);
+    when(config.hasClusterOrBucketConfig()).thenReturn(true);
+
+    Node fast = mockNode("192.168.56.101");
+    Node slow = mockNode("192.168.56.102");
+    locator.stats(fast.identifier()).start();
+    locator.stats(fast.identifier()).complete(FAST_NANOS, 0);
+    locator.stats(slow.identifier()).start();
+    locator.stats(slow.identifier()).complete(SLOW_NANOS, 0);
+
+    QueryRequest request = mockRequest(new CompletableFuture<>());
+    locator.dispatch(request, Arrays.asList(fast, slow), config, null);
+    verify(fast, times(1)).send(request);
+    assertEquals(1, locator.stats(fast.identifier()).outstanding());
+
+    request.response().complete(mock(QueryResponse.class));
+    assertEquals(0, locator.stats(fast.identifier()).outstanding());
+  }
+
+  /**
+   * Simulates a steady stream of queries against three nodes where one of them is a lot slower than
+   * the others, and makes sure that the tail latency is determined by the fast nodes.
+   */
+  @Test
+  void improvesTailLatencyWithOneSlowNode() {
+    AtomicLong clock = new AtomicLong();
+
+    List<Long> roundRobin = simulate(new RoundRobinLocator(ServiceType.QUERY, 0), clock);
+    List<Long> latencyAware = simulate(new LatencyAwareLocator(ServiceType.QUERY, clock::get), clock);
+
+    assertEquals(SLOW_NANOS, (long) percentile(roundRobin, 0.99));
+    assertEquals(FAST_NANOS, (long) percentile(latencyAware, 0.99));
+
+    long slowRequests = latencyAware.stream().filter(l -> l == SLOW_NANOS).count();
+    assertTrue(slowRequests < latencyAware.size() / 100, "Slow node got " + slowRequests + " requests");
+  }
+
+  /**
+   * Dispatches one request per millisecond to two fast and one slow node, and returns the latency of
+   * every request.
+   */
+  private static List<Long> simulate(final Locator locator, final AtomicLong clock) {
+    clock.set(0);
+    ClusterConfig config = mock(ClusterConfig.class);
+    when(config.hasClusterOrBucketConfig()).thenReturn(true);
+
+    PriorityQueue<Completion> completions = new PriorityQueue<>();
+    List<Long> latencies = new ArrayList<>();
+    List<Node> nodes = Arrays.asList(
+      simulatedNode("192.168.56.101", FAST_NANOS, clock, completions, latencies),
+      simulatedNode("192.168.56.102", FAST_NANOS, clock, completions, latencies),
+      simulatedNode("192.168.56.103", SLOW_NANOS, clock, completions, latencies)
+    );
+
+    for (int i = 0; i < 3000; i++) {
+      long now = TimeUnit.MILLISECONDS.toNanos(i);
+      while (!completions.isEmpty() && completions.peek().at <= now) {
+        Completion completion = completions.poll();
+        clock.set(completion.at);
+        completion.complete(mock(QueryResponse.class));
+      }
+      clock.set(now);
+      locator.dispatch(mockRequest(new CompletableFuture<>()), nodes, config, null);
+    }
+    return latencies;
+  }
+
+  private static Node simulatedNode(final String address, final long latency, final AtomicLong clock,
+                                    final PriorityQueue<Completion> completions, final List<Long> latencies) {
+    Node node = mockNode(address);
+    doAnswer(invocation -> {
+      QueryRequest request = invocation.getArgument(0);
+      completions.add(new Completion(clock.get() + latency, request.response()));
+      latencies.add(latency);
+      return null;
+    }).when(node).send(any());
+    return node;
+  }
+
+  private static Node mockNode(final String address) {
+    Node node = mock(Node.class);
+    when(node.serviceEnabled(ServiceType.QUERY)).thenReturn(true);
+    when(node.identifier()).thenReturn(new NodeIdentifier(address, 8091));
+    return node;
+  }
+
+  private static QueryRequest mockRequest(final CompletableFuture<QueryResponse> response) {
+    QueryRequest request = mock(QueryRequest.class);
+    when(request.response()).thenReturn(response);
+    return request;
+  }
+
+  private static long percentile(final List<Long> latencies, final double percentile) {
+    List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+    return sorted.get((int) Math.ceil(percentile * sorted.size()) - 1);
+  }
+
+  private static class Completion implements Comparable<Completion> {
+    private final long at;
+    private final CompletableFuture<? extends Response> response;
+
+    Completion(final long at, final CompletableFuture<? extends Response> response) {
+      this.at = at;
+      this.response = response;
+    }
+
+    @SuppressWarnings("unchecked")
+    void complete(final Response value) {
+      ((CompletableFuture<Response>) response).complete(value);
+    }
+
+    @Override
+    public int compareTo(final Completion o) {
+      return Long.compare(at, o.at);
+    }
+  }
+
+}
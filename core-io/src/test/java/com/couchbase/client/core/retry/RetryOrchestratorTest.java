@@ -113,7 +113,7 @@ class RetryOrchestratorTest {
     long start = System.nanoTime();
     RetryOrchestrator.maybeRetry(ctx, request, RetryReason.UNKNOWN);
 
-    verify(requestContext, times(1)).incrementRetryAttempt();
+    verify(requestContext, times(1)).incrementRetryAttempt(RetryReason.UNKNOWN);
     verify(request, never()).cancel(CancellationReason.NO_MORE_RETRIES);
 
     waitUntilCondition(() -> !Mockito.mockingDetails(core).getInvocations().isEmpty());
@@ -132,4 +132,32 @@ class RetryOrchestratorTest {
     assertEquals(RetryReason.UNKNOWN, retryEvent.retryReason());
   }
 
-}
\ No newline at end of file
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void parksTopologyRetryUntilReconfigured() {
+    Timer timer = Timer.createAndStart();
+
+    RetryStrategy retryStrategy = mock(RetryStrategy.class);
+    when(retryStrategy.shouldRetry(any(Request.class))).thenReturn(Optional.of(Duration.ofMinutes(1)));
+    Request<?> request = mock(Request.class);
+    when(request.completed()).thenReturn(false);
+    when(request.context()).thenReturn(mock(RequestContext.class));
+    when(request.retryStrategy()).thenReturn(retryStrategy);
+
+    Core core = mock(Core.class);
+    RetryParking parking = new RetryParking(r -> core.send(r, false), timer);
+    when(core.retryParking()).thenReturn(parking);
+    CoreEnvironment env = mock(CoreEnvironment.class);
+    when(env.timer()).thenReturn(timer);
+    when(env.eventBus()).thenReturn(new SimpleEventBus(true));
+
+    RetryOrchestrator.maybeRetry(new CoreContext(core, 1, env), request, RetryReason.NO_NODE_AVAILABLE);
+    assertEquals(1, parking.size());
+    verify(core, never()).send(request, false);
+
+    parking.reconfigured();
+    verify(core, times(1)).send(request, false);
+    timer.stop();
+  }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.retry;
+
+import com.couchbase.client.core.Timer;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.couchbase.client.test.Util.waitUntilCondition;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link RetryParking}.
+ */
+class RetryParkingTest {
+
+  private static final Duration LONG_FALLBACK = Duration.ofMinutes(1);
+
+  private Timer timer;
+  private List<Request<? extends Response>> dispatched;
+  private RetryParking parking;
+
+  @BeforeEach
+  void beforeEach() {
+    timer = Timer.createAndStart();
+    dispatched = new CopyOnWriteArrayList<>();
+    parking = new RetryParking(dispatched::add, timer);
+  }
+
+  @AfterEach
+  void afterEach() {
+    timer.stop();
+  }
+
+  @Test
+  void releasesAllOnReconfigure() {
+    Request<?> first = mock(Request.class);
+    Request<?> second = mock(Request.class);
+    parking.parkUntilReconfigured(first, LONG_FALLBACK);
+    parking.parkUntilWritable("127.0.0.1", second, LONG_FALLBACK);
+    assertEquals(2, parking.size());
+    assertTrue(dispatched.isEmpty());
+
+    parking.reconfigured();
+    assertEquals(0, parking.size());
+    assertEquals(2, dispatched.size());
+    assertTrue(dispatched.contains(first));
+    assertTrue(dispatched.contains(second));
+  }
+
+  @Test
+  void releasesOnlyNodeWhenWritable() {
+    Request<?> waitingForConfig = mock(Request.class);
+    Request<?> waitingForNode = mock(Request.class);
+    Request<?> waitingForOtherNode = mock(Request.class);
+    parking.parkUntilReconfigured(waitingForConfig, LONG_FALLBACK);
+    parking.parkUntilWritable("127.0.0.1", waitingForNode, LONG_FALLBACK);
+    parking.parkUntilWritable("127.0.0.2", waitingForOtherNode, LONG_FALLBACK);
+
+    parking.writable("127.0.0.1");
+    assertEquals(1, dispatched.size());
+    assertEquals(waitingForNode, dispatched.get(0));
+    assertEquals(2, parking.size());
+  }
+
+  @Test
+  void dispatchesAfterFallbackWithoutEvent() {
+    Request<?> request = mock(Request.class);
+    parking.parkUntilReconfigured(request, Duration.ofMillis(10));
+
+    waitUntilCondition(() -> dispatched.size() == 1);
+    assertEquals(0, parking.size());
+
+    parking.reconfigured();
+    assertEquals(1, dispatched.size());
+  }
+
+  @Test
+  void skipsCompletedRequests() {
+    Request<?> request = mock(Request.class);
+    parking.parkUntilReconfigured(request, LONG_FALLBACK);
+    when(request.completed()).thenReturn(true);
+
+    parking.reconfigured();
+    assertTrue(dispatched.isEmpty());
+    assertEquals(0, parking.size());
+  }
+
+  @Test
+  void parksAgainUntilNextEventWhenReleasedIntoSameTopology() {
+    RetryParking parking = new RetryParking(
+      r -> this.parking.parkUntilReconfigured(r, LONG_FALLBACK),
+      timer
+    );
+    this.parking = parking;
+
+    Request<?> request = mock(Request.class);
+    parking.parkUntilReconfigured(request, LONG_FALLBACK);
+    parking.reconfigured();
+    assertEquals(1, parking.size());
+  }
+
+  @Test
+  void releasesCollectionRequestsOnlyOnRefresh() {
+    Request<?> request = mock(Request.class);
+    Request<?> otherBucket = mock(Request.class);
+    parking.parkUntilCollectionsRefreshed("bucket", request);
+    parking.parkUntilCollectionsRefreshed("other", otherBucket);
+
+    parking.reconfigured();
+    assertTrue(dispatched.isEmpty());
+
+    parking.collectionsRefreshed("bucket");
+    assertEquals(1, dispatched.size());
+    assertEquals(request, dispatched.get(0));
+    assertEquals(1, parking.size());
+  }
+
+}
@@ -26,6 +26,7 @@ import com.couchbase.client.core.endpoint.EndpointState;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.env.Credentials;
 import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.CancellationReason;
 import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.msg.kv.NoopRequest;
@@ -34,6 +35,7 @@ import com.couchbase.client.util.SimpleEventBus;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import reactor.core.publisher.DirectProcessor;
 
 import java.time.Duration;
@@ -43,6 +45,7 @@ import java.util.function.Supplier;
 
 import static com.couchbase.client.test.Util.waitUntilCondition;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -277,7 +280,7 @@ class PooledServiceTest {
   }
 
   @Test
-  void opensAndRetriesDynamicallyIfSlotAvailable() {
+  void opensAndSendsDynamicallyIfSlotAvailable() {
     int minEndpoints = 0;
 
     Endpoint mock1 = mock(Endpoint.class);
@@ -306,12 +309,17 @@ class PooledServiceTest {
 
     waitUntilCondition(() -> !service.trackedEndpoints.isEmpty());
     assertEquals(1, service.trackedEndpoints().size());
-    assertTrue(request.context().retryAttempts() > 0);
-    verify(mock1, never()).send(request);
+    assertEquals(0, request.context().retryAttempts());
+    verify(mock1, times(1)).pool(service);
+    verify(mock1, times(1)).send(request);
   }
 
+  /**
+   * If no endpoint is free, the requests wait in the queue and are handed over in order once an
+   * endpoint completes its request.
+   */
   @Test
-  void retriesIfNoSlotAvailable() {
+  void queuesIfNoSlotAvailable() {
     int minEndpoints = 0;
 
     Endpoint mock1 = mock(Endpoint.class);
@@ -346,14 +354,27 @@ class PooledServiceTest {
     service.send(request1);
     service.send(request2);
     assertEquals(1, service.trackedEndpoints().size());
-    assertTrue(request1.context().retryAttempts() > 0);
-    assertTrue(request2.context().retryAttempts() > 0);
+    assertEquals(0, request1.context().retryAttempts());
+    assertEquals(0, request2.context().retryAttempts());
     verify(mock1, never()).send(request1);
     verify(mock1, never()).send(request2);
+
+    when(mock1.free()).thenReturn(true);
+    service.requestCompleted(mock1);
+
+    // a non-pipelined endpoint only gets one request per drain.
+    verify(mock1).send(request1);
+    verify(mock1, never()).send(request2);
+
+    service.requestCompleted(mock1);
+
+    InOrder inOrder = inOrder(mock1);
+    inOrder.verify(mock1).send(request1);
+    inOrder.verify(mock1).send(request2);
   }
 
   @Test
-  void retriesIfFixedSize() {
+  void queuesIfFixedSize() {
     int minEndpoints = 1;
 
     Endpoint mock1 = mock(Endpoint.class);
@@ -380,10 +401,123 @@ class PooledServiceTest {
     );
     service.send(request);
     assertEquals(1, service.trackedEndpoints().size());
+    assertEquals(0, request.context().retryAttempts());
+    verify(mock1, never()).send(request);
+  }
+
+  /**
+   * If no endpoint is connected there is no point in waiting, so the request is retried instead.
+   */
+  @Test
+  void retriesIfFixedSizeAndNotConnected() {
+    Endpoint mock1 = mock(Endpoint.class);
+    when(mock1.state()).thenReturn(EndpointState.CONNECTING);
+    when(mock1.states()).thenReturn(DirectProcessor.create());
+    when(mock1.free()).thenReturn(false);
+
+    final List<Endpoint> mocks = Collections.singletonList(mock1);
+    final AtomicInteger invocation = new AtomicInteger();
+    MockedService service = new MockedService(
+      new MockedServiceConfig(1, 1, Duration.ofMillis(500), false),
+      () -> mocks.get(invocation.getAndIncrement()),
+      new FirstEndpointSelectionStrategy()
+    );
+    service.connect();
+
+    NoopRequest request = new NoopRequest(
+      Duration.ofSeconds(1),
+      serviceContext,
+      BestEffortRetryStrategy.INSTANCE,
+      CollectionIdentifier.fromDefault("bucket")
+    );
+    service.send(request);
     assertTrue(request.context().retryAttempts() > 0);
     verify(mock1, never()).send(request);
   }
 
+  /**
+   * Once the queue is full, further requests are retried instead of queued.
+   */
+  @Test
+  void retriesIfQueueFull() {
+    Endpoint mock1 = mock(Endpoint.class);
+    when(mock1.state()).thenReturn(EndpointState.CONNECTED);
+    when(mock1.states()).thenReturn(DirectProcessor.create());
+    when(mock1.free()).thenReturn(false);
+
+    final List<Endpoint> mocks = Collections.singletonList(mock1);
+    final AtomicInteger invocation = new AtomicInteger();
+    MockedService service = new MockedService(
+      new MockedServiceConfig(1, 1, Duration.ofMillis(500), false),
+      () -> mocks.get(invocation.getAndIncrement()),
+      new FirstEndpointSelectionStrategy()
+    );
+    service.maxPendingRequests = 1;
+    service.connect();
+
+    NoopRequest request1 = new NoopRequest(
+      Duration.ofSeconds(1),
+      serviceContext,
+      BestEffortRetryStrategy.INSTANCE,
+      CollectionIdentifier.fromDefault("bucket")
+    );
+    NoopRequest request2 = new NoopRequest(
+      Duration.ofSeconds(1),
+      serviceContext,
+      BestEffortRetryStrategy.INSTANCE,
+      CollectionIdentifier.fromDefault("bucket")
+    );
+    service.send(request1);
+    service.send(request2);
+    assertEquals(0, request1.context().retryAttempts());
+    assertTrue(request2.context().retryAttempts() > 0);
+  }
+
+  /**
+   * Requests which complete while waiting (i.e. cancelled or timed out) must not be sent once an
+   * endpoint frees up, and must not take up space in the queue.
+   */
+  @Test
+  void dropsCompletedRequestsFromQueue() {
+    Endpoint mock1 = mock(Endpoint.class);
+    when(mock1.state()).thenReturn(EndpointState.CONNECTED);
+    when(mock1.states()).thenReturn(DirectProcessor.create());
+    when(mock1.free()).thenReturn(false);
+
+    final List<Endpoint> mocks = Collections.singletonList(mock1);
+    final AtomicInteger invocation = new AtomicInteger();
+    MockedService service = new MockedService(
+      new MockedServiceConfig(1, 1, Duration.ofMillis(500), false),
+      () -> mocks.get(invocation.getAndIncrement()),
+      new FirstEndpointSelectionStrategy()
+    );
+    service.maxPendingRequests = 1;
+    service.connect();
+
+    NoopRequest request1 = new NoopRequest(
+      Duration.ofSeconds(1),
+      serviceContext,
+      BestEffortRetryStrategy.INSTANCE,
+      CollectionIdentifier.fromDefault("bucket")
+    );
+    NoopRequest request2 = new NoopRequest(
+      Duration.ofSeconds(1),
+      serviceContext,
+      BestEffortRetryStrategy.INSTANCE,
+      CollectionIdentifier.fromDefault("bucket")
+    );
+    service.send(request1);
+    request1.cancel(CancellationReason.STOPPED_LISTENING);
+    service.send(request2);
+    assertEquals(0, request2.context().retryAttempts());
+
+    when(mock1.free()).thenReturn(true);
+    service.requestCompleted(mock1);
+
+    verify(mock1, never()).send(request1);
+    verify(mock1, times(1)).send(request2);
+  }
+
   @Test
   void cleansIdleConnections() throws Exception {
     int minEndpoints = 0;
@@ -440,6 +574,7 @@ class PooledServiceTest {
   class MockedService extends PooledService {
 
     List<Endpoint> trackedEndpoints = new ArrayList<>();
+    int maxPendingRequests = 1024;
 
     private final Supplier<Endpoint> endpointSupplier;
     private final EndpointSelectionStrategy endpointSelectionStrategy;
@@ -480,6 +615,11 @@ class PooledServiceTest {
     protected Duration idleTimeCheckInterval() {
       return Duration.ofMillis(10);
     }
+
+    @Override
+    protected int maxPendingRequests() {
+      return maxPendingRequests;
+    }
   }
 
   class MockedServiceConfig implements ServiceConfig {
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.core.service.strategy;
+
+import com.couchbase.client.core.endpoint.Endpoint;
+import com.couchbase.client.core.endpoint.EndpointState;
+import com.couchbase.client.core.msg.query.QueryRequest;
+import com.couchbase.client.core.msg.query.QueryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the functionality of the {@link LatencyAwareSelectionStrategy}.
+ */
+class LatencyAwareSelectionStrategyTest {
+
+  @Test
+  void selectsOnlyConnectedAndFreeEndpoints() {
+    LatencyAwareSelectionStrategy strategy = new LatencyAwareSelectionStrategy();
+
+    Endpoint connecting = mockEndpoint(EndpointState.CONNECTING, true);
+    Endpoint busy = mockEndpoint(EndpointState.CONNECTED, false);
+    assertNull(strategy.select(mockRequest(), Arrays.asList(connecting, busy)));
+
+    Endpoint free = mockEndpoint(EndpointState.CONNECTED, true);
+    for (int i = 0; i < 10; i++) {
+      assertSame(free, strategy.select(mockRequest(), Arrays.asList(connecting, busy, free)));
+    }
+  }
+
+  @Test
+  void prefersEndpointWithLowerLatency() {
+    AtomicLong clock = new AtomicLong();
+    LatencyAwareSelectionStrategy strategy = new LatencyAwareSelectionStrategy(clock::get);
+
+    Endpoint slow = mockEndpoint(EndpointState.CONNECTED, true);
+    Endpoint fast = mockEndpoint(EndpointState.CONNECTED, true);
+
+    QueryRequest first = mockRequest();
+    assertSame(slow, strategy.select(first, Arrays.asList(slow)));
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    first.response().complete(mock(QueryResponse.class));
+
+    QueryRequest second = mockRequest();
+    assertSame(fast, strategy.select(second, Arrays.asList(fast)));
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+    second.response().complete(mock(QueryResponse.class));
+
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(100), strategy.stats(slow).latencyNanos());
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(5), strategy.stats(fast).latencyNanos());
+    for (int i = 0; i < 10; i++) {
+      assertSame(fast, strategy.select(mockRequest(), Arrays.asList(slow, fast)));
+    }
+    assertEquals(10, strategy.stats(fast).outstanding());
+    assertEquals(0, strategy.stats(slow).outstanding());
+  }
+
+  /**
+   * A drain hands only the endpoints not yet picked to select, which must not drop the stats of the
+   * endpoints picked before.
+   */
+  @Test
+  void keepsStatsWhenSelectingFromPartOfThePool() {
+    AtomicLong clock = new AtomicLong();
+    LatencyAwareSelectionStrategy strategy = new LatencyAwareSelectionStrategy(clock::get);
+
+    List<Endpoint> pool = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Endpoint endpoint = mockEndpoint(EndpointState.CONNECTED, true);
+      pool.add(endpoint);
+      QueryRequest request = mockRequest();
+      assertSame(endpoint, strategy.select(request, Collections.singletonList(endpoint)));
+      clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+      request.response().complete(mock(QueryResponse.class));
+    }
+    strategy.endpointsChanged(pool);
+
+    List<Endpoint> candidates = new ArrayList<>(pool);
+    while (!candidates.isEmpty()) {
+      Endpoint selected = strategy.select(mockRequest(), candidates);
+      candidates.remove(selected);
+    }
+
+    for (Endpoint endpoint : pool) {
+      assertEquals(TimeUnit.MILLISECONDS.toNanos(10), strategy.stats(endpoint).latencyNanos());
+      assertEquals(1, strategy.stats(endpoint).outstanding());
+    }
+  }
+
+  @Test
+  void dropsStatsOfRemovedEndpoints() {
+    AtomicLong clock = new AtomicLong();
+    LatencyAwareSelectionStrategy strategy = new LatencyAwareSelectionStrategy(clock::get);
+
+    Endpoint kept = mockEndpoint(EndpointState.CONNECTED, true);
+    QueryRequest request = mockRequest();
+    strategy.select(request, Collections.singletonList(kept));
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+    request.response().complete(mock(QueryResponse.class));
+    List<Endpoint> removed = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Endpoint endpoint = mockEndpoint(EndpointState.CONNECTED, true);
+      removed.add(endpoint);
+      strategy.select(mockRequest(), Collections.singletonList(endpoint));
+    }
+
+    strategy.endpointsChanged(Collections.singletonList(kept));
+
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(10), strategy.stats(kept).latencyNanos());
+    for (Endpoint endpoint : removed) {
+      assertEquals(0, strategy.stats(endpoint).outstanding());
+    }
+  }
+
+  private static Endpoint mockEndpoint(final EndpointState state, final boolean free) {
+    Endpoint endpoint = mock(Endpoint.class);
+    when(endpoint.state()).thenReturn(state);
+    when(endpoint.free()).thenReturn(free);
+    return endpoint;
+  }
+
+  private static QueryRequest mockRequest() {
+    QueryRequest request = mock(QueryRequest.class);
+    when(request.response()).thenReturn(new CompletableFuture<>());
+    return request;
+  }
+
+}
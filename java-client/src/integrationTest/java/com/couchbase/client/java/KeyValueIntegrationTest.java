@@ -30,9 +30,11 @@ import com.couchbase.client.test.IgnoreWhen;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import static com.couchbase.client.java.kv.DecrementOptions.decrementOptions;
@@ -112,6 +114,101 @@ class KeyValueIntegrationTest extends JavaIntegrationTest {
     assertThrows(KeyNotFoundException.class, () -> collection.get(UUID.randomUUID().toString()));
   }
 
+  @Test
+  void getAllWithFoundAndMissingDocuments() throws Exception {
+    List<String> found = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      String id = UUID.randomUUID().toString();
+      collection.upsert(id, "Hello, World " + i);
+      found.add(id);
+    }
+    String missing = UUID.randomUUID().toString();
+
+    List<String> ids = new ArrayList<>(found);
+    ids.add(missing);
+    Map<String, CompletableFuture<GetResult>> results = collection.async().getAll(ids);
+
+    assertEquals(ids, new ArrayList<>(results.keySet()));
+    for (int i = 0; i < found.size(); i++) {
+      assertEquals("Hello, World " + i, results.get(found.get(i)).get().contentAs(String.class));
+    }
+    ExecutionException thrown = assertThrows(ExecutionException.class, () -> results.get(missing).get());
+    assertTrue(thrown.getCause() instanceof KeyNotFoundException);
+
+    List<GetAllResult> reactive = collection.reactive().getAll(ids).collectList().block();
+    assertEquals(ids.size(), reactive.size());
+    for (GetAllResult result : reactive) {
+      assertEquals(result.id().equals(missing), result.error().isPresent());
+      assertEquals(!result.id().equals(missing), result.result().isPresent());
+    }
+  }
+
+  @Test
+  void upsertAllWithBoundedWindow() {
+    List<BulkDocument> documents = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      documents.add(BulkDocument.of(UUID.randomUUID().toString(), "Hello, World " + i));
+    }
+
+    BulkWriteCounters counters = new BulkWriteCounters();
+    List<UpsertAllResult> results = collection
+      .reactive()
+      .upsertAll(
+        Flux.fromIterable(documents),
+        BulkWriteOptions.bulkWriteOptions().maxInFlightPerNode(4).counters(counters)
+      )
+      .collectList()
+      .block();
+
+    assertEquals(documents.size(), results.size());
+    for (UpsertAllResult result : results) {
+      assertTrue(result.result().isPresent());
+    }
+    assertEquals(documents.size(), counters.succeeded());
+    assertEquals(0, counters.inFlight());
+    for (BulkDocument document : documents) {
+      assertEquals(document.content(), collection.get(document.id()).contentAs(String.class));
+    }
+  }
+
+  @Test
+  void getWithCoalescing() throws Exception {
+    String id = UUID.randomUUID().toString();
+    collection.upsert(id, "Hello, World");
+
+    List<CompletableFuture<GetResult>> results = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      results.add(collection.async().get(id, getOptions().coalesce(true)));
+    }
+    for (CompletableFuture<GetResult> result : results) {
+      assertEquals("Hello, World", result.get().contentAs(String.class));
+    }
+
+    ReadCoalescer coalescer = collection.async().readCoalescer();
+    assertEquals(10, coalescer.issued() + coalescer.coalesced());
+    assertEquals(0, coalescer.inFlight());
+  }
+
+  @Test
+  void getThroughNearCache() {
+    String id = UUID.randomUUID().toString();
+    collection.upsert(id, "Hello, World");
+
+    NearCache nearCache = collection.enableNearCache(NearCacheConfig.nearCacheConfig());
+    try {
+      assertEquals("Hello, World", collection.get(id).contentAs(String.class));
+      assertEquals("Hello, World", collection.get(id).contentAs(String.class));
+      assertEquals(1, nearCache.hits());
+      assertEquals(1, nearCache.misses());
+
+      collection.upsert(id, "Hello, Near Cache");
+      assertEquals("Hello, Near Cache", collection.get(id).contentAs(String.class));
+      assertEquals(2, nearCache.misses());
+    } finally {
+      collection.disableNearCache();
+    }
+  }
+
   @Test
   void getWithProjection() {
     String id = UUID.randomUUID().toString();
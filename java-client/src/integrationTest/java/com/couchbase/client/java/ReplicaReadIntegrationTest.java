@@ -86,6 +86,19 @@ class ReplicaReadIntegrationTest extends JavaIntegrationTest {
     }
   }
 
+  /**
+   * Regardless of the topology, any replica read should return the document since the active is
+   * always part of it.
+   */
+  @Test
+  void anyReplicaReturnsDocument() {
+    String id = UUID.randomUUID().toString();
+    collection.upsert(id, "Hello, World!");
+
+    assertEquals("Hello, World!", collection.getAnyReplica(id).contentAs(String.class));
+    assertEquals("Hello, World!", collection.reactive().getAnyReplica(id).block().contentAs(String.class));
+  }
+
   /**
    * This test only executes when there are at least two nodes and exactly one replica
    * defined.
@@ -20,6 +20,7 @@ import com.couchbase.client.core.Core;
 import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.env.CoreEnvironment;
 import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
 import com.couchbase.client.core.msg.kv.AppendRequest;
 import com.couchbase.client.core.msg.kv.DecrementRequest;
 import com.couchbase.client.core.msg.kv.IncrementRequest;
@@ -37,6 +38,7 @@ import com.couchbase.client.java.kv.PrependOptions;
 
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 import static com.couchbase.client.core.util.Validators.notNull;
 import static com.couchbase.client.core.util.Validators.notNullOrEmpty;
@@ -52,11 +54,18 @@ public class AsyncBinaryCollection {
   private final CoreEnvironment environment;
   private final CollectionIdentifier collectionIdentifier;
 
-  AsyncBinaryCollection(final Core core, final CoreEnvironment environment, final CollectionIdentifier collectionIdentifier) {
+  /**
+   * Notified of every request which mutates a document (i.e. to keep the near cache consistent).
+   */
+  private final BiConsumer<String, Request<?>> mutationListener;
+
+  AsyncBinaryCollection(final Core core, final CoreEnvironment environment, final CollectionIdentifier collectionIdentifier,
+                        final BiConsumer<String, Request<?>> mutationListener) {
     this.core = core;
     this.coreContext = core.context();
     this.environment = environment;
     this.collectionIdentifier = collectionIdentifier;
+    this.mutationListener = mutationListener;
   }
 
   public CompletableFuture<MutationResult> append(final String id, final byte[] content) {
@@ -86,6 +95,7 @@ public class AsyncBinaryCollection {
     AppendRequest request = new AppendRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id, content,
       opts.cas(), opts.durabilityLevel());
     request.context().clientContext(opts.clientContext());
+    mutationListener.accept(id, request);
     return request;
   }
 
@@ -116,6 +126,7 @@ public class AsyncBinaryCollection {
     PrependRequest request = new PrependRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id, content,
       opts.cas(), opts.durabilityLevel());
     request.context().clientContext(opts.clientContext());
+    mutationListener.accept(id, request);
     return request;
   }
 
@@ -144,6 +155,7 @@ public class AsyncBinaryCollection {
     IncrementRequest request = new IncrementRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id, opts.cas(),
       opts.delta(), opts.initial(), opts.expiry(), opts.durabilityLevel());
     request.context().clientContext(opts.clientContext());
+    mutationListener.accept(id, request);
     return request;
   }
 
@@ -172,6 +184,7 @@ public class AsyncBinaryCollection {
     DecrementRequest request = new DecrementRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id, opts.cas(),
       opts.delta(), opts.initial(), opts.expiry(), opts.durabilityLevel());
     request.context().clientContext(opts.clientContext());
+    mutationListener.accept(id, request);
     return request;
   }
 }
@@ -24,10 +24,13 @@ import com.couchbase.client.core.config.CouchbaseBucketConfig;
 import com.couchbase.client.core.error.CommonExceptions;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.core.io.CollectionIdentifier;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.msg.kv.GetAndLockRequest;
 import com.couchbase.client.core.msg.kv.GetAndTouchRequest;
 import com.couchbase.client.core.msg.kv.GetRequest;
 import com.couchbase.client.core.msg.kv.InsertRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.msg.kv.ObserveViaCasRequest;
 import com.couchbase.client.core.msg.kv.RemoveRequest;
 import com.couchbase.client.core.msg.kv.ReplaceRequest;
@@ -47,6 +50,7 @@ import com.couchbase.client.java.kv.ExistsResult;
 import com.couchbase.client.java.kv.GetAccessor;
 import com.couchbase.client.java.kv.GetAndLockOptions;
 import com.couchbase.client.java.kv.GetAndTouchOptions;
+import com.couchbase.client.java.kv.GetAnyReplicaOptions;
 import com.couchbase.client.java.kv.GetFromReplicaOptions;
 import com.couchbase.client.java.kv.GetOptions;
 import com.couchbase.client.java.kv.GetResult;
@@ -61,6 +65,9 @@ import com.couchbase.client.java.kv.MutateInOptions;
 import com.couchbase.client.java.kv.MutateInResult;
 import com.couchbase.client.java.kv.MutateInSpec;
 import com.couchbase.client.java.kv.MutationResult;
+import com.couchbase.client.java.kv.NearCache;
+import com.couchbase.client.java.kv.NearCacheConfig;
+import com.couchbase.client.java.kv.ReadCoalescer;
 import com.couchbase.client.java.kv.RemoveAccessor;
 import com.couchbase.client.java.kv.RemoveOptions;
 import com.couchbase.client.java.kv.ReplaceAccessor;
@@ -75,9 +82,14 @@ import com.couchbase.client.java.kv.UpsertOptions;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -86,6 +98,7 @@ import static com.couchbase.client.core.util.Validators.notNullOrEmpty;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_EXISTS_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_AND_LOCK_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_AND_TOUCH_OPTIONS;
+import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_ANY_REPLICA_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_FROM_REPLICA_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_GET_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_INSERT_OPTIONS;
@@ -96,7 +109,9 @@ import static com.couchbase.client.java.ReactiveCollection.DEFAULT_REPLACE_OPTIO
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_TOUCH_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_UNLOCK_OPTIONS;
 import static com.couchbase.client.java.ReactiveCollection.DEFAULT_UPSERT_OPTIONS;
+import static com.couchbase.client.java.kv.ExistsOptions.existsOptions;
 import static com.couchbase.client.java.kv.GetAccessor.EXPIRATION_MACRO;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * The {@link AsyncCollection} provides basic asynchronous access to all collection APIs.
@@ -154,6 +169,16 @@ public class AsyncCollection {
    */
   private final CollectionIdentifier collectionIdentifier;
 
+  /**
+   * Coalesces identical gets which opted into it.
+   */
+  private final ReadCoalescer readCoalescer = new ReadCoalescer();
+
+  /**
+   * Holds the near cache, if enabled.
+   */
+  private volatile NearCache nearCache;
+
   /**
    * Creates a new {@link AsyncCollection}.
    *
@@ -171,7 +196,8 @@ public class AsyncCollection {
     this.environment = environment;
     this.bucket = bucket;
     this.collectionIdentifier = new CollectionIdentifier(bucket, Optional.of(scopeName), Optional.of(name));
-    this.asyncBinaryCollection = new AsyncBinaryCollection(core, environment, collectionIdentifier);
+    this.asyncBinaryCollection = new AsyncBinaryCollection(core, environment, collectionIdentifier,
+      this::invalidateNearCache);
   }
 
   /**
@@ -212,6 +238,98 @@ public class AsyncCollection {
     return scopeName;
   }
 
+  /**
+   * Provides access to the coalescing of gets on this collection and its metrics.
+   *
+   * @see GetOptions#coalesce(boolean)
+   */
+  @Stability.Volatile
+  public ReadCoalescer readCoalescer() {
+    return readCoalescer;
+  }
+
+  /**
+   * Enables a client side cache for full document gets on this collection.
+   *
+   * <p>If a near cache has been enabled before, it is replaced with an empty one.</p>
+   *
+   * @param config the config of the cache.
+   * @return the enabled cache, which provides access to its statistics.
+   * @see NearCache
+   */
+  @Stability.Volatile
+  public synchronized NearCache enableNearCache(final NearCacheConfig config) {
+    notNull(config, "NearCacheConfig");
+    disableNearCache();
+    NearCache cache = NearCache.create(config);
+    cache.startReporting(
+      environment.timer(),
+      environment.eventBus(),
+      coreContext,
+      bucket + "." + scopeName + "." + name,
+      config.build().emitInterval()
+    );
+    nearCache = cache;
+    return cache;
+  }
+
+  /**
+   * Disables the client side cache for gets on this collection, if enabled.
+   */
+  @Stability.Volatile
+  public synchronized void disableNearCache() {
+    NearCache cache = nearCache;
+    if (cache != null) {
+      nearCache = null;
+      cache.close();
+    }
+  }
+
+  /**
+   * Returns the near cache of this collection, if enabled.
+   */
+  @Stability.Volatile
+  public Optional<NearCache> nearCache() {
+    return Optional.ofNullable(nearCache);
+  }
+
+  /**
+   * Returns true if the get is served through the near cache.
+   */
+  boolean nearCached(final GetOptions.Built opts) {
+    return nearCache != null
+      && opts.projections() == null
+      && !opts.withExpiration()
+      && !opts.retainContent();
+  }
+
+  /**
+   * Removes the document from the near cache, if enabled, since the request mutates it.
+   *
+   * @param id the id of the document.
+   * @param request the request which mutates the document.
+   */
+  private void invalidateNearCache(final String id, final Request<?> request) {
+    NearCache cache = nearCache;
+    if (cache != null) {
+      cache.invalidateOnMutation(id, request);
+    }
+  }
+
+  /**
+   * Removes the document from the near cache, if enabled, decoding the id only if it is not known.
+   *
+   * @param id the id of the document, or null if only the encoded id is known.
+   * @param key the id of the document encoded in UTF-8.
+   * @param request the request which mutates the document.
+   */
+  private void invalidateNearCache(final String id, final byte[] key, final Request<?> request) {
+    NearCache cache = nearCache;
+    if (cache != null) {
+      cache.invalidateOnMutation(id != null ? id : new String(key, UTF_8), request);
+    }
+  }
+
   /**
    * Provides access to the binary APIs, not used for JSON documents.
    *
@@ -242,29 +360,202 @@ public class AsyncCollection {
     notNull(options, "GetOptions");
     GetOptions.Built opts = options.build();
 
+    NearCache cache = nearCache;
+    if (cache != null && nearCached(opts)) {
+      return cache.get(
+        id,
+        () -> coalesceOrDispatchGet(id, opts),
+        () -> exists(id, existsOptions().timeout(opts.timeout().orElse(null)))
+      );
+    }
+    return coalesceOrDispatchGet(id, opts);
+  }
+
+  /**
+   * Fetches a full document from a collection with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id encoded in UTF-8, must not be modified afterwards.
+   * @return a {@link CompletableFuture} completing once loaded or failed.
+   */
+  public CompletableFuture<GetResult> get(final byte[] id) {
+    return get(id, DEFAULT_GET_OPTIONS);
+  }
+
+  /**
+   * Fetches a full document (or a projection of it) from a collection with custom options, with an id
+   * which is already encoded in UTF-8.
+   *
+   * <p>The id is only used as-is for plain full document gets. Gets which project, fetch the expiration,
+   * hedge, coalesce or go through the near cache need the id as a string and decode it first.</p>
+   *
+   * @param id the document id encoded in UTF-8, must not be modified afterwards.
+   * @param options custom options to change the default behavior.
+   * @return a {@link CompletableFuture} completing once loaded or failed.
+   */
+  public CompletableFuture<GetResult> get(final byte[] id, final GetOptions options) {
+    notNullOrEmpty(id, "Id");
+    notNull(options, "GetOptions");
+    GetOptions.Built opts = options.build();
+    if (!encodedGet(opts)) {
+      return get(new String(id, UTF_8), options);
+    }
+    return GetAccessor.get(core, null, fullGetRequest(id, opts));
+  }
+
+  /**
+   * Returns true if a get can be dispatched with an id which is only known in encoded form.
+   */
+  boolean encodedGet(final GetOptions.Built opts) {
+    return opts.projections() == null
+      && !opts.withExpiration()
+      && opts.hedgingPolicy() == null
+      && !opts.coalesce()
+      && !nearCached(opts);
+  }
+
+  /**
+   * Helper method to dispatch a get, unless it can be coalesced with one in flight.
+   *
+   * @param id the document id which is used to uniquely identify it.
+   * @param opts the built options.
+   * @return a {@link CompletableFuture} completing once loaded or failed.
+   */
+  private CompletableFuture<GetResult> coalesceOrDispatchGet(final String id, final GetOptions.Built opts) {
+    if (opts.coalesce()) {
+      return readCoalescer.get(id, opts, () -> dispatchGet(id, opts));
+    }
+    return dispatchGet(id, opts);
+  }
+
+  /**
+   * Helper method to dispatch a get once it is clear that it is not coalesced.
+   *
+   * @param id the document id which is used to uniquely identify it.
+   * @param opts the built options.
+   * @return a {@link CompletableFuture} completing once loaded or failed.
+   */
+  private CompletableFuture<GetResult> dispatchGet(final String id, final GetOptions.Built opts) {
     if (opts.projections() == null && !opts.withExpiration()) {
-      return GetAccessor.get(core, id, fullGetRequest(id, options));
+      GetRequest request = fullGetRequest(id, opts);
+      if (opts.hedgingPolicy() != null) {
+        return GetAccessor.hedgedGet(
+          core, id, request, timeout -> hedgeRequest(id, opts, timeout), opts.hedgingPolicy()
+        );
+      }
+      return GetAccessor.get(core, id, request);
     } else {
-      return GetAccessor.subdocGet(core, id, subdocGetRequest(id, options));
+      return GetAccessor.subdocGet(core, id, subdocGetRequest(id, opts));
     }
   }
 
+  /**
+   * Fetches many full documents (or projections of them) from a collection with default options.
+   *
+   * @param ids the document ids which are used to uniquely identify them.
+   * @return a {@link CompletableFuture} per distinct document id, each completing once loaded or failed.
+   */
+  public Map<String, CompletableFuture<GetResult>> getAll(final Collection<String> ids) {
+    return getAll(ids, DEFAULT_GET_OPTIONS);
+  }
+
+  /**
+   * Fetches many full documents (or projections of them) from a collection with custom options.
+   *
+   * <p>Compared to calling {@link #get(String, GetOptions)} for every id, the requests are dispatched
+   * together so that all of them which go to the same node are written with a single flush. Every
+   * document succeeds or fails on its own.</p>
+   *
+   * @param ids the document ids which are used to uniquely identify them.
+   * @param options custom options to change the default behavior, applied to every document.
+   * @return a {@link CompletableFuture} per distinct document id, each completing once loaded or failed.
+   */
+  public Map<String, CompletableFuture<GetResult>> getAll(final Collection<String> ids,
+                                                          final GetOptions options) {
+    return GetAccessor.getAll(core, getAllRequests(ids, options));
+  }
+
+  /**
+   * Helper method to create the get requests for a bulk fetch, one per distinct id.
+   *
+   * @param ids the document ids which are used to uniquely identify them.
+   * @param options custom options to change the default behavior.
+   * @return the get requests, mapped by document id.
+   */
+  @Stability.Internal
+  Map<String, KeyValueRequest<? extends Response>> getAllRequests(final Collection<String> ids,
+                                                                  final GetOptions options) {
+    notNull(ids, "Ids");
+    notNull(options, "GetOptions");
+    GetOptions.Built opts = options.build();
+    boolean fullGet = opts.projections() == null && !opts.withExpiration();
+
+    Map<String, KeyValueRequest<? extends Response>> requests = new LinkedHashMap<>(ids.size());
+    for (String id : ids) {
+      if (!requests.containsKey(id)) {
+        requests.put(id, fullGet ? fullGetRequest(id, opts) : subdocGetRequest(id, opts));
+      }
+    }
+    return requests;
+  }
+
   /**
    * Helper method to create a get request for a full doc fetch.
    *
    * @param id the document id which is used to uniquely identify it.
-   * @param options custom options to change the default behavior.
+   * @param opts the built options of the get.
    * @return the get request.
    */
   @Stability.Internal
-  GetRequest fullGetRequest(final String id, final GetOptions options) {
+  GetRequest fullGetRequest(final String id, final GetOptions.Built opts) {
+    notNullOrEmpty(id, "Id");
+    return fullGetRequest(id.getBytes(UTF_8), opts);
+  }
+
+  /**
+   * Helper method to create a get request for a full doc fetch with an already encoded id.
+   *
+   * @param id the document id encoded in UTF-8.
+   * @param opts the built options of the get.
+   * @return the get request.
+   */
+  @Stability.Internal
+  GetRequest fullGetRequest(final byte[] id, final GetOptions.Built opts) {
     notNullOrEmpty(id, "Id");
-    notNull(options, "GetOptions");
-    GetOptions.Built opts = options.build();
 
     Duration timeout = opts.timeout().orElse(environment.timeoutConfig().kvTimeout());
     RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
-    GetRequest request = new GetRequest(id, timeout, coreContext, collectionIdentifier, retryStrategy);
+    GetRequest request = new GetRequest(
+      id, timeout, coreContext, collectionIdentifier, retryStrategy, opts.retainContent()
+    );
+    request.context().clientContext(opts.clientContext());
+    return request;
+  }
+
+  /**
+   * Helper method to create the get request to a replica which hedges a full doc fetch.
+   *
+   * <p>The replica is picked at random so that hedged reads are spread across all of them.</p>
+   *
+   * @param id the document id which is used to uniquely identify it.
+   * @param opts the built options of the get.
+   * @param timeout the timeout of the replica get, usually what is left of the timeout of the active get.
+   * @return the replica get request, or null if the bucket has no replicas to hedge with.
+   */
+  @Stability.Internal
+  GetRequest hedgeRequest(final String id, final GetOptions.Built opts, final Duration timeout) {
+    BucketConfig config = core.clusterConfig().bucketConfig(bucket);
+    if (!(config instanceof CouchbaseBucketConfig)) {
+      return null;
+    }
+    int numReplicas = ((CouchbaseBucketConfig) config).numberOfReplicas();
+    if (numReplicas == 0) {
+      return null;
+    }
+
+    RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
+    short replica = (short) (ThreadLocalRandom.current().nextInt(numReplicas) + 1);
+    GetRequest request = new ReplicaGetRequest(id, timeout, coreContext, collectionIdentifier, retryStrategy, replica);
     request.context().clientContext(opts.clientContext());
     return request;
   }
@@ -273,14 +564,12 @@ public class AsyncCollection {
    * Helper method to create a get request for a subdoc fetch.
    *
    * @param id the document id which is used to uniquely identify it.
-   * @param options custom options to change the default behavior.
+   * @param opts the built options of the get.
    * @return the subdoc get request.
    */
   @Stability.Internal
-  SubdocGetRequest subdocGetRequest(final String id, final GetOptions options) {
+  SubdocGetRequest subdocGetRequest(final String id, final GetOptions.Built opts) {
     notNullOrEmpty(id, "Id");
-    notNull(options, "GetOptions");
-    GetOptions.Built opts = options.build();
 
     Duration timeout = opts.timeout().orElse(environment.timeoutConfig().kvTimeout());
     RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
@@ -317,7 +606,7 @@ public class AsyncCollection {
     }
 
     SubdocGetRequest request = new SubdocGetRequest(
-      timeout, coreContext, collectionIdentifier, retryStrategy, id, (byte) 0, commands
+      timeout, coreContext, collectionIdentifier, retryStrategy, id, (byte) 0, commands, opts.retainContent()
     );
     request.context().clientContext(opts.clientContext());
     return request;
@@ -366,6 +655,7 @@ public class AsyncCollection {
       id, timeout, coreContext, collectionIdentifier, retryStrategy, lockFor
     );
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -418,6 +708,7 @@ public class AsyncCollection {
     GetAndTouchRequest request = new GetAndTouchRequest(id, timeout, coreContext,
       collectionIdentifier, retryStrategy, expiration);
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -446,6 +737,33 @@ public class AsyncCollection {
       .collect(Collectors.toList());
   }
 
+  /**
+   * Reads from the active node and all replicas at the same time and returns the first document
+   * which is fetched, with default options.
+   *
+   * @param id the document id.
+   * @return a {@link CompletableFuture} completing with the first document fetched.
+   */
+  public CompletableFuture<GetResult> getAnyReplica(final String id) {
+    return getAnyReplica(id, DEFAULT_GET_ANY_REPLICA_OPTIONS);
+  }
+
+  /**
+   * Reads from the active node and all replicas at the same time and returns the first document
+   * which is fetched, with custom options.
+   *
+   * <p>All other reads are cancelled once the first one succeeds, and the returned future only fails
+   * if all of them failed. Note that the document might come from a replica, which might not have
+   * the latest version of it yet.</p>
+   *
+   * @param id the document id.
+   * @param options the custom options.
+   * @return a {@link CompletableFuture} completing with the first document fetched.
+   */
+  public CompletableFuture<GetResult> getAnyReplica(final String id, final GetAnyReplicaOptions options) {
+    return GetAccessor.getAnyReplica(core, id, getAnyReplicaRequests(id, options));
+  }
+
   /**
    * Helper method to assemble a stream of requests either to the active or to the replica.
    *
@@ -458,7 +776,33 @@ public class AsyncCollection {
     notNullOrEmpty(id, "Id");
     notNull(options, "GetFromReplicaOptions");
     GetFromReplicaOptions.Built opts = options.build();
+    return replicaRequests(id, opts, opts.replicaMode()).stream();
+  }
+
+  /**
+   * Helper method to assemble the requests to the active and all replicas.
+   *
+   * @param id the document id which is used to uniquely identify it.
+   * @param options custom options to change the default behavior.
+   * @return the requests, the one to the active first.
+   */
+  List<GetRequest> getAnyReplicaRequests(final String id, final GetAnyReplicaOptions options) {
+    notNullOrEmpty(id, "Id");
+    notNull(options, "GetAnyReplicaOptions");
+    return replicaRequests(id, options.build(), ReplicaMode.ALL);
+  }
 
+  /**
+   * Helper method to assemble a list of requests either to the active and all replicas or to a single
+   * replica.
+   *
+   * @param id the document id which is used to uniquely identify it.
+   * @param opts the built options to apply to all requests.
+   * @param replicaMode which replicas to read from.
+   * @return a list of requests.
+   */
+  private List<GetRequest> replicaRequests(final String id, final CommonOptions<?>.BuiltCommonOptions opts,
+                                           final ReplicaMode replicaMode) {
     Duration timeout = opts.timeout().orElse(environment.timeoutConfig().kvTimeout());
     RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
 
@@ -469,7 +813,7 @@ public class AsyncCollection {
     }
 
     if (config instanceof CouchbaseBucketConfig) {
-      if (opts.replicaMode() == ReplicaMode.ALL) {
+      if (replicaMode == ReplicaMode.ALL) {
         int numReplicas = ((CouchbaseBucketConfig) config).numberOfReplicas();
         List<GetRequest> requests = new ArrayList<>(numReplicas + 1);
 
@@ -484,14 +828,14 @@ public class AsyncCollection {
           replicaRequest.context().clientContext(opts.clientContext());
           requests.add(replicaRequest);
         }
-        return requests.stream();
+        return requests;
       } else {
         ReplicaGetRequest replicaRequest = new ReplicaGetRequest(
           id, timeout, coreContext, collectionIdentifier, retryStrategy,
-          (short) opts.replicaMode().ordinal()
+          (short) replicaMode.ordinal()
         );
         replicaRequest.context().clientContext(opts.clientContext());
-        return Stream.of(replicaRequest);
+        return Collections.singletonList(replicaRequest);
       }
     } else {
       throw CommonExceptions.getFromReplicaNotCouchbaseBucket();
@@ -563,6 +907,31 @@ public class AsyncCollection {
       opts.replicateTo());
   }
 
+  /**
+   * Removes a Document from a collection with default options, with an id which is already encoded in
+   * UTF-8.
+   *
+   * @param id the id of the document to remove encoded in UTF-8, must not be modified afterwards.
+   * @return a {@link CompletableFuture} completing once removed or failed.
+   */
+  public CompletableFuture<MutationResult> remove(final byte[] id) {
+    return remove(id, DEFAULT_REMOVE_OPTIONS);
+  }
+
+  /**
+   * Removes a Document from a collection with custom options, with an id which is already encoded in
+   * UTF-8.
+   *
+   * @param id the id of the document to remove encoded in UTF-8, must not be modified afterwards.
+   * @param options custom options to change the default behavior.
+   * @return a {@link CompletableFuture} completing once removed or failed.
+   */
+  public CompletableFuture<MutationResult> remove(final byte[] id, final RemoveOptions options) {
+    RemoveOptions.Built opts = options.build();
+    return RemoveAccessor.remove(core, removeRequest(id, options), null, opts.persistTo(),
+      opts.replicateTo());
+  }
+
   /**
    * Helper method to create the remove request.
    *
@@ -572,14 +941,39 @@ public class AsyncCollection {
    */
   RemoveRequest removeRequest(final String id, final RemoveOptions options) {
     notNullOrEmpty(id, "Id");
+    return removeRequest(id.getBytes(UTF_8), id, options);
+  }
+
+  /**
+   * Helper method to create the remove request with an already encoded id.
+   *
+   * @param id the id of the document to remove encoded in UTF-8.
+   * @param options custom options to change the default behavior.
+   * @return the remove request.
+   */
+  RemoveRequest removeRequest(final byte[] id, final RemoveOptions options) {
+    notNullOrEmpty(id, "Id");
+    return removeRequest(id, null, options);
+  }
+
+  /**
+   * Creates the remove request from the encoded id, shared by the variants with and without an encoded id.
+   *
+   * @param key the id of the document to remove encoded in UTF-8.
+   * @param id the same id if it is known, only used to invalidate the near cache.
+   * @param options custom options to change the default behavior.
+   * @return the remove request.
+   */
+  private RemoveRequest removeRequest(final byte[] key, final String id, final RemoveOptions options) {
     notNull(options, "RemoveOptions");
     RemoveOptions.Built opts = options.build();
 
     Duration timeout = opts.timeout().orElse(environment.timeoutConfig().kvTimeout());
     RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
-    RemoveRequest request = new RemoveRequest(id, opts.cas(), timeout,
+    RemoveRequest request = new RemoveRequest(key, opts.cas(), timeout,
       coreContext, collectionIdentifier, retryStrategy, opts.durabilityLevel());
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, key, request);
     return request;
   }
 
@@ -609,6 +1003,34 @@ public class AsyncCollection {
       opts.replicateTo());
   }
 
+  /**
+   * Inserts a full document which does not exist yet with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to insert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to insert.
+   * @return a {@link CompletableFuture} completing once inserted or failed.
+   */
+  public CompletableFuture<MutationResult> insert(final byte[] id, final Object content) {
+    return insert(id, content, DEFAULT_INSERT_OPTIONS);
+  }
+
+  /**
+   * Inserts a full document which does not exist yet with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to insert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to insert.
+   * @param options custom options to customize the insert behavior.
+   * @return a {@link CompletableFuture} completing once inserted or failed.
+   */
+  public CompletableFuture<MutationResult> insert(final byte[] id, final Object content,
+                                                  final InsertOptions options) {
+    InsertOptions.Built opts = options.build();
+    return InsertAccessor.insert(core, insertRequest(id, content, options), null, opts.persistTo(),
+      opts.replicateTo());
+  }
+
   /**
    * Helper method to generate the insert request.
    *
@@ -619,6 +1041,33 @@ public class AsyncCollection {
    */
   InsertRequest insertRequest(final String id, final Object content, final InsertOptions options) {
     notNullOrEmpty(id, "Id");
+    return insertRequest(id.getBytes(UTF_8), id, content, options);
+  }
+
+  /**
+   * Helper method to generate the insert request with an already encoded id.
+   *
+   * @param id the document id to insert encoded in UTF-8.
+   * @param content the document content to insert.
+   * @param options custom options to customize the insert behavior.
+   * @return the insert request.
+   */
+  InsertRequest insertRequest(final byte[] id, final Object content, final InsertOptions options) {
+    notNullOrEmpty(id, "Id");
+    return insertRequest(id, null, content, options);
+  }
+
+  /**
+   * Creates the insert request from the encoded id, shared by the variants with and without an encoded id.
+   *
+   * @param key the document id to insert encoded in UTF-8.
+   * @param id the same id if it is known, only used to invalidate the near cache.
+   * @param content the document content to insert.
+   * @param options custom options to change the default behavior.
+   * @return the insert request.
+   */
+  private InsertRequest insertRequest(final byte[] key, final String id, final Object content,
+                                      final InsertOptions options) {
     notNull(content, "Content");
     notNull(options, "InsertOptions");
     InsertOptions.Built opts = options.build();
@@ -627,9 +1076,10 @@ public class AsyncCollection {
     Duration timeout = opts.timeout().orElse(environment.timeoutConfig().kvTimeout());
     RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
 
-    InsertRequest request = new InsertRequest(id, encoded.content(), opts.expiry().getSeconds(),
+    InsertRequest request = new InsertRequest(key, encoded.content(), opts.expiry().getSeconds(),
       encoded.flags(), timeout, coreContext, collectionIdentifier, retryStrategy, opts.durabilityLevel());
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, key, request);
     return request;
   }
 
@@ -664,6 +1114,34 @@ public class AsyncCollection {
     );
   }
 
+  /**
+   * Upserts a full document which might or might not exist yet with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to upsert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to upsert.
+   * @return a {@link CompletableFuture} completing once upserted or failed.
+   */
+  public CompletableFuture<MutationResult> upsert(final byte[] id, final Object content) {
+    return upsert(id, content, DEFAULT_UPSERT_OPTIONS);
+  }
+
+  /**
+   * Upserts a full document which might or might not exist yet with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to upsert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to upsert.
+   * @param options custom options to customize the upsert behavior.
+   * @return a {@link CompletableFuture} completing once upserted or failed.
+   */
+  public CompletableFuture<MutationResult> upsert(final byte[] id, final Object content,
+                                                  final UpsertOptions options) {
+    UpsertOptions.Built opts = options.build();
+    return UpsertAccessor.upsert(core, upsertRequest(id, content, options), null, opts.persistTo(),
+      opts.replicateTo());
+  }
+
   /**
    * Helper method to generate the upsert request.
    *
@@ -674,6 +1152,33 @@ public class AsyncCollection {
    */
   UpsertRequest upsertRequest(final String id, final Object content, final UpsertOptions options) {
     notNullOrEmpty(id, "Id");
+    return upsertRequest(id.getBytes(UTF_8), id, content, options);
+  }
+
+  /**
+   * Helper method to generate the upsert request with an already encoded id.
+   *
+   * @param id the document id to upsert encoded in UTF-8.
+   * @param content the document content to upsert.
+   * @param options custom options to customize the upsert behavior.
+   * @return the upsert request.
+   */
+  UpsertRequest upsertRequest(final byte[] id, final Object content, final UpsertOptions options) {
+    notNullOrEmpty(id, "Id");
+    return upsertRequest(id, null, content, options);
+  }
+
+  /**
+   * Creates the upsert request from the encoded id, shared by the variants with and without an encoded id.
+   *
+   * @param key the document id to upsert encoded in UTF-8.
+   * @param id the same id if it is known, only used to invalidate the near cache.
+   * @param content the document content to upsert.
+   * @param options custom options to change the default behavior.
+   * @return the upsert request.
+   */
+  private UpsertRequest upsertRequest(final byte[] key, final String id, final Object content,
+                                      final UpsertOptions options) {
     notNull(content, "Content");
     notNull(options, "UpsertOptions");
     UpsertOptions.Built opts = options.build();
@@ -681,9 +1186,10 @@ public class AsyncCollection {
     EncodedDocument encoded = opts.encoder().encode(content);
     Duration timeout = opts.timeout().orElse(environment.timeoutConfig().kvTimeout());
     RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
-    UpsertRequest request = new UpsertRequest(id, encoded.content(), opts.expiry().getSeconds(),
+    UpsertRequest request = new UpsertRequest(key, encoded.content(), opts.expiry().getSeconds(),
       encoded.flags(), timeout, coreContext, collectionIdentifier, retryStrategy, opts.durabilityLevel());
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, key, request);
     return request;
   }
 
@@ -718,6 +1224,34 @@ public class AsyncCollection {
     );
   }
 
+  /**
+   * Replaces a full document which already exists with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to replace encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to replace.
+   * @return a {@link CompletableFuture} completing once replaced or failed.
+   */
+  public CompletableFuture<MutationResult> replace(final byte[] id, final Object content) {
+    return replace(id, content, DEFAULT_REPLACE_OPTIONS);
+  }
+
+  /**
+   * Replaces a full document which already exists with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to replace encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to replace.
+   * @param options custom options to customize the replace behavior.
+   * @return a {@link CompletableFuture} completing once replaced or failed.
+   */
+  public CompletableFuture<MutationResult> replace(final byte[] id, final Object content,
+                                                  final ReplaceOptions options) {
+    ReplaceOptions.Built opts = options.build();
+    return ReplaceAccessor.replace(core, replaceRequest(id, content, options), null, opts.persistTo(),
+      opts.replicateTo());
+  }
+
   /**
    * Helper method to generate the replace request.
    *
@@ -729,6 +1263,34 @@ public class AsyncCollection {
   ReplaceRequest replaceRequest(final String id, final Object content,
                                 final ReplaceOptions options) {
     notNullOrEmpty(id, "Id");
+    return replaceRequest(id.getBytes(UTF_8), id, content, options);
+  }
+
+  /**
+   * Helper method to generate the replace request with an already encoded id.
+   *
+   * @param id the document id to replace encoded in UTF-8.
+   * @param content the document content to replace.
+   * @param options custom options to customize the replace behavior.
+   * @return the replace request.
+   */
+  ReplaceRequest replaceRequest(final byte[] id, final Object content,
+                                final ReplaceOptions options) {
+    notNullOrEmpty(id, "Id");
+    return replaceRequest(id, null, content, options);
+  }
+
+  /**
+   * Creates the replace request from the encoded id, shared by the variants with and without an encoded id.
+   *
+   * @param key the document id to replace encoded in UTF-8.
+   * @param id the same id if it is known, only used to invalidate the near cache.
+   * @param content the document content to replace.
+   * @param options custom options to change the default behavior.
+   * @return the replace request.
+   */
+  private ReplaceRequest replaceRequest(final byte[] key, final String id, final Object content,
+                                        final ReplaceOptions options) {
     notNull(content, "Content");
     notNull(options, "ReplaceOptions");
     ReplaceOptions.Built opts = options.build();
@@ -737,11 +1299,12 @@ public class AsyncCollection {
     Duration timeout = opts.timeout().orElse(environment.timeoutConfig().kvTimeout());
     RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
 
-    ReplaceRequest request = new ReplaceRequest(id, encoded.content(), opts.expiry().getSeconds(),
+    ReplaceRequest request = new ReplaceRequest(key, encoded.content(), opts.expiry().getSeconds(),
       encoded.flags(), timeout, opts.cas(), coreContext, collectionIdentifier, retryStrategy,
       opts.durabilityLevel()
     );
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, key, request);
     return request;
   }
 
@@ -794,6 +1357,7 @@ public class AsyncCollection {
     TouchRequest request = new TouchRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id,
       expiry.getSeconds(), opts.durabilityLevel());
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -838,6 +1402,7 @@ public class AsyncCollection {
     RetryStrategy retryStrategy = opts.retryStrategy().orElse(environment.retryStrategy());
     UnlockRequest request = new UnlockRequest(timeout, coreContext, collectionIdentifier, retryStrategy, id, cas);
     request.context().clientContext(opts.clientContext());
+    invalidateNearCache(id, request);
     return request;
   }
 
@@ -963,6 +1528,7 @@ public class AsyncCollection {
         opts.durabilityLevel()
       );
       request.context().clientContext(opts.clientContext());
+      invalidateNearCache(id, request);
       return request;
     }
   }
@@ -23,6 +23,7 @@ import com.couchbase.client.java.kv.ExistsOptions;
 import com.couchbase.client.java.kv.ExistsResult;
 import com.couchbase.client.java.kv.GetAndLockOptions;
 import com.couchbase.client.java.kv.GetAndTouchOptions;
+import com.couchbase.client.java.kv.GetAnyReplicaOptions;
 import com.couchbase.client.java.kv.GetFromReplicaOptions;
 import com.couchbase.client.java.kv.GetOptions;
 import com.couchbase.client.java.kv.GetResult;
@@ -34,6 +35,8 @@ import com.couchbase.client.java.kv.MutateInOptions;
 import com.couchbase.client.java.kv.MutateInResult;
 import com.couchbase.client.java.kv.MutateInSpec;
 import com.couchbase.client.java.kv.MutationResult;
+import com.couchbase.client.java.kv.NearCache;
+import com.couchbase.client.java.kv.NearCacheConfig;
 import com.couchbase.client.java.kv.RemoveOptions;
 import com.couchbase.client.java.kv.ReplaceOptions;
 import com.couchbase.client.java.kv.TouchOptions;
@@ -139,6 +142,26 @@ public class Collection {
     return asyncCollection.environment();
   }
 
+  /**
+   * Enables a client side cache for full document gets on this collection.
+   *
+   * @param config the config of the cache.
+   * @return the enabled cache, which provides access to its statistics.
+   * @see AsyncCollection#enableNearCache(NearCacheConfig)
+   */
+  @Stability.Volatile
+  public NearCache enableNearCache(final NearCacheConfig config) {
+    return async().enableNearCache(config);
+  }
+
+  /**
+   * Disables the client side cache for gets on this collection, if enabled.
+   */
+  @Stability.Volatile
+  public void disableNearCache() {
+    async().disableNearCache();
+  }
+
   /**
    * Provides access to the binary APIs, not used for JSON documents.
    *
@@ -169,6 +192,29 @@ public class Collection {
     return block(async().get(id, options));
   }
 
+  /**
+   * Fetches a full Document from a collection with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id encoded in UTF-8, must not be modified afterwards.
+   * @return a {@link GetResult} once the document has been loaded.
+   */
+  public GetResult get(final byte[] id) {
+    return block(async().get(id));
+  }
+
+  /**
+   * Fetches a full Document from a collection with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id encoded in UTF-8, must not be modified afterwards.
+   * @param options custom options to change the default behavior.
+   * @return a {@link GetResult} once the document has been loaded.
+   */
+  public GetResult get(final byte[] id, final GetOptions options) {
+    return block(async().get(id, options));
+  }
+
   /**
    * Fetches a full document and write-locks it for the given duration with default options.
    *
@@ -243,6 +289,32 @@ public class Collection {
     return reactiveCollection.getFromReplica(id, options).toStream();
   }
 
+  /**
+   * Reads from the active node and all replicas at the same time and returns the first document
+   * which is fetched, with default options.
+   *
+   * @param id the document id.
+   * @return the first document fetched.
+   */
+  public GetResult getAnyReplica(final String id) {
+    return block(async().getAnyReplica(id));
+  }
+
+  /**
+   * Reads from the active node and all replicas at the same time and returns the first document
+   * which is fetched, with custom options.
+   *
+   * <p>Note that the document might come from a replica, which might not have the latest version
+   * of it yet.</p>
+   *
+   * @param id the document id.
+   * @param options the custom options.
+   * @return the first document fetched.
+   */
+  public GetResult getAnyReplica(final String id, final GetAnyReplicaOptions options) {
+    return block(async().getAnyReplica(id, options));
+  }
+
   /**
    * Checks if the given document ID exists on the active partition with default options.
    *
@@ -284,6 +356,29 @@ public class Collection {
     return block(async().remove(id, options));
   }
 
+  /**
+   * Removes a Document from a collection with default options, with an id which is already encoded in
+   * UTF-8.
+   *
+   * @param id the id of the document to remove encoded in UTF-8, must not be modified afterwards.
+   * @return a {@link MutationResult} once removed.
+   */
+  public MutationResult remove(final byte[] id) {
+    return block(async().remove(id));
+  }
+
+  /**
+   * Removes a Document from a collection with custom options, with an id which is already encoded in
+   * UTF-8.
+   *
+   * @param id the id of the document to remove encoded in UTF-8, must not be modified afterwards.
+   * @param options custom options to change the default behavior.
+   * @return a {@link MutationResult} once removed.
+   */
+  public MutationResult remove(final byte[] id, final RemoveOptions options) {
+    return block(async().remove(id, options));
+  }
+
   /**
    * Inserts a full document which does not exist yet with default options.
    *
@@ -307,6 +402,31 @@ public class Collection {
     return block(async().insert(id, content, options));
   }
 
+  /**
+   * Inserts a full document which does not exist yet with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to insert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to insert.
+   * @return a {@link MutationResult} once inserted.
+   */
+  public MutationResult insert(final byte[] id, final Object content) {
+    return block(async().insert(id, content));
+  }
+
+  /**
+   * Inserts a full document which does not exist yet with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to insert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to insert.
+   * @param options custom options to customize the insert behavior.
+   * @return a {@link MutationResult} once inserted.
+   */
+  public MutationResult insert(final byte[] id, final Object content, final InsertOptions options) {
+    return block(async().insert(id, content, options));
+  }
+
   /**
    * Upserts a full document which might or might not exist yet with default options.
    *
@@ -330,6 +450,31 @@ public class Collection {
     return block(async().upsert(id, content, options));
   }
 
+  /**
+   * Upserts a full document which might or might not exist yet with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to upsert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to upsert.
+   * @return a {@link MutationResult} once upserted.
+   */
+  public MutationResult upsert(final byte[] id, final Object content) {
+    return block(async().upsert(id, content));
+  }
+
+  /**
+   * Upserts a full document which might or might not exist yet with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to upsert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to upsert.
+   * @param options custom options to customize the upsert behavior.
+   * @return a {@link MutationResult} once upserted.
+   */
+  public MutationResult upsert(final byte[] id, final Object content, final UpsertOptions options) {
+    return block(async().upsert(id, content, options));
+  }
+
   /**
    * Replaces a full document which already exists with default options.
    *
@@ -353,6 +498,31 @@ public class Collection {
     return block(async().replace(id, content, options));
   }
 
+  /**
+   * Replaces a full document which already exists with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to replace encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to replace.
+   * @return a {@link MutationResult} once replaced.
+   */
+  public MutationResult replace(final byte[] id, final Object content) {
+    return block(async().replace(id, content));
+  }
+
+  /**
+   * Replaces a full document which already exists with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to replace encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to replace.
+   * @param options custom options to customize the replace behavior.
+   * @return a {@link MutationResult} once replaced.
+   */
+  public MutationResult replace(final byte[] id, final Object content, final ReplaceOptions options) {
+    return block(async().replace(id, content, options));
+  }
+
   /**
    * Updates the expiry of the document with the given id with default options.
    *
@@ -25,6 +25,10 @@ import java.util.Optional;
 /**
  * Common options that are used by most operations.
  *
+ * <p>Options can be reused across operations, but must not be modified once they have been passed to
+ * one: the client reads them while the operation is in flight (i.e. when a get is hedged), so a change
+ * might apply to an operation which has already been started.</p>
+ *
  * @since 2.0.0
  */
 public abstract class CommonOptions<SELF extends CommonOptions<SELF>> {
@@ -91,6 +95,14 @@ public abstract class CommonOptions<SELF extends CommonOptions<SELF>> {
     return self();
   }
 
+  /**
+   * A read-only view of the options, used by the client to construct requests.
+   *
+   * <p>The view reads straight from the options, so KV options hand out the same instance from every
+   * build and options which are reused across operations do not need to be rebuilt for each of them.
+   * This is only safe since options must not be modified once passed to an operation, and the client
+   * builds them once per operation and passes the view along.</p>
+   */
   public abstract class BuiltCommonOptions {
 
     /**
@@ -21,10 +21,12 @@ import com.couchbase.client.core.CoreContext;
 import com.couchbase.client.core.Reactor;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.cnc.events.request.IndividualReplicaGetFailedEvent;
+import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.msg.kv.GetAndLockRequest;
 import com.couchbase.client.core.msg.kv.GetAndTouchRequest;
 import com.couchbase.client.core.msg.kv.GetRequest;
 import com.couchbase.client.core.msg.kv.InsertRequest;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.msg.kv.ObserveViaCasRequest;
 import com.couchbase.client.core.msg.kv.RemoveRequest;
 import com.couchbase.client.core.msg.kv.ReplaceRequest;
@@ -34,12 +36,17 @@ import com.couchbase.client.core.msg.kv.TouchRequest;
 import com.couchbase.client.core.msg.kv.UnlockRequest;
 import com.couchbase.client.core.msg.kv.UpsertRequest;
 import com.couchbase.client.java.env.ClusterEnvironment;
+import com.couchbase.client.java.kv.BulkDocument;
+import com.couchbase.client.java.kv.BulkWriteAccessor;
+import com.couchbase.client.java.kv.BulkWriteOptions;
 import com.couchbase.client.java.kv.ExistsAccessor;
 import com.couchbase.client.java.kv.ExistsOptions;
 import com.couchbase.client.java.kv.ExistsResult;
 import com.couchbase.client.java.kv.GetAccessor;
+import com.couchbase.client.java.kv.GetAllResult;
 import com.couchbase.client.java.kv.GetAndLockOptions;
 import com.couchbase.client.java.kv.GetAndTouchOptions;
+import com.couchbase.client.java.kv.GetAnyReplicaOptions;
 import com.couchbase.client.java.kv.GetFromReplicaOptions;
 import com.couchbase.client.java.kv.GetOptions;
 import com.couchbase.client.java.kv.GetResult;
@@ -64,17 +71,25 @@ import com.couchbase.client.java.kv.TouchOptions;
 import com.couchbase.client.java.kv.UnlockAccessor;
 import com.couchbase.client.java.kv.UnlockOptions;
 import com.couchbase.client.java.kv.UpsertAccessor;
+import com.couchbase.client.java.kv.UpsertAllResult;
 import com.couchbase.client.java.kv.UpsertOptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+import static com.couchbase.client.core.util.Validators.notNull;
+import static com.couchbase.client.core.util.Validators.notNullOrEmpty;
+import static com.couchbase.client.java.kv.BulkWriteOptions.bulkWriteOptions;
 import static com.couchbase.client.java.kv.ExistsOptions.existsOptions;
 import static com.couchbase.client.java.kv.GetAndLockOptions.getAndLockOptions;
 import static com.couchbase.client.java.kv.GetAndTouchOptions.getAndTouchOptions;
+import static com.couchbase.client.java.kv.GetAnyReplicaOptions.getAnyReplicaOptions;
 import static com.couchbase.client.java.kv.GetFromReplicaOptions.getFromReplicaOptions;
 import static com.couchbase.client.java.kv.GetOptions.getOptions;
 import static com.couchbase.client.java.kv.InsertOptions.insertOptions;
@@ -85,6 +100,7 @@ import static com.couchbase.client.java.kv.ReplaceOptions.replaceOptions;
 import static com.couchbase.client.java.kv.TouchOptions.touchOptions;
 import static com.couchbase.client.java.kv.UnlockOptions.unlockOptions;
 import static com.couchbase.client.java.kv.UpsertOptions.upsertOptions;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * The {@link ReactiveCollection} provides sophisticated asynchronous access to all collection APIs.
@@ -99,9 +115,11 @@ import static com.couchbase.client.java.kv.UpsertOptions.upsertOptions;
  */
 public class ReactiveCollection {
 
+  static final BulkWriteOptions DEFAULT_BULK_WRITE_OPTIONS = bulkWriteOptions();
   static final ExistsOptions DEFAULT_EXISTS_OPTIONS = existsOptions();
   static final GetAndLockOptions DEFAULT_GET_AND_LOCK_OPTIONS = getAndLockOptions();
   static final GetAndTouchOptions DEFAULT_GET_AND_TOUCH_OPTIONS = getAndTouchOptions();
+  static final GetAnyReplicaOptions DEFAULT_GET_ANY_REPLICA_OPTIONS = getAnyReplicaOptions();
   static final GetFromReplicaOptions DEFAULT_GET_FROM_REPLICA_OPTIONS = getFromReplicaOptions();
   static final GetOptions DEFAULT_GET_OPTIONS = getOptions();
   static final InsertOptions DEFAULT_INSERT_OPTIONS = insertOptions();
@@ -215,16 +233,96 @@ public class ReactiveCollection {
   public Mono<GetResult> get(final String id, final GetOptions options) {
     return Mono.defer(() -> {
       GetOptions.Built opts = options.build();
+      if (opts.coalesce() || asyncCollection.nearCached(opts)) {
+        // The request is shared with other callers (or not sent at all), so cancelling must not cancel it.
+        return Mono.fromFuture(asyncCollection.get(id, options));
+      }
       if (opts.projections() == null && !opts.withExpiration()) {
-        GetRequest request = asyncCollection.fullGetRequest(id, options);
+        GetRequest request = asyncCollection.fullGetRequest(id, opts);
+        if (opts.hedgingPolicy() != null) {
+          CompletableFuture<GetResult> response = GetAccessor.hedgedGet(
+            core, id, request, timeout -> asyncCollection.hedgeRequest(id, opts, timeout), opts.hedgingPolicy()
+          );
+          return Reactor.wrap(request, response, true).doOnCancel(() -> response.cancel(false));
+        }
         return Reactor.wrap(request, GetAccessor.get(core, id, request), true);
       } else {
-        SubdocGetRequest request = asyncCollection.subdocGetRequest(id, options);
+        SubdocGetRequest request = asyncCollection.subdocGetRequest(id, opts);
         return Reactor.wrap(request, GetAccessor.subdocGet(core, id, request), true);
       }
     });
   }
 
+  /**
+   * Fetches a full document from a collection with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id encoded in UTF-8, must not be modified afterwards.
+   * @return a {@link Mono} indicating once loaded or failed
+   */
+  public Mono<GetResult> get(final byte[] id) {
+    return get(id, DEFAULT_GET_OPTIONS);
+  }
+
+  /**
+   * Fetches a full document (or a projection of it) from a collection with custom options, with an id
+   * which is already encoded in UTF-8.
+   *
+   * <p>The id is only used as-is for plain full document gets. Gets which project, fetch the expiration,
+   * hedge, coalesce or go through the near cache need the id as a string and decode it first.</p>
+   *
+   * @param id the document id encoded in UTF-8, must not be modified afterwards.
+   * @param options custom options to change the default behavior.
+   * @return a {@link Mono} indicating once loaded or failed
+   */
+  public Mono<GetResult> get(final byte[] id, final GetOptions options) {
+    return Mono.defer(() -> {
+      notNullOrEmpty(id, "Id");
+      notNull(options, "GetOptions");
+      GetOptions.Built opts = options.build();
+      if (!asyncCollection.encodedGet(opts)) {
+        return get(new String(id, UTF_8), options);
+      }
+      GetRequest request = asyncCollection.fullGetRequest(id, opts);
+      return Reactor.wrap(request, GetAccessor.get(core, null, request), true);
+    });
+  }
+
+  /**
+   * Fetches many full documents (or projections of them) from a collection with default options.
+   *
+   * @param ids the document ids which are used to uniquely identify them.
+   * @return a {@link Flux} emitting one result per distinct document id, in the order they complete.
+   */
+  public Flux<GetAllResult> getAll(final Collection<String> ids) {
+    return getAll(ids, DEFAULT_GET_OPTIONS);
+  }
+
+  /**
+   * Fetches many full documents (or projections of them) from a collection with custom options.
+   *
+   * <p>The requests are dispatched together once subscribed, so that all of them which go to the same
+   * node are written with a single flush. A document which cannot be fetched does not fail the flux,
+   * its error is emitted as part of its {@link GetAllResult} instead.</p>
+   *
+   * @param ids the document ids which are used to uniquely identify them.
+   * @param options custom options to change the default behavior, applied to every document.
+   * @return a {@link Flux} emitting one result per distinct document id, in the order they complete.
+   */
+  public Flux<GetAllResult> getAll(final Collection<String> ids, final GetOptions options) {
+    return Flux.defer(() -> {
+      Map<String, KeyValueRequest<? extends Response>> requests = asyncCollection.getAllRequests(ids, options);
+      Map<String, CompletableFuture<GetResult>> results = GetAccessor.getAll(core, requests);
+      return Flux.fromIterable(results.entrySet()).flatMap(
+        entry -> Reactor
+          .wrap(requests.get(entry.getKey()), entry.getValue(), true)
+          .map(result -> GetAllResult.success(entry.getKey(), result))
+          .onErrorResume(error -> Mono.just(GetAllResult.failure(entry.getKey(), error))),
+        Math.max(1, results.size())
+      );
+    });
+  }
+
   /**
    * Fetches a full document and write-locks it for the given duration with default options.
    *
@@ -327,6 +425,37 @@ public class ReactiveCollection {
       });
   }
 
+  /**
+   * Reads from the active node and all replicas at the same time and returns the first document
+   * which is fetched, with default options.
+   *
+   * @param id the document id.
+   * @return a {@link Mono} completing with the first document fetched.
+   */
+  public Mono<GetResult> getAnyReplica(final String id) {
+    return getAnyReplica(id, DEFAULT_GET_ANY_REPLICA_OPTIONS);
+  }
+
+  /**
+   * Reads from the active node and all replicas at the same time and returns the first document
+   * which is fetched, with custom options.
+   *
+   * <p>All other reads are cancelled once the first one succeeds, and the returned {@link Mono} only
+   * fails if all of them failed. Note that the document might come from a replica, which might not
+   * have the latest version of it yet.</p>
+   *
+   * @param id the document id.
+   * @param options the custom options.
+   * @return a {@link Mono} completing with the first document fetched.
+   */
+  public Mono<GetResult> getAnyReplica(final String id, final GetAnyReplicaOptions options) {
+    return Mono.defer(() -> {
+      List<GetRequest> requests = asyncCollection.getAnyReplicaRequests(id, options);
+      CompletableFuture<GetResult> response = GetAccessor.getAnyReplica(core, id, requests);
+      return Reactor.wrap(requests.get(0), response, true).doOnCancel(() -> response.cancel(false));
+    });
+  }
+
   /**
    * Checks if the given document ID exists on the active partition with default options.
    *
@@ -381,6 +510,37 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Removes a Document from a collection with default options, with an id which is already encoded in
+   * UTF-8.
+   *
+   * @param id the id of the document to remove encoded in UTF-8, must not be modified afterwards.
+   * @return a {@link Mono} completing once removed or failed.
+   */
+  public Mono<MutationResult> remove(final byte[] id) {
+    return remove(id, DEFAULT_REMOVE_OPTIONS);
+  }
+
+  /**
+   * Removes a Document from a collection with custom options, with an id which is already encoded in
+   * UTF-8.
+   *
+   * @param id the id of the document to remove encoded in UTF-8, must not be modified afterwards.
+   * @param options custom options to change the default behavior.
+   * @return a {@link Mono} completing once removed or failed.
+   */
+  public Mono<MutationResult> remove(final byte[] id, final RemoveOptions options) {
+    return Mono.defer(() -> {
+      RemoveOptions.Built opts = options.build();
+      RemoveRequest request = asyncCollection.removeRequest(id, options);
+      return Reactor.wrap(
+        request,
+        RemoveAccessor.remove(core, request, null, opts.persistTo(), opts.replicateTo()),
+        true
+      );
+    });
+  }
+
   /**
    * Inserts a full document which does not exist yet with default options.
    *
@@ -412,6 +572,39 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Inserts a full document which does not exist yet with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to insert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to insert.
+   * @return a {@link Mono} completing once inserted or failed.
+   */
+  public Mono<MutationResult> insert(final byte[] id, final Object content) {
+    return insert(id, content, DEFAULT_INSERT_OPTIONS);
+  }
+
+  /**
+   * Inserts a full document which does not exist yet with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to insert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to insert.
+   * @param options custom options to customize the insert behavior.
+   * @return a {@link Mono} completing once inserted or failed.
+   */
+  public Mono<MutationResult> insert(final byte[] id, final Object content, final InsertOptions options) {
+    return Mono.defer(() -> {
+      InsertOptions.Built opts = options.build();
+      InsertRequest request = asyncCollection.insertRequest(id, content, options);
+      return Reactor.wrap(
+        request,
+        InsertAccessor.insert(core, request, null, opts.persistTo(), opts.replicateTo()),
+        true
+      );
+    });
+  }
+
   /**
    * Upserts a full document which might or might not exist yet with default options.
    *
@@ -443,6 +636,75 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Upserts a full document which might or might not exist yet with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to upsert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to upsert.
+   * @return a {@link Mono} completing once upserted or failed.
+   */
+  public Mono<MutationResult> upsert(final byte[] id, final Object content) {
+    return upsert(id, content, DEFAULT_UPSERT_OPTIONS);
+  }
+
+  /**
+   * Upserts a full document which might or might not exist yet with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to upsert encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to upsert.
+   * @param options custom options to customize the upsert behavior.
+   * @return a {@link Mono} completing once upserted or failed.
+   */
+  public Mono<MutationResult> upsert(final byte[] id, final Object content, final UpsertOptions options) {
+    return Mono.defer(() -> {
+      UpsertOptions.Built opts = options.build();
+      UpsertRequest request = asyncCollection.upsertRequest(id, content, options);
+      return Reactor.wrap(
+        request,
+        UpsertAccessor.upsert(core, request, null, opts.persistTo(), opts.replicateTo()),
+        true
+      );
+    });
+  }
+
+  /**
+   * Upserts a stream of documents with default options.
+   *
+   * @param documents the documents to upsert.
+   * @return a {@link Flux} emitting one result per document, in the order they complete.
+   */
+  public Flux<UpsertAllResult> upsertAll(final Flux<BulkDocument> documents) {
+    return upsertAll(documents, DEFAULT_BULK_WRITE_OPTIONS);
+  }
+
+  /**
+   * Upserts a stream of documents with custom options.
+   *
+   * <p>Only a bounded number of writes is in flight per node at any time, and documents are requested
+   * from the source as writes complete. The bound shrinks while a node pushes back (i.e. writes need to be
+   * retried because the endpoint is not writable) and grows again once it keeps up. A document which
+   * cannot be upserted does not fail the flux, its error is emitted as part of its {@link UpsertAllResult}
+   * instead.</p>
+   *
+   * @param documents the documents to upsert.
+   * @param options custom options to customize the bulk write behavior.
+   * @return a {@link Flux} emitting one result per document, in the order they complete.
+   */
+  public Flux<UpsertAllResult> upsertAll(final Flux<BulkDocument> documents, final BulkWriteOptions options) {
+    notNull(documents, "Documents");
+    notNull(options, "BulkWriteOptions");
+    BulkWriteOptions.Built opts = options.build();
+    return BulkWriteAccessor.upsertAll(
+      core,
+      bucketName(),
+      documents,
+      opts,
+      document -> asyncCollection.upsertRequest(document.id(), document.content(), opts.upsertOptions())
+    );
+  }
+
   /**
    * Replaces a full document which already exists with default options.
    *
@@ -474,6 +736,39 @@ public class ReactiveCollection {
     });
   }
 
+  /**
+   * Replaces a full document which already exists with default options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to replace encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to replace.
+   * @return a {@link Mono} completing once replaced or failed.
+   */
+  public Mono<MutationResult> replace(final byte[] id, final Object content) {
+    return replace(id, content, DEFAULT_REPLACE_OPTIONS);
+  }
+
+  /**
+   * Replaces a full document which already exists with custom options, with an id which is already
+   * encoded in UTF-8.
+   *
+   * @param id the document id to replace encoded in UTF-8, must not be modified afterwards.
+   * @param content the document content to replace.
+   * @param options custom options to customize the replace behavior.
+   * @return a {@link Mono} completing once replaced or failed.
+   */
+  public Mono<MutationResult> replace(final byte[] id, final Object content, final ReplaceOptions options) {
+    return Mono.defer(() -> {
+      ReplaceOptions.Built opts = options.build();
+      ReplaceRequest request = asyncCollection.replaceRequest(id, content, options);
+      return Reactor.wrap(
+        request,
+        ReplaceAccessor.replace(core, request, null, opts.persistTo(), opts.replicateTo()),
+        true
+      );
+    });
+  }
+
   /**
    * Updates the expiry of the document with the given id with default options.
    *
@@ -38,7 +38,9 @@ public class DefaultDecoder implements Decoder<Object> {
       } else if (target.isAssignableFrom(StringContent.class)) {
         return StringContent.wrap(encoded.content());
       } else {
-        return JacksonTransformers.MAPPER.readValue(encoded.content(), target);
+        return encoded.retained()
+          ? JacksonTransformers.MAPPER.readValue(encoded.contentStream(), target)
+          : JacksonTransformers.MAPPER.readValue(encoded.content(), target);
       }
     } catch (Throwable e) {
       if (e instanceof DecodingFailedException) {
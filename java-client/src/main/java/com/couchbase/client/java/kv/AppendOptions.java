@@ -22,6 +22,8 @@ public class AppendOptions extends CommonDurabilityOptions<AppendOptions> {
 
   private long cas = 0;
 
+  private final Built built = new Built();
+
   public static AppendOptions appendOptions() {
     return new AppendOptions();
   }
@@ -36,7 +38,7 @@ public class AppendOptions extends CommonDurabilityOptions<AppendOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
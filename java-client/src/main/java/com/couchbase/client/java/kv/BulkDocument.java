@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+import static com.couchbase.client.core.util.Validators.notNullOrEmpty;
+
+/**
+ * A document id together with the content to write, used by bulk write operations.
+ *
+ * @since 3.0.0
+ */
+public class BulkDocument {
+
+  private final String id;
+  private final Object content;
+
+  private BulkDocument(final String id, final Object content) {
+    notNullOrEmpty(id, "Id");
+    notNull(content, "Content");
+    this.id = id;
+    this.content = content;
+  }
+
+  /**
+   * Creates a new document to write.
+   *
+   * @param id the document id.
+   * @param content the content of the document, encoded like with a single write.
+   * @return the created document.
+   */
+  public static BulkDocument of(final String id, final Object content) {
+    return new BulkDocument(id, content);
+  }
+
+  /**
+   * Returns the document id.
+   */
+  public String id() {
+    return id;
+  }
+
+  /**
+   * Returns the content of the document.
+   */
+  public Object content() {
+    return content;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkDocument{" +
+      "id='" + id + '\'' +
+      '}';
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.Reactor;
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.config.BucketConfig;
+import com.couchbase.client.core.node.KeyValueLocator;
+import com.couchbase.client.core.node.NodeIdentifier;
+import com.couchbase.client.core.msg.kv.UpsertRequest;
+import com.couchbase.client.core.retry.RetryReason;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Performs bulk writes with a bounded, adaptive number of writes in flight per node.
+ *
+ * @since 3.0.0
+ */
+@Stability.Internal
+public enum BulkWriteAccessor {
+  ;
+
+  /**
+   * Identifies the window used while the node of a document is not known (i.e. no config yet).
+   */
+  private static final NodeIdentifier UNKNOWN_NODE = new NodeIdentifier("", 0);
+
+  /**
+   * Upserts all documents of the flux, limiting the writes in flight per node.
+   *
+   * <p>Documents are requested from the source as writes complete, so a fast source does not build up
+   * a backlog of encoded documents in memory.</p>
+   *
+   * @param core the core reference to dispatch into.
+   * @param bucket the name of the bucket the documents are written to.
+   * @param documents the documents to write.
+   * @param options the bulk write options.
+   * @param requestFactory creates the upsert request for a document.
+   * @return a {@link Flux} emitting one result per document, in the order they complete.
+   */
+  public static Flux<UpsertAllResult> upsertAll(final Core core, final String bucket,
+                                                final Flux<BulkDocument> documents,
+                                                final BulkWriteOptions.Built options,
+                                                final Function<BulkDocument, UpsertRequest> requestFactory) {
+    return Flux.defer(() -> {
+      Map<NodeIdentifier, BulkWriteWindow> windows = new ConcurrentHashMap<>();
+      BulkWriteCounters counters = options.counters().orElseGet(BulkWriteCounters::new);
+      UpsertOptions.Built upsertOptions = options.upsertOptions().build();
+
+      // Leave room for documents waiting on a saturated node, so others can still make progress.
+      BucketConfig config = core.clusterConfig().bucketConfig(bucket);
+      int nodes = config == null ? 1 : Math.max(1, config.nodes().size());
+      int concurrency = options.maxInFlightPerNode() * (nodes + 1);
+
+      return documents.flatMap(document -> {
+        NodeIdentifier node = KeyValueLocator
+          .activeNodeForKey(core.clusterConfig(), bucket, document.id().getBytes(UTF_8))
+          .orElse(UNKNOWN_NODE);
+        BulkWriteWindow window = windows.computeIfAbsent(
+          node,
+          n -> new BulkWriteWindow(options.maxInFlightPerNode())
+        );
+        return write(core, document, window, counters, upsertOptions, requestFactory);
+      }, concurrency);
+    });
+  }
+
+  private static Mono<UpsertAllResult> write(final Core core, final BulkDocument document,
+                                             final BulkWriteWindow window, final BulkWriteCounters counters,
+                                             final UpsertOptions.Built upsertOptions,
+                                             final Function<BulkDocument, UpsertRequest> requestFactory) {
+    AtomicBoolean acquired = new AtomicBoolean();
+    AtomicBoolean congested = new AtomicBoolean();
+    AtomicBoolean started = new AtomicBoolean();
+    AtomicBoolean completed = new AtomicBoolean();
+
+    return window
+      .acquire()
+      .doOnSuccess(v -> acquired.set(true))
+      .then(Mono.defer(() -> {
+        UpsertRequest request = requestFactory.apply(document);
+        counters.started();
+        started.set(true);
+        return Reactor
+          .wrap(
+            request,
+            UpsertAccessor.upsert(core, request, document.id(), upsertOptions.persistTo(), upsertOptions.replicateTo()),
+            true
+          )
+          .map(result -> UpsertAllResult.success(document.id(), result))
+          .onErrorResume(error -> Mono.just(UpsertAllResult.failure(document.id(), error)))
+          .doOnNext(result -> {
+            // Count before the result is emitted, so the counters are accurate once the flux completes.
+            completed.set(true);
+            counters.completed(!result.error().isPresent());
+          })
+          // Only a full write buffer signals congestion, other retries (i.e. not my vbucket) do not.
+          .doFinally(signal -> congested.set(
+            request.context().retryReasons().contains(RetryReason.ENDPOINT_NOT_WRITABLE)
+          ));
+      }))
+      .doFinally(signal -> {
+        if (started.get() && !completed.get()) {
+          counters.completed(false);
+        }
+        if (acquired.get() && window.release(congested.get())) {
+          counters.backedOff();
+        }
+      });
+  }
+
+}
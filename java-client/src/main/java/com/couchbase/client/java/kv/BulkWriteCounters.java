@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the progress of a bulk write, so that the throughput of a load can be observed while it runs.
+ *
+ * <p>An instance can be passed into {@link BulkWriteOptions#counters(BulkWriteCounters)} and read from any
+ * thread at any time. If it is used for more than one bulk write, the counts add up.</p>
+ *
+ * @since 3.0.0
+ */
+public class BulkWriteCounters {
+
+  private final LongAdder succeeded = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder inFlight = new LongAdder();
+  private final LongAdder backoffs = new LongAdder();
+  private final AtomicLong startedAt = new AtomicLong();
+
+  /**
+   * Returns the number of documents written successfully.
+   */
+  public long succeeded() {
+    return succeeded.sum();
+  }
+
+  /**
+   * Returns the number of documents which could not be written.
+   */
+  public long failed() {
+    return failed.sum();
+  }
+
+  /**
+   * Returns the number of writes currently in flight.
+   */
+  public long inFlight() {
+    return inFlight.sum();
+  }
+
+  /**
+   * Returns how often the number of writes in flight to a node has been reduced, because the node (or
+   * the connection to it) could not keep up.
+   */
+  public long backoffs() {
+    return backoffs.sum();
+  }
+
+  /**
+   * Returns the number of completed writes per second since the first write has been started.
+   */
+  public double throughput() {
+    long started = startedAt.get();
+    if (started == 0) {
+      return 0;
+    }
+    long elapsed = Math.max(1, System.nanoTime() - started);
+    return (succeeded() + failed()) / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+  }
+
+  @Stability.Internal
+  void started() {
+    startedAt.compareAndSet(0, System.nanoTime());
+    inFlight.increment();
+  }
+
+  @Stability.Internal
+  void completed(final boolean success) {
+    inFlight.decrement();
+    if (success) {
+      succeeded.increment();
+    } else {
+      failed.increment();
+    }
+  }
+
+  @Stability.Internal
+  void backedOff() {
+    backoffs.increment();
+  }
+
+  @Override
+  public String toString() {
+    return "BulkWriteCounters{" +
+      "succeeded=" + succeeded() +
+      ", failed=" + failed() +
+      ", inFlight=" + inFlight() +
+      ", backoffs=" + backoffs() +
+      ", throughput=" + throughput() +
+      '}';
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import java.util.Optional;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+
+/**
+ * Options for bulk writes like {@link com.couchbase.client.java.ReactiveCollection#upsertAll}.
+ *
+ * @since 3.0.0
+ */
+public class BulkWriteOptions {
+
+  /**
+   * The default maximum number of writes in flight per node.
+   */
+  public static final int DEFAULT_MAX_IN_FLIGHT_PER_NODE = 128;
+
+  private int maxInFlightPerNode = DEFAULT_MAX_IN_FLIGHT_PER_NODE;
+  private UpsertOptions upsertOptions = UpsertOptions.upsertOptions();
+  private BulkWriteCounters counters;
+
+  private final Built built = new Built();
+
+  private BulkWriteOptions() { }
+
+  public static BulkWriteOptions bulkWriteOptions() {
+    return new BulkWriteOptions();
+  }
+
+  /**
+   * Sets the upper bound of writes in flight per node.
+   *
+   * <p>The actual number adapts below this bound: it is halved whenever a write to the node had to be
+   * retried (i.e. because the connection was not writable), and grows back while writes go through on
+   * the first attempt.</p>
+   *
+   * @param maxInFlightPerNode the maximum number of writes in flight per node.
+   * @return this options for chaining purposes.
+   */
+  public BulkWriteOptions maxInFlightPerNode(final int maxInFlightPerNode) {
+    if (maxInFlightPerNode < 1) {
+      throw new IllegalArgumentException("maxInFlightPerNode must be >= 1 but got " + maxInFlightPerNode);
+    }
+    this.maxInFlightPerNode = maxInFlightPerNode;
+    return this;
+  }
+
+  /**
+   * Sets the options applied to every single upsert.
+   *
+   * @param upsertOptions the upsert options.
+   * @return this options for chaining purposes.
+   */
+  public BulkWriteOptions upsertOptions(final UpsertOptions upsertOptions) {
+    notNull(upsertOptions, "UpsertOptions");
+    this.upsertOptions = upsertOptions;
+    return this;
+  }
+
+  /**
+   * Sets the counters which track the progress of the bulk write.
+   *
+   * @param counters the counters to update.
+   * @return this options for chaining purposes.
+   */
+  public BulkWriteOptions counters(final BulkWriteCounters counters) {
+    notNull(counters, "BulkWriteCounters");
+    this.counters = counters;
+    return this;
+  }
+
+  @Stability.Internal
+  public Built build() {
+    return built;
+  }
+
+  public class Built {
+
+    public int maxInFlightPerNode() {
+      return maxInFlightPerNode;
+    }
+
+    public UpsertOptions upsertOptions() {
+      return upsertOptions;
+    }
+
+    public Optional<BulkWriteCounters> counters() {
+      return Optional.ofNullable(counters);
+    }
+
+  }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits the writes in flight to a single node during a bulk write.
+ *
+ * <p>The limit follows an additive increase, multiplicative decrease scheme: a write which had to be
+ * retried (most commonly because the endpoint was not writable) halves the limit, while every write which
+ * went through on the first attempt grows it by one over the course of a full window, up to the
+ * configured maximum. This keeps each node busy without piling up retries on the client side.</p>
+ *
+ * @since 3.0.0
+ */
+class BulkWriteWindow {
+
+  private final int maxLimit;
+  private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+
+  private double limit;
+  private int inFlight;
+
+  BulkWriteWindow(final int maxLimit) {
+    this.maxLimit = maxLimit;
+    this.limit = maxLimit;
+  }
+
+  /**
+   * Returns a mono which completes once a write to the node may be started.
+   *
+   * <p>Every successful acquire must be followed by exactly one {@link #release(boolean)}. An acquire which
+   * is cancelled before its success signal has been delivered hands its slot back on its own.</p>
+   */
+  Mono<Void> acquire() {
+    return Mono.create(sink -> {
+      Waiter waiter = new Waiter(sink);
+      sink.onCancel(() -> cancel(waiter));
+      synchronized (this) {
+        if (waiter.cancelled) {
+          return;
+        } else if (inFlight < (int) limit) {
+          inFlight++;
+          waiter.granted = true;
+        } else {
+          waiters.add(waiter);
+          return;
+        }
+      }
+      sink.success();
+    });
+  }
+
+  /**
+   * Drops a cancelled waiter, or hands its slot back if it has been granted but the sink did not accept the
+   * success anymore.
+   */
+  private void cancel(final Waiter waiter) {
+    synchronized (this) {
+      waiter.cancelled = true;
+      if (!waiter.granted) {
+        waiters.remove(waiter);
+        return;
+      }
+    }
+    release(false);
+  }
+
+  /**
+   * Marks a write to the node as completed, and lets waiting writes go if there is room.
+   *
+   * @param congested true if the write needed to be retried.
+   * @return true if the limit has been reduced.
+   */
+  boolean release(final boolean congested) {
+    boolean reduced = false;
+    List<Waiter> ready = new ArrayList<>();
+    synchronized (this) {
+      inFlight--;
+      if (congested) {
+        double reducedLimit = Math.max(1, limit / 2);
+        reduced = reducedLimit < limit;
+        limit = reducedLimit;
+      } else {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+      }
+      while (inFlight < (int) limit && !waiters.isEmpty()) {
+        Waiter waiter = waiters.poll();
+        inFlight++;
+        waiter.granted = true;
+        ready.add(waiter);
+      }
+    }
+    for (Waiter waiter : ready) {
+      waiter.sink.success();
+    }
+    return reduced;
+  }
+
+  /**
+   * Returns the current limit of writes in flight.
+   */
+  synchronized int limit() {
+    return (int) limit;
+  }
+
+  /**
+   * Returns the number of writes currently in flight.
+   */
+  synchronized int inFlight() {
+    return inFlight;
+  }
+
+  /**
+   * A single acquire, guarded by the lock on the window.
+   */
+  private static final class Waiter {
+
+    private final MonoSink<Void> sink;
+
+    /**
+     * True once a slot has been counted for this acquire.
+     */
+    private boolean granted;
+
+    private boolean cancelled;
+
+    Waiter(final MonoSink<Void> sink) {
+      this.sink = sink;
+    }
+
+  }
+
+}
@@ -26,6 +26,8 @@ public class DecrementOptions extends CommonDurabilityOptions<DecrementOptions>
   private int expiry;
   private long cas;
 
+  private final Built built = new Built();
+
   public static DecrementOptions decrementOptions() {
     return new DecrementOptions();
   }
@@ -63,7 +65,7 @@ public class DecrementOptions extends CommonDurabilityOptions<DecrementOptions>
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Helps accessors which are called with an id which has only been provided in encoded form.
+ */
+enum DocumentIdUtil {
+  ;
+
+  /**
+   * Returns the id if present, otherwise decodes it from the encoded key of the request.
+   *
+   * <p>Operations which are called with an already encoded id pass no id to the accessors, so it is
+   * only decoded if needed (i.e. to report an error).</p>
+   *
+   * @param id the id of the document, might be null.
+   * @param request the request which holds the encoded key.
+   * @return the id of the document.
+   */
+  static String idOf(final String id, final KeyValueRequest<?> request) {
+    return id != null ? id : new String(request.key(), UTF_8);
+  }
+
+}
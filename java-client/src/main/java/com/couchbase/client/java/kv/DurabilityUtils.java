@@ -48,7 +48,7 @@ public enum DurabilityUtils {
           result.mutationToken(),
           result.cas(),
           request.collectionIdentifier(),
-          key,
+          DocumentIdUtil.idOf(key, request),
           remove,
           request.timeout()
         );
@@ -17,7 +17,12 @@
 package com.couchbase.client.java.kv;
 
 import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufInputStream;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBufUtil;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Arrays;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -29,36 +34,88 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * <p>While the surface area is pretty small, we consider this advanced API and therefore it
  * is not marked as committed at this point.</p>
  *
+ * <p>A document can either hold its content as a byte array or, if content retention has been
+ * enabled on the operation, as a reference counted buffer which is shared with the IO layer. In
+ * the latter case decoders should prefer {@link #contentStream()} so the content is not copied,
+ * and the document must be released through {@link #release()} once decoded.</p>
+ *
  * @since 3.0.0
  */
 @Stability.Volatile
 public class EncodedDocument {
 
   private final int flags;
-  private final byte[] content;
+  private final ByteBuf contentBuffer;
+  private volatile byte[] content;
 
   public static EncodedDocument of(int flags, byte[] content) {
-    return new EncodedDocument(flags, content);
+    return new EncodedDocument(flags, content, null);
+  }
+
+  /**
+   * Creates a document which takes ownership of the given retained content buffer.
+   *
+   * @param flags the flags of the document.
+   * @param contentBuffer the retained buffer, released through {@link #release()}.
+   * @return the created document.
+   */
+  @Stability.Internal
+  public static EncodedDocument of(int flags, ByteBuf contentBuffer) {
+    return new EncodedDocument(flags, null, contentBuffer);
   }
 
-  private EncodedDocument(int flags, byte[] content) {
+  private EncodedDocument(int flags, byte[] content, ByteBuf contentBuffer) {
     this.flags = flags;
     this.content = content;
+    this.contentBuffer = contentBuffer;
   }
 
   public int flags() {
     return flags;
   }
 
+  /**
+   * Returns the content as a byte array.
+   *
+   * <p>If the content is retained in a buffer, calling this method copies it out on first access.</p>
+   */
   public byte[] content() {
+    if (content == null && contentBuffer != null) {
+      content = ByteBufUtil.getBytes(contentBuffer);
+    }
     return content;
   }
 
+  /**
+   * Returns true if the content is held in a retained buffer which needs to be released.
+   */
+  public boolean retained() {
+    return contentBuffer != null;
+  }
+
+  /**
+   * Returns the content as an {@link InputStream} without copying it if retained in a buffer.
+   */
+  public InputStream contentStream() {
+    return contentBuffer != null
+      ? new ByteBufInputStream(contentBuffer.duplicate())
+      : new ByteArrayInputStream(content);
+  }
+
+  /**
+   * Releases the retained content buffer if present, no-op otherwise.
+   *
+   * @return true if a buffer has been released as a result of this call.
+   */
+  public boolean release() {
+    return contentBuffer != null && contentBuffer.refCnt() > 0 && contentBuffer.release();
+  }
+
   @Override
   public String toString() {
     return "EncodedDocument{" +
       "flags=" + flags +
-      ", content=" + new String(content, UTF_8) +
+      ", content=" + new String(content(), UTF_8) +
       '}';
   }
 
@@ -70,13 +127,13 @@ public class EncodedDocument {
     EncodedDocument that = (EncodedDocument) o;
 
     if (flags != that.flags) return false;
-    return Arrays.equals(content, that.content);
+    return Arrays.equals(content(), that.content());
   }
 
   @Override
   public int hashCode() {
     int result = flags;
-    result = 31 * result + Arrays.hashCode(content);
+    result = 31 * result + Arrays.hashCode(content());
     return result;
   }
 }
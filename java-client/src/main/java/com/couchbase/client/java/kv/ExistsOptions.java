@@ -21,6 +21,8 @@ import com.couchbase.client.java.CommonOptions;
 
 public class ExistsOptions extends CommonOptions<ExistsOptions> {
 
+  private final Built built = new Built();
+
   public static ExistsOptions existsOptions() {
     return new ExistsOptions();
   }
@@ -30,7 +32,7 @@ public class ExistsOptions extends CommonOptions<ExistsOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonOptions {
@@ -20,13 +20,19 @@ import com.couchbase.client.core.Core;
 import com.couchbase.client.core.annotation.Stability;
 import com.couchbase.client.core.error.*;
 import com.couchbase.client.core.json.Mapper;
+import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.msg.ResponseStatus;
 import com.couchbase.client.core.msg.kv.*;
 import com.couchbase.client.core.deps.com.fasterxml.jackson.databind.node.ObjectNode;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -43,24 +49,144 @@ public enum GetAccessor {
    * Takes a {@link GetRequest} and dispatches, converts and returns the result.
    *
    * @param core the core reference to dispatch into.
-   * @param id the document id to fetch.
+   * @param id the document id to fetch, or null if it is only known in encoded form.
    * @param request the request to dispatch and convert once a response arrives.
    * @return a {@link CompletableFuture} once the document is fetched and decoded.
    */
   public static CompletableFuture<GetResult> get(final Core core, final String id,
                                                  final GetRequest request) {
     core.send(request);
+    return convertGet(id, request);
+  }
+
+  /**
+   * Dispatches gets to the active node and/or replicas and returns the first one which succeeds.
+   *
+   * <p>All other gets are cancelled as soon as one of them succeeds. The result only fails if all of them
+   * failed, with the error of the first request.</p>
+   *
+   * @param core the core reference to dispatch into.
+   * @param id the document id to fetch.
+   * @param requests the requests to dispatch, usually the active one first.
+   * @return a {@link CompletableFuture} completing with the first document fetched.
+   */
+  public static CompletableFuture<GetResult> getAnyReplica(final Core core, final String id,
+                                                           final List<GetRequest> requests) {
+    GetRace race = new GetRace();
+    for (GetRequest request : requests) {
+      race.add(request, convertGet(id, request));
+    }
+    race.seal();
+    requests.forEach(core::send);
+    return race.result();
+  }
+
+  /**
+   * Dispatches a get to the active node and hedges it with a get to a replica if the active node does
+   * not respond within the delay of the {@link HedgingPolicy}.
+   *
+   * <p>The first get which succeeds wins and the other one is cancelled. If the active get fails before
+   * the replica get has been sent, the result fails right away, so i.e. a document which is not found is
+   * not looked up on a replica as well.</p>
+   *
+   * <p>Only successful active gets are recorded with the policy, so that fast failures and cancelled gets
+   * (i.e. the active get losing the race) do not skew the delay. The replica get is given what is left of
+   * the timeout of the active get, so the overall operation does not take longer than a plain get.</p>
+   *
+   * @param core the core reference to dispatch into.
+   * @param id the document id to fetch.
+   * @param request the request to the active node.
+   * @param hedgeRequest creates the request to a replica with the given timeout, returns null if there is
+   *                     none to hedge with.
+   * @param policy the policy which decides when to hedge and records the latency of the active get.
+   * @return a {@link CompletableFuture} completing with the first document fetched.
+   */
+  public static CompletableFuture<GetResult> hedgedGet(final Core core, final String id, final GetRequest request,
+                                                       final Function<Duration, GetRequest> hedgeRequest,
+                                                       final HedgingPolicy policy) {
+    long start = System.nanoTime();
+    request.response().whenComplete((r, t) -> {
+      if (t == null && r.status() == ResponseStatus.SUCCESS && !request.cancelled()) {
+        policy.record(System.nanoTime() - start);
+      }
+    });
+
+    Optional<Duration> delay = policy.delay();
+    if (!delay.isPresent()) {
+      return get(core, id, request);
+    }
+
+    GetRace race = new GetRace();
+    race.add(request, convertGet(id, request));
+    Timeout hedge = core.context().environment().timer().schedule(() -> {
+      Duration remaining = request.timeout().minusNanos(System.nanoTime() - request.createdAt());
+      GetRequest replicaRequest = remaining.isNegative() || remaining.isZero() ? null : hedgeRequest.apply(remaining);
+      if (replicaRequest == null) {
+        race.seal();
+      } else if (race.add(replicaRequest, convertGet(id, replicaRequest))) {
+        race.seal();
+        core.send(replicaRequest);
+      }
+    }, delay.get());
+    request.response().whenComplete((r, t) -> {
+      if (t != null || r.status() != ResponseStatus.SUCCESS) {
+        race.seal();
+      }
+      if (hedge != null) {
+        hedge.cancel();
+      }
+    });
+    if (hedge == null) {
+      race.seal();
+    }
+
+    core.send(request);
+    return race.result();
+  }
+
+  /**
+   * Takes a batch of {@link GetRequest GetRequests} and/or {@link SubdocGetRequest SubdocGetRequests},
+   * dispatches them together and returns the converted result per document id.
+   *
+   * <p>All requests are registered for conversion before any of them is sent, and sent through
+   * {@link Core#sendBatch(java.util.Collection)} so that requests to the same node share a single
+   * write.</p>
+   *
+   * @param core the core reference to dispatch into.
+   * @param requests the requests to dispatch, mapped by the document id they fetch.
+   * @return a {@link CompletableFuture} per document id, in the order of the provided requests.
+   */
+  public static Map<String, CompletableFuture<GetResult>> getAll(final Core core,
+    final Map<String, KeyValueRequest<? extends Response>> requests) {
+    Map<String, CompletableFuture<GetResult>> results = new LinkedHashMap<>(requests.size());
+    for (Map.Entry<String, KeyValueRequest<? extends Response>> entry : requests.entrySet()) {
+      KeyValueRequest<? extends Response> request = entry.getValue();
+      if (request instanceof GetRequest) {
+        results.put(entry.getKey(), convertGet(entry.getKey(), (GetRequest) request));
+      } else if (request instanceof SubdocGetRequest) {
+        results.put(entry.getKey(), convertSubdocGet(entry.getKey(), (SubdocGetRequest) request));
+      } else {
+        throw new IllegalArgumentException("Unsupported request for getAll: " + request);
+      }
+    }
+    core.sendBatch(requests.values());
+    return results;
+  }
+
+  /**
+   * Converts the response of a {@link GetRequest} once it arrives.
+   */
+  private static CompletableFuture<GetResult> convertGet(final String id, final GetRequest request) {
     return request
       .response()
       .thenApply(getResponse -> {
         if (getResponse.status() == ResponseStatus.SUCCESS) {
-          return new GetResult(
-            EncodedDocument.of(getResponse.flags(), getResponse.content()),
-            getResponse.cas(),
-            Optional.empty()
-          );
+          EncodedDocument encoded = getResponse.contentBuffer() != null
+            ? EncodedDocument.of(getResponse.flags(), getResponse.contentBuffer())
+            : EncodedDocument.of(getResponse.flags(), getResponse.content());
+          return new GetResult(encoded, getResponse.cas(), Optional.empty(), request instanceof ReplicaGetRequest);
         }
-        throw DefaultErrorUtil.defaultErrorForStatus(id, getResponse.status());
+        throw DefaultErrorUtil.defaultErrorForStatus(DocumentIdUtil.idOf(id, request), getResponse.status());
       });
   }
 
@@ -106,16 +232,34 @@ public enum GetAccessor {
   public static CompletableFuture<GetResult> subdocGet(final Core core, final String id,
                                                                  final SubdocGetRequest request) {
     core.send(request);
+    return convertSubdocGet(id, request);
+  }
+
+  /**
+   * Converts the response of a {@link SubdocGetRequest} once it arrives.
+   */
+  private static CompletableFuture<GetResult> convertSubdocGet(final String id,
+                                                               final SubdocGetRequest request) {
     return request
       .response()
       .thenApply(response -> {
-        if (response.status() == ResponseStatus.SUCCESS) {
-          return parseSubdocGet(response);
+        try {
+          if (response.status() == ResponseStatus.SUCCESS) {
+            return parseSubdocGet(response);
+          }
+          throw DefaultErrorUtil.defaultErrorForStatus(id, response.status());
+        } finally {
+          response.release();
         }
-        throw DefaultErrorUtil.defaultErrorForStatus(id, response.status());
       });
   }
 
+  /**
+   * Parses the subdoc response into a {@link GetResult}.
+   *
+   * <p>If the full document field is buffer backed, the result takes ownership of a retained slice
+   * of it, so the response itself can always be released by the caller afterwards.</p>
+   */
   private static GetResult parseSubdocGet(final SubdocGetResponse response) {
     if (response.error().isPresent()) {
       throw response.error().get();
@@ -124,19 +268,24 @@ public enum GetAccessor {
     long cas = response.cas();
 
     byte[] exptime = null;
-    byte[] content = null;
+    SubdocField contentField = null;
 
     for (SubdocField value : response.values()) {
       if (EXPIRATION_MACRO.equals(value.path())) {
         exptime = value.value();
       } else if (value.path().isEmpty()) {
-        content = value.value();
+        contentField = value;
       }
     }
 
-    if (content == null) {
+    EncodedDocument encoded;
+    if (contentField != null && contentField.valueBuffer() != null) {
+      encoded = EncodedDocument.of(0, contentField.valueBuffer().retainedSlice());
+    } else if (contentField != null) {
+      encoded = EncodedDocument.of(0, contentField.value());
+    } else {
       try {
-        content = projectRecursive(response);
+        encoded = EncodedDocument.of(0, projectRecursive(response));
       } catch (Exception e) {
         throw new CouchbaseException("Unexpected Exception while decoding Sub-Document get", e);
       }
@@ -146,8 +295,7 @@ public enum GetAccessor {
       ? Optional.empty()
       : Optional.of(Duration.ofSeconds(Long.parseLong(new String(exptime, UTF_8))));
 
-    // TODO: optimize the subdoc holder
-    return new GetResult(EncodedDocument.of(0, content), cas, expiration);
+    return new GetResult(encoded, cas, expiration);
   }
 
   /**
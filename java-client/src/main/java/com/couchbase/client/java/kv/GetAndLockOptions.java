@@ -25,6 +25,8 @@ public class GetAndLockOptions extends CommonOptions<GetAndLockOptions> {
 
   private Duration lockFor;
 
+  private final Built built = new Built();
+
   public static GetAndLockOptions getAndLockOptions() {
     return new GetAndLockOptions();
   }
@@ -39,7 +41,7 @@ public class GetAndLockOptions extends CommonOptions<GetAndLockOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonOptions {
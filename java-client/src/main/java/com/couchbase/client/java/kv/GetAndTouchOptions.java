@@ -21,6 +21,8 @@ import com.couchbase.client.java.CommonOptions;
 
 public class GetAndTouchOptions extends CommonOptions<GetAndTouchOptions> {
 
+  private final Built built = new Built();
+
   public static GetAndTouchOptions getAndTouchOptions() {
     return new GetAndTouchOptions();
   }
@@ -30,7 +32,7 @@ public class GetAndTouchOptions extends CommonOptions<GetAndTouchOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonOptions {
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.java.CommonOptions;
+
+/**
+ * Allows to customize a get from any replica.
+ *
+ * @since 3.0.0
+ */
+public class GetAnyReplicaOptions extends CommonOptions<GetAnyReplicaOptions> {
+
+  private final Built built = new Built();
+
+  /**
+   * Creates a new set of {@link GetAnyReplicaOptions}.
+   *
+   * @return options to customize.
+   */
+  public static GetAnyReplicaOptions getAnyReplicaOptions() {
+    return new GetAnyReplicaOptions();
+  }
+
+  private GetAnyReplicaOptions() {
+  }
+
+  @Stability.Internal
+  public Built build() {
+    return built;
+  }
+
+  public class Built extends BuiltCommonOptions {
+  }
+
+}
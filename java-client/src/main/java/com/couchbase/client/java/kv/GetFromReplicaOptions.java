@@ -22,6 +22,8 @@ import com.couchbase.client.java.CommonOptions;
 public class GetFromReplicaOptions extends CommonOptions<GetFromReplicaOptions> {
   private ReplicaMode replicaMode = ReplicaMode.ALL;
 
+  private final Built built = new Built();
+
   public static GetFromReplicaOptions getFromReplicaOptions() {
     return new GetFromReplicaOptions();
   }
@@ -36,7 +38,7 @@ public class GetFromReplicaOptions extends CommonOptions<GetFromReplicaOptions>
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonOptions {
@@ -41,6 +41,23 @@ public class GetOptions extends CommonOptions<GetOptions> {
    */
   private List<String> projections;
 
+  /**
+   * If the content should be retained in the network buffer instead of being copied.
+   */
+  private boolean retainContent;
+
+  /**
+   * Holds the policy to hedge the get with a replica read, if set.
+   */
+  private HedgingPolicy hedgingPolicy;
+
+  /**
+   * If the get should join an identical one already in flight.
+   */
+  private boolean coalesce;
+
+  private final Built built = new Built();
+
   /**
    * Creates a new set of {@link GetOptions} with a {@link JsonObject} target.
    *
@@ -52,6 +69,7 @@ public class GetOptions extends CommonOptions<GetOptions> {
 
   private GetOptions() {
     withExpiration = false;
+    retainContent = false;
   }
 
   /**
@@ -80,9 +98,60 @@ public class GetOptions extends CommonOptions<GetOptions> {
     return this;
   }
 
+  /**
+   * If set to true, the document content is not copied out of the network buffer but retained and
+   * decoded straight from it.
+   *
+   * <p>This avoids allocating intermediate arrays for large documents, but the returned
+   * {@link GetResult} must be closed (explicitly or through try-with-resources) once its content
+   * has been decoded, otherwise the underlying buffer is leaked.</p>
+   *
+   * @param retainContent true if the content should be retained.
+   * @return the {@link GetOptions} to allow method chaining.
+   */
+  @Stability.Uncommitted
+  public GetOptions retainContent(boolean retainContent) {
+    this.retainContent = retainContent;
+    return this;
+  }
+
+  /**
+   * Hedges the get with a read from a replica if the active node does not respond in time.
+   *
+   * <p>The first read which succeeds wins, so the returned document might come from a replica and be
+   * older than the one on the active node. Only applies to full document fetches, so it is ignored if
+   * a projection or the expiration is requested.</p>
+   *
+   * @param hedgingPolicy the policy which decides when to hedge, shared across gets.
+   * @return the {@link GetOptions} to allow method chaining.
+   */
+  @Stability.Volatile
+  public GetOptions hedge(final HedgingPolicy hedgingPolicy) {
+    this.hedgingPolicy = hedgingPolicy;
+    return this;
+  }
+
+  /**
+   * If set to true, the get joins an identical get on the same collection which is already in flight
+   * instead of sending a request of its own.
+   *
+   * <p>This helps with hot documents which are fetched by many callers at the same time. Gets are
+   * identical if they fetch the same document with the same projections and expiration setting. Note
+   * that content retention disables coalescing, since the retained buffer cannot be shared.</p>
+   *
+   * @param coalesce true if the get should be coalesced.
+   * @return the {@link GetOptions} to allow method chaining.
+   * @see ReadCoalescer
+   */
+  @Stability.Volatile
+  public GetOptions coalesce(boolean coalesce) {
+    this.coalesce = coalesce;
+    return this;
+  }
+
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonOptions {
@@ -95,6 +164,18 @@ public class GetOptions extends CommonOptions<GetOptions> {
       return projections;
     }
 
+    public boolean retainContent() {
+      return retainContent;
+    }
+
+    public HedgingPolicy hedgingPolicy() {
+      return hedgingPolicy;
+    }
+
+    public boolean coalesce() {
+      return coalesce && !retainContent;
+    }
+
   }
 
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.msg.kv.GetRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Races multiple gets for the same document against each other.
+ *
+ * <p>The first get which succeeds completes the race and all others are cancelled. The race only fails
+ * once it is sealed (no more gets will be added) and all gets have failed, in which case the error of the
+ * first get added (usually the one to the active node) is propagated.</p>
+ *
+ * @since 3.0.0
+ */
+class GetRace {
+
+  private final CompletableFuture<GetResult> result = new CompletableFuture<>();
+  private final List<GetRequest> requests = new ArrayList<>();
+
+  private int pending;
+  private boolean sealed;
+  private Throwable firstError;
+
+  GetRace() {
+    result.whenComplete((r, t) -> {
+      List<GetRequest> toCancel;
+      synchronized (this) {
+        sealed = true;
+        toCancel = new ArrayList<>(requests);
+      }
+      for (GetRequest request : toCancel) {
+        if (!request.completed()) {
+          request.cancel(CancellationReason.STOPPED_LISTENING);
+        }
+      }
+    });
+  }
+
+  /**
+   * Adds a get to the race, unless it has been sealed already.
+   *
+   * @param request the request of the get.
+   * @param response the converted response of the get.
+   * @return true if it has been added, false if the race is sealed and the request has not been added.
+   */
+  boolean add(final GetRequest request, final CompletableFuture<GetResult> response) {
+    boolean first;
+    synchronized (this) {
+      if (sealed) {
+        return false;
+      }
+      first = requests.isEmpty();
+      requests.add(request);
+      pending++;
+    }
+
+    response.whenComplete((r, t) -> {
+      if (t == null) {
+        if (!result.complete(r)) {
+          r.close();
+        }
+        return;
+      }
+      Throwable error = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+      Throwable failed = null;
+      synchronized (this) {
+        pending--;
+        if (first || firstError == null) {
+          firstError = error;
+        }
+        if (sealed && pending == 0) {
+          failed = firstError;
+        }
+      }
+      if (failed != null) {
+        result.completeExceptionally(failed);
+      }
+    });
+    return true;
+  }
+
+  /**
+   * Marks that no more gets will be added, failing the race if all gets have failed already.
+   */
+  void seal() {
+    Throwable failed;
+    synchronized (this) {
+      if (sealed) {
+        return;
+      }
+      sealed = true;
+      failed = pending == 0 ? firstError : null;
+    }
+    if (failed != null) {
+      result.completeExceptionally(failed);
+    }
+  }
+
+  /**
+   * Returns the result of the race, cancelling it cancels all gets still in progress.
+   */
+  CompletableFuture<GetResult> result() {
+    return result;
+  }
+
+}
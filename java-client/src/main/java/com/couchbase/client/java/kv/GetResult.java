@@ -27,9 +27,13 @@ import java.util.Optional;
 /**
  * Returned from all kinds of KeyValue Get operation to fetch a document or a subset of it.
  *
+ * <p>If content retention has been enabled on the operation, the result holds on to a network
+ * buffer and must be closed once the content has been decoded. Closing a result without
+ * retained content is a no-op.</p>
+ *
  * @since 3.0.0
  */
-public class GetResult {
+public class GetResult implements AutoCloseable {
 
   /**
    * Holds the fetched document in an encoded form.
@@ -46,6 +50,11 @@ public class GetResult {
    */
   private final Optional<Duration> expiration;
 
+  /**
+   * True if the document has been fetched from a replica instead of the active node.
+   */
+  private final boolean replica;
+
   /**
    * Creates a new {@link GetResult}.
    *
@@ -54,9 +63,53 @@ public class GetResult {
    * @param expiration the expiration if fetched from the doc.
    */
   GetResult(final EncodedDocument encoded, final long cas, final Optional<Duration> expiration) {
+    this(encoded, cas, expiration, false);
+  }
+
+  /**
+   * Creates a new {@link GetResult}.
+   *
+   * @param encoded the loaded document in encoded form.
+   * @param cas the cas from the doc.
+   * @param expiration the expiration if fetched from the doc.
+   * @param replica true if fetched from a replica.
+   */
+  GetResult(final EncodedDocument encoded, final long cas, final Optional<Duration> expiration,
+            final boolean replica) {
     this.cas = cas;
     this.encoded = encoded;
     this.expiration = expiration;
+    this.replica = replica;
+  }
+
+  /**
+   * Returns the document in its encoded form.
+   */
+  EncodedDocument encoded() {
+    return encoded;
+  }
+
+  /**
+   * Creates a copy of this result with its own copy of the content, so it can be handed out to
+   * another caller which might modify the content array.
+   *
+   * <p>Must not be used on results with retained content, since only the original owns the buffer.</p>
+   */
+  GetResult copy() {
+    byte[] content = encoded.content();
+    return new GetResult(
+      EncodedDocument.of(encoded.flags(), content == null ? null : content.clone()),
+      cas,
+      expiration,
+      replica
+    );
+  }
+
+  /**
+   * Returns true if the document has been fetched from a replica, so it might be outdated.
+   */
+  boolean replica() {
+    return replica;
   }
 
   /**
@@ -113,6 +166,16 @@ public class GetResult {
     return decoder.decode(target, encoded);
   }
 
+  /**
+   * Releases the retained content of this result, if any.
+   *
+   * <p>Once closed, the content of a result with retained content cannot be decoded anymore.</p>
+   */
+  @Override
+  public void close() {
+    encoded.release();
+  }
+
   @Override
   public String toString() {
     return "GetResult{" +
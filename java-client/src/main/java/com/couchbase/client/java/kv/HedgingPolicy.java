@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides when a get should be hedged by an additional read from a replica.
+ *
+ * <p>The policy records the latency of the active reads it has been used with, and hedges a read once it
+ * takes longer than the configured percentile of the recent latencies. Hedging at i.e. the 99th percentile
+ * only sends about one percent more reads, while cutting off the tail caused by a single stalled node.</p>
+ *
+ * <p>A policy is meant to be created once and shared across all gets it should apply to, since it needs
+ * enough samples before it starts to hedge. Note that a replica might return an older version of the
+ * document than the active node.</p>
+ *
+ * @since 3.0.0
+ */
+@Stability.Volatile
+public class HedgingPolicy {
+
+  /**
+   * The number of latencies the percentile is computed from (must be a power of two).
+   */
+  private static final int SAMPLE_SIZE = 1024;
+
+  /**
+   * After how many recorded latencies the threshold is computed again.
+   */
+  private static final int RECOMPUTE_INTERVAL = 64;
+
+  /**
+   * The default lower bound for the hedge delay.
+   */
+  public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(1);
+
+  private final double percentile;
+  private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_SIZE);
+  private final AtomicLong recorded = new AtomicLong();
+
+  private volatile long minDelayNanos = DEFAULT_MIN_DELAY.toNanos();
+
+  /**
+   * The current threshold in nanoseconds, or 0 if not enough samples have been recorded yet.
+   */
+  private volatile long thresholdNanos;
+
+  private HedgingPolicy(final double percentile) {
+    if (percentile <= 0 || percentile >= 100) {
+      throw new IllegalArgumentException("The percentile must be between 0 and 100 (exclusive)");
+    }
+    this.percentile = percentile;
+  }
+
+  /**
+   * Creates a policy which hedges reads that take longer than the given percentile of recent reads.
+   *
+   * @param percentile the percentile, i.e. 99.0 for the 99th percentile.
+   * @return the created policy.
+   */
+  public static HedgingPolicy percentile(final double percentile) {
+    return new HedgingPolicy(percentile);
+  }
+
+  /**
+   * Sets the minimum time to wait for the active read before hedging it.
+   *
+   * @param minDelay the minimum delay, defaults to {@link #DEFAULT_MIN_DELAY}.
+   * @return this policy for chaining purposes.
+   */
+  public HedgingPolicy minDelay(final Duration minDelay) {
+    this.minDelayNanos = minDelay.toNanos();
+    return this;
+  }
+
+  /**
+   * Returns the percentile of recent latencies after which a read is hedged.
+   */
+  public double percentile() {
+    return percentile;
+  }
+
+  /**
+   * Returns the delay after which a read should be hedged, or empty if there are not enough samples yet.
+   */
+  @Stability.Internal
+  public Optional<Duration> delay() {
+    long threshold = thresholdNanos;
+    if (threshold == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(Duration.ofNanos(Math.max(threshold, minDelayNanos)));
+  }
+
+  /**
+   * Records the latency of an active read.
+   *
+   * @param latencyNanos the latency in nanoseconds.
+   */
+  @Stability.Internal
+  public void record(final long latencyNanos) {
+    long count = recorded.getAndIncrement();
+    samples.set((int) (count & (SAMPLE_SIZE - 1)), latencyNanos);
+    if ((count + 1) % RECOMPUTE_INTERVAL == 0) {
+      recompute((int) Math.min(count + 1, SAMPLE_SIZE));
+    }
+  }
+
+  private void recompute(final int size) {
+    long[] sorted = new long[size];
+    for (int i = 0; i < size; i++) {
+      sorted[i] = samples.get(i);
+    }
+    Arrays.sort(sorted);
+    int index = (int) Math.ceil(percentile / 100 * size) - 1;
+    thresholdNanos = Math.max(1, sorted[Math.max(0, index)]);
+  }
+
+  @Override
+  public String toString() {
+    return "HedgingPolicy{" +
+      "percentile=" + percentile +
+      ", minDelay=" + Duration.ofNanos(minDelayNanos) +
+      ", threshold=" + delay().map(Duration::toString).orElse("none") +
+      '}';
+  }
+
+}
@@ -27,6 +27,8 @@ public class IncrementOptions extends CommonDurabilityOptions<IncrementOptions>
   private int expiry;
   private long cas;
 
+  private final Built built = new Built();
+
   public static IncrementOptions incrementOptions() {
     return new IncrementOptions();
   }
@@ -64,7 +66,7 @@ public class IncrementOptions extends CommonDurabilityOptions<IncrementOptions>
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
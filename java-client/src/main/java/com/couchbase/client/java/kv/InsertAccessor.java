@@ -42,9 +42,9 @@ public enum InsertAccessor {
           case SUCCESS:
             return new MutationResult(response.cas(), response.mutationToken());
           case EXISTS:
-            throw KeyExistsException.forKey(key);
+            throw KeyExistsException.forKey(DocumentIdUtil.idOf(key, request));
           default:
-            throw DefaultErrorUtil.defaultErrorForStatus(key, response.status());
+            throw DefaultErrorUtil.defaultErrorForStatus(DocumentIdUtil.idOf(key, request), response.status());
         }
       });
     return wrapWithDurability(mutationResult, key, persistTo, replicateTo, core, request, false);
@@ -29,6 +29,8 @@ public class InsertOptions extends CommonDurabilityOptions<InsertOptions> {
   private Duration expiry = Duration.ZERO;
   private Encoder encoder = DefaultEncoder.INSTANCE;
 
+  private final Built built = new Built();
+
   private InsertOptions() { }
 
   public static InsertOptions insertOptions() {
@@ -49,7 +51,7 @@ public class InsertOptions extends CommonDurabilityOptions<InsertOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
@@ -21,6 +21,8 @@ import com.couchbase.client.java.CommonOptions;
 
 public class LookupInOptions extends CommonOptions<LookupInOptions> {
 
+  private final Built built = new Built();
+
   public static LookupInOptions lookupInOptions() {
     return new LookupInOptions();
   }
@@ -30,7 +32,7 @@ public class LookupInOptions extends CommonOptions<LookupInOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonOptions {
@@ -27,6 +27,8 @@ public class MutateInOptions extends CommonDurabilityOptions<MutateInOptions> {
   private boolean insertDocument = false;
   private boolean upsertDocument = false;
 
+  private final Built built = new Built();
+
   public static MutateInOptions mutateInOptions() {
     return new MutateInOptions();
   }
@@ -56,7 +58,7 @@ public class MutateInOptions extends CommonDurabilityOptions<MutateInOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.Timer;
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.cnc.Context;
+import com.couchbase.client.core.cnc.EventBus;
+import com.couchbase.client.core.cnc.events.request.NearCacheStatsEvent;
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
+import com.couchbase.client.core.deps.io.netty.util.Timeout;
+import com.couchbase.client.core.error.KeyNotFoundException;
+import com.couchbase.client.core.msg.Request;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A client side cache for documents of a single collection, which serves full document gets without
+ * going to the server.
+ *
+ * <p>The cache is bounded by the number of documents and the size of their content, and evicts the least
+ * recently used documents first. Every document is only cached for the configured time to live. Mutations
+ * of a document through the same collection remove it from the cache (both when they are sent and when
+ * they complete), but changes made by other clients are only noticed once the document expires, unless
+ * revalidation on access is enabled.</p>
+ *
+ * <p>A fetched document is only stored if no mutation of it has been sent through this collection while
+ * it was in flight, so a slow get cannot put an outdated document back into the cache. Documents fetched
+ * from a replica (i.e. through a hedged get) are never stored, since they might be outdated already.</p>
+ *
+ * <p>The cache keeps its own copy of the content and every hit returns a new copy, so modifying the
+ * content of a returned result does not change what is cached.</p>
+ *
+ * @since 3.0.0
+ */
+@Stability.Volatile
+public class NearCache {
+
+  /**
+   * The number of stripes to track mutations per key (must be a power of two).
+   */
+  private static final int STRIPES = 64;
+
+  private final int maxEntries;
+  private final long maxWeight;
+  private final long ttlNanos;
+  private final boolean revalidateOnAccess;
+  private final boolean offHeap;
+  private final LongSupplier clock;
+
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private long weight;
+  private volatile Timeout reporter;
+  private volatile boolean closed;
+
+  NearCache(final NearCacheConfig.Built config) {
+    this(config, System::nanoTime);
+  }
+
+  NearCache(final NearCacheConfig.Built config, final LongSupplier clock) {
+    this.maxEntries = config.maxEntries();
+    this.maxWeight = config.maxWeight();
+    this.ttlNanos = config.ttl().toNanos();
+    this.revalidateOnAccess = config.revalidateOnAccess();
+    this.offHeap = config.offHeap();
+    this.clock = clock;
+  }
+
+  /**
+   * Creates a new near cache.
+   *
+   * @param config the config of the cache.
+   * @return the created cache.
+   */
+  @Stability.Internal
+  public static NearCache create(final NearCacheConfig config) {
+    return new NearCache(config.build());
+  }
+
+  /**
+   * Returns the cached document if present, otherwise fetches and caches it.
+   *
+   * @param id the id of the document.
+   * @param fetch fetches the full document from the server.
+   * @param revalidate fetches the current CAS of the document from the server.
+   * @return a {@link CompletableFuture} completing with the cached or fetched document.
+   */
+  @Stability.Internal
+  public CompletableFuture<GetResult> get(final String id, final Supplier<CompletableFuture<GetResult>> fetch,
+                                          final Supplier<CompletableFuture<ExistsResult>> revalidate) {
+    Entry entry = lookup(id);
+    if (entry == null) {
+      misses.increment();
+      return fetchAndStore(id, fetch);
+    }
+    if (!revalidateOnAccess) {
+      hits.increment();
+      return CompletableFuture.completedFuture(entry.toResult());
+    }
+
+    CompletableFuture<GetResult> result = new CompletableFuture<>();
+    revalidate.get().whenComplete((exists, error) -> {
+      if (error == null && exists.cas() == entry.cas) {
+        hits.increment();
+        result.complete(entry.toResult());
+        return;
+      }
+
+      invalidate(id);
+      misses.increment();
+      Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      if (cause instanceof KeyNotFoundException) {
+        // The document is gone, so fetching it would only fail the same way.
+        result.completeExceptionally(cause);
+        return;
+      }
+      fetchAndStore(id, fetch).whenComplete((fetched, fetchError) -> {
+        if (fetchError == null) {
+          result.complete(fetched);
+        } else {
+          result.completeExceptionally(fetchError);
+        }
+      });
+    });
+    return result;
+  }
+
+  private CompletableFuture<GetResult> fetchAndStore(final String id,
+                                                     final Supplier<CompletableFuture<GetResult>> fetch) {
+    long stamp = stamps.get(stripe(id));
+    return fetch.get().thenApply(result -> {
+      put(id, result, stamp);
+      return result;
+    });
+  }
+
+  /**
+   * Returns the entry for the document with its own copy of the content on the heap, if present and not
+   * expired.
+   */
+  private synchronized Entry lookup(final String id) {
+    Entry entry = entries.get(id);
+    if (entry != null && clock.getAsLong() - entry.storedAt >= ttlNanos) {
+      remove(id);
+      evictions.increment();
+      return null;
+    }
+    return entry == null ? null : entry.onHeap();
+  }
+
+  /**
+   * Stores a fetched document, unless it has been mutated since the fetch started.
+   */
+  synchronized void put(final String id, final GetResult result, final long stamp) {
+    if (closed || result.replica() || stamps.get(stripe(id)) != stamp) {
+      return;
+    }
+    EncodedDocument encoded = result.encoded();
+    byte[] content = encoded.content();
+    if (content.length > maxWeight) {
+      return;
+    }
+
+    Entry entry = offHeap
+      ? new Entry(null, Unpooled.directBuffer(content.length).writeBytes(content), encoded.flags(), result.cas(),
+      clock.getAsLong())
+      : new Entry(content.clone(), null, encoded.flags(), result.cas(), clock.getAsLong());
+    remove(id);
+    entries.put(id, entry);
+    weight += entry.weight();
+
+    Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+    while ((weight > maxWeight || entries.size() > maxEntries) && eldest.hasNext()) {
+      Entry evicted = eldest.next().getValue();
+      eldest.remove();
+      weight -= evicted.weight();
+      evicted.release();
+      evictions.increment();
+    }
+  }
+
+  /**
+   * Removes the document from the cache, and prevents fetches in flight from storing it.
+   *
+   * @param id the id of the document.
+   */
+  @Stability.Internal
+  public synchronized void invalidate(final String id) {
+    stamps.incrementAndGet(stripe(id));
+    remove(id);
+  }
+
+  /**
+   * Removes the document from the cache once the mutation has been sent and again once it completes.
+   *
+   * @param id the id of the document.
+   * @param request the request which mutates the document.
+   */
+  @Stability.Internal
+  public void invalidateOnMutation(final String id, final Request<?> request) {
+    invalidate(id);
+    request.response().whenComplete((r, t) -> invalidate(id));
+  }
+
+  /**
+   * Removes all documents from the cache.
+   */
+  public synchronized void invalidateAll() {
+    for (int i = 0; i < STRIPES; i++) {
+      stamps.incrementAndGet(i);
+    }
+    for (Entry entry : entries.values()) {
+      entry.release();
+    }
+    entries.clear();
+    weight = 0;
+  }
+
+  private void remove(final String id) {
+    Entry removed = entries.remove(id);
+    if (removed != null) {
+      weight -= removed.weight();
+      removed.release();
+    }
+  }
+
+  private static int stripe(final String id) {
+    return id.hashCode() & (STRIPES - 1);
+  }
+
+  /**
+   * Publishes the statistics on the event bus at the given interval, as long as there is activity.
+   *
+   * @param timer the timer to schedule the reports on.
+   * @param eventBus the event bus to publish to.
+   * @param context the context of the collection.
+   * @param collection the name of the collection.
+   * @param interval the interval between two reports.
+   */
+  @Stability.Internal
+  public void startReporting(final Timer timer, final EventBus eventBus, final Context context,
+                             final String collection, final Duration interval) {
+    scheduleReport(timer, eventBus, context, collection, interval, 0, 0, 0);
+  }
+
+  private void scheduleReport(final Timer timer, final EventBus eventBus, final Context context,
+                              final String collection, final Duration interval, final long lastHits,
+                              final long lastMisses, final long lastEvictions) {
+    if (closed) {
+      return;
+    }
+    reporter = timer.schedule(() -> {
+      long currentHits = hits();
+      long currentMisses = misses();
+      long currentEvictions = evictions();
+      if (currentHits != lastHits || currentMisses != lastMisses || currentEvictions != lastEvictions) {
+        eventBus.publish(new NearCacheStatsEvent(interval, context, collection, currentHits - lastHits,
+          currentMisses - lastMisses, currentEvictions - lastEvictions, size(), weight()));
+      }
+      scheduleReport(timer, eventBus, context, collection, interval, currentHits, currentMisses,
+        currentEvictions);
+    }, interval);
+  }
+
+  /**
+   * Stops reporting and removes all documents, after which nothing is cached anymore.
+   */
+  @Stability.Internal
+  public void close() {
+    closed = true;
+    Timeout reporter = this.reporter;
+    if (reporter != null) {
+      reporter.cancel();
+    }
+    invalidateAll();
+  }
+
+  /**
+   * Returns the number of gets which have been served from the cache.
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of gets which had to fetch the document from the server.
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of documents which have been removed because of the bounds or their expiry.
+   */
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * Returns the number of cached documents.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the size of the content of all cached documents, in bytes.
+   */
+  public synchronized long weight() {
+    return weight;
+  }
+
+  @Override
+  public String toString() {
+    return "NearCache{" +
+      "hits=" + hits() +
+      ", misses=" + misses() +
+      ", evictions=" + evictions() +
+      ", size=" + size() +
+      ", weight=" + weight() +
+      '}';
+  }
+
+  /**
+   * A cached document, with its content either on or off heap.
+   */
+  private static class Entry {
+
+    private final byte[] content;
+    private final ByteBuf buffer;
+    private final int flags;
+    private final long cas;
+    private final long storedAt;
+
+    Entry(final byte[] content, final ByteBuf buffer, final int flags, final long cas, final long storedAt) {
+      this.content = content;
+      this.buffer = buffer;
+      this.flags = flags;
+      this.cas = cas;
+      this.storedAt = storedAt;
+    }
+
+    long weight() {
+      return content != null ? content.length : buffer.readableBytes();
+    }
+
+    /**
+     * Returns an entry which holds a copy of the content on the heap, so the result of a hit cannot
+     * modify the cached content.
+     *
+     * <p>Must be called while holding the lock of the cache, so the buffer cannot be released
+     * concurrently.</p>
+     */
+    Entry onHeap() {
+      byte[] copy;
+      if (content != null) {
+        copy = content.clone();
+      } else {
+        copy = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), copy);
+      }
+      return new Entry(copy, null, flags, cas, storedAt);
+    }
+
+    /**
+     * Creates a result for a hit on an entry returned by {@link #onHeap()}.
+     */
+    GetResult toResult() {
+      return new GetResult(EncodedDocument.of(flags, content), cas, Optional.empty());
+    }
+
+    void release() {
+      if (buffer != null) {
+        buffer.release();
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+
+import java.time.Duration;
+
+import static com.couchbase.client.core.util.Validators.notNull;
+
+/**
+ * Configures the {@link NearCache} of a collection.
+ *
+ * @since 3.0.0
+ */
+@Stability.Volatile
+public class NearCacheConfig {
+
+  /**
+   * The default maximum number of documents in the cache.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+  /**
+   * The default maximum size of all cached document contents, in bytes.
+   */
+  public static final long DEFAULT_MAX_WEIGHT = 64 * 1024 * 1024;
+
+  /**
+   * The default time a document is cached for.
+   */
+  public static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+
+  /**
+   * The default interval at which the statistics are published on the event bus.
+   */
+  public static final Duration DEFAULT_EMIT_INTERVAL = Duration.ofMinutes(1);
+
+  private int maxEntries = DEFAULT_MAX_ENTRIES;
+  private long maxWeight = DEFAULT_MAX_WEIGHT;
+  private Duration ttl = DEFAULT_TTL;
+  private Duration emitInterval = DEFAULT_EMIT_INTERVAL;
+  private boolean revalidateOnAccess = false;
+  private boolean offHeap = false;
+
+  private NearCacheConfig() { }
+
+  public static NearCacheConfig nearCacheConfig() {
+    return new NearCacheConfig();
+  }
+
+  /**
+   * Sets the maximum number of documents in the cache, the least recently used ones are evicted first.
+   *
+   * @param maxEntries the maximum number of documents.
+   * @return this config for chaining purposes.
+   */
+  public NearCacheConfig maxEntries(final int maxEntries) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be >= 1 but got " + maxEntries);
+    }
+    this.maxEntries = maxEntries;
+    return this;
+  }
+
+  /**
+   * Sets the maximum size of all cached document contents in bytes, the least recently used ones are
+   * evicted first.
+   *
+   * @param maxWeight the maximum size in bytes.
+   * @return this config for chaining purposes.
+   */
+  public NearCacheConfig maxWeight(final long maxWeight) {
+    if (maxWeight < 1) {
+      throw new IllegalArgumentException("maxWeight must be >= 1 but got " + maxWeight);
+    }
+    this.maxWeight = maxWeight;
+    return this;
+  }
+
+  /**
+   * Sets how long a document is cached for after it has been fetched.
+   *
+   * @param ttl the time to live of every cached document.
+   * @return this config for chaining purposes.
+   */
+  public NearCacheConfig ttl(final Duration ttl) {
+    notNull(ttl, "TTL");
+    this.ttl = ttl;
+    return this;
+  }
+
+  /**
+   * Sets the interval at which the statistics of the cache are published on the event bus.
+   *
+   * @param emitInterval the interval.
+   * @return this config for chaining purposes.
+   */
+  public NearCacheConfig emitInterval(final Duration emitInterval) {
+    notNull(emitInterval, "EmitInterval");
+    this.emitInterval = emitInterval;
+    return this;
+  }
+
+  /**
+   * If enabled, every cache hit is checked against the CAS on the server before it is returned.
+   *
+   * <p>The check only transfers the CAS instead of the whole document, which makes it a lot cheaper than
+   * a get for larger documents, and it catches changes made by other clients.</p>
+   *
+   * @param revalidateOnAccess true if cached documents should be revalidated.
+   * @return this config for chaining purposes.
+   */
+  public NearCacheConfig revalidateOnAccess(final boolean revalidateOnAccess) {
+    this.revalidateOnAccess = revalidateOnAccess;
+    return this;
+  }
+
+  /**
+   * If enabled, the document contents are stored in direct memory outside of the heap.
+   *
+   * <p>This keeps large caches from adding to garbage collection pauses, at the cost of copying the
+   * content onto the heap on every hit.</p>
+   *
+   * @param offHeap true if the contents should be stored off heap.
+   * @return this config for chaining purposes.
+   */
+  public NearCacheConfig offHeap(final boolean offHeap) {
+    this.offHeap = offHeap;
+    return this;
+  }
+
+  @Stability.Internal
+  public Built build() {
+    return new Built();
+  }
+
+  public class Built {
+
+    public int maxEntries() {
+      return maxEntries;
+    }
+
+    public long maxWeight() {
+      return maxWeight;
+    }
+
+    public Duration ttl() {
+      return ttl;
+    }
+
+    public Duration emitInterval() {
+      return emitInterval;
+    }
+
+    public boolean revalidateOnAccess() {
+      return revalidateOnAccess;
+    }
+
+    public boolean offHeap() {
+      return offHeap;
+    }
+
+  }
+
+}
@@ -20,6 +20,8 @@ import com.couchbase.client.core.annotation.Stability;
 
 public class PrependOptions extends CommonDurabilityOptions<PrependOptions> {
 
+  private final Built built = new Built();
+
   public static PrependOptions prependOptions() {
     return new PrependOptions();
   }
@@ -36,7 +38,7 @@ public class PrependOptions extends CommonDurabilityOptions<PrependOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
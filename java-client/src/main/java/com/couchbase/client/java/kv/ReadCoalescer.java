@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.annotation.Stability;
+import com.couchbase.client.core.retry.RetryStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical gets on a collection which are in flight at the same time into a single request.
+ *
+ * <p>A get which asks for the same document (and the same projections or expiration) with the same
+ * timeout, retry strategy and hedging policy as a get which is still in flight joins it instead of
+ * sending a request of its own. Every caller completes with its own copy of the result, so modifying
+ * the content array of one does not affect the others. Once the response arrived, the next get sends a
+ * new request again, so coalescing never returns anything older than a response that was in flight when
+ * the get has been issued.</p>
+ *
+ * @since 3.0.0
+ */
+@Stability.Volatile
+public class ReadCoalescer {
+
+  private final ConcurrentMap<Key, CompletableFuture<GetResult>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder issued = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * Returns the result of a get which is already in flight for the same document, or dispatches it.
+   *
+   * @param id the document id to fetch.
+   * @param options the built options of the get.
+   * @param dispatch dispatches the get if none is in flight.
+   * @return a {@link CompletableFuture} completing once the document is fetched, individual per caller.
+   */
+  @Stability.Internal
+  public CompletableFuture<GetResult> get(final String id, final GetOptions.Built options,
+                                          final Supplier<CompletableFuture<GetResult>> dispatch) {
+    Key key = new Key(id, options);
+    CompletableFuture<GetResult> pending = inFlight.get(key);
+    if (pending == null) {
+      CompletableFuture<GetResult> created = new CompletableFuture<>();
+      pending = inFlight.putIfAbsent(key, created);
+      if (pending == null) {
+        issued.increment();
+        dispatch(key, created, dispatch);
+        return copy(created);
+      }
+    }
+    coalesced.increment();
+    return copy(pending);
+  }
+
+  private void dispatch(final Key key, final CompletableFuture<GetResult> shared,
+                        final Supplier<CompletableFuture<GetResult>> dispatch) {
+    CompletableFuture<GetResult> response;
+    try {
+      response = dispatch.get();
+    } catch (RuntimeException ex) {
+      inFlight.remove(key, shared);
+      shared.completeExceptionally(ex);
+      throw ex;
+    }
+
+    response.whenComplete((result, error) -> {
+      // Remove first, so that gets issued from now on do not join a response which already arrived.
+      inFlight.remove(key, shared);
+      if (error == null) {
+        shared.complete(result);
+      } else {
+        shared.completeExceptionally(
+          error instanceof CompletionException && error.getCause() != null ? error.getCause() : error
+        );
+      }
+    });
+  }
+
+  /**
+   * Creates a future for a single caller, so that i.e. cancelling it or modifying the content of its
+   * result does not affect the others.
+   */
+  private static CompletableFuture<GetResult> copy(final CompletableFuture<GetResult> shared) {
+    CompletableFuture<GetResult> copy = new CompletableFuture<>();
+    shared.whenComplete((result, error) -> {
+      if (error == null) {
+        copy.complete(result.copy());
+      } else {
+        copy.completeExceptionally(error);
+      }
+    });
+    return copy;
+  }
+
+  /**
+   * Returns the number of gets which have been sent as a request.
+   */
+  public long issued() {
+    return issued.sum();
+  }
+
+  /**
+   * Returns the number of gets which joined a request already in flight instead of sending their own.
+   */
+  public long coalesced() {
+    return coalesced.sum();
+  }
+
+  /**
+   * Returns the number of distinct gets currently in flight.
+   */
+  public int inFlight() {
+    return inFlight.size();
+  }
+
+  @Override
+  public String toString() {
+    return "ReadCoalescer{" +
+      "issued=" + issued() +
+      ", coalesced=" + coalesced() +
+      ", inFlight=" + inFlight() +
+      '}';
+  }
+
+  /**
+   * Identifies gets which fetch the same thing and are dispatched the same way.
+   */
+  private static class Key {
+
+    private final String id;
+    private final List<String> projections;
+    private final boolean withExpiration;
+    private final Optional<Duration> timeout;
+    private final Optional<RetryStrategy> retryStrategy;
+    private final HedgingPolicy hedgingPolicy;
+
+    Key(final String id, final GetOptions.Built options) {
+      this.id = id;
+      this.projections = options.projections() == null ? null : new ArrayList<>(options.projections());
+      this.withExpiration = options.withExpiration();
+      this.timeout = options.timeout();
+      this.retryStrategy = options.retryStrategy();
+      this.hedgingPolicy = options.hedgingPolicy();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return withExpiration == key.withExpiration
+        && id.equals(key.id)
+        && Objects.equals(projections, key.projections)
+        && timeout.equals(key.timeout)
+        && retryStrategy.equals(key.retryStrategy)
+        && hedgingPolicy == key.hedgingPolicy;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(id, projections, withExpiration, timeout);
+    }
+
+  }
+
+}
@@ -22,6 +22,8 @@ public class RemoveOptions extends CommonDurabilityOptions<RemoveOptions> {
 
   private long cas;
 
+  private final Built built = new Built();
+
   private RemoveOptions() { }
 
   public static RemoveOptions removeOptions() {
@@ -36,7 +38,7 @@ public class RemoveOptions extends CommonDurabilityOptions<RemoveOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
@@ -30,6 +30,8 @@ public class ReplaceOptions extends CommonDurabilityOptions<ReplaceOptions> {
   private Encoder encoder = DefaultEncoder.INSTANCE;
   private long cas;
 
+  private final Built built = new Built();
+
   private ReplaceOptions() {
   }
 
@@ -56,7 +58,7 @@ public class ReplaceOptions extends CommonDurabilityOptions<ReplaceOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
@@ -20,6 +20,8 @@ import com.couchbase.client.core.annotation.Stability;
 
 public class TouchOptions extends CommonDurabilityOptions<TouchOptions> {
 
+  private final Built built = new Built();
+
   public static TouchOptions touchOptions() {
     return new TouchOptions();
   }
@@ -29,7 +31,7 @@ public class TouchOptions extends CommonDurabilityOptions<TouchOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
@@ -21,6 +21,8 @@ import com.couchbase.client.java.CommonOptions;
 
 public class UnlockOptions extends CommonOptions<UnlockOptions> {
 
+  private final Built built = new Built();
+
   public static UnlockOptions unlockOptions() {
     return new UnlockOptions();
   }
@@ -30,7 +32,7 @@ public class UnlockOptions extends CommonOptions<UnlockOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonOptions {
@@ -43,9 +43,9 @@ public enum UpsertAccessor {
           case SUCCESS:
             return new MutationResult(response.cas(), response.mutationToken());
           case EXISTS:
-            throw CASMismatchException.forKey(key);
+            throw CASMismatchException.forKey(DocumentIdUtil.idOf(key, request));
           default:
-            throw DefaultErrorUtil.defaultErrorForStatus(key, response.status());
+            throw DefaultErrorUtil.defaultErrorForStatus(DocumentIdUtil.idOf(key, request), response.status());
         }
       });
     return wrapWithDurability(mutationResult, key, persistTo, replicateTo, core, request, false);
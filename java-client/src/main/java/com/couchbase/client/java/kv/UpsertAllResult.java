@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.couchbase.client.java.kv;
+
+import java.util.Optional;
+
+/**
+ * The outcome of writing a single document as part of a bulk upsert.
+ *
+ * <p>Each document of a bulk upsert succeeds or fails on its own, so either the result or the error
+ * is present.</p>
+ *
+ * @since 3.0.0
+ */
+public class UpsertAllResult {
+
+  /**
+   * The id of the document.
+   */
+  private final String id;
+
+  /**
+   * The result if the document has been written successfully.
+   */
+  private final MutationResult result;
+
+  /**
+   * The error if the document could not be written.
+   */
+  private final Throwable error;
+
+  private UpsertAllResult(final String id, final MutationResult result, final Throwable error) {
+    this.id = id;
+    this.result = result;
+    this.error = error;
+  }
+
+  /**
+   * Creates a result for a document which has been written successfully.
+   *
+   * @param id the id of the document.
+   * @param result the result of the write.
+   * @return the created result.
+   */
+  public static UpsertAllResult success(final String id, final MutationResult result) {
+    return new UpsertAllResult(id, result, null);
+  }
+
+  /**
+   * Creates a result for a document which could not be written.
+   *
+   * @param id the id of the document.
+   * @param error the reason why it could not be written.
+   * @return the created result.
+   */
+  public static UpsertAllResult failure(final String id, final Throwable error) {
+    return new UpsertAllResult(id, null, error);
+  }
+
+  /**
+   * Returns the id of the document.
+   */
+  public String id() {
+    return id;
+  }
+
+  /**
+   * Returns the result of the write if successful.
+   */
+  public Optional<MutationResult> result() {
+    return Optional.ofNullable(result);
+  }
+
+  /**
+   * Returns the error if the document could not be written (i.e. because it does not exist).
+   */
+  public Optional<Throwable> error() {
+    return Optional.ofNullable(error);
+  }
+
+  @Override
+  public String toString() {
+    return "UpsertAllResult{" +
+      "id='" + id + '\'' +
+      ", result=" + result +
+      ", error=" + error +
+      '}';
+  }
+
+}
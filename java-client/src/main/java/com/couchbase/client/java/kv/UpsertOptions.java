@@ -29,6 +29,8 @@ public class UpsertOptions extends CommonDurabilityOptions<UpsertOptions> {
   private Duration expiry = Duration.ZERO;
   private Encoder encoder = DefaultEncoder.INSTANCE;
 
+  private final Built built = new Built();
+
   private UpsertOptions() { }
 
   public static UpsertOptions upsertOptions() {
@@ -50,7 +52,7 @@ public class UpsertOptions extends CommonDurabilityOptions<UpsertOptions> {
 
   @Stability.Internal
   public Built build() {
-    return new Built();
+    return built;
   }
 
   public class Built extends BuiltCommonDurabilityOptions {
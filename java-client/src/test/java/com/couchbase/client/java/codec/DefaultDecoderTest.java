@@ -16,6 +16,8 @@
 
 package com.couchbase.client.java.codec;
 
+import com.couchbase.client.core.deps.io.netty.buffer.ByteBuf;
+import com.couchbase.client.core.deps.io.netty.buffer.Unpooled;
 import com.couchbase.client.core.error.DecodingFailedException;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
@@ -29,7 +31,9 @@ import java.util.Map;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Verifies the functionality of the {@link DefaultDecoder}.
@@ -87,4 +91,20 @@ class DefaultDecoderTest {
     assertEquals("{\"foo\": true}", new String(result.encoded(), UTF_8));
   }
 
+  @Test
+  @SuppressWarnings({"unchecked"})
+  void decodesJsonObjectFromRetainedBuffer() {
+    ByteBuf buffer = Unpooled.directBuffer().writeBytes("{\"foo\": true}".getBytes(UTF_8));
+    EncodedDocument encoded = EncodedDocument.of(Encoder.JSON_FLAGS, buffer);
+    assertTrue(encoded.retained());
+
+    JsonObject result = (JsonObject) DECODER.decode(JsonObject.class, encoded);
+    assertEquals(JsonObject.create().put("foo", true), result);
+    assertEquals(1, buffer.refCnt());
+
+    assertTrue(encoded.release());
+    assertEquals(0, buffer.refCnt());
+    assertFalse(encoded.release());
+  }
+
 }
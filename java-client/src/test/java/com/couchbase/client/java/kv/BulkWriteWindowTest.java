@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link BulkWriteWindow}.
+ */
+class BulkWriteWindowTest {
+
+  @Test
+  void waitsOnceLimitIsReached() {
+    BulkWriteWindow window = new BulkWriteWindow(2);
+    window.acquire().block();
+    window.acquire().block();
+    assertEquals(2, window.inFlight());
+
+    AtomicBoolean acquired = new AtomicBoolean();
+    window.acquire().subscribe(v -> { }, e -> { }, () -> acquired.set(true));
+    assertFalse(acquired.get());
+
+    window.release(false);
+    assertTrue(acquired.get());
+    assertEquals(2, window.inFlight());
+  }
+
+  @Test
+  void halvesLimitWhenCongested() {
+    BulkWriteWindow window = new BulkWriteWindow(8);
+    window.acquire().block();
+    assertTrue(window.release(true));
+    assertEquals(4, window.limit());
+
+    window.acquire().block();
+    assertTrue(window.release(true));
+    window.acquire().block();
+    assertTrue(window.release(true));
+    assertEquals(1, window.limit());
+
+    window.acquire().block();
+    assertFalse(window.release(true));
+    assertEquals(1, window.limit());
+  }
+
+  @Test
+  void growsLimitBackUpToMaximum() {
+    BulkWriteWindow window = new BulkWriteWindow(4);
+    window.acquire().block();
+    window.release(true);
+    assertEquals(2, window.limit());
+
+    for (int i = 0; i < 100; i++) {
+      window.acquire().block();
+      assertFalse(window.release(false));
+    }
+    assertEquals(4, window.limit());
+    assertEquals(0, window.inFlight());
+  }
+
+  @Test
+  void dropsCancelledWaiters() {
+    BulkWriteWindow window = new BulkWriteWindow(1);
+    window.acquire().block();
+
+    AtomicBoolean acquired = new AtomicBoolean();
+    Disposable waiter = window.acquire().subscribe(v -> { }, e -> { }, () -> acquired.set(true));
+    waiter.dispose();
+
+    window.release(false);
+    assertFalse(acquired.get());
+    assertEquals(0, window.inFlight());
+  }
+
+  /**
+   * A waiter cancelled while it is being granted must either get the slot or hand it back, so no slot is
+   * lost for the rest of the bulk write.
+   */
+  @Test
+  void keepsSlotWhenWaiterIsCancelledWhileGranted() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        BulkWriteWindow window = new BulkWriteWindow(1);
+        window.acquire().block();
+
+        // Like the bulk writer, treat the slot as acquired as soon as the success signal arrives.
+        AtomicBoolean acquired = new AtomicBoolean();
+        Disposable waiter = window.acquire().doOnSuccess(v -> acquired.set(true)).subscribe();
+
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Future<?> release = executor.submit(() -> {
+          barrier.await();
+          return window.release(false);
+        });
+        Future<?> cancel = executor.submit(() -> {
+          barrier.await();
+          waiter.dispose();
+          return null;
+        });
+        release.get();
+        cancel.get();
+
+        if (acquired.get()) {
+          window.release(false);
+        }
+        assertEquals(0, window.inFlight());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
@@ -16,20 +16,49 @@
 
 package com.couchbase.client.java.kv;
 
+import com.couchbase.client.core.Core;
+import com.couchbase.client.core.CoreContext;
+import com.couchbase.client.core.Timer;
+import com.couchbase.client.core.env.CoreEnvironment;
+import com.couchbase.client.core.error.KeyNotFoundException;
+import com.couchbase.client.core.msg.CancellationReason;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
 import com.couchbase.client.core.msg.ResponseStatus;
+import com.couchbase.client.core.msg.kv.GetRequest;
+import com.couchbase.client.core.msg.kv.GetResponse;
+import com.couchbase.client.core.msg.kv.KeyValueRequest;
 import com.couchbase.client.core.msg.kv.SubdocCommandType;
 import com.couchbase.client.core.msg.kv.SubdocField;
 import com.couchbase.client.core.msg.kv.SubDocumentOpResponseStatus;
 import com.couchbase.client.core.msg.kv.SubdocGetResponse;
 import com.couchbase.client.java.json.JsonObject;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static com.couchbase.client.core.io.netty.kv.MemcacheProtocol.mapSubDocumentError;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class GetAccessorTest {
 
@@ -118,6 +147,207 @@ class GetAccessorTest {
     assertEquals(expected, JsonObject.fromJson(result));
   }
 
+  /**
+   * All requests of a bulk get are sent as one batch, and each id completes or fails on its own.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void getAllSendsBatchAndConvertsPerId() throws Exception {
+    Core core = mock(Core.class);
+    GetRequest found = mock(GetRequest.class);
+    when(found.response()).thenReturn(new CompletableFuture<>());
+    GetRequest missing = mock(GetRequest.class);
+    when(missing.response()).thenReturn(new CompletableFuture<>());
+
+    Map<String, KeyValueRequest<? extends Response>> requests = new LinkedHashMap<>();
+    requests.put("found", found);
+    requests.put("missing", missing);
+    Map<String, CompletableFuture<GetResult>> results = GetAccessor.getAll(core, requests);
+
+    ArgumentCaptor<Collection<Request<? extends Response>>> sent = ArgumentCaptor.forClass(Collection.class);
+    verify(core, times(1)).sendBatch(sent.capture());
+    verify(core, never()).send(any());
+    assertEquals(Arrays.asList(found, missing), new ArrayList<>(sent.getValue()));
+    assertEquals(Arrays.asList("found", "missing"), new ArrayList<>(results.keySet()));
+
+    GetResponse success = mock(GetResponse.class);
+    when(success.status()).thenReturn(ResponseStatus.SUCCESS);
+    when(success.content()).thenReturn("{}".getBytes(UTF_8));
+    when(success.cas()).thenReturn(5L);
+    found.response().complete(success);
+    GetResponse notFound = mock(GetResponse.class);
+    when(notFound.status()).thenReturn(ResponseStatus.NOT_FOUND);
+    missing.response().complete(notFound);
+
+    assertEquals(5, results.get("found").get().cas());
+    ExecutionException thrown = assertThrows(ExecutionException.class, () -> results.get("missing").get());
+    assertTrue(thrown.getCause() instanceof KeyNotFoundException);
+  }
+
+  @Test
+  void getAnyReplicaCompletesWithFirstSuccessAndCancelsOthers() throws Exception {
+    Core core = mock(Core.class);
+    GetRequest active = mockGetRequest();
+    GetRequest replica = mockGetRequest();
+
+    CompletableFuture<GetResult> result = GetAccessor.getAnyReplica(core, "id", Arrays.asList(active, replica));
+    verify(core, times(1)).send(active);
+    verify(core, times(1)).send(replica);
+
+    replica.response().complete(successResponse(7L));
+    assertEquals(7, result.get().cas());
+    verify(active, times(1)).cancel(CancellationReason.STOPPED_LISTENING);
+  }
+
+  @Test
+  void getAnyReplicaFailsWithActiveErrorOnceAllFailed() {
+    Core core = mock(Core.class);
+    GetRequest active = mockGetRequest();
+    GetRequest replica = mockGetRequest();
+
+    CompletableFuture<GetResult> result = GetAccessor.getAnyReplica(core, "id", Arrays.asList(active, replica));
+    replica.response().completeExceptionally(new IllegalStateException());
+    assertFalse(result.isDone());
+
+    GetResponse notFound = mock(GetResponse.class);
+    when(notFound.status()).thenReturn(ResponseStatus.NOT_FOUND);
+    active.response().complete(notFound);
+    ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+    assertTrue(thrown.getCause() instanceof KeyNotFoundException);
+  }
+
+  @Test
+  void hedgedGetSendsReplicaRequestAfterDelay() throws Exception {
+    Timer timer = Timer.createAndStart();
+    try {
+      Core core = mockCoreWithTimer(timer);
+      HedgingPolicy policy = HedgingPolicy.percentile(99.0);
+      for (int i = 0; i < 64; i++) {
+        policy.record(TimeUnit.MILLISECONDS.toNanos(1));
+      }
+      assertEquals(Optional.of(Duration.ofMillis(1)), policy.delay());
+
+      GetRequest active = mockGetRequest();
+      GetRequest replica = mockGetRequest();
+      AtomicReference<Duration> remaining = new AtomicReference<>();
+      CompletableFuture<GetResult> result = GetAccessor.hedgedGet(core, "id", active, t -> {
+        remaining.set(t);
+        return replica;
+      }, policy);
+      verify(core, times(1)).send(active);
+      verify(core, timeout(1000).times(1)).send(replica);
+      assertTrue(remaining.get().compareTo(Duration.ZERO) > 0);
+      assertTrue(remaining.get().compareTo(active.timeout()) < 0);
+
+      replica.response().complete(successResponse(9L));
+      assertEquals(9, result.get().cas());
+      verify(active, times(1)).cancel(CancellationReason.STOPPED_LISTENING);
+    } finally {
+      timer.stop();
+    }
+  }
+
+  @Test
+  void hedgedGetDoesNotHedgeWithoutSamples() throws Exception {
+    Core core = mock(Core.class);
+    GetRequest active = mockGetRequest();
+
+    CompletableFuture<GetResult> result = GetAccessor.hedgedGet(
+      core, "id", active, t -> { throw new AssertionError(); }, HedgingPolicy.percentile(99.0)
+    );
+    active.response().complete(successResponse(3L));
+    assertEquals(3, result.get().cas());
+    verify(core, times(1)).send(any());
+  }
+
+  @Test
+  void hedgedGetFailsRightAwayIfActiveFailsBeforeHedging() {
+    Timer timer = Timer.createAndStart();
+    try {
+      Core core = mockCoreWithTimer(timer);
+      HedgingPolicy policy = HedgingPolicy.percentile(99.0).minDelay(Duration.ofSeconds(10));
+      for (int i = 0; i < 64; i++) {
+        policy.record(TimeUnit.MILLISECONDS.toNanos(1));
+      }
+
+      GetRequest active = mockGetRequest();
+      CompletableFuture<GetResult> result = GetAccessor.hedgedGet(
+        core, "id", active, t -> { throw new AssertionError(); }, policy
+      );
+      GetResponse notFound = mock(GetResponse.class);
+      when(notFound.status()).thenReturn(ResponseStatus.NOT_FOUND);
+      active.response().complete(notFound);
+
+      ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+      assertTrue(thrown.getCause() instanceof KeyNotFoundException);
+    } finally {
+      timer.stop();
+    }
+  }
+
+  @Test
+  void decodesEncodedIdOnlyToReportErrors() {
+    Core core = mock(Core.class);
+    GetRequest request = mockGetRequest();
+    when(request.key()).thenReturn("encoded".getBytes(UTF_8));
+
+    CompletableFuture<GetResult> result = GetAccessor.get(core, null, request);
+    GetResponse notFound = mock(GetResponse.class);
+    when(notFound.status()).thenReturn(ResponseStatus.NOT_FOUND);
+    request.response().complete(notFound);
+
+    ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+    assertEquals("encoded", ((KeyNotFoundException) thrown.getCause()).key());
+  }
+
+  @Test
+  void hedgedGetOnlyRecordsSuccessfulActiveGets() {
+    Core core = mock(Core.class);
+    HedgingPolicy policy = spy(HedgingPolicy.percentile(99.0));
+
+    GetRequest failed = mockGetRequest();
+    GetAccessor.hedgedGet(core, "id", failed, t -> null, policy);
+    failed.response().completeExceptionally(new IllegalStateException());
+
+    GetRequest notFound = mockGetRequest();
+    GetAccessor.hedgedGet(core, "id", notFound, t -> null, policy);
+    GetResponse notFoundResponse = mock(GetResponse.class);
+    when(notFoundResponse.status()).thenReturn(ResponseStatus.NOT_FOUND);
+    notFound.response().complete(notFoundResponse);
+    verify(policy, never()).record(anyLong());
+
+    GetRequest succeeded = mockGetRequest();
+    GetAccessor.hedgedGet(core, "id", succeeded, t -> null, policy);
+    succeeded.response().complete(successResponse(1L));
+    verify(policy, times(1)).record(anyLong());
+  }
+
+  private static GetRequest mockGetRequest() {
+    GetRequest request = mock(GetRequest.class);
+    when(request.response()).thenReturn(new CompletableFuture<>());
+    when(request.timeout()).thenReturn(Duration.ofSeconds(2));
+    when(request.createdAt()).thenReturn(System.nanoTime());
+    return request;
+  }
+
+  private static GetResponse successResponse(final long cas) {
+    GetResponse response = mock(GetResponse.class);
+    when(response.status()).thenReturn(ResponseStatus.SUCCESS);
+    when(response.content()).thenReturn("{}".getBytes(UTF_8));
+    when(response.cas()).thenReturn(cas);
+    return response;
+  }
+
+  private static Core mockCoreWithTimer(final Timer timer) {
+    CoreEnvironment environment = mock(CoreEnvironment.class);
+    when(environment.timer()).thenReturn(timer);
+    CoreContext context = mock(CoreContext.class);
+    when(context.environment()).thenReturn(environment);
+    Core core = mock(Core.class);
+    when(core.context()).thenReturn(context);
+    return core;
+  }
+
   /**
    * Helper method to build the response from a list of paths and values.
    *
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies the functionality of the {@link HedgingPolicy}.
+ */
+class HedgingPolicyTest {
+
+  @Test
+  void hasNoDelayWithoutEnoughSamples() {
+    HedgingPolicy policy = HedgingPolicy.percentile(99.0);
+    for (int i = 0; i < 63; i++) {
+      policy.record(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+    assertFalse(policy.delay().isPresent());
+  }
+
+  @Test
+  void computesDelayFromPercentile() {
+    HedgingPolicy policy = HedgingPolicy.percentile(90.0);
+    for (int i = 1; i <= 1000; i++) {
+      policy.record(TimeUnit.MILLISECONDS.toNanos(i % 100 + 1));
+    }
+    assertEquals(Optional.of(Duration.ofMillis(90)), policy.delay());
+  }
+
+  @Test
+  void appliesMinDelay() {
+    HedgingPolicy policy = HedgingPolicy.percentile(99.0).minDelay(Duration.ofMillis(5));
+    for (int i = 0; i < 64; i++) {
+      policy.record(TimeUnit.MICROSECONDS.toNanos(100));
+    }
+    assertEquals(Optional.of(Duration.ofMillis(5)), policy.delay());
+  }
+
+  @Test
+  void followsRecentLatencies() {
+    HedgingPolicy policy = HedgingPolicy.percentile(50.0);
+    for (int i = 0; i < 1024; i++) {
+      policy.record(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+    for (int i = 0; i < 1024; i++) {
+      policy.record(TimeUnit.MILLISECONDS.toNanos(2));
+    }
+    assertEquals(Optional.of(Duration.ofMillis(2)), policy.delay());
+  }
+
+  @Test
+  void rejectsInvalidPercentile() {
+    assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.percentile(0));
+    assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.percentile(100));
+  }
+
+}
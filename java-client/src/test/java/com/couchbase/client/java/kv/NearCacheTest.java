@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2018 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.error.KeyNotFoundException;
+import com.couchbase.client.core.msg.Request;
+import com.couchbase.client.core.msg.Response;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.couchbase.client.java.kv.NearCacheConfig.nearCacheConfig;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Verifies the functionality of the {@link NearCache}.
+ */
+class NearCacheTest {
+
+  private static final Supplier<CompletableFuture<ExistsResult>> NO_REVALIDATE = () -> {
+    throw new AssertionError("Not expected to revalidate");
+  };
+
+  @Test
+  void servesHitsFromCache() throws Exception {
+    NearCache cache = new NearCache(nearCacheConfig().build());
+    Fetcher fetcher = new Fetcher("foo", 1);
+
+    assertEquals("foo", content(cache.get("id", fetcher, NO_REVALIDATE).get()));
+    assertEquals("foo", content(cache.get("id", fetcher, NO_REVALIDATE).get()));
+    assertEquals(1, fetcher.fetches.get());
+    assertEquals(1, cache.hits());
+    assertEquals(1, cache.misses());
+    assertEquals(1, cache.size());
+    assertEquals(3, cache.weight());
+  }
+
+  @Test
+  void modifyingResultsDoesNotChangeCachedContent() throws Exception {
+    NearCache cache = new NearCache(nearCacheConfig().build());
+    Fetcher fetcher = new Fetcher("foo", 1);
+
+    cache.get("id", fetcher, NO_REVALIDATE).get().encoded().content()[0] = 'x';
+    cache.get("id", fetcher, NO_REVALIDATE).get().encoded().content()[1] = 'x';
+    assertEquals("foo", content(cache.get("id", fetcher, NO_REVALIDATE).get()));
+    assertEquals(1, fetcher.fetches.get());
+  }
+
+  @Test
+  void doesNotStoreReplicaResults() throws Exception {
+    NearCache cache = new NearCache(nearCacheConfig().build());
+    Supplier<CompletableFuture<GetResult>> fetcher = () -> CompletableFuture.completedFuture(
+      new GetResult(EncodedDocument.of(0, "foo".getBytes(UTF_8)), 1, Optional.empty(), true)
+    );
+
+    assertEquals("foo", content(cache.get("id", fetcher, NO_REVALIDATE).get()));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void storesContentOffHeap() throws Exception {
+    NearCache cache = new NearCache(nearCacheConfig().offHeap(true).build());
+    Fetcher fetcher = new Fetcher("foo", 1);
+
+    cache.get("id", fetcher, NO_REVALIDATE).get();
+    assertEquals("foo", content(cache.get("id", fetcher, NO_REVALIDATE).get()));
+    assertEquals(1, cache.hits());
+    cache.close();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void expiresEntriesAfterTtl() throws Exception {
+    AtomicLong clock = new AtomicLong();
+    NearCache cache = new NearCache(nearCacheConfig().ttl(Duration.ofSeconds(1)).build(), clock::get);
+    Fetcher fetcher = new Fetcher("foo", 1);
+
+    cache.get("id", fetcher, NO_REVALIDATE).get();
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    cache.get("id", fetcher, NO_REVALIDATE).get();
+    assertEquals(2, fetcher.fetches.get());
+    assertEquals(1, cache.evictions());
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedByWeight() throws Exception {
+    NearCache cache = new NearCache(nearCacheConfig().maxWeight(6).build());
+
+    cache.get("a", new Fetcher("aaa", 1), NO_REVALIDATE).get();
+    cache.get("b", new Fetcher("bbb", 1), NO_REVALIDATE).get();
+    cache.get("a", new Fetcher("aaa", 1), NO_REVALIDATE).get();
+    cache.get("c", new Fetcher("ccc", 1), NO_REVALIDATE).get();
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.evictions());
+    Fetcher refetch = new Fetcher("bbb", 1);
+    cache.get("b", refetch, NO_REVALIDATE).get();
+    assertEquals(1, refetch.fetches.get());
+  }
+
+  @Test
+  void evictsByNumberOfEntries() throws Exception {
+    NearCache cache = new NearCache(nearCacheConfig().maxEntries(1).build());
+    cache.get("a", new Fetcher("a", 1), NO_REVALIDATE).get();
+    cache.get("b", new Fetcher("b", 1), NO_REVALIDATE).get();
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.evictions());
+  }
+
+  @Test
+  void invalidatesOnMutation() throws Exception {
+    NearCache cache = new NearCache(nearCacheConfig().build());
+    Fetcher fetcher = new Fetcher("foo", 1);
+    cache.get("id", fetcher, NO_REVALIDATE).get();
+
+    CompletableFuture<Response> response = new CompletableFuture<>();
+    Request<?> request = mock(Request.class);
+    doReturn(response).when(request).response();
+    cache.invalidateOnMutation("id", request);
+    assertEquals(0, cache.size());
+
+    // A fetch which overlaps with the mutation must not end up in the cache.
+    cache.get("id", fetcher, NO_REVALIDATE).get();
+    response.complete(mock(Response.class));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void doesNotStoreFetchInFlightDuringInvalidation() throws Exception {
+    NearCache cache = new NearCache(nearCacheConfig().build());
+    CompletableFuture<GetResult> inFlight = new CompletableFuture<>();
+
+    CompletableFuture<GetResult> result = cache.get("id", () -> inFlight, NO_REVALIDATE);
+    cache.invalidate("id");
+    inFlight.complete(result("old", 1));
+
+    assertEquals("old", content(result.get()));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void revalidatesWithCas() throws Exception {
+    NearCache cache = new NearCache(nearCacheConfig().revalidateOnAccess(true).build());
+    cache.get("id", new Fetcher("old", 1), NO_REVALIDATE).get();
+
+    assertEquals("old", content(cache.get("id", new Fetcher("new", 2), () -> exists(1)).get()));
+    assertEquals(1, cache.hits());
+
+    Fetcher fetcher = new Fetcher("new", 2);
+    assertEquals("new", content(cache.get("id", fetcher, () -> exists(2)).get()));
+    assertEquals(1, fetcher.fetches.get());
+    assertEquals(2, cache.misses());
+  }
+
+  @Test
+  void failsRevalidationIfRemoved() {
+    NearCache cache = new NearCache(nearCacheConfig().revalidateOnAccess(true).build());
+    cache.get("id", new Fetcher("old", 1), NO_REVALIDATE).join();
+
+    CompletableFuture<ExistsResult> notFound = new CompletableFuture<>();
+    notFound.completeExceptionally(KeyNotFoundException.forKey("id"));
+    ExecutionException thrown = assertThrows(
+      ExecutionException.class,
+      () -> cache.get("id", new Fetcher("new", 2), () -> notFound).get()
+    );
+    assertTrue(thrown.getCause() instanceof KeyNotFoundException);
+    assertEquals(0, cache.size());
+  }
+
+  private static CompletableFuture<ExistsResult> exists(final long cas) {
+    ExistsResult result = mock(ExistsResult.class);
+    doReturn(cas).when(result).cas();
+    return CompletableFuture.completedFuture(result);
+  }
+
+  private static GetResult result(final String content, final long cas) {
+    return new GetResult(EncodedDocument.of(0, content.getBytes(UTF_8)), cas, Optional.empty());
+  }
+
+  private static String content(final GetResult result) {
+    return new String(result.encoded().content(), UTF_8);
+  }
+
+  private static class Fetcher implements Supplier<CompletableFuture<GetResult>> {
+
+    private final String content;
+    private final long cas;
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    Fetcher(final String content, final long cas) {
+      this.content = content;
+      this.cas = cas;
+    }
+
+    @Override
+    public CompletableFuture<GetResult> get() {
+      fetches.incrementAndGet();
+      return CompletableFuture.completedFuture(result(content, cas));
+    }
+
+  }
+
+}
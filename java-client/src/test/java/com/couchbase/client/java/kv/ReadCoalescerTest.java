@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018 Couchbase, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.couchbase.client.java.kv;
+
+import com.couchbase.client.core.error.KeyNotFoundException;
+import com.couchbase.client.core.retry.FailFastRetryStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.couchbase.client.java.kv.GetOptions.getOptions;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the functionality of the {@link ReadCoalescer}.
+ */
+class ReadCoalescerTest {
+
+  @Test
+  void joinsIdenticalGetInFlight() throws Exception {
+    ReadCoalescer coalescer = new ReadCoalescer();
+    CompletableFuture<GetResult> response = new CompletableFuture<>();
+    AtomicInteger dispatched = new AtomicInteger();
+
+    CompletableFuture<GetResult> first = coalescer.get("id", getOptions().build(), () -> {
+      dispatched.incrementAndGet();
+      return response;
+    });
+    CompletableFuture<GetResult> second = coalescer.get("id", getOptions().build(), () -> {
+      dispatched.incrementAndGet();
+      return new CompletableFuture<>();
+    });
+
+    assertEquals(1, dispatched.get());
+    assertEquals(1, coalescer.issued());
+    assertEquals(1, coalescer.coalesced());
+    assertEquals(1, coalescer.inFlight());
+
+    GetResult result = result();
+    response.complete(result);
+    assertEquals(result, first.get());
+    assertEquals(result, second.get());
+    assertEquals(0, coalescer.inFlight());
+  }
+
+  @Test
+  void givesEveryCallerItsOwnContent() throws Exception {
+    ReadCoalescer coalescer = new ReadCoalescer();
+    CompletableFuture<GetResult> response = new CompletableFuture<>();
+    CompletableFuture<GetResult> first = coalescer.get("id", getOptions().build(), () -> response);
+    CompletableFuture<GetResult> second = coalescer.get("id", getOptions().build(), CompletableFuture::new);
+
+    response.complete(result());
+    first.get().encoded().content()[0] = 'x';
+    assertNotSame(first.get().encoded().content(), second.get().encoded().content());
+    assertArrayEquals("{}".getBytes(UTF_8), second.get().encoded().content());
+  }
+
+  @Test
+  void doesNotJoinDifferentGets() {
+    ReadCoalescer coalescer = new ReadCoalescer();
+    coalescer.get("id", getOptions().build(), CompletableFuture::new);
+    coalescer.get("other", getOptions().build(), CompletableFuture::new);
+    coalescer.get("id", getOptions().project("foo").build(), CompletableFuture::new);
+    coalescer.get("id", getOptions().withExpiration(true).build(), CompletableFuture::new);
+    coalescer.get("id", getOptions().timeout(Duration.ofMillis(1)).build(), CompletableFuture::new);
+    coalescer.get("id", getOptions().retryStrategy(FailFastRetryStrategy.INSTANCE).build(), CompletableFuture::new);
+    coalescer.get("id", getOptions().hedge(HedgingPolicy.percentile(99.0)).build(), CompletableFuture::new);
+
+    assertEquals(7, coalescer.issued());
+    assertEquals(0, coalescer.coalesced());
+  }
+
+  @Test
+  void sendsNewRequestOnceCompleted() {
+    ReadCoalescer coalescer = new ReadCoalescer();
+    CompletableFuture<GetResult> response = new CompletableFuture<>();
+    coalescer.get("id", getOptions().build(), () -> response);
+    response.complete(result());
+
+    coalescer.get("id", getOptions().build(), CompletableFuture::new);
+    assertEquals(2, coalescer.issued());
+    assertEquals(0, coalescer.coalesced());
+  }
+
+  @Test
+  void propagatesErrorToAllCallers() {
+    ReadCoalescer coalescer = new ReadCoalescer();
+    CompletableFuture<GetResult> response = new CompletableFuture<>();
+    CompletableFuture<GetResult> first = coalescer.get("id", getOptions().build(), () -> response);
+    CompletableFuture<GetResult> second = coalescer.get("id", getOptions().build(), CompletableFuture::new);
+
+    response.completeExceptionally(KeyNotFoundException.forKey("id"));
+    assertTrue(assertThrows(ExecutionException.class, first::get).getCause() instanceof KeyNotFoundException);
+    assertTrue(assertThrows(ExecutionException.class, second::get).getCause() instanceof KeyNotFoundException);
+  }
+
+  @Test
+  void cancellingOneCallerDoesNotAffectOthers() throws Exception {
+    ReadCoalescer coalescer = new ReadCoalescer();
+    CompletableFuture<GetResult> response = new CompletableFuture<>();
+    CompletableFuture<GetResult> first = coalescer.get("id", getOptions().build(), () -> response);
+    CompletableFuture<GetResult> second = coalescer.get("id", getOptions().build(), CompletableFuture::new);
+
+    first.cancel(true);
+    assertFalse(response.isDone());
+    GetResult result = result();
+    response.complete(result);
+    assertEquals(result, second.get());
+  }
+
+  @Test
+  void doesNotCoalesceRetainedContent() {
+    assertTrue(getOptions().coalesce(true).build().coalesce());
+    assertFalse(getOptions().coalesce(true).retainContent(true).build().coalesce());
+  }
+
+  private static GetResult result() {
+    return new GetResult(EncodedDocument.of(0, "{}".getBytes(UTF_8)), 1, Optional.empty());
+  }
+
+}